@@ -0,0 +1,200 @@
+package com.ecommerce.messaging;
+
+import com.ecommerce.messaging.dlq.DlqService;
+import com.ecommerce.messaging.dlq.FailedEvent;
+import com.ecommerce.messaging.dlq.FailedEventRepository;
+import com.ecommerce.messaging.events.EventFormat;
+import com.ecommerce.messaging.idempotency.IdempotencyGuard;
+import com.ecommerce.messaging.idempotency.ProcessedEvent;
+import com.ecommerce.messaging.idempotency.ProcessedEventRepository;
+import com.ecommerce.messaging.idempotency.ProcessedEventRetention;
+import com.ecommerce.messaging.kafka.BatchEventProcessor;
+import com.ecommerce.messaging.kafka.KeyOrderedProcessor;
+import com.ecommerce.messaging.kafka.ProducerProfile;
+import com.ecommerce.messaging.outbox.OutboxEvent;
+import com.ecommerce.messaging.outbox.OutboxEventRepository;
+import com.ecommerce.messaging.outbox.OutboxNotificationListener;
+import com.ecommerce.messaging.outbox.OutboxPublisher;
+import com.ecommerce.messaging.scheduling.MonitoredTaskScheduler;
+import com.ecommerce.messaging.scheduling.SchedulerPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.backoff.BackOff;
+
+import java.time.Duration;
+
+/**
+ * Wires the shared event pipeline into a service: the DLQ and processed-event idempotency for every
+ * service, and the outbox relay for services that set {@code messaging.outbox.enabled}.
+ * <p>
+ * The entity packages are registered as auto-configuration packages, so the services' own JPA scanning
+ * picks up the messaging tables and repositories without further configuration. This has to happen before
+ * the JPA repositories auto-configuration reads those packages.
+ * <p>
+ * Scheduled jobs run on named pools per job family ({@link SchedulerPools}) instead of Spring's single
+ * scheduling thread, so the default scheduler is defined here before the task scheduling auto-configuration
+ * would add its own.
+ */
+@AutoConfiguration(beforeName = {
+        "org.springframework.boot.data.jpa.autoconfigure.DataJpaRepositoriesAutoConfiguration",
+        "org.springframework.boot.hibernate.autoconfigure.HibernateJpaAutoConfiguration",
+        "org.springframework.boot.autoconfigure.task.TaskSchedulingAutoConfiguration"
+})
+@AutoConfigurationPackage(basePackageClasses = {FailedEvent.class, ProcessedEvent.class})
+public class MessagingAutoConfiguration {
+
+    @Bean
+    public DlqService dlqService(FailedEventRepository failedEventRepository,
+                                 @Qualifier("kafkaObjectMapper") ObjectMapper kafkaObjectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${messaging.dlq.consumer-group}") String consumerGroup,
+                                 @Value("${messaging.dlq.max-retries:5}") int maxRetries,
+                                 @Value("${messaging.dlq.initial-backoff:PT2M}") Duration initialBackoff,
+                                 @Value("${messaging.dlq.backoff-multiplier:2.0}") double backoffMultiplier,
+                                 @Value("${messaging.dlq.max-backoff:PT6H}") Duration maxBackoff,
+                                 @Value("${messaging.dlq.backoff-jitter:0.2}") double backoffJitter,
+                                 @Value("${messaging.dlq.batch-size:200}") int batchSize,
+                                 @Value("${messaging.dlq.retry-threads:4}") int retryThreads,
+                                 @Value("${messaging.dlq.concurrency-per-topic:2}") int concurrencyPerTopic,
+                                 @Value("${messaging.dlq.claim-lease:PT10M}") Duration claimLease) {
+        return new DlqService(failedEventRepository, kafkaObjectMapper, meterRegistry, consumerGroup,
+                maxRetries, initialBackoff, backoffMultiplier, maxBackoff, backoffJitter,
+                batchSize, retryThreads, concurrencyPerTopic, claimLease);
+    }
+
+    @Bean
+    public IdempotencyGuard idempotencyGuard(ProcessedEventRepository processedEventRepository,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${messaging.idempotency.cache-size:10000}") int cacheSize) {
+        return new IdempotencyGuard(processedEventRepository, meterRegistry, cacheSize);
+    }
+
+    @Bean
+    public ProcessedEventRetention processedEventRetention(
+            ProcessedEventRepository processedEventRepository,
+            MeterRegistry meterRegistry,
+            @Value("${messaging.idempotency.retention:P7D}") Duration retention,
+            @Value("${messaging.idempotency.purge-batch-size:5000}") int purgeBatchSize) {
+        return new ProcessedEventRetention(processedEventRepository, meterRegistry, retention, purgeBatchSize);
+    }
+
+    @Bean
+    public BatchEventProcessor batchEventProcessor(IdempotencyGuard idempotencyGuard,
+                                                   PlatformTransactionManager transactionManager,
+                                                   ObjectProvider<KeyOrderedProcessor> keyOrderedProcessor) {
+        return new BatchEventProcessor(idempotencyGuard, transactionManager, keyOrderedProcessor.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "messaging.consumer.key-ordered.enabled", havingValue = "true")
+    public KeyOrderedProcessor keyOrderedProcessor(IdempotencyGuard idempotencyGuard,
+                                                   PlatformTransactionManager transactionManager,
+                                                   @Value("${messaging.consumer.key-ordered.workers:0}") int workers) {
+        return new KeyOrderedProcessor(idempotencyGuard, transactionManager,
+                workers > 0 ? workers : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Bean
+    public ProducerProfile producerProfile(@Value("${messaging.producer.linger-ms:5}") int lingerMs,
+                                           @Value("${messaging.producer.batch-size:65536}") int batchSize,
+                                           @Value("${messaging.producer.compression-type:lz4}") String compressionType,
+                                           @Value("${messaging.producer.idempotence:true}") boolean idempotence,
+                                           @Value("${messaging.producer.max-in-flight-requests:5}") int maxInFlightRequests) {
+        return new ProducerProfile(lingerMs, batchSize, compressionType, idempotence, maxInFlightRequests);
+    }
+
+    /**
+     * Runs the jobs that name no pool. Primary, so components injecting a {@code TaskScheduler} get this one.
+     */
+    @Bean(name = SchedulerPools.DEFAULT)
+    @Primary
+    @ConditionalOnMissingBean(name = SchedulerPools.DEFAULT)
+    public MonitoredTaskScheduler taskScheduler(MeterRegistry meterRegistry,
+                                                @Value("${messaging.scheduling.default.pool-size:2}") int poolSize) {
+        return new MonitoredTaskScheduler("scheduling", poolSize, meterRegistry);
+    }
+
+    @Bean(name = SchedulerPools.DLQ)
+    @ConditionalOnMissingBean(name = SchedulerPools.DLQ)
+    public MonitoredTaskScheduler dlqScheduler(MeterRegistry meterRegistry,
+                                               @Value("${messaging.scheduling.dlq.pool-size:1}") int poolSize) {
+        return new MonitoredTaskScheduler("dlq-scheduler", poolSize, meterRegistry);
+    }
+
+    /**
+     * Purges and cleanups: long-running but never urgent.
+     */
+    @Bean(name = SchedulerPools.MAINTENANCE)
+    @ConditionalOnMissingBean(name = SchedulerPools.MAINTENANCE)
+    public MonitoredTaskScheduler maintenanceScheduler(
+            MeterRegistry meterRegistry,
+            @Value("${messaging.scheduling.maintenance.pool-size:1}") int poolSize) {
+        return new MonitoredTaskScheduler("maintenance", poolSize, meterRegistry);
+    }
+
+    /**
+     * In-place retries a listener gets before its record goes to the DLQ.
+     */
+    @Bean
+    public BackOff consumerRetryBackOff(@Value("${messaging.consumer.retry.attempts:3}") int attempts,
+                                        @Value("${messaging.consumer.retry.initial-interval-ms:1000}") long initialInterval,
+                                        @Value("${messaging.consumer.retry.multiplier:1.0}") double multiplier,
+                                        @Value("${messaging.consumer.retry.max-interval-ms:10000}") long maxInterval) {
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(attempts);
+        backOff.setInitialInterval(initialInterval);
+        backOff.setMultiplier(multiplier);
+        backOff.setMaxInterval(maxInterval);
+        return backOff;
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "messaging.outbox.enabled", havingValue = "true")
+    @AutoConfigurationPackage(basePackageClasses = OutboxEvent.class)
+    static class OutboxConfiguration {
+
+        @Bean
+        public OutboxPublisher outboxPublisher(OutboxEventRepository outboxRepository,
+                                               KafkaTemplate<String, Object> kafkaTemplate,
+                                               @Qualifier("kafkaObjectMapper") ObjectMapper kafkaObjectMapper,
+                                               PlatformTransactionManager transactionManager,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${messaging.events.format:json}") EventFormat format,
+                                               @Value("${messaging.outbox.batch-size:500}") int batchSize,
+                                               @Value("${messaging.outbox.send-timeout:PT10S}") Duration sendTimeout) {
+            return new OutboxPublisher(outboxRepository, kafkaTemplate, kafkaObjectMapper, format,
+                    transactionManager, meterRegistry, batchSize, sendTimeout);
+        }
+
+        @Bean(name = SchedulerPools.OUTBOX)
+        @ConditionalOnMissingBean(name = SchedulerPools.OUTBOX)
+        public MonitoredTaskScheduler outboxScheduler(
+                MeterRegistry meterRegistry,
+                @Value("${messaging.scheduling.outbox.pool-size:1}") int poolSize) {
+            return new MonitoredTaskScheduler("outbox-scheduler", poolSize, meterRegistry);
+        }
+
+        @Bean
+        @ConditionalOnProperty(name = "messaging.outbox.notify.enabled", havingValue = "true", matchIfMissing = true)
+        public OutboxNotificationListener outboxNotificationListener(
+                OutboxPublisher outboxPublisher,
+                @Value("${spring.datasource.url}") String url,
+                @Value("${spring.datasource.username}") String username,
+                @Value("${spring.datasource.password}") String password,
+                @Value("${messaging.outbox.notify.reconnect-delay:PT5S}") Duration reconnectDelay) {
+            return new OutboxNotificationListener(outboxPublisher, url, username, password, reconnectDelay);
+        }
+    }
+}
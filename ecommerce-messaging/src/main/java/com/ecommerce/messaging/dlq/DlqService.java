@@ -0,0 +1,296 @@
+package com.ecommerce.messaging.dlq;
+
+import com.ecommerce.messaging.scheduling.SchedulerPools;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.backoff.BackOff;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Parks records whose listener failed after the in-place retries in {@code failed_events} and replays them
+ * later with jittered exponential backoff. Services register a handler per topic, normally the listener method
+ * itself.
+ * <p>
+ * Retries run off the scheduler thread: due events are claimed in bounded pages and replayed on a dedicated
+ * worker pool, so a backlog neither blocks other scheduled jobs nor lets one failing topic take every worker.
+ */
+@Slf4j
+public class DlqService implements AutoCloseable {
+
+    private final FailedEventRepository failedEventRepository;
+    private final ObjectMapper kafkaObjectMapper;
+    private final MeterRegistry meterRegistry;
+    private final String consumerGroup;
+    private final int maxRetries;
+    private final Duration initialBackoff;
+    private final double backoffMultiplier;
+    private final Duration maxBackoff;
+    private final double backoffJitter;
+    private final int batchSize;
+    private final int concurrencyPerTopic;
+    private final Duration claimLease;
+    private final Map<String, Consumer<JsonNode>> topicHandlers = new ConcurrentHashMap<>();
+    private final ExecutorService coordinator;
+    private final ExecutorService workers;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicLong depth = new AtomicLong();
+    private final Timer drainTimer;
+    private volatile double lastDrainRate;
+
+    public DlqService(FailedEventRepository failedEventRepository,
+                      ObjectMapper kafkaObjectMapper,
+                      MeterRegistry meterRegistry,
+                      String consumerGroup,
+                      int maxRetries,
+                      Duration initialBackoff,
+                      double backoffMultiplier,
+                      Duration maxBackoff,
+                      double backoffJitter,
+                      int batchSize,
+                      int retryThreads,
+                      int concurrencyPerTopic,
+                      Duration claimLease) {
+        this.failedEventRepository = failedEventRepository;
+        this.kafkaObjectMapper = kafkaObjectMapper;
+        this.meterRegistry = meterRegistry;
+        this.consumerGroup = consumerGroup;
+        this.maxRetries = maxRetries;
+        this.initialBackoff = initialBackoff;
+        this.backoffMultiplier = backoffMultiplier;
+        this.maxBackoff = maxBackoff;
+        this.backoffJitter = backoffJitter;
+        this.batchSize = batchSize;
+        this.concurrencyPerTopic = concurrencyPerTopic;
+        this.claimLease = claimLease;
+        this.coordinator = Executors.newSingleThreadExecutor(daemonThreads("dlq-drain"));
+        this.workers = Executors.newFixedThreadPool(retryThreads, daemonThreads("dlq-retry"));
+
+        this.drainTimer = meterRegistry.timer("dlq.drain.duration");
+        Gauge.builder("dlq.events.depth", depth, AtomicLong::get)
+                .description("FAILED events awaiting retry, as of the last retry run")
+                .register(meterRegistry);
+        Gauge.builder("dlq.drain.rate", this, service -> service.lastDrainRate)
+                .description("Events retried per second in the last retry run that had any")
+                .baseUnit("events/s")
+                .register(meterRegistry);
+    }
+
+    public void registerHandler(String topic, Consumer<JsonNode> handler) {
+        topicHandlers.put(topic, handler);
+    }
+
+    /**
+     * Error handler for listener containers: retries in place with {@code backOff}, then hands the record
+     * to the DLQ.
+     */
+    public DefaultErrorHandler errorHandler(BackOff backOff) {
+        return new DefaultErrorHandler(
+                (record, exception) -> {
+                    log.error("Failed to process message after retries - topic: {}, partition: {}, offset: {}, error: {}",
+                            record.topic(), record.partition(), record.offset(), exception.getMessage());
+                    saveFailedEvent(record, exception);
+                },
+                backOff
+        );
+    }
+
+    public void saveFailedEvent(ConsumerRecord<?, ?> record, Exception exception) {
+        try {
+            FailedEvent failedEvent = FailedEvent.builder()
+                    .topic(record.topic())
+                    .partitionId(record.partition())
+                    .offsetId(record.offset())
+                    .recordKey(record.key() != null ? record.key().toString() : null)
+                    .payload(record.value() != null ? record.value().toString() : "")
+                    .consumerGroup(consumerGroup)
+                    .errorMessage(exception.getMessage())
+                    .stackTrace(truncateStackTrace(exception))
+                    .maxRetries(maxRetries)
+                    .nextRetryAt(Instant.now().plus(initialBackoff))
+                    .build();
+
+            failedEventRepository.save(failedEvent);
+            meterRegistry.counter("dlq.events.saved", "topic", record.topic()).increment();
+            log.warn("DLQ: saved failed event - topic: {}, partition: {}, offset: {}",
+                    record.topic(), record.partition(), record.offset());
+        } catch (Exception e) {
+            log.error("DLQ: failed to persist event - topic: {}, partition: {}, offset: {}",
+                    record.topic(), record.partition(), record.offset(), e);
+        }
+    }
+
+    /**
+     * Starts a drain on the DLQ coordinator thread unless one is still running, so the shared scheduler is
+     * never held up by a backlog.
+     */
+    @Scheduled(fixedDelayString = "${messaging.dlq.retry-interval-ms:60000}", scheduler = SchedulerPools.DLQ)
+    public void retryFailedEvents() {
+        if (draining.compareAndSet(false, true)) {
+            coordinator.execute(() -> {
+                try {
+                    drain();
+                } catch (Exception e) {
+                    log.error("DLQ retry run failed", e);
+                } finally {
+                    draining.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Claims due events page by page and retries each page on the worker pool, at most
+     * {@code messaging.dlq.concurrency-per-topic} at a time per topic. The limit is applied before
+     * submission: each topic gets that many lanes, and a lane submits its next event only when the previous
+     * one is done, so a topic that dominates a page never parks workers that other topics could use.
+     * Outcomes of a page are saved together before the next page is claimed.
+     *
+     * @return number of events retried
+     */
+    int drain() {
+        long start = System.nanoTime();
+        int retried = 0;
+        List<FailedEvent> page;
+        do {
+            Instant now = Instant.now();
+            page = failedEventRepository.claimDue(now, now.plus(claimLease), batchSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            Map<String, Queue<FailedEvent>> byTopic = new LinkedHashMap<>();
+            for (FailedEvent event : page) {
+                byTopic.computeIfAbsent(event.getTopic(), topic -> new ConcurrentLinkedQueue<>()).add(event);
+            }
+            List<CompletableFuture<Void>> running = new ArrayList<>();
+            for (Queue<FailedEvent> events : byTopic.values()) {
+                for (int lane = 0, lanes = Math.min(concurrencyPerTopic, events.size()); lane < lanes; lane++) {
+                    running.add(retryInTurn(events));
+                }
+            }
+            CompletableFuture.allOf(running.toArray(CompletableFuture[]::new)).join();
+            failedEventRepository.saveAll(page);
+            retried += page.size();
+        } while (page.size() == batchSize);
+
+        long elapsedNanos = System.nanoTime() - start;
+        drainTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (retried > 0) {
+            lastDrainRate = retried / (elapsedNanos / 1_000_000_000.0);
+            log.info("DLQ retry: retried {} events at {} events/s", retried, Math.round(lastDrainRate));
+        }
+        depth.set(failedEventRepository.countByStatus(FailedEvent.Status.FAILED));
+        return retried;
+    }
+
+    @Override
+    public void close() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * One lane of a topic: retries the topic's queued events one after another on the worker pool, without
+     * holding a worker between them.
+     */
+    private CompletableFuture<Void> retryInTurn(Queue<FailedEvent> events) {
+        FailedEvent event = events.poll();
+        if (event == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> retryEvent(event), workers)
+                .thenCompose(done -> retryInTurn(events));
+    }
+
+    private void retryEvent(FailedEvent event) {
+        Consumer<JsonNode> handler = topicHandlers.get(event.getTopic());
+        if (handler == null) {
+            // Leave it to the claim lease, so a handler registered later still gets it
+            log.warn("DLQ: no handler for topic {}", event.getTopic());
+            return;
+        }
+
+        try {
+            JsonNode payload = kafkaObjectMapper.readTree(event.getPayload());
+            handler.accept(payload);
+            event.setStatus(FailedEvent.Status.RESOLVED);
+            event.setResolvedAt(Instant.now());
+            meterRegistry.counter("dlq.events.resolved", "topic", event.getTopic()).increment();
+            log.info("DLQ: event {} resolved on retry {}", event.getId(), event.getRetryCount() + 1);
+        } catch (Exception e) {
+            event.setRetryCount(event.getRetryCount() + 1);
+            event.setErrorMessage(e.getMessage());
+            if (event.getRetryCount() >= event.getMaxRetries()) {
+                event.setStatus(FailedEvent.Status.EXHAUSTED);
+                meterRegistry.counter("dlq.events.exhausted", "topic", event.getTopic()).increment();
+                log.error("DLQ: event {} exhausted after {} retries for topic {}",
+                        event.getId(), event.getRetryCount(), event.getTopic());
+            } else {
+                event.setNextRetryAt(Instant.now().plus(jitter(backoff(event.getRetryCount()))));
+                meterRegistry.counter("dlq.events.rescheduled", "topic", event.getTopic()).increment();
+                log.warn("DLQ: event {} retry {} failed, next at {}",
+                        event.getId(), event.getRetryCount(), event.getNextRetryAt());
+            }
+        }
+    }
+
+    Duration backoff(int retryCount) {
+        double millis = initialBackoff.toMillis() * Math.pow(backoffMultiplier, retryCount);
+        return millis >= maxBackoff.toMillis() ? maxBackoff : Duration.ofMillis((long) millis);
+    }
+
+    /**
+     * Spreads a backoff by up to {@code messaging.dlq.backoff-jitter} either way, so events that failed
+     * together during an outage do not all come due in the same run.
+     */
+    Duration jitter(Duration backoff) {
+        if (backoffJitter <= 0) {
+            return backoff;
+        }
+        double factor = 1 + ThreadLocalRandom.current().nextDouble(-backoffJitter, backoffJitter);
+        return Duration.ofMillis((long) (backoff.toMillis() * factor));
+    }
+
+    private String truncateStackTrace(Exception e) {
+        StringWriter sw = new StringWriter();
+        e.printStackTrace(new PrintWriter(sw));
+        String trace = sw.toString();
+        return trace.length() > 4000 ? trace.substring(0, 4000) : trace;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
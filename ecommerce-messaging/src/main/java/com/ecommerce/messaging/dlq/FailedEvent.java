@@ -1,4 +1,4 @@
-package com.ecommerce.cartservice.entity;
+package com.ecommerce.messaging.dlq;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
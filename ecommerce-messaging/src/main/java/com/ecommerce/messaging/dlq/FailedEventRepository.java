@@ -0,0 +1,34 @@
+package com.ecommerce.messaging.dlq;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface FailedEventRepository extends JpaRepository<FailedEvent, Long> {
+    long countByStatus(FailedEvent.Status status);
+
+    /**
+     * Claims up to {@code limit} due FAILED events, oldest first, by moving their next retry to
+     * {@code leaseUntil}. Rows claimed by another instance are skipped, and a claim whose instance dies
+     * before recording the outcome simply comes due again once the lease runs out.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE failed_events SET next_retry_at = :leaseUntil
+            WHERE id IN (
+                SELECT id FROM failed_events
+                WHERE status = 'FAILED' AND next_retry_at <= :now
+                ORDER BY next_retry_at
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING *
+            """, nativeQuery = true)
+    List<FailedEvent> claimDue(@Param("now") Instant now,
+                               @Param("leaseUntil") Instant leaseUntil,
+                               @Param("limit") int limit);
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.messaging.events;
+
+/**
+ * Wire format the outbox relay publishes in, set with {@code messaging.events.format}.
+ * Consumers read both, so producers can be switched one at a time once every consumer is upgraded.
+ */
+public enum EventFormat {
+
+    JSON(EventHeaders.JSON),
+    PROTOBUF(EventHeaders.PROTOBUF);
+
+    private final String contentType;
+
+    EventFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.messaging.events;
+
+/**
+ * Kafka record headers set by the outbox relay, so consumers can pick the decoder and the event type
+ * without looking inside the payload.
+ */
+public final class EventHeaders {
+
+    public static final String EVENT_TYPE = "event-type";
+    public static final String CONTENT_TYPE = "content-type";
+
+    public static final String JSON = "application/json";
+    public static final String PROTOBUF = "application/x-protobuf";
+
+    private EventHeaders() {
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.messaging.events;
+
+import com.google.protobuf.Message;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maps the outbox event types to their Protobuf schema in {@code src/main/proto/ecommerce/events}.
+ */
+public final class EventSchemas {
+
+    private static final Map<String, Message> SCHEMAS = Map.ofEntries(
+            Map.entry("PRODUCT_CREATED", ProductCreated.getDefaultInstance()),
+            Map.entry("PRODUCT_UPDATED", ProductUpdated.getDefaultInstance()),
+            Map.entry("PRODUCT_DELETED", ProductDeleted.getDefaultInstance()),
+            Map.entry("PRICE_CHANGED", PriceChanged.getDefaultInstance()),
+            Map.entry("STOCK_UPDATED", StockUpdated.getDefaultInstance()),
+            Map.entry("STOCK_RESERVED", StockReserved.getDefaultInstance()),
+            Map.entry("STOCK_RELEASED", StockReleased.getDefaultInstance()),
+            Map.entry("STOCK_CONFIRMED", StockConfirmed.getDefaultInstance()),
+            Map.entry("ORDER_CREATED", OrderCreated.getDefaultInstance()),
+            Map.entry("ORDER_CONFIRMED", OrderConfirmed.getDefaultInstance()),
+            Map.entry("ORDER_CANCELLED", OrderCancelled.getDefaultInstance()),
+            Map.entry("ORDER_SHIPPED", OrderShipped.getDefaultInstance()),
+            Map.entry("ORDER_DELIVERED", OrderDelivered.getDefaultInstance()),
+            Map.entry("PAYMENT_INITIATED", PaymentInitiated.getDefaultInstance()),
+            Map.entry("PAYMENT_SUCCESS", PaymentSuccess.getDefaultInstance()),
+            Map.entry("PAYMENT_FAILED", PaymentFailed.getDefaultInstance()),
+            Map.entry("PAYMENT_REFUNDED", PaymentRefunded.getDefaultInstance())
+    );
+
+    private EventSchemas() {
+    }
+
+    public static Optional<Message> forEventType(String eventType) {
+        return Optional.ofNullable(eventType).map(SCHEMAS::get);
+    }
+}
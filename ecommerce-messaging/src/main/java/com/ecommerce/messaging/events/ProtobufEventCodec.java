@@ -0,0 +1,140 @@
+package com.ecommerce.messaging.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.Timestamp;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Converts between the JSON event payloads the services write to the outbox and their Protobuf form.
+ * <p>
+ * Fields are matched by their JSON name, so the schemas only have to mirror the event records. Decoded
+ * events come back as the same {@link JsonNode} shape the JSON payloads have (instants as epoch seconds,
+ * unset fields absent), so listeners bind them with the object mapper they already use. JSON fields with
+ * no counterpart in the schema are dropped.
+ */
+public class ProtobufEventCodec {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    public boolean supports(String eventType) {
+        return EventSchemas.forEventType(eventType).isPresent();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the event type has no schema or a field does not fit it
+     */
+    public byte[] encode(String eventType, JsonNode payload) {
+        Message.Builder builder = schema(eventType).newBuilderForType();
+        merge(builder, payload);
+        return builder.build().toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the event type has no schema or the bytes do not parse
+     */
+    public ObjectNode decode(String eventType, byte[] data) {
+        try {
+            return toJson(schema(eventType).getParserForType().parseFrom(data));
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalArgumentException("Invalid " + eventType + " payload", e);
+        }
+    }
+
+    private Message schema(String eventType) {
+        return EventSchemas.forEventType(eventType)
+                .orElseThrow(() -> new IllegalArgumentException("No schema for event type " + eventType));
+    }
+
+    private void merge(Message.Builder builder, JsonNode json) {
+        for (FieldDescriptor field : builder.getDescriptorForType().getFields()) {
+            JsonNode value = json.get(field.getJsonName());
+            if (value == null || value.isNull()) {
+                continue;
+            }
+            if (field.isRepeated()) {
+                for (JsonNode element : value) {
+                    builder.addRepeatedField(field, toField(builder, field, element));
+                }
+            } else {
+                builder.setField(field, toField(builder, field, value));
+            }
+        }
+    }
+
+    private Object toField(Message.Builder builder, FieldDescriptor field, JsonNode value) {
+        return switch (field.getJavaType()) {
+            case LONG -> value.asLong();
+            case INT -> value.asInt();
+            case BOOLEAN -> value.asBoolean();
+            // BigDecimal amounts keep their scale as text
+            case STRING -> value.isNumber() ? value.decimalValue().toPlainString() : value.asText();
+            case MESSAGE -> {
+                if (field.getMessageType().equals(Timestamp.getDescriptor())) {
+                    yield toTimestamp(value);
+                }
+                Message.Builder nested = builder.newBuilderForField(field);
+                merge(nested, value);
+                yield nested.build();
+            }
+            default -> throw new IllegalArgumentException("Unsupported field type " + field.getJavaType()
+                    + " for " + field.getFullName());
+        };
+    }
+
+    private ObjectNode toJson(Message message) {
+        ObjectNode json = NODES.objectNode();
+        for (FieldDescriptor field : message.getDescriptorForType().getFields()) {
+            if (field.isRepeated()) {
+                ArrayNode array = json.putArray(field.getJsonName());
+                for (int i = 0; i < message.getRepeatedFieldCount(field); i++) {
+                    array.add(toNode(field, message.getRepeatedField(field, i)));
+                }
+            } else if (message.hasField(field)) {
+                json.set(field.getJsonName(), toNode(field, message.getField(field)));
+            }
+        }
+        return json;
+    }
+
+    private JsonNode toNode(FieldDescriptor field, Object value) {
+        return switch (field.getJavaType()) {
+            case LONG -> NODES.numberNode((Long) value);
+            case INT -> NODES.numberNode((Integer) value);
+            case BOOLEAN -> NODES.booleanNode((Boolean) value);
+            case STRING -> NODES.textNode((String) value);
+            case MESSAGE -> value instanceof Timestamp timestamp
+                    ? NODES.numberNode(BigDecimal.valueOf(timestamp.getSeconds())
+                            .add(BigDecimal.valueOf(timestamp.getNanos(), 9)))
+                    : toJson((Message) value);
+            default -> throw new IllegalArgumentException("Unsupported field type " + field.getJavaType()
+                    + " for " + field.getFullName());
+        };
+    }
+
+    /**
+     * Accepts both forms Jackson writes instants in: epoch seconds with a nanosecond fraction, or ISO-8601.
+     */
+    private Timestamp toTimestamp(JsonNode value) {
+        Instant instant;
+        if (value.isNumber()) {
+            BigDecimal seconds = value.decimalValue();
+            long wholeSeconds = seconds.longValue();
+            int nanos = seconds.subtract(BigDecimal.valueOf(wholeSeconds)).movePointRight(9).intValue();
+            instant = Instant.ofEpochSecond(wholeSeconds, nanos);
+        } else {
+            instant = Instant.parse(value.asText());
+        }
+        return Timestamp.newBuilder()
+                .setSeconds(instant.getEpochSecond())
+                .setNanos(instant.getNano())
+                .build();
+    }
+}
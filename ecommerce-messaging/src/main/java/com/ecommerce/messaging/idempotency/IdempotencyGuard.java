@@ -0,0 +1,126 @@
+package com.ecommerce.messaging.idempotency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides whether a consumed event is new. Ids are recorded in {@code processed_events} with
+ * {@code ON CONFLICT DO NOTHING}, so a duplicate neither throws nor aborts the listener's transaction.
+ * <p>
+ * Ids that are known to be processed are also kept in a bounded in-memory LRU, so redeliveries of recent
+ * events are rejected without a database round trip. An id only enters the LRU once the transaction that
+ * recorded it commits; a rolled back handler must see the event again on redelivery.
+ */
+@Slf4j
+public class IdempotencyGuard {
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final Map<String, Boolean> recentIds;
+    private final Counter cacheHits;
+    private final Counter databaseHits;
+
+    public IdempotencyGuard(ProcessedEventRepository processedEventRepository,
+                            MeterRegistry meterRegistry,
+                            int cacheSize) {
+        this.processedEventRepository = processedEventRepository;
+        this.recentIds = new LinkedHashMap<>(Math.min(cacheSize, 1 << 16), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        this.cacheHits = meterRegistry.counter("idempotency.duplicates", "source", "cache");
+        this.databaseHits = meterRegistry.counter("idempotency.duplicates", "source", "database");
+    }
+
+    /**
+     * Records {@code eventId} as processed within the caller's transaction.
+     *
+     * @return {@code true} if the event is new and should be handled, {@code false} for a duplicate
+     */
+    public boolean markProcessed(String eventId, String eventType) {
+        if (isRecent(eventId)) {
+            cacheHits.increment();
+            return false;
+        }
+
+        if (processedEventRepository.insertIfAbsent(eventId, eventType, Instant.now()) == 0) {
+            databaseHits.increment();
+            remember(eventId);
+            return false;
+        }
+
+        rememberAfterCommit(List.of(eventId));
+        return true;
+    }
+
+    /**
+     * Batch form of {@link #markProcessed}: records every id of a poll batch with a single insert.
+     *
+     * @param eventTypes event id to event type, for the events of the batch that carry an id
+     * @return the ids that are new and should be handled
+     */
+    public Set<String> markProcessedAll(Map<String, String> eventTypes) {
+        List<String> eventIds = new ArrayList<>(eventTypes.size());
+        List<String> types = new ArrayList<>(eventTypes.size());
+        eventTypes.forEach((eventId, eventType) -> {
+            if (isRecent(eventId)) {
+                cacheHits.increment();
+            } else {
+                eventIds.add(eventId);
+                types.add(eventType);
+            }
+        });
+        if (eventIds.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<String> inserted = new HashSet<>(processedEventRepository.insertAllIfAbsent(
+                eventIds.toArray(String[]::new), types.toArray(String[]::new), Instant.now()));
+        for (String eventId : eventIds) {
+            if (!inserted.contains(eventId)) {
+                databaseHits.increment();
+                remember(eventId);
+            }
+        }
+        rememberAfterCommit(inserted);
+        return inserted;
+    }
+
+    boolean isRecent(String eventId) {
+        synchronized (recentIds) {
+            return recentIds.containsKey(eventId);
+        }
+    }
+
+    private void rememberAfterCommit(Collection<String> eventIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eventIds.forEach(IdempotencyGuard.this::remember);
+                }
+            });
+        } else {
+            eventIds.forEach(this::remember);
+        }
+    }
+
+    private void remember(String eventId) {
+        synchronized (recentIds) {
+            recentIds.put(eventId, Boolean.TRUE);
+        }
+    }
+}
@@ -1,4 +1,4 @@
-package com.ecommerce.orderservice.entity;
+package com.ecommerce.messaging.idempotency;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -10,7 +10,8 @@ import java.time.Instant;
 
 @Entity
 @Table(name = "processed_events", indexes = {
-        @Index(name = "idx_processed_event_id", columnList = "event_id", unique = true)
+        @Index(name = "idx_processed_event_id", columnList = "event_id", unique = true),
+        @Index(name = "idx_processed_event_processed_at", columnList = "processed_at")
 })
 @Data
 @Builder
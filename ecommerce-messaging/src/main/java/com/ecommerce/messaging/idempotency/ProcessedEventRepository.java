@@ -0,0 +1,64 @@
+package com.ecommerce.messaging.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, Long> {
+
+    /**
+     * Records a whole poll batch of event ids in one statement and returns the ids that were not there yet.
+     * Ids repeated within the batch are returned once.
+     */
+    String INSERT_ALL_IF_ABSENT_SQL = """
+            INSERT INTO processed_events (event_id, event_type, processed_at)
+            SELECT e.event_id, e.event_type, :processedAt
+            FROM unnest(CAST(:eventIds AS varchar[]), CAST(:eventTypes AS varchar[])) AS e(event_id, event_type)
+            ON CONFLICT (event_id) DO NOTHING
+            RETURNING event_id
+            """;
+
+    boolean existsByEventId(String eventId);
+
+    Optional<ProcessedEvent> findByEventId(String eventId);
+
+    /**
+     * Records an event id unless it is already there.
+     *
+     * @return 1 if the id was recorded, 0 if it had been processed before
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO processed_events (event_id, event_type, processed_at)
+            VALUES (:eventId, :eventType, :processedAt)
+            ON CONFLICT (event_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") String eventId,
+                       @Param("eventType") String eventType,
+                       @Param("processedAt") Instant processedAt);
+
+    @Transactional
+    @Query(value = INSERT_ALL_IF_ABSENT_SQL, nativeQuery = true)
+    List<String> insertAllIfAbsent(@Param("eventIds") String[] eventIds,
+                                   @Param("eventTypes") String[] eventTypes,
+                                   @Param("processedAt") Instant processedAt);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM processed_events
+            WHERE id IN (
+                SELECT id FROM processed_events
+                WHERE processed_at < :cutoff
+                LIMIT :limit
+            )
+            """, nativeQuery = true)
+    int deleteProcessedBefore(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+}
@@ -0,0 +1,55 @@
+package com.ecommerce.messaging.idempotency;
+
+import com.ecommerce.messaging.scheduling.SchedulerPools;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Purges {@code processed_events} rows older than the dedup horizon, so the unique index the consumers
+ * insert into stays bounded. Rows are deleted in small batches, each in its own transaction, so a purge
+ * never holds long locks or bloats a single transaction. The horizon only has to outlast redeliveries:
+ * uncommitted offsets and DLQ replays.
+ * <p>
+ * Time-based partitioning would make the purge a partition drop, but the unique key on {@code event_id}
+ * would then have to include the partition column, which defeats deduplication across partitions.
+ */
+@Slf4j
+public class ProcessedEventRetention {
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final Duration horizon;
+    private final int batchSize;
+    private final Counter purgedCounter;
+
+    public ProcessedEventRetention(ProcessedEventRepository processedEventRepository,
+                                   MeterRegistry meterRegistry,
+                                   Duration horizon,
+                                   int batchSize) {
+        this.processedEventRepository = processedEventRepository;
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+        this.purgedCounter = meterRegistry.counter("idempotency.events.purged");
+    }
+
+    @Scheduled(fixedDelayString = "${messaging.idempotency.purge-interval-ms:3600000}",
+            scheduler = SchedulerPools.MAINTENANCE)
+    public void purgeExpired() {
+        Instant cutoff = Instant.now().minus(horizon);
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = processedEventRepository.deleteProcessedBefore(cutoff, batchSize);
+            purged += deleted;
+            purgedCounter.increment(deleted);
+        } while (deleted == batchSize);
+
+        if (purged > 0) {
+            log.info("Purged {} processed events older than {}", purged, cutoff);
+        }
+    }
+}
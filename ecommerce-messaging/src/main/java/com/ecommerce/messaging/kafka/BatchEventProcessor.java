@@ -0,0 +1,143 @@
+package com.ecommerce.messaging.kafka;
+
+import com.ecommerce.messaging.idempotency.IdempotencyGuard;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Applies a poll batch delivered to a batch listener. The whole batch is deduplicated with one insert into
+ * {@code processed_events} and handled in one transaction; the container then commits the batch's offsets
+ * at once.
+ * <p>
+ * If any record fails, that transaction rolls back and the batch is replayed one transaction per record.
+ * The first record that fails again is reported with {@link BatchListenerFailedException}, so the error
+ * handler commits the offsets of the records before it and retries, or dead-letters, from that record on.
+ * <p>
+ * With {@code messaging.consumer.key-ordered.enabled}, batches are handed to {@link KeyOrderedProcessor}
+ * instead and applied in parallel, one transaction per record.
+ */
+@Slf4j
+public class BatchEventProcessor {
+
+    @FunctionalInterface
+    public interface Handler {
+        void handle(JsonNode event) throws Exception;
+    }
+
+    private final IdempotencyGuard idempotencyGuard;
+    private final TransactionTemplate transactionTemplate;
+    private final KeyOrderedProcessor keyOrderedProcessor;
+
+    public BatchEventProcessor(IdempotencyGuard idempotencyGuard, PlatformTransactionManager transactionManager) {
+        this(idempotencyGuard, transactionManager, null);
+    }
+
+    /**
+     * @param keyOrderedProcessor applies batches in parallel by key when set; {@code null} keeps one
+     *                            transaction per batch
+     */
+    public BatchEventProcessor(IdempotencyGuard idempotencyGuard,
+                               PlatformTransactionManager transactionManager,
+                               KeyOrderedProcessor keyOrderedProcessor) {
+        this.idempotencyGuard = idempotencyGuard;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.keyOrderedProcessor = keyOrderedProcessor;
+    }
+
+    /**
+     * @param eventTypeOf event type recorded in {@code processed_events} for an event
+     * @param handler     applies a single new event; called inside the batch transaction
+     */
+    public void process(List<ConsumerRecord<String, JsonNode>> records,
+                        Function<JsonNode, String> eventTypeOf,
+                        Handler handler) {
+        if (records.isEmpty()) {
+            return;
+        }
+        if (keyOrderedProcessor != null) {
+            keyOrderedProcessor.process(records, eventTypeOf, handler);
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> processBatch(records, eventTypeOf, handler));
+        } catch (RuntimeException e) {
+            log.warn("Batch of {} records failed, replaying one record per transaction: {}",
+                    records.size(), e.getMessage());
+            processEach(records, eventTypeOf, handler);
+        }
+    }
+
+    private void processBatch(List<ConsumerRecord<String, JsonNode>> records,
+                              Function<JsonNode, String> eventTypeOf,
+                              Handler handler) {
+        Map<String, String> eventTypes = new LinkedHashMap<>();
+        for (ConsumerRecord<String, JsonNode> record : records) {
+            String eventId = eventId(record.value());
+            if (eventId != null) {
+                eventTypes.putIfAbsent(eventId, eventTypeOf.apply(record.value()));
+            }
+        }
+        Set<String> newEventIds = new HashSet<>(idempotencyGuard.markProcessedAll(eventTypes));
+
+        int skipped = 0;
+        for (ConsumerRecord<String, JsonNode> record : records) {
+            if (record.value() == null) {
+                continue;
+            }
+            String eventId = eventId(record.value());
+            // remove() so an id repeated within the batch is only handled once
+            if (eventId == null || newEventIds.remove(eventId)) {
+                invoke(handler, record.value());
+            } else {
+                skipped++;
+            }
+        }
+        log.debug("Applied batch of {} records, {} duplicates skipped", records.size(), skipped);
+    }
+
+    private void processEach(List<ConsumerRecord<String, JsonNode>> records,
+                             Function<JsonNode, String> eventTypeOf,
+                             Handler handler) {
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, JsonNode> record = records.get(i);
+            if (record.value() == null) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    String eventId = eventId(record.value());
+                    if (eventId == null || idempotencyGuard.markProcessed(eventId, eventTypeOf.apply(record.value()))) {
+                        invoke(handler, record.value());
+                    }
+                });
+            } catch (RuntimeException e) {
+                throw new BatchListenerFailedException("Failed to process record at offset " + record.offset(), e, i);
+            }
+        }
+    }
+
+    static String eventId(JsonNode event) {
+        return event != null && event.hasNonNull("eventId") ? event.get("eventId").asText() : null;
+    }
+
+    static void invoke(Handler handler, JsonNode event) {
+        try {
+            handler.handle(event);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to handle event", e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.messaging.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Writes record values as JSON, except values that are already encoded (such as Protobuf events from the
+ * outbox relay), which are sent as they are.
+ */
+public class EventSerializer implements Serializer<Object> {
+
+    private final ObjectMapper objectMapper;
+
+    public EventSerializer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) return null;
+        if (data instanceof byte[] bytes) return bytes;
+        try {
+            return objectMapper.writeValueAsBytes(data);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error serializing message", e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.messaging.kafka;
+
+import com.ecommerce.messaging.events.EventHeaders;
+import com.ecommerce.messaging.events.ProtobufEventCodec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads record values as a {@link JsonNode}, whether they were published as JSON or as Protobuf.
+ * <p>
+ * The {@code content-type} header picks the decoder; records without it are JSON. When the record carries
+ * an {@code event-type} header and the payload has no {@code eventType} field, the header value is added
+ * to the node, so listeners can dispatch on {@code eventType} for every topic.
+ */
+@Slf4j
+public class JsonNodeDeserializer implements Deserializer<JsonNode> {
+
+    private final ObjectMapper objectMapper;
+    private final ProtobufEventCodec protobufCodec = new ProtobufEventCodec();
+
+    public JsonNodeDeserializer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public JsonNode deserialize(String topic, byte[] data) {
+        if (data == null) return null;
+        try {
+            return objectMapper.readTree(data);
+        } catch (Exception e) {
+            log.error("Error deserializing message to JsonNode: {}", e.getMessage());
+            throw new RuntimeException("Error deserializing message", e);
+        }
+    }
+
+    @Override
+    public JsonNode deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) return null;
+        String eventType = header(headers, EventHeaders.EVENT_TYPE);
+
+        JsonNode node;
+        if (EventHeaders.PROTOBUF.equals(header(headers, EventHeaders.CONTENT_TYPE))) {
+            try {
+                node = protobufCodec.decode(eventType, data);
+            } catch (Exception e) {
+                log.error("Error decoding {} message from {}: {}", eventType, topic, e.getMessage());
+                throw new RuntimeException("Error deserializing message", e);
+            }
+        } else {
+            node = deserialize(topic, data);
+        }
+
+        if (eventType != null && node instanceof ObjectNode object && !object.hasNonNull("eventType")) {
+            object.put("eventType", eventType);
+        }
+        return node;
+    }
+
+    private static String header(Headers headers, String name) {
+        Header header = headers != null ? headers.lastHeader(name) : null;
+        return header != null && header.value() != null
+                ? new String(header.value(), StandardCharsets.UTF_8)
+                : null;
+    }
+}
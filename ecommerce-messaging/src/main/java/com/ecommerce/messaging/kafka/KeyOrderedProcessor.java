@@ -0,0 +1,119 @@
+package com.ecommerce.messaging.kafka;
+
+import com.ecommerce.messaging.idempotency.IdempotencyGuard;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Spreads a poll batch over a fixed pool of workers by record key (product id, order number, ...), so
+ * records of one entity are still applied in offset order while different entities are applied in
+ * parallel. Meant for catch-up after a backlog, where one listener thread per partition leaves cores idle.
+ * <p>
+ * Each record is applied in its own transaction. When a record fails, its lane stops and the others run
+ * to the end; the lowest failed index is then reported with {@link BatchListenerFailedException}. Records
+ * after it that other lanes already applied are redelivered with the retry and skipped by
+ * {@link IdempotencyGuard}.
+ */
+@Slf4j
+public class KeyOrderedProcessor implements AutoCloseable {
+
+    private final IdempotencyGuard idempotencyGuard;
+    private final TransactionTemplate transactionTemplate;
+    private final int workers;
+    private final ExecutorService executor;
+
+    public KeyOrderedProcessor(IdempotencyGuard idempotencyGuard,
+                               PlatformTransactionManager transactionManager,
+                               int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Key-ordered processing needs at least one worker");
+        }
+        this.idempotencyGuard = idempotencyGuard;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = workers;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "key-ordered-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void process(List<ConsumerRecord<String, JsonNode>> records,
+                        Function<JsonNode, String> eventTypeOf,
+                        BatchEventProcessor.Handler handler) {
+        List<List<Integer>> lanes = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            lanes.add(new ArrayList<>());
+        }
+        for (int i = 0; i < records.size(); i++) {
+            lanes.get(Math.floorMod(Objects.hashCode(records.get(i).key()), workers)).add(i);
+        }
+
+        AtomicReference<Failure> firstFailure = new AtomicReference<>();
+        List<CompletableFuture<Void>> running = new ArrayList<>(workers);
+        for (List<Integer> lane : lanes) {
+            if (!lane.isEmpty()) {
+                running.add(CompletableFuture.runAsync(
+                        () -> processLane(records, lane, eventTypeOf, handler, firstFailure), executor));
+            }
+        }
+        CompletableFuture.allOf(running.toArray(CompletableFuture[]::new)).join();
+
+        Failure failure = firstFailure.get();
+        if (failure != null) {
+            ConsumerRecord<String, JsonNode> record = records.get(failure.index());
+            throw new BatchListenerFailedException("Failed to process record at offset " + record.offset(),
+                    failure.cause(), failure.index());
+        }
+        log.debug("Applied batch of {} records on {} key-ordered lanes", records.size(), running.size());
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private record Failure(int index, RuntimeException cause) {
+    }
+
+    private void processLane(List<ConsumerRecord<String, JsonNode>> records,
+                             List<Integer> lane,
+                             Function<JsonNode, String> eventTypeOf,
+                             BatchEventProcessor.Handler handler,
+                             AtomicReference<Failure> firstFailure) {
+        for (int index : lane) {
+            JsonNode event = records.get(index).value();
+            if (event == null) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    String eventId = BatchEventProcessor.eventId(event);
+                    if (eventId == null || idempotencyGuard.markProcessed(eventId, eventTypeOf.apply(event))) {
+                        BatchEventProcessor.invoke(handler, event);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Later records of this key must wait for the retry to keep their order
+                firstFailure.accumulateAndGet(new Failure(index, e),
+                        (current, candidate) -> current == null || candidate.index() < current.index() ? candidate : current);
+                return;
+            }
+        }
+    }
+}
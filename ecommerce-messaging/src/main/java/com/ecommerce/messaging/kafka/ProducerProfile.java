@@ -0,0 +1,52 @@
+package com.ecommerce.messaging.kafka;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Batching, compression and delivery settings shared by the services' producers, bound from
+ * {@code messaging.producer.*}.
+ * <p>
+ * A few milliseconds of linger lets small records (cart clicks, single outbox rows) share a batch, and
+ * compression is applied per batch, so the two only pay off together. The outbox relay flushes after each
+ * batch, so linger never delays it.
+ */
+public record ProducerProfile(int lingerMs,
+                              int batchSize,
+                              String compressionType,
+                              boolean idempotence,
+                              int maxInFlightRequests) {
+
+    private static final Set<String> COMPRESSION_TYPES = Set.of("none", "gzip", "snappy", "lz4", "zstd");
+    // Idempotent producers only keep ordering with up to five unacknowledged requests per connection
+    private static final int MAX_IDEMPOTENT_IN_FLIGHT = 5;
+
+    public ProducerProfile {
+        if (lingerMs < 0 || batchSize <= 0 || maxInFlightRequests <= 0) {
+            throw new IllegalArgumentException("linger-ms must be >= 0, batch-size and max-in-flight-requests > 0");
+        }
+        if (!COMPRESSION_TYPES.contains(compressionType)) {
+            throw new IllegalArgumentException("Unsupported compression type " + compressionType);
+        }
+        if (idempotence && maxInFlightRequests > MAX_IDEMPOTENT_IN_FLIGHT) {
+            throw new IllegalArgumentException("Idempotent producers allow at most "
+                    + MAX_IDEMPOTENT_IN_FLIGHT + " in-flight requests");
+        }
+    }
+
+    public void applyTo(Map<String, Object> configProps) {
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, idempotence);
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION_CONFIG, maxInFlightRequests);
+    }
+
+    @Override
+    public String toString() {
+        return "linger.ms=" + lingerMs + ", batch.size=" + batchSize + ", compression.type=" + compressionType
+                + ", enable.idempotence=" + idempotence + ", max.in.flight=" + maxInFlightRequests;
+    }
+}
@@ -1,4 +1,4 @@
-package com.ecommerce.orderservice.entity;
+package com.ecommerce.messaging.outbox;
 
 import jakarta.persistence.*;
 import lombok.*;
@@ -0,0 +1,135 @@
+package com.ecommerce.messaging.outbox;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Wakes the {@link OutboxPublisher} as soon as outbox rows commit. A statement-level insert trigger on
+ * {@code outbox_events} issues {@code pg_notify('outbox_events')}; Postgres delivers it on commit and folds
+ * duplicates within a transaction. This listener blocks on a dedicated connection (outside the Hikari
+ * pool) and triggers a publisher run on every notification, so an idle service issues no outbox queries at
+ * all. The publisher runs one drain at a time, so a notification arriving during the scheduled poll is
+ * picked up by that poll rather than draining a second batch alongside it.
+ * The publisher's scheduled poll stays on as a safety net for notifications missed while reconnecting.
+ */
+@Slf4j
+public class OutboxNotificationListener {
+
+    static final String CHANNEL = "outbox_events";
+
+    private static final String CREATE_FUNCTION_SQL = """
+            CREATE OR REPLACE FUNCTION notify_outbox_events() RETURNS trigger AS $$
+            BEGIN
+                PERFORM pg_notify('outbox_events', '');
+                RETURN NULL;
+            END;
+            $$ LANGUAGE plpgsql
+            """;
+
+    private static final String CREATE_TRIGGER_SQL = """
+            CREATE OR REPLACE TRIGGER outbox_events_notify
+            AFTER INSERT ON outbox_events
+            FOR EACH STATEMENT EXECUTE FUNCTION notify_outbox_events()
+            """;
+
+    // Upper bound on one blocking wait, so shutdown and dead connections are noticed
+    private static final int WAIT_MILLIS = 10_000;
+
+    private final OutboxPublisher outboxPublisher;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final Duration reconnectDelay;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public OutboxNotificationListener(OutboxPublisher outboxPublisher,
+                                      String url,
+                                      String username,
+                                      String password,
+                                      Duration reconnectDelay) {
+        this.outboxPublisher = outboxPublisher;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listenerThread = Thread.ofPlatform().daemon().name("outbox-listener").start(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                installTrigger(connection);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for outbox notifications on channel {}", CHANNEL);
+
+                // Rows committed while nobody was listening
+                wakePublisher();
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(WAIT_MILLIS);
+                    if (notifications != null && notifications.length > 0) {
+                        wakePublisher();
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Outbox listener connection lost, reconnecting in {}: {}", reconnectDelay, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        log.info("Outbox listener stopped");
+    }
+
+    private void installTrigger(Connection connection) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_FUNCTION_SQL);
+            statement.execute(CREATE_TRIGGER_SQL);
+        } catch (SQLException e) {
+            // Typically another instance replacing it concurrently; the trigger is there either way
+            log.warn("Could not install outbox notify trigger: {}", e.getMessage());
+        }
+    }
+
+    private void wakePublisher() {
+        try {
+            outboxPublisher.publishOutboxEvents();
+        } catch (RuntimeException e) {
+            log.error("Outbox publish after notification failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.ecommerce.messaging.outbox;
+
+import com.ecommerce.messaging.events.EventFormat;
+import com.ecommerce.messaging.events.EventHeaders;
+import com.ecommerce.messaging.events.ProtobufEventCodec;
+import com.ecommerce.messaging.scheduling.SchedulerPools;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Relays outbox rows to Kafka. Each batch is sent without waiting on individual acks, flushed, and the
+ * acks are then collected together, so a batch costs about one broker round trip instead of one per event.
+ * Acknowledged rows are marked published with a single UPDATE. Each batch first takes a transaction-scoped
+ * advisory lock, so a single relay publishes at a time across instances; as rows are read oldest first, a
+ * failed event and the events of its key held back behind it are retried before anything newer.
+ * <p>
+ * Rows are stored as JSON and published in {@code messaging.events.format}; records carry
+ * {@link EventHeaders#EVENT_TYPE} and {@link EventHeaders#CONTENT_TYPE} either way. Event types without a
+ * Protobuf schema are always published as JSON.
+ * <p>
+ * Runs are normally triggered by {@link OutboxNotificationListener} as rows commit; the scheduled poll is
+ * only a safety net. Only one run is in progress at a time: a trigger arriving during a run makes that run
+ * go around once more instead of draining a second batch alongside it, which would interleave the two
+ * batches' sends and reorder events of the same key.
+ */
+@Slf4j
+public class OutboxPublisher {
+
+    // pg_try_advisory_xact_lock key shared by every relay of the outbox_events table
+    static final long RELAY_LOCK_KEY = 0x6f7574626f78L;
+
+    private record BatchResult(int fetched, int published) {
+    }
+
+    private final OutboxEventRepository outboxRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper kafkaObjectMapper;
+    private final EventFormat format;
+    private final ProtobufEventCodec protobufCodec = new ProtobufEventCodec();
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final AtomicBoolean runRequested = new AtomicBoolean();
+
+    public OutboxPublisher(OutboxEventRepository outboxRepository,
+                           KafkaTemplate<String, Object> kafkaTemplate,
+                           ObjectMapper kafkaObjectMapper,
+                           EventFormat format,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           int batchSize,
+                           Duration sendTimeout) {
+        this.outboxRepository = outboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.kafkaObjectMapper = kafkaObjectMapper;
+        this.format = format;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.publishedCounter = meterRegistry.counter("outbox.events.published");
+        this.failedCounter = meterRegistry.counter("outbox.events.failed");
+        this.batchTimer = meterRegistry.timer("outbox.batch.duration");
+    }
+
+    /**
+     * Publishes batch after batch while they come back full, so a backlog drains without waiting for the
+     * next tick. Stops at the first batch with a failed send; its failed rows are retried on the next tick.
+     * Returns at once when another thread is already running, leaving that run to go around again.
+     */
+    @Scheduled(fixedDelayString = "${messaging.outbox.poll-interval-ms:5000}", scheduler = SchedulerPools.OUTBOX)
+    public void publishOutboxEvents() {
+        runRequested.set(true);
+        // Re-checked after unlocking: a request that lost the tryLock race must not be dropped
+        while (runRequested.get() && runLock.tryLock()) {
+            try {
+                runRequested.set(false);
+                drain();
+            } finally {
+                runLock.unlock();
+            }
+        }
+    }
+
+    private void drain() {
+        BatchResult result;
+        do {
+            result = batchTimer.record(() -> transactionTemplate.execute(status -> publishBatch()));
+        } while (result != null && result.fetched() == batchSize && result.published() == result.fetched());
+    }
+
+    @Scheduled(cron = "0 0 3 * * *", scheduler = SchedulerPools.MAINTENANCE)
+    @Transactional
+    public void cleanupPublishedEvents() {
+        outboxRepository.deleteByPublishedTrueAndPublishedAtBefore(
+                Instant.now().minus(7, ChronoUnit.DAYS));
+    }
+
+    private BatchResult publishBatch() {
+        if (!outboxRepository.tryLockRelay(RELAY_LOCK_KEY)) {
+            log.debug("Another instance is relaying the outbox, skipping this run");
+            return new BatchResult(0, 0);
+        }
+        List<OutboxEvent> events = outboxRepository.findUnpublishedForUpdate(batchSize);
+        if (events.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+
+        List<Long> publishedIds = sendAll(events);
+        if (!publishedIds.isEmpty()) {
+            outboxRepository.markPublished(publishedIds, Instant.now());
+        }
+        publishedCounter.increment(publishedIds.size());
+        if (publishedIds.size() < events.size()) {
+            failedCounter.increment(events.size() - publishedIds.size());
+            log.warn("Published {} of {} outbox events", publishedIds.size(), events.size());
+        }
+        return new BatchResult(events.size(), publishedIds.size());
+    }
+
+    /**
+     * Sends every event, then waits for the acks. Once an event fails, later events with the same
+     * partition key are left unpublished even if acknowledged, so the retry re-sends them after it and
+     * consumers of that key still end on the rows' commit order.
+     *
+     * @return ids of the events the broker acknowledged within {@code messaging.outbox.send-timeout}
+     *         and that no earlier failed event of their key precedes
+     */
+    List<Long> sendAll(List<OutboxEvent> events) {
+        List<CompletableFuture<?>> acks = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            try {
+                acks.add(kafkaTemplate.send(toRecord(event)));
+            } catch (Exception e) {
+                acks.add(CompletableFuture.failedFuture(e));
+            }
+        }
+        // Hand the batch to the broker now rather than after linger.ms
+        kafkaTemplate.flush();
+
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        List<Long> publishedIds = new ArrayList<>(events.size());
+        Set<String> failedKeys = new HashSet<>();
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            try {
+                acks.get(i).get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                if (failedKeys.contains(event.getPartitionKey())) {
+                    log.warn("Holding back outbox event {} behind a failed event with key {}",
+                            event.getId(), event.getPartitionKey());
+                } else {
+                    publishedIds.add(event.getId());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                failedKeys.add(event.getPartitionKey());
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.error("Failed to publish outbox event {}: {}", event.getId(), cause.getMessage());
+            }
+        }
+        return publishedIds;
+    }
+
+    private ProducerRecord<String, Object> toRecord(OutboxEvent event) throws Exception {
+        JsonNode payload = kafkaObjectMapper.readTree(event.getPayload());
+        boolean protobuf = format == EventFormat.PROTOBUF && protobufCodec.supports(event.getEventType());
+
+        ProducerRecord<String, Object> record = new ProducerRecord<>(event.getTopic(), event.getPartitionKey(),
+                protobuf ? protobufCodec.encode(event.getEventType(), payload) : payload);
+        record.headers()
+                .add(EventHeaders.EVENT_TYPE, event.getEventType().getBytes(StandardCharsets.UTF_8))
+                .add(EventHeaders.CONTENT_TYPE,
+                        (protobuf ? EventHeaders.PROTOBUF : EventHeaders.JSON).getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+}
@@ -0,0 +1,170 @@
+package com.ecommerce.messaging.scheduling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A named scheduler pool for one family of {@code @Scheduled} jobs, so a slow job only delays the jobs of
+ * its own family. Select it with {@code @Scheduled(scheduler = ...)}; threads are named after the pool.
+ * <p>
+ * Every job is timed ({@code scheduler.job.duration}) and its start delay against the time it was due is
+ * recorded ({@code scheduler.job.lag}), both tagged with pool and job. A run that takes longer than the
+ * job's interval is counted in {@code scheduler.job.overruns}. Fixed-rate jobs do not replay the runs they
+ * missed while overrunning: those are skipped and counted in {@code scheduler.job.skipped}. Fixed-delay
+ * and cron jobs never overlap or pile up, since their next run is only planned once the current one ends.
+ */
+@Slf4j
+public class MonitoredTaskScheduler extends ThreadPoolTaskScheduler {
+
+    private final String pool;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    public MonitoredTaskScheduler(String pool, int poolSize, MeterRegistry meterRegistry) {
+        this(pool, poolSize, meterRegistry, Clock.systemUTC());
+    }
+
+    MonitoredTaskScheduler(String pool, int poolSize, MeterRegistry meterRegistry, Clock clock) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Scheduler pool " + pool + " needs at least one thread");
+        }
+        this.pool = pool;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        setPoolSize(poolSize);
+        setThreadNamePrefix(pool + "-");
+        setRemoveOnCancelPolicy(true);
+        setWaitForTasksToCompleteOnShutdown(true);
+        setAwaitTerminationSeconds(10);
+    }
+
+    @Override
+    protected ExecutorService initializeExecutor(ThreadFactory threadFactory,
+                                                 RejectedExecutionHandler rejectedExecutionHandler) {
+        ExecutorService executor = super.initializeExecutor(threadFactory, rejectedExecutionHandler);
+        new ExecutorServiceMetrics(executor, "scheduler." + pool, Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        MonitoredJob job = new MonitoredJob(task, null, false);
+        return super.schedule(job, triggerContext -> {
+            Instant next = trigger.nextExecution(triggerContext);
+            job.due = next;
+            return next;
+        });
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Instant startTime, Duration period) {
+        return super.scheduleAtFixedRate(new MonitoredJob(task, period, true, startTime), startTime, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Duration period) {
+        return super.scheduleAtFixedRate(new MonitoredJob(task, period, true, clock.instant()), period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Instant startTime, Duration delay) {
+        return super.scheduleWithFixedDelay(new MonitoredJob(task, delay, false, startTime), startTime, delay);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Duration delay) {
+        return super.scheduleWithFixedDelay(new MonitoredJob(task, delay, false, clock.instant()), delay);
+    }
+
+    /**
+     * {@code @Scheduled} methods render as their qualified method name; the job tag keeps class and method.
+     */
+    static String jobName(Runnable task) {
+        String name = task.toString();
+        int method = name.lastIndexOf('.');
+        return method > 0 ? name.substring(name.lastIndexOf('.', method - 1) + 1) : name;
+    }
+
+    final class MonitoredJob implements Runnable {
+
+        private final Runnable task;
+        private final String name;
+        private final Duration interval;
+        private final boolean fixedRate;
+        private final Timer duration;
+        private final Timer lag;
+        private final Counter overruns;
+        private final Counter skipped;
+        volatile Instant due;
+
+        MonitoredJob(Runnable task, Duration interval, boolean fixedRate, Instant firstDue) {
+            this(task, interval, fixedRate);
+            this.due = firstDue;
+        }
+
+        MonitoredJob(Runnable task, Duration interval, boolean fixedRate) {
+            this.task = task;
+            this.name = jobName(task);
+            this.interval = interval;
+            this.fixedRate = fixedRate;
+            Tags tags = Tags.of("pool", pool, "job", name);
+            this.duration = meterRegistry.timer("scheduler.job.duration", tags);
+            this.lag = meterRegistry.timer("scheduler.job.lag", tags);
+            this.overruns = meterRegistry.counter("scheduler.job.overruns", tags);
+            this.skipped = meterRegistry.counter("scheduler.job.skipped", tags);
+        }
+
+        @Override
+        public void run() {
+            Instant start = clock.instant();
+            Instant scheduled = due;
+            Duration late = scheduled != null && start.isAfter(scheduled)
+                    ? Duration.between(scheduled, start)
+                    : Duration.ZERO;
+            if (fixedRate) {
+                due = scheduled.plus(interval);
+                if (late.compareTo(interval) >= 0) {
+                    // A missed period the executor is catching up on; the next on-time run does the work
+                    skipped.increment();
+                    return;
+                }
+            }
+            lag.record(late);
+
+            try {
+                task.run();
+            } finally {
+                Instant end = clock.instant();
+                Duration took = Duration.between(start, end);
+                duration.record(took);
+                if (interval != null && took.compareTo(interval) > 0) {
+                    overruns.increment();
+                    log.warn("Scheduled job {} on {} took {} ms, longer than its {} ms interval",
+                            name, pool, took.toMillis(), interval.toMillis());
+                }
+                if (!fixedRate && interval != null) {
+                    due = end.plus(interval);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.messaging.scheduling;
+
+/**
+ * Bean names of the scheduler pools the shared library defines, for {@code @Scheduled(scheduler = ...)}.
+ * Jobs that name no pool run on {@link #DEFAULT}.
+ */
+public final class SchedulerPools {
+
+    public static final String DEFAULT = "taskScheduler";
+    public static final String OUTBOX = "outboxScheduler";
+    public static final String DLQ = "dlqScheduler";
+    public static final String MAINTENANCE = "maintenanceScheduler";
+
+    private SchedulerPools() {
+    }
+}
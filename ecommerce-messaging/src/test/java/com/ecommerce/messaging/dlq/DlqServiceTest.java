@@ -0,0 +1,204 @@
+package com.ecommerce.messaging.dlq;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DlqServiceTest {
+
+    private static final int BATCH_SIZE = 3;
+
+    @Mock
+    private FailedEventRepository failedEventRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DlqService dlqService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dlqService = new DlqService(failedEventRepository, new ObjectMapper(), meterRegistry, "test-group",
+                3, Duration.ofMinutes(2), 2.0, Duration.ofMinutes(10), 0.0,
+                BATCH_SIZE, 4, 2, Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dlqService.close();
+    }
+
+    private FailedEvent failedEvent(int retryCount) {
+        return failedEvent(1L, "order-events", retryCount);
+    }
+
+    private FailedEvent failedEvent(long id, String topic, int retryCount) {
+        return FailedEvent.builder().id(id).topic(topic).payload("{\"orderNumber\":\"ORD-1\"}")
+                .status(FailedEvent.Status.FAILED).retryCount(retryCount).maxRetries(3).build();
+    }
+
+    @Test
+    void backoff_growsExponentiallyUpToMax() {
+        assertThat(dlqService.backoff(0)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(dlqService.backoff(1)).isEqualTo(Duration.ofMinutes(4));
+        assertThat(dlqService.backoff(2)).isEqualTo(Duration.ofMinutes(8));
+        assertThat(dlqService.backoff(3)).isEqualTo(Duration.ofMinutes(10));
+    }
+
+    @Test
+    void retryFailedEvents_handlerSucceeds_resolvesEvent() {
+        FailedEvent event = failedEvent(0);
+        AtomicReference<String> replayed = new AtomicReference<>();
+        dlqService.registerHandler("order-events", node -> replayed.set(node.get("orderNumber").asText()));
+        when(failedEventRepository.claimDue(any(), any(), eq(BATCH_SIZE))).thenReturn(List.of(event));
+
+        dlqService.drain();
+
+        assertThat(replayed.get()).isEqualTo("ORD-1");
+        assertThat(event.getStatus()).isEqualTo(FailedEvent.Status.RESOLVED);
+        assertThat(meterRegistry.counter("dlq.events.resolved", "topic", "order-events").count()).isEqualTo(1.0);
+        verify(failedEventRepository).saveAll(List.of(event));
+    }
+
+    @Test
+    void retryFailedEvents_handlerFails_schedulesNextRetryWithBackoff() {
+        FailedEvent event = failedEvent(0);
+        dlqService.registerHandler("order-events", node -> {
+            throw new IllegalStateException("still broken");
+        });
+        when(failedEventRepository.claimDue(any(), any(), eq(BATCH_SIZE))).thenReturn(List.of(event));
+
+        Instant before = Instant.now();
+        dlqService.drain();
+
+        assertThat(event.getStatus()).isEqualTo(FailedEvent.Status.FAILED);
+        assertThat(event.getRetryCount()).isEqualTo(1);
+        assertThat(event.getNextRetryAt()).isAfterOrEqualTo(before.plus(Duration.ofMinutes(4)));
+    }
+
+    @Test
+    void retryFailedEvents_lastRetryFails_exhaustsEvent() {
+        FailedEvent event = failedEvent(2);
+        dlqService.registerHandler("order-events", node -> {
+            throw new IllegalStateException("still broken");
+        });
+        when(failedEventRepository.claimDue(any(), any(), eq(BATCH_SIZE))).thenReturn(List.of(event));
+
+        dlqService.drain();
+
+        assertThat(event.getStatus()).isEqualTo(FailedEvent.Status.EXHAUSTED);
+        assertThat(meterRegistry.counter("dlq.events.exhausted", "topic", "order-events").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void backoff_withJitter_staysWithinBounds() {
+        DlqService jittered = new DlqService(failedEventRepository, new ObjectMapper(), meterRegistry, "test-group",
+                3, Duration.ofMinutes(2), 2.0, Duration.ofMinutes(10), 0.2, BATCH_SIZE, 1, 1, Duration.ofMinutes(10));
+        try {
+            for (int i = 0; i < 100; i++) {
+                assertThat(jittered.jitter(Duration.ofMinutes(10)))
+                        .isBetween(Duration.ofMinutes(8), Duration.ofMinutes(12));
+            }
+        } finally {
+            jittered.close();
+        }
+    }
+
+    @Test
+    void drain_fullPage_claimsNextPageAndReportsDepth() {
+        dlqService.registerHandler("order-events", node -> {
+        });
+        when(failedEventRepository.claimDue(any(), any(), eq(BATCH_SIZE)))
+                .thenReturn(List.of(failedEvent(1L, "order-events", 0), failedEvent(2L, "order-events", 0),
+                        failedEvent(3L, "order-events", 0)))
+                .thenReturn(List.of(failedEvent(4L, "order-events", 0)));
+        when(failedEventRepository.countByStatus(FailedEvent.Status.FAILED)).thenReturn(7L);
+
+        assertThat(dlqService.drain()).isEqualTo(4);
+
+        verify(failedEventRepository, times(2)).claimDue(any(), any(), eq(BATCH_SIZE));
+        verify(failedEventRepository, times(2)).saveAll(any());
+        assertThat(meterRegistry.get("dlq.events.depth").gauge().value()).isEqualTo(7.0);
+        assertThat(meterRegistry.get("dlq.drain.rate").gauge().value()).isPositive();
+    }
+
+    @Test
+    void drain_limitsConcurrentRetriesPerTopic() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch twoStarted = new CountDownLatch(2);
+        dlqService.registerHandler("order-events", node -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            twoStarted.countDown();
+            try {
+                // Stay in flight long enough for a third retry to try its luck
+                twoStarted.await(1, TimeUnit.SECONDS);
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+        });
+        when(failedEventRepository.claimDue(any(), any(), eq(BATCH_SIZE)))
+                .thenReturn(List.of(failedEvent(1L, "order-events", 0), failedEvent(2L, "order-events", 0),
+                        failedEvent(3L, "order-events", 0)))
+                .thenReturn(List.of());
+
+        assertThat(dlqService.drain()).isEqualTo(3);
+
+        // Four workers, but at most two per topic
+        assertThat(maxRunning.get()).isEqualTo(2);
+    }
+
+    @Test
+    void drain_busyTopic_doesNotStarveOtherTopics() {
+        // Three workers, two per topic: a third order-events retry must not hold the worker payment-events needs
+        DlqService narrow = new DlqService(failedEventRepository, new ObjectMapper(), meterRegistry, "test-group",
+                3, Duration.ofMinutes(2), 2.0, Duration.ofMinutes(10), 0.0, 4, 3, 2, Duration.ofMinutes(10));
+        CountDownLatch paymentRetried = new CountDownLatch(1);
+        AtomicInteger ordersThatSawPayment = new AtomicInteger();
+        narrow.registerHandler("order-events", node -> {
+            try {
+                if (paymentRetried.await(2, TimeUnit.SECONDS)) {
+                    ordersThatSawPayment.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        narrow.registerHandler("payment-events", node -> paymentRetried.countDown());
+        when(failedEventRepository.claimDue(any(), any(), eq(4)))
+                .thenReturn(List.of(failedEvent(1L, "order-events", 0), failedEvent(2L, "order-events", 0),
+                        failedEvent(3L, "order-events", 0), failedEvent(4L, "payment-events", 0)))
+                .thenReturn(List.of());
+
+        try {
+            assertThat(narrow.drain()).isEqualTo(4);
+        } finally {
+            narrow.close();
+        }
+
+        // payment-events ran while the first two order-events retries were still in flight, not after them
+        assertThat(ordersThatSawPayment.get()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,78 @@
+package com.ecommerce.messaging.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProtobufEventCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ProtobufEventCodec codec = new ProtobufEventCodec();
+
+    record OrderItem(Long productId, Integer quantity, BigDecimal unitPrice) {
+    }
+
+    record OrderCreatedPayload(String eventId, String eventType, Long orderId, String orderNumber, UUID userId,
+                               List<OrderItem> items, BigDecimal totalAmount, BigDecimal finalAmount,
+                               String status, Instant timestamp) {
+    }
+
+    private OrderCreatedPayload orderCreated() {
+        return new OrderCreatedPayload(UUID.randomUUID().toString(), "ORDER_CREATED", 42L, "ORD-20260101-0042",
+                UUID.randomUUID(),
+                List.of(new OrderItem(1L, 2, new BigDecimal("19.90")), new OrderItem(7L, 1, new BigDecimal("5.00"))),
+                new BigDecimal("44.80"), new BigDecimal("44.80"), "PENDING",
+                Instant.parse("2026-01-01T10:15:30.123456789Z"));
+    }
+
+    @Test
+    void roundTrip_bindsToTheSameEvent() throws Exception {
+        OrderCreatedPayload event = orderCreated();
+        JsonNode json = objectMapper.valueToTree(event);
+
+        JsonNode decoded = codec.decode("ORDER_CREATED", codec.encode("ORDER_CREATED", json));
+
+        assertThat(objectMapper.treeToValue(decoded, OrderCreatedPayload.class)).isEqualTo(event);
+    }
+
+    @Test
+    void roundTrip_acceptsIsoInstantsAndLeavesUnsetFieldsOut() throws Exception {
+        JsonNode json = objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .readTree("{\"id\":5,\"slug\":\"phone\",\"deletedAt\":\"2026-01-01T10:15:30Z\",\"eventId\":\"e-1\"}");
+
+        JsonNode decoded = codec.decode("PRODUCT_DELETED", codec.encode("PRODUCT_DELETED", json));
+
+        assertThat(decoded.get("id").asLong()).isEqualTo(5L);
+        assertThat(objectMapper.treeToValue(decoded.get("deletedAt"), Instant.class))
+                .isEqualTo(Instant.parse("2026-01-01T10:15:30Z"));
+        assertThat(decoded.has("sku")).isFalse();
+        assertThat(decoded.has("timestamp")).isFalse();
+    }
+
+    @Test
+    void encode_isSmallerThanJson() throws Exception {
+        JsonNode json = objectMapper.valueToTree(orderCreated());
+
+        byte[] protobuf = codec.encode("ORDER_CREATED", json);
+        byte[] jsonBytes = objectMapper.writeValueAsBytes(json);
+
+        assertThat(protobuf.length).isLessThan(jsonBytes.length / 2);
+    }
+
+    @Test
+    void encode_unknownEventType_isRejected() {
+        assertThat(codec.supports("USER_REGISTERED")).isFalse();
+        assertThatThrownBy(() -> codec.encode("USER_REGISTERED", objectMapper.createObjectNode()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
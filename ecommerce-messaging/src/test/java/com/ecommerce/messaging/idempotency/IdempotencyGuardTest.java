@@ -0,0 +1,110 @@
+package com.ecommerce.messaging.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyGuardTest {
+
+    @Mock
+    private ProcessedEventRepository processedEventRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        guard = new IdempotencyGuard(processedEventRepository, meterRegistry, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void markProcessed_newEvent_recordsAndCachesIt() {
+        when(processedEventRepository.insertIfAbsent(eq("e-1"), eq("TEST"), any())).thenReturn(1);
+
+        assertThat(guard.markProcessed("e-1", "TEST")).isTrue();
+        assertThat(guard.markProcessed("e-1", "TEST")).isFalse();
+
+        verify(processedEventRepository, times(1)).insertIfAbsent(any(), any(), any());
+        assertThat(meterRegistry.counter("idempotency.duplicates", "source", "cache").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void markProcessed_knownInDatabase_isDuplicate() {
+        when(processedEventRepository.insertIfAbsent(eq("e-1"), eq("TEST"), any())).thenReturn(0);
+
+        assertThat(guard.markProcessed("e-1", "TEST")).isFalse();
+        assertThat(guard.isRecent("e-1")).isTrue();
+        assertThat(meterRegistry.counter("idempotency.duplicates", "source", "database").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void markProcessed_inTransaction_cachesOnlyAfterCommit() {
+        when(processedEventRepository.insertIfAbsent(eq("e-1"), eq("TEST"), any())).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThat(guard.markProcessed("e-1", "TEST")).isTrue();
+        assertThat(guard.isRecent("e-1")).isFalse();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(guard.isRecent("e-1")).isTrue();
+    }
+
+    @Test
+    void markProcessed_evictsLeastRecentlyUsedBeyondCacheSize() {
+        when(processedEventRepository.insertIfAbsent(any(), any(), any())).thenReturn(1);
+
+        guard.markProcessed("e-1", "TEST");
+        guard.markProcessed("e-2", "TEST");
+        guard.markProcessed("e-3", "TEST");
+
+        assertThat(guard.isRecent("e-1")).isFalse();
+        assertThat(guard.isRecent("e-2")).isTrue();
+        assertThat(guard.isRecent("e-3")).isTrue();
+    }
+
+    @Test
+    void markProcessedAll_insertsOnlyIdsNotCachedAndReturnsNewOnes() {
+        guard = new IdempotencyGuard(processedEventRepository, meterRegistry, 10);
+        when(processedEventRepository.insertIfAbsent(eq("e-1"), eq("TEST"), any())).thenReturn(1);
+        guard.markProcessed("e-1", "TEST");
+        when(processedEventRepository.insertAllIfAbsent(eq(new String[]{"e-2", "e-3"}), eq(new String[]{"TEST", "TEST"}), any()))
+                .thenReturn(List.of("e-2"));
+
+        Map<String, String> batch = new LinkedHashMap<>();
+        batch.put("e-1", "TEST");
+        batch.put("e-2", "TEST");
+        batch.put("e-3", "TEST");
+
+        Set<String> newIds = guard.markProcessedAll(batch);
+
+        assertThat(newIds).containsExactly("e-2");
+        assertThat(guard.isRecent("e-3")).isTrue();
+        assertThat(meterRegistry.counter("idempotency.duplicates", "source", "cache").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("idempotency.duplicates", "source", "database").count()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,129 @@
+package com.ecommerce.messaging.idempotency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares catch-up throughput of the idempotency check against a real PostgreSQL database: one
+ * {@code processed_events} insert and commit per record, as the record listeners do, against one
+ * {@link ProcessedEventRepository#INSERT_ALL_IF_ABSENT_SQL} insert and commit per poll batch.
+ * Point MESSAGING_TEST_DB_URL (plus optional MESSAGING_TEST_DB_USERNAME / MESSAGING_TEST_DB_PASSWORD) at a
+ * scratch database to run it.
+ */
+@EnabledIfEnvironmentVariable(named = "MESSAGING_TEST_DB_URL", matches = ".+")
+class ProcessedEventBatchBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProcessedEventBatchBenchmarkTest.class);
+
+    private static final int EVENTS = 20_000;
+    private static final int BATCH_SIZE = 500;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                System.getenv("MESSAGING_TEST_DB_URL"),
+                System.getenv().getOrDefault("MESSAGING_TEST_DB_USERNAME", "postgres"),
+                System.getenv().getOrDefault("MESSAGING_TEST_DB_PASSWORD", "postgres"));
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE IF EXISTS processed_events_benchmark");
+        jdbc.execute("""
+                CREATE TABLE processed_events_benchmark (
+                    id BIGSERIAL PRIMARY KEY,
+                    event_id VARCHAR(100) NOT NULL UNIQUE,
+                    event_type VARCHAR(50) NOT NULL,
+                    processed_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+                )
+                """);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("DROP TABLE IF EXISTS processed_events_benchmark");
+    }
+
+    @Test
+    void batchInsertOutperformsPerRecordInserts() throws Exception {
+        String[] eventIds = new String[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            eventIds[i] = UUID.randomUUID().toString();
+        }
+
+        long perRecordStart = System.nanoTime();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement("""
+                     INSERT INTO processed_events_benchmark (event_id, event_type, processed_at)
+                     VALUES (?, 'TEST', ?)
+                     ON CONFLICT (event_id) DO NOTHING
+                     """)) {
+            connection.setAutoCommit(true);
+            for (String eventId : eventIds) {
+                insert.setString(1, eventId);
+                insert.setTimestamp(2, Timestamp.from(Instant.now()));
+                insert.executeUpdate();
+            }
+        }
+        double perRecordRate = EVENTS / seconds(perRecordStart);
+
+        jdbc.execute("TRUNCATE processed_events_benchmark");
+
+        String batchSql = ProcessedEventRepository.INSERT_ALL_IF_ABSENT_SQL
+                .replace("processed_events", "processed_events_benchmark")
+                .replace(":processedAt", "?")
+                .replace(":eventIds", "?")
+                .replace(":eventTypes", "?");
+        int inserted = 0;
+        long batchStart = System.nanoTime();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement(batchSql)) {
+            connection.setAutoCommit(false);
+            for (int from = 0; from < EVENTS; from += BATCH_SIZE) {
+                int size = Math.min(BATCH_SIZE, EVENTS - from);
+                String[] ids = new String[size];
+                String[] types = new String[size];
+                System.arraycopy(eventIds, from, ids, 0, size);
+                Arrays.fill(types, "TEST");
+
+                insert.setTimestamp(1, Timestamp.from(Instant.now()));
+                insert.setArray(2, connection.createArrayOf("varchar", ids));
+                insert.setArray(3, connection.createArrayOf("varchar", types));
+                try (ResultSet returned = insert.executeQuery()) {
+                    while (returned.next()) {
+                        inserted++;
+                    }
+                }
+                connection.commit();
+            }
+        }
+        double batchRate = EVENTS / seconds(batchStart);
+
+        log.info(String.format(
+                "Idempotency check for %d events: per-record %.0f events/s, batched %.0f events/s (%.1fx)",
+                EVENTS, perRecordRate, batchRate, batchRate / perRecordRate));
+
+        assertThat(inserted).isEqualTo(EVENTS);
+        assertThat(batchRate).isGreaterThan(perRecordRate * 5);
+    }
+
+    private static double seconds(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000_000.0;
+    }
+}
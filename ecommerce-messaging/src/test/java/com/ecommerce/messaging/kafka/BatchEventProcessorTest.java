@@ -0,0 +1,91 @@
+package com.ecommerce.messaging.kafka;
+
+import com.ecommerce.messaging.idempotency.IdempotencyGuard;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchEventProcessorTest {
+
+    @Mock
+    private IdempotencyGuard idempotencyGuard;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BatchEventProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        processor = new BatchEventProcessor(idempotencyGuard, transactionManager);
+    }
+
+    private ConsumerRecord<String, JsonNode> record(long offset, String eventId) {
+        JsonNode node = objectMapper.createObjectNode().put("eventId", eventId).put("eventType", "TEST");
+        return new ConsumerRecord<>("test-events", 0, offset, eventId, node);
+    }
+
+    @Test
+    void process_dedupesWholeBatchWithOneCallAndSkipsDuplicates() {
+        List<ConsumerRecord<String, JsonNode>> records = List.of(record(0, "e-1"), record(1, "e-2"), record(2, "e-1"));
+        when(idempotencyGuard.markProcessedAll(Map.of("e-1", "TEST", "e-2", "TEST"))).thenReturn(Set.of("e-1"));
+        List<String> handled = new ArrayList<>();
+
+        processor.process(records, node -> "TEST", node -> handled.add(node.get("eventId").asText()));
+
+        assertThat(handled).containsExactly("e-1");
+        verify(idempotencyGuard, never()).markProcessed(any(), any());
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void process_failingRecord_replaysPerRecordAndReportsFailedIndex() {
+        List<ConsumerRecord<String, JsonNode>> records = List.of(record(0, "e-1"), record(1, "e-2"), record(2, "e-3"));
+        when(idempotencyGuard.markProcessedAll(anyMap())).thenReturn(Set.of("e-1", "e-2", "e-3"));
+        when(idempotencyGuard.markProcessed(any(), eq("TEST"))).thenReturn(true);
+        List<String> handled = new ArrayList<>();
+
+        assertThatThrownBy(() -> processor.process(records, node -> "TEST", node -> {
+            String eventId = node.get("eventId").asText();
+            if (eventId.equals("e-2")) {
+                throw new IllegalStateException("boom");
+            }
+            handled.add(eventId);
+        }))
+                .isInstanceOf(BatchListenerFailedException.class)
+                .satisfies(e -> assertThat(((BatchListenerFailedException) e).getIndex()).isEqualTo(1));
+
+        // e-1 once in the rolled back batch, once in its own transaction
+        assertThat(handled).containsExactly("e-1", "e-1");
+        verify(idempotencyGuard, times(2)).markProcessed(any(), eq("TEST"));
+    }
+
+    @Test
+    void process_emptyBatch_doesNothing() {
+        processor.process(List.of(), node -> "TEST", node -> {
+        });
+
+        verifyNoInteractions(idempotencyGuard, transactionManager);
+    }
+}
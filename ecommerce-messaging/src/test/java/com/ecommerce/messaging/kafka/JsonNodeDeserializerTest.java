@@ -0,0 +1,58 @@
+package com.ecommerce.messaging.kafka;
+
+import com.ecommerce.messaging.events.EventHeaders;
+import com.ecommerce.messaging.events.ProtobufEventCodec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonNodeDeserializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonNodeDeserializer deserializer = new JsonNodeDeserializer(objectMapper);
+
+    private RecordHeaders headers(String eventType, String contentType) {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(EventHeaders.EVENT_TYPE, eventType.getBytes(StandardCharsets.UTF_8));
+        headers.add(EventHeaders.CONTENT_TYPE, contentType.getBytes(StandardCharsets.UTF_8));
+        return headers;
+    }
+
+    @Test
+    void deserialize_protobufRecord_decodesAndAddsEventType() throws Exception {
+        byte[] data = new ProtobufEventCodec().encode("PRICE_CHANGED",
+                objectMapper.readTree("{\"id\":3,\"oldPrice\":10.00,\"newPrice\":8.50,\"eventId\":\"e-3\"}"));
+
+        JsonNode node = deserializer.deserialize("product-events", headers("PRICE_CHANGED", EventHeaders.PROTOBUF), data);
+
+        assertThat(node.get("eventType").asText()).isEqualTo("PRICE_CHANGED");
+        assertThat(new BigDecimal(node.get("newPrice").asText())).isEqualByComparingTo("8.50");
+        assertThat(node.get("eventId").asText()).isEqualTo("e-3");
+    }
+
+    @Test
+    void deserialize_jsonRecord_keepsPayloadEventType() {
+        byte[] data = "{\"eventType\":\"STOCK_UPDATED\",\"productId\":1}".getBytes(StandardCharsets.UTF_8);
+
+        JsonNode node = deserializer.deserialize("inventory-events", headers("STOCK_RESERVED", EventHeaders.JSON), data);
+
+        assertThat(node.get("eventType").asText()).isEqualTo("STOCK_UPDATED");
+        assertThat(node.get("productId").asLong()).isEqualTo(1L);
+    }
+
+    @Test
+    void deserialize_withoutHeaders_readsJson() {
+        byte[] data = "{\"id\":9}".getBytes(StandardCharsets.UTF_8);
+
+        JsonNode node = deserializer.deserialize("product-events", new RecordHeaders(), data);
+
+        assertThat(node.get("id").asLong()).isEqualTo(9L);
+        assertThat(node.has("eventType")).isFalse();
+    }
+}
@@ -0,0 +1,110 @@
+package com.ecommerce.messaging.kafka;
+
+import com.ecommerce.messaging.idempotency.IdempotencyGuard;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KeyOrderedProcessorTest {
+
+    @Mock
+    private IdempotencyGuard idempotencyGuard;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private KeyOrderedProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        processor = new KeyOrderedProcessor(idempotencyGuard, transactionManager, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        processor.close();
+    }
+
+    private ConsumerRecord<String, JsonNode> record(long offset, String key) {
+        JsonNode node = objectMapper.createObjectNode().put("eventId", "e-" + offset).put("key", key);
+        return new ConsumerRecord<>("test-events", 0, offset, key, node);
+    }
+
+    private List<ConsumerRecord<String, JsonNode>> records(int count, int keys) {
+        List<ConsumerRecord<String, JsonNode>> records = new ArrayList<>();
+        for (int offset = 0; offset < count; offset++) {
+            records.add(record(offset, "product-" + offset % keys));
+        }
+        return records;
+    }
+
+    @Test
+    void process_appliesEveryRecordInOffsetOrderPerKey() {
+        when(idempotencyGuard.markProcessed(any(), eq("TEST"))).thenReturn(true);
+        Map<String, Queue<Long>> appliedByKey = new ConcurrentHashMap<>();
+
+        processor.process(records(200, 7), node -> "TEST", node -> appliedByKey
+                .computeIfAbsent(node.get("key").asText(), key -> new ConcurrentLinkedQueue<>())
+                .add(Long.parseLong(node.get("eventId").asText().substring(2))));
+
+        assertThat(appliedByKey).hasSize(7);
+        appliedByKey.values().forEach(offsets -> assertThat(new ArrayList<>(offsets)).isSorted());
+        assertThat(appliedByKey.values().stream().mapToInt(Queue::size).sum()).isEqualTo(200);
+    }
+
+    @Test
+    void process_duplicate_isSkipped() {
+        when(idempotencyGuard.markProcessed(any(), eq("TEST"))).thenReturn(true);
+        when(idempotencyGuard.markProcessed("e-1", "TEST")).thenReturn(false);
+        Queue<String> handled = new ConcurrentLinkedQueue<>();
+
+        processor.process(records(3, 3), node -> "TEST", node -> handled.add(node.get("eventId").asText()));
+
+        assertThat(handled).containsExactlyInAnyOrder("e-0", "e-2");
+    }
+
+    @Test
+    void process_failure_stopsItsKeyAndReportsLowestFailedIndex() {
+        when(idempotencyGuard.markProcessed(any(), eq("TEST"))).thenReturn(true);
+        Queue<String> handled = new ConcurrentLinkedQueue<>();
+
+        // Keys alternate a, b: offsets 1 and 3 share key b
+        List<ConsumerRecord<String, JsonNode>> records = List.of(
+                record(0, "a"), record(1, "b"), record(2, "a"), record(3, "b"));
+
+        assertThatThrownBy(() -> processor.process(records, node -> "TEST", node -> {
+            String eventId = node.get("eventId").asText();
+            if (eventId.equals("e-1")) {
+                throw new IllegalStateException("boom");
+            }
+            handled.add(eventId);
+        }))
+                .isInstanceOf(BatchListenerFailedException.class)
+                .satisfies(e -> assertThat(((BatchListenerFailedException) e).getIndex()).isEqualTo(1));
+
+        assertThat(handled).contains("e-0", "e-2").doesNotContain("e-3");
+        verify(transactionManager, atLeast(3)).getTransaction(any());
+    }
+}
@@ -0,0 +1,147 @@
+package com.ecommerce.messaging.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends the same stream of small cart-style events through each producer profile on an embedded
+ * single-node Kafka and reports bytes on the wire and records per second. Records are sent the way
+ * {@code CartEventProducer} sends them: one at a time, without waiting for the ack.
+ * Set PRODUCER_BENCHMARK=true to run it.
+ */
+@EnabledIfEnvironmentVariable(named = "PRODUCER_BENCHMARK", matches = "true")
+class ProducerProfileBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProducerProfileBenchmarkTest.class);
+
+    private static final String TOPIC = "producer-benchmark";
+    private static final int RECORDS = 50_000;
+    private static final int USERS = 2_000;
+
+    private static final Map<String, ProducerProfile> PROFILES = new LinkedHashMap<>();
+
+    static {
+        PROFILES.put("unbatched", new ProducerProfile(0, 16_384, "none", true, 5));
+        PROFILES.put("lz4", new ProducerProfile(5, 65_536, "lz4", true, 5));
+        PROFILES.put("zstd", new ProducerProfile(5, 65_536, "zstd", true, 5));
+        PROFILES.put("zstd, linger 20ms", new ProducerProfile(20, 131_072, "zstd", true, 5));
+    }
+
+    private static EmbeddedKafkaKraftBroker broker;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private record Result(double recordsPerSecond, double bytesOnWire) {
+    }
+
+    @BeforeAll
+    static void startBroker() {
+        broker = new EmbeddedKafkaKraftBroker(1, 6, TOPIC);
+        broker.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        broker.destroy();
+    }
+
+    @Test
+    void compressedBatchingSendsFewerBytes() throws Exception {
+        List<Map<String, Object>> events = events();
+        Map<String, Result> results = new LinkedHashMap<>();
+
+        for (Map.Entry<String, ProducerProfile> profile : PROFILES.entrySet()) {
+            results.put(profile.getKey(), run(profile.getValue(), events));
+        }
+
+        log.info("Producer profiles, {} records:", RECORDS);
+        results.forEach((name, result) -> log.info(String.format(
+                "  %-18s %9.0f records/s %12.0f bytes on wire (%.1f B/record)",
+                name, result.recordsPerSecond(), result.bytesOnWire(), result.bytesOnWire() / RECORDS)));
+
+        assertThat(results.get("lz4").bytesOnWire()).isLessThan(results.get("unbatched").bytesOnWire());
+        assertThat(results.get("zstd").bytesOnWire()).isLessThan(results.get("unbatched").bytesOnWire());
+    }
+
+    private Result run(ProducerProfile profile, List<Map<String, Object>> events) throws Exception {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        profile.applyTo(config);
+
+        KafkaTemplate<String, Object> kafkaTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                config, new StringSerializer(), new EventSerializer(objectMapper)));
+        try {
+            // Warm up the connection and metadata so they are not part of the measurement
+            kafkaTemplate.send(TOPIC, "warmup", Map.of()).get();
+            double bytesBefore = outgoingBytes(kafkaTemplate);
+
+            long start = System.nanoTime();
+            List<CompletableFuture<?>> acks = new ArrayList<>(events.size());
+            for (Map<String, Object> event : events) {
+                acks.add(kafkaTemplate.send(TOPIC, (String) event.get("userId"), event));
+            }
+            CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new)).get();
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            return new Result(events.size() / seconds, outgoingBytes(kafkaTemplate) - bytesBefore);
+        } finally {
+            kafkaTemplate.destroy();
+        }
+    }
+
+    private static double outgoingBytes(KafkaTemplate<String, Object> kafkaTemplate) {
+        for (Map.Entry<MetricName, ? extends Metric> metric : kafkaTemplate.metrics().entrySet()) {
+            if (metric.getKey().group().equals("producer-metrics")
+                    && metric.getKey().name().equals("outgoing-byte-total")) {
+                return ((Number) metric.getValue().metricValue()).doubleValue();
+            }
+        }
+        throw new IllegalStateException("Producer does not report outgoing-byte-total");
+    }
+
+    private List<Map<String, Object>> events() {
+        List<UUID> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(UUID.randomUUID());
+        }
+        List<Map<String, Object>> events = new ArrayList<>(RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("eventId", UUID.randomUUID().toString());
+            event.put("eventType", "CART_ITEM_ADDED");
+            event.put("userId", users.get(i % USERS).toString());
+            event.put("productId", 1_000L + i % 500);
+            event.put("productName", "Product " + (i % 500));
+            event.put("quantity", 1 + i % 3);
+            event.put("unitPrice", new BigDecimal("19.90").add(BigDecimal.valueOf(i % 50)));
+            event.put("timestamp", Instant.now().toString());
+            events.add(event);
+        }
+        return events;
+    }
+}
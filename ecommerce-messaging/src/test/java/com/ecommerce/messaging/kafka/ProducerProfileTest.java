@@ -0,0 +1,39 @@
+package com.ecommerce.messaging.kafka;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProducerProfileTest {
+
+    @Test
+    void applyTo_setsBatchingCompressionAndDeliveryConfig() {
+        Map<String, Object> config = new HashMap<>();
+
+        new ProducerProfile(5, 65_536, "zstd", true, 5).applyTo(config);
+
+        assertThat(config)
+                .containsEntry(ProducerConfig.LINGER_MS_CONFIG, 5)
+                .containsEntry(ProducerConfig.BATCH_SIZE_CONFIG, 65_536)
+                .containsEntry(ProducerConfig.COMPRESSION_TYPE_CONFIG, "zstd")
+                .containsEntry(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true)
+                .containsEntry(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION_CONFIG, 5);
+    }
+
+    @Test
+    void idempotentProfile_withTooManyInFlightRequests_isRejected() {
+        assertThatThrownBy(() -> new ProducerProfile(5, 65_536, "lz4", true, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void unknownCompressionType_isRejected() {
+        assertThatThrownBy(() -> new ProducerProfile(5, 65_536, "brotli", true, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
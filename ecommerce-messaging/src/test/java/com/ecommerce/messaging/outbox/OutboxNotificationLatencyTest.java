@@ -0,0 +1,100 @@
+package com.ecommerce.messaging.outbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures commit-to-publish latency of {@link OutboxNotificationListener} against a real PostgreSQL
+ * database: the time from an outbox insert committing to the publisher being woken.
+ * Point OUTBOX_TEST_DB_URL (plus optional OUTBOX_TEST_DB_USERNAME / OUTBOX_TEST_DB_PASSWORD) at a scratch
+ * database to run it, e.g. {@code jdbc:postgresql://localhost:5432/product_test}.
+ */
+@EnabledIfEnvironmentVariable(named = "OUTBOX_TEST_DB_URL", matches = ".+")
+class OutboxNotificationLatencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxNotificationLatencyTest.class);
+
+    private static final int SAMPLES = 200;
+
+    private final BlockingQueue<Long> wakeups = new LinkedBlockingQueue<>();
+    private JdbcTemplate jdbc;
+    private OutboxNotificationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        String url = System.getenv("OUTBOX_TEST_DB_URL");
+        String username = System.getenv().getOrDefault("OUTBOX_TEST_DB_USERNAME", "postgres");
+        String password = System.getenv().getOrDefault("OUTBOX_TEST_DB_PASSWORD", "postgres");
+        jdbc = new JdbcTemplate(new DriverManagerDataSource(url, username, password));
+
+        jdbc.execute("""
+                CREATE TABLE IF NOT EXISTS outbox_events (
+                    id BIGSERIAL PRIMARY KEY,
+                    aggregate_type VARCHAR(50) NOT NULL,
+                    aggregate_id VARCHAR(100) NOT NULL,
+                    event_type VARCHAR(50) NOT NULL,
+                    topic VARCHAR(100) NOT NULL,
+                    partition_key VARCHAR(100) NOT NULL,
+                    payload TEXT NOT NULL,
+                    published BOOLEAN NOT NULL,
+                    created_at TIMESTAMP(6) WITH TIME ZONE,
+                    published_at TIMESTAMP(6) WITH TIME ZONE
+                )
+                """);
+
+        OutboxPublisher publisher = mock(OutboxPublisher.class);
+        doAnswer(invocation -> wakeups.add(System.nanoTime())).when(publisher).publishOutboxEvents();
+
+        listener = new OutboxNotificationListener(publisher, url, username, password, Duration.ofSeconds(1));
+        listener.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.stop();
+        jdbc.update("DELETE FROM outbox_events WHERE aggregate_type = 'LatencyTest'");
+    }
+
+    @Test
+    void insertWakesPublisherWithinMilliseconds() throws Exception {
+        // The listener publishes once right after LISTEN; from then on notifications are delivered
+        assertThat(wakeups.poll(10, TimeUnit.SECONDS)).isNotNull();
+
+        long[] latencies = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long committedAt = System.nanoTime();
+            jdbc.update("""
+                    INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, topic, partition_key,
+                                               payload, published, created_at)
+                    VALUES ('LatencyTest', ?, 'TEST', 'test', ?, '{}', false, now())
+                    """, String.valueOf(i), String.valueOf(i));
+            Long wokenAt = wakeups.poll(5, TimeUnit.SECONDS);
+            assertThat(wokenAt).as("wakeup for insert %d", i).isNotNull();
+            latencies[i] = Math.max(wokenAt - committedAt, 0);
+        }
+
+        Arrays.sort(latencies);
+        double medianMillis = latencies[SAMPLES / 2] / 1_000_000.0;
+        double p99Millis = latencies[SAMPLES * 99 / 100] / 1_000_000.0;
+        log.info(String.format("Outbox insert -> publisher wakeup: median %.2f ms, p99 %.2f ms",
+                medianMillis, p99Millis));
+
+        assertThat(medianMillis).isLessThan(10.0);
+    }
+}
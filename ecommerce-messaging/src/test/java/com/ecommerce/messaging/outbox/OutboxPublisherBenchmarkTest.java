@@ -0,0 +1,135 @@
+package com.ecommerce.messaging.outbox;
+
+import com.ecommerce.messaging.events.EventFormat;
+import com.ecommerce.messaging.kafka.EventSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares outbox publish throughput on an embedded single-node Kafka: the previous one-ack-per-event loop
+ * against {@link OutboxPublisher} draining the same number of rows in async batches. The repository is
+ * stubbed, so the numbers isolate the broker round trips. Set OUTBOX_BENCHMARK=true to run it.
+ */
+@EnabledIfEnvironmentVariable(named = "OUTBOX_BENCHMARK", matches = "true")
+class OutboxPublisherBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxPublisherBenchmarkTest.class);
+
+    private static final String TOPIC = "outbox-benchmark";
+    private static final int EVENTS = 20_000;
+    private static final int BATCH_SIZE = 500;
+
+    private static EmbeddedKafkaKraftBroker broker;
+    private static KafkaTemplate<String, Object> kafkaTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void startBroker() {
+        broker = new EmbeddedKafkaKraftBroker(1, 6, TOPIC);
+        broker.afterPropertiesSet();
+
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        kafkaTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(config, new StringSerializer(),
+                new EventSerializer(new ObjectMapper())));
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        kafkaTemplate.destroy();
+        broker.destroy();
+    }
+
+    @Test
+    void batchedPublisherOutperformsPerEventAcks() throws Exception {
+        // Warm up the producer connection and metadata
+        kafkaTemplate.send(TOPIC, "warmup", objectMapper.readTree("{}")).get();
+
+        long sequentialStart = System.nanoTime();
+        for (OutboxEvent event : events()) {
+            kafkaTemplate.send(event.getTopic(), event.getPartitionKey(), objectMapper.readTree(event.getPayload())).get();
+        }
+        double sequentialRate = EVENTS / seconds(sequentialStart);
+
+        Deque<OutboxEvent> pending = new ArrayDeque<>(events());
+        AtomicInteger marked = new AtomicInteger();
+        OutboxEventRepository repository = mock(OutboxEventRepository.class);
+        when(repository.tryLockRelay(anyLong())).thenReturn(true);
+        when(repository.findUnpublishedForUpdate(anyInt())).thenAnswer(invocation -> {
+            int limit = invocation.getArgument(0);
+            List<OutboxEvent> batch = new ArrayList<>(limit);
+            while (batch.size() < limit && !pending.isEmpty()) {
+                batch.add(pending.poll());
+            }
+            return batch;
+        });
+        when(repository.markPublished(any(), any())).thenAnswer(invocation -> {
+            int count = invocation.<List<Long>>getArgument(0).size();
+            marked.addAndGet(count);
+            return count;
+        });
+        OutboxPublisher publisher = new OutboxPublisher(repository, kafkaTemplate, objectMapper, EventFormat.JSON,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), BATCH_SIZE, Duration.ofSeconds(30));
+
+        long batchedStart = System.nanoTime();
+        publisher.publishOutboxEvents();
+        double batchedRate = EVENTS / seconds(batchedStart);
+
+        log.info(String.format(
+                "Outbox publish of %d events: per-event acks %.0f events/s, batched %.0f events/s (%.1fx)",
+                EVENTS, sequentialRate, batchedRate, batchedRate / sequentialRate));
+
+        assertThat(marked.get()).isEqualTo(EVENTS);
+        assertThat(batchedRate).isGreaterThan(sequentialRate);
+    }
+
+    private List<OutboxEvent> events() {
+        List<OutboxEvent> events = new ArrayList<>(EVENTS);
+        for (long id = 1; id <= EVENTS; id++) {
+            events.add(OutboxEvent.builder()
+                    .id(id)
+                    .topic(TOPIC)
+                    .partitionKey("product-" + (id % 100))
+                    .eventType("PRODUCT_UPDATED")
+                    .payload("{\"eventId\":\"" + id + "\",\"eventType\":\"PRODUCT_UPDATED\",\"id\":" + id + "}")
+                    .build());
+        }
+        return events;
+    }
+
+    private static double seconds(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,182 @@
+package com.ecommerce.messaging.outbox;
+
+import com.ecommerce.messaging.events.EventFormat;
+import com.ecommerce.messaging.events.EventHeaders;
+import com.ecommerce.messaging.events.ProductDeleted;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxPublisherTest {
+
+    private static final int BATCH_SIZE = 3;
+
+    @Mock
+    private OutboxEventRepository outboxRepository;
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxPublisher outboxPublisher;
+
+    @BeforeEach
+    void setUp() {
+        outboxPublisher = new OutboxPublisher(outboxRepository, kafkaTemplate, new ObjectMapper(),
+                EventFormat.JSON, transactionManager, new SimpleMeterRegistry(), BATCH_SIZE, Duration.ofSeconds(1));
+    }
+
+    private OutboxEvent event(long id) {
+        return OutboxEvent.builder().id(id).topic("product-events").partitionKey("key-" + id)
+                .eventType("PRODUCT_DELETED").payload("{\"id\":" + id + "}").build();
+    }
+
+    private List<OutboxEvent> events(long fromId, int count) {
+        List<OutboxEvent> events = new ArrayList<>();
+        for (long id = fromId; id < fromId + count; id++) {
+            events.add(event(id));
+        }
+        return events;
+    }
+
+    @Test
+    void publishOutboxEvents_sendsBatchAndMarksPublishedInOneUpdate() {
+        when(outboxRepository.tryLockRelay(OutboxPublisher.RELAY_LOCK_KEY)).thenReturn(true);
+        when(outboxRepository.findUnpublishedForUpdate(BATCH_SIZE)).thenReturn(events(1, 2));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        outboxPublisher.publishOutboxEvents();
+
+        verify(kafkaTemplate, times(2)).send(any(ProducerRecord.class));
+        verify(kafkaTemplate).flush();
+        verify(outboxRepository).markPublished(eq(List.of(1L, 2L)), any());
+        verify(outboxRepository, times(1)).findUnpublishedForUpdate(BATCH_SIZE);
+    }
+
+    @Test
+    void publishOutboxEvents_fullBatch_keepsDraining() {
+        when(outboxRepository.tryLockRelay(OutboxPublisher.RELAY_LOCK_KEY)).thenReturn(true);
+        when(outboxRepository.findUnpublishedForUpdate(BATCH_SIZE))
+                .thenReturn(events(1, 3), events(4, 3), events(7, 1));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        outboxPublisher.publishOutboxEvents();
+
+        verify(outboxRepository, times(3)).findUnpublishedForUpdate(BATCH_SIZE);
+        verify(outboxRepository).markPublished(eq(List.of(7L)), any());
+    }
+
+    @Test
+    void publishOutboxEvents_failedSend_holdsBackLaterEventsOfTheKeyAndStopsDraining() {
+        when(outboxRepository.tryLockRelay(OutboxPublisher.RELAY_LOCK_KEY)).thenReturn(true);
+        List<OutboxEvent> batch = events(1, 3);
+        batch.get(2).setPartitionKey("key-2");
+        when(outboxRepository.findUnpublishedForUpdate(BATCH_SIZE)).thenReturn(batch);
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        outboxPublisher.publishOutboxEvents();
+
+        verify(outboxRepository).markPublished(eq(List.of(1L)), any());
+        verify(outboxRepository, times(1)).findUnpublishedForUpdate(BATCH_SIZE);
+    }
+
+    @Test
+    void publishOutboxEvents_relayLockedByAnotherInstance_leavesTheOutboxAlone() {
+        when(outboxRepository.tryLockRelay(OutboxPublisher.RELAY_LOCK_KEY)).thenReturn(false);
+
+        outboxPublisher.publishOutboxEvents();
+
+        verify(outboxRepository, never()).findUnpublishedForUpdate(anyInt());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void publishOutboxEvents_duringARun_leavesTheBatchToThatRunWhichGoesAroundAgain() throws Exception {
+        when(outboxRepository.tryLockRelay(OutboxPublisher.RELAY_LOCK_KEY)).thenReturn(true);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(outboxRepository.findUnpublishedForUpdate(BATCH_SIZE)).thenReturn(events(1, 1), List.of());
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            sending.countDown();
+            release.await();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        Thread run = Thread.ofPlatform().start(outboxPublisher::publishOutboxEvents);
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+        outboxPublisher.publishOutboxEvents();
+        verify(outboxRepository, times(1)).findUnpublishedForUpdate(BATCH_SIZE);
+
+        release.countDown();
+        run.join(5_000);
+        verify(outboxRepository, times(2)).findUnpublishedForUpdate(BATCH_SIZE);
+        verify(outboxRepository).markPublished(eq(List.of(1L)), any());
+    }
+
+    @Test
+    void sendAll_failedSend_stillPublishesLaterEventsOfOtherKeys() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        List<Long> published = outboxPublisher.sendAll(events(1, 2));
+
+        assertThat(published).containsExactly(2L);
+    }
+
+    @Test
+    void sendAll_unparseablePayload_isNotPublished() {
+        OutboxEvent broken = event(1);
+        broken.setPayload("{not json");
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        List<Long> published = outboxPublisher.sendAll(List.of(broken, event(2)));
+
+        assertThat(published).containsExactly(2L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendAll_protobufFormat_sendsEncodedPayloadWithTypeHeaders() throws Exception {
+        OutboxPublisher protobufPublisher = new OutboxPublisher(outboxRepository, kafkaTemplate, new ObjectMapper(),
+                EventFormat.PROTOBUF, transactionManager, new SimpleMeterRegistry(), BATCH_SIZE, Duration.ofSeconds(1));
+        ArgumentCaptor<ProducerRecord<String, Object>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        when(kafkaTemplate.send(captor.capture())).thenReturn(CompletableFuture.completedFuture(null));
+
+        protobufPublisher.sendAll(List.of(event(7)));
+
+        ProducerRecord<String, Object> record = captor.getValue();
+        assertThat(record.key()).isEqualTo("key-7");
+        assertThat(ProductDeleted.parseFrom((byte[]) record.value()).getId()).isEqualTo(7L);
+        assertThat(new String(record.headers().lastHeader(EventHeaders.EVENT_TYPE).value(), StandardCharsets.UTF_8))
+                .isEqualTo("PRODUCT_DELETED");
+        assertThat(new String(record.headers().lastHeader(EventHeaders.CONTENT_TYPE).value(), StandardCharsets.UTF_8))
+                .isEqualTo(EventHeaders.PROTOBUF);
+    }
+}
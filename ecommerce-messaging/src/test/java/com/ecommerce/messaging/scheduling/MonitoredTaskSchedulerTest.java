@@ -0,0 +1,144 @@
+package com.ecommerce.messaging.scheduling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MonitoredTaskSchedulerTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Duration INTERVAL = Duration.ofSeconds(1);
+
+    private MeterRegistry meterRegistry;
+    private MutableClock clock;
+    private MonitoredTaskScheduler scheduler;
+    private AtomicInteger runs;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(START);
+        scheduler = new MonitoredTaskScheduler("test", 1, meterRegistry, clock);
+        runs = new AtomicInteger();
+    }
+
+    @Test
+    void jobName_keepsClassAndMethod() {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+            }
+
+            @Override
+            public String toString() {
+                return "com.ecommerce.messaging.outbox.OutboxPublisher.publishOutboxEvents";
+            }
+        };
+
+        assertThat(MonitoredTaskScheduler.jobName(task)).isEqualTo("OutboxPublisher.publishOutboxEvents");
+    }
+
+    @Test
+    void fixedDelayJob_recordsLagAgainstEndOfPreviousRun() {
+        MonitoredTaskScheduler.MonitoredJob job = scheduler.new MonitoredJob(
+                () -> {
+                    runs.incrementAndGet();
+                    clock.advance(Duration.ofMillis(200));
+                },
+                INTERVAL, false, START);
+
+        job.run();
+        // Due one interval after the previous run ended, started 300 ms late
+        clock.advance(INTERVAL.plusMillis(300));
+        job.run();
+
+        assertThat(runs).hasValue(2);
+        assertThat(lag().count()).isEqualTo(2);
+        assertThat(lag().max(TimeUnit.MILLISECONDS)).isEqualTo(300.0);
+        assertThat(counter("scheduler.job.overruns")).isZero();
+    }
+
+    @Test
+    void fixedRateJob_afterOverrun_skipsMissedPeriods() {
+        MonitoredTaskScheduler.MonitoredJob job = scheduler.new MonitoredJob(
+                () -> {
+                    // The first run takes two and a half periods
+                    if (runs.incrementAndGet() == 1) {
+                        clock.advance(INTERVAL.multipliedBy(2).plusMillis(500));
+                    }
+                },
+                INTERVAL, true, START);
+
+        job.run();
+        // The executor now fires the runs due at +1s and +2s back to back; only the one less than a
+        // period late does the work
+        job.run();
+        job.run();
+        clock.advance(Duration.ofMillis(500));
+        job.run();
+
+        assertThat(runs).hasValue(3);
+        assertThat(counter("scheduler.job.skipped")).isEqualTo(1);
+        assertThat(counter("scheduler.job.overruns")).isEqualTo(1);
+    }
+
+    @Test
+    void failingJob_isStillTimed() {
+        MonitoredTaskScheduler.MonitoredJob job = scheduler.new MonitoredJob(
+                () -> {
+                    throw new IllegalStateException("boom");
+                },
+                INTERVAL, false, START);
+
+        assertThatThrownBy(job::run).isInstanceOf(IllegalStateException.class);
+        assertThat(meterRegistry.find("scheduler.job.duration").timer().count()).isEqualTo(1);
+    }
+
+    private Timer lag() {
+        return meterRegistry.find("scheduler.job.lag").tag("pool", "test").timer();
+    }
+
+    private double counter(String name) {
+        return meterRegistry.find(name).tag("pool", "test").counter().count();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
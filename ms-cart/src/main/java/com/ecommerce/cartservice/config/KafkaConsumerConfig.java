@@ -1,6 +1,7 @@
 package com.ecommerce.cartservice.config;
 
-import com.ecommerce.cartservice.kafka.DlqService;
+import com.ecommerce.messaging.dlq.DlqService;
+import com.ecommerce.messaging.kafka.JsonNodeDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
@@ -11,13 +12,11 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
-import org.springframework.kafka.listener.DefaultErrorHandler;
-import org.springframework.util.backoff.FixedBackOff;
+import org.springframework.util.backoff.BackOff;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -34,7 +33,7 @@ public class KafkaConsumerConfig {
     public KafkaConsumerConfig(
             @Value("${spring.kafka.bootstrap-servers}") String bootstrapServers,
             @Qualifier("kafkaObjectMapper") ObjectMapper kafkaObjectMapper,
-            @Lazy DlqService dlqService) {
+            DlqService dlqService) {
         this.bootstrapServers = bootstrapServers;
         this.kafkaObjectMapper = kafkaObjectMapper;
         this.dlqService = dlqService;
@@ -42,18 +41,7 @@ public class KafkaConsumerConfig {
 
     @Bean
     public Deserializer<JsonNode> jsonNodeDeserializer() {
-        return new Deserializer<>() {
-            @Override
-            public JsonNode deserialize(String topic, byte[] data) {
-                if (data == null) return null;
-                try {
-                    return kafkaObjectMapper.readTree(data);
-                } catch (Exception e) {
-                    log.error("Error deserializing message to JsonNode: {}", e.getMessage());
-                    throw new RuntimeException("Error deserializing message", e);
-                }
-            }
-        };
+        return new JsonNodeDeserializer(kafkaObjectMapper);
     }
 
     @Bean
@@ -71,20 +59,54 @@ public class KafkaConsumerConfig {
 
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, JsonNode> kafkaListenerContainerFactory(
-            ConsumerFactory<String, JsonNode> consumerFactory) {
+            ConsumerFactory<String, JsonNode> consumerFactory,
+            BackOff consumerRetryBackOff) {
         ConcurrentKafkaListenerContainerFactory<String, JsonNode> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory);
         factory.getContainerProperties().setAckMode(org.springframework.kafka.listener.ContainerProperties.AckMode.RECORD);
 
-        DefaultErrorHandler errorHandler = new DefaultErrorHandler(
-                (record, exception) -> {
-                    log.error("Failed to process message after retries - topic: {}, partition: {}, offset: {}, error: {}",
-                            record.topic(), record.partition(), record.offset(), exception.getMessage());
-                    dlqService.saveFailedEvent(record, exception);
-                },
-                new FixedBackOff(1000L, 3L)
-        );
-        factory.setCommonErrorHandler(errorHandler);
+        factory.setCommonErrorHandler(dlqService.errorHandler(consumerRetryBackOff));
+
+        return factory;
+    }
+
+    /**
+     * Container for listeners that assign themselves every partition of a topic instead of joining a
+     * consumer group, so no group or committed offsets are left on the broker. Without a group nothing can
+     * be committed, hence the manual ack mode that is never acknowledged.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, JsonNode> groupLessKafkaListenerContainerFactory(
+            Deserializer<JsonNode> jsonNodeDeserializer) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        ConcurrentKafkaListenerContainerFactory<String, JsonNode> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), jsonNodeDeserializer));
+        factory.getContainerProperties().setAckMode(org.springframework.kafka.listener.ContainerProperties.AckMode.MANUAL);
+
+        return factory;
+    }
+
+    /**
+     * Opt-in container for batch listeners ({@code messaging.consumer.batch.enabled}): hands each poll
+     * to the listener as one list and commits its offsets together once the listener returns.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, JsonNode> batchKafkaListenerContainerFactory(
+            ConsumerFactory<String, JsonNode> consumerFactory,
+            BackOff consumerRetryBackOff,
+            @Value("${messaging.consumer.batch.max-poll-records:500}") int maxPollRecords) {
+        ConcurrentKafkaListenerContainerFactory<String, JsonNode> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(org.springframework.kafka.listener.ContainerProperties.AckMode.BATCH);
+        factory.getContainerProperties().getKafkaConsumerProperties()
+                .setProperty(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(maxPollRecords));
+
+        factory.setCommonErrorHandler(dlqService.errorHandler(consumerRetryBackOff));
 
         return factory;
     }
@@ -1,7 +1,13 @@
 package com.ecommerce.cartservice.config;
 
-public final class KafkaTopicConfig {
-    private KafkaTopicConfig() {}
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaTopicConfig {
 
     public static final String CART_EVENTS = "cart-events";
     public static final String PRODUCT_EVENTS = "product-events";
@@ -9,4 +15,10 @@ public final class KafkaTopicConfig {
     public static final String PAYMENT_EVENTS = "payment-events";
 
     public static final String CART_SERVICE_GROUP = "cart-service-group";
-}
\ No newline at end of file
+
+    @Bean
+    public NewTopic cartEventsTopic(@Value("${messaging.topics.cart-events.partitions:6}") int partitions,
+                                    @Value("${messaging.topics.replicas:1}") int replicas) {
+        return TopicBuilder.name(CART_EVENTS).partitions(partitions).replicas(replicas).build();
+    }
+}
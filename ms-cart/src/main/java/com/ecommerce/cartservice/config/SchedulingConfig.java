@@ -0,0 +1,24 @@
+package com.ecommerce.cartservice.config;
+
+import com.ecommerce.messaging.scheduling.MonitoredTaskScheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The Redis write-behind flush gets its own pool: it runs every second and falls behind quickly if it
+ * has to wait for the DLQ or a purge.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    public static final String CART_FLUSH = "cartFlushScheduler";
+
+    @Bean(name = CART_FLUSH)
+    public MonitoredTaskScheduler cartFlushScheduler(
+            MeterRegistry meterRegistry,
+            @Value("${cart.scheduling.flush.pool-size:1}") int poolSize) {
+        return new MonitoredTaskScheduler("cart-flush", poolSize, meterRegistry);
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.cartservice.dto.event;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record ProductUpdatedEvent(
+        Long id,
+        String name,
+        String slug,
+        String sku,
+        BigDecimal price,
+        Long categoryId,
+        Boolean isActive,
+        Integer stock,
+        Instant updatedAt,
+        String eventId,
+        Instant timestamp
+) {}
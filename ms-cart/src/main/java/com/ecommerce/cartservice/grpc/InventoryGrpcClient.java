@@ -6,7 +6,10 @@ import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.client.inject.GrpcClient;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -35,6 +38,29 @@ public class InventoryGrpcClient {
         }
     }
 
+    /**
+     * Checks stock for every line in one call, keyed by product id. Returns an empty map when inventory
+     * service is unreachable, so callers treat every line as unavailable.
+     */
+    public Map<Long, StockAvailability> checkStockBatch(Map<Long, Integer> quantities) {
+        log.debug("gRPC call: CheckStockBatch(lines={})", quantities.size());
+        try {
+            CheckStockBatchRequest.Builder request = CheckStockBatchRequest.newBuilder();
+            quantities.forEach((productId, quantity) -> request.addItems(StockLineItem.newBuilder()
+                    .setProductId(productId)
+                    .setQuantity(quantity)
+                    .build()));
+
+            return inventoryStub.withDeadlineAfter(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .checkStockBatch(request.build())
+                    .getResultsList().stream()
+                    .collect(Collectors.toMap(StockAvailability::getProductId, Function.identity(), (first, second) -> first));
+        } catch (StatusRuntimeException e) {
+            log.error("gRPC error checking stock for products {}: {}", quantities.keySet(), e.getStatus());
+            return Map.of();
+        }
+    }
+
     public StockInfoResponse getStockInfo(Long productId) {
         log.debug("gRPC call: GetStockInfo({})", productId);
         try {
@@ -44,6 +44,18 @@ public class ProductGrpcClient {
         }
     }
 
+    public ProductListResponse listProducts(int page, int size) {
+        log.debug("gRPC call: ListProducts(page={}, size={})", page, size);
+        try {
+            return productStub.withDeadlineAfter(TIMEOUT_SECONDS, TimeUnit.SECONDS).listProducts(
+                    ListProductsRequest.newBuilder().setPage(page).setSize(size).build()
+            );
+        } catch (StatusRuntimeException e) {
+            log.error("gRPC error listing products page {}: {}", page, e.getStatus());
+            throw new ProductNotAvailableException("Failed to list products page: " + page);
+        }
+    }
+
     public boolean checkProductExists(Long productId) {
         log.debug("gRPC call: CheckProductExists({})", productId);
         try {
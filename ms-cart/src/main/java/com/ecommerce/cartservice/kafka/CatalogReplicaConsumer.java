@@ -0,0 +1,67 @@
+package com.ecommerce.cartservice.kafka;
+
+import com.ecommerce.cartservice.config.KafkaTopicConfig;
+import com.ecommerce.cartservice.dto.event.PriceChangedEvent;
+import com.ecommerce.cartservice.dto.event.ProductCreatedEvent;
+import com.ecommerce.cartservice.dto.event.ProductDeletedEvent;
+import com.ecommerce.cartservice.dto.event.ProductUpdatedEvent;
+import com.ecommerce.cartservice.service.CatalogReplica;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.PartitionOffset;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps this instance's {@link CatalogReplica} current from product-events. Every cart instance holds its
+ * own replica, so this listener assigns itself every partition instead of joining a consumer group, and
+ * sees every event, unlike {@link ProductEventConsumer}, which shares
+ * {@link KafkaTopicConfig#CART_SERVICE_GROUP} to reprice each cart once. Nothing is committed: each start
+ * replays the topic from the beginning alongside the gRPC bootstrap, and as a product's events sit in one
+ * partition in order, the replica ends on their latest state. No consumer group is left behind by restarts.
+ * <p>
+ * Applying an event only overwrites replica fields, so redeliveries are harmless and no idempotency record
+ * is kept; a failure is logged and left to the max-age reload rather than sent to the DLQ.
+ */
+@Component
+@Slf4j
+public class CatalogReplicaConsumer {
+
+    private final ObjectMapper objectMapper;
+    private final CatalogReplica catalogReplica;
+
+    public CatalogReplicaConsumer(@Qualifier("kafkaObjectMapper") ObjectMapper objectMapper,
+                                  CatalogReplica catalogReplica) {
+        this.objectMapper = objectMapper;
+        this.catalogReplica = catalogReplica;
+    }
+
+    @KafkaListener(
+            topicPartitions = @TopicPartition(
+                    topic = KafkaTopicConfig.PRODUCT_EVENTS,
+                    partitions = "#{@topicPartitions.of('" + KafkaTopicConfig.PRODUCT_EVENTS + "')}",
+                    partitionOffsets = @PartitionOffset(partition = "*", initialOffset = "0")),
+            containerFactory = "groupLessKafkaListenerContainerFactory"
+    )
+    public void consumeProductEvents(JsonNode node) {
+        String eventType = ProductEventConsumer.eventType(node);
+        try {
+            switch (eventType) {
+                case "PRICE_CHANGED" ->
+                        catalogReplica.applyPriceChange(objectMapper.treeToValue(node, PriceChangedEvent.class));
+                case "PRODUCT_DELETED" ->
+                        catalogReplica.applyProductDeleted(objectMapper.treeToValue(node, ProductDeletedEvent.class).id());
+                case "PRODUCT_CREATED" ->
+                        catalogReplica.applyProductCreated(objectMapper.treeToValue(node, ProductCreatedEvent.class).id());
+                case "PRODUCT_UPDATED" ->
+                        catalogReplica.applyProductUpdated(objectMapper.treeToValue(node, ProductUpdatedEvent.class));
+                default -> log.debug("Catalog replica ignoring product event of type {}", eventType);
+            }
+        } catch (Exception e) {
+            log.warn("Catalog replica could not apply {} event: {}", eventType, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.cartservice.kafka;
+
+import com.ecommerce.messaging.dlq.DlqService;
+import com.ecommerce.cartservice.config.KafkaTopicConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells the shared {@link DlqService} which consumer replays a failed event from each topic.
+ */
+@Component
+@RequiredArgsConstructor
+public class DlqHandlers {
+
+    private final DlqService dlqService;
+    private final PaymentEventConsumer paymentEventConsumer;
+    private final ProductEventConsumer productEventConsumer;
+    private final InventoryEventConsumer inventoryEventConsumer;
+
+    @PostConstruct
+    void registerHandlers() {
+        dlqService.registerHandler(KafkaTopicConfig.PAYMENT_EVENTS, paymentEventConsumer::consumePaymentEvents);
+        dlqService.registerHandler(KafkaTopicConfig.PRODUCT_EVENTS, productEventConsumer::consumeProductEvents);
+        dlqService.registerHandler(KafkaTopicConfig.INVENTORY_EVENTS, inventoryEventConsumer::consumeInventoryEvents);
+    }
+}
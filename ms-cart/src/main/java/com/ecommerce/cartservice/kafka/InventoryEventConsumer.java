@@ -2,57 +2,46 @@ package com.ecommerce.cartservice.kafka;
 
 import com.ecommerce.cartservice.config.KafkaTopicConfig;
 import com.ecommerce.cartservice.dto.event.StockUpdatedEvent;
-import com.ecommerce.cartservice.entity.ProcessedEvent;
-import com.ecommerce.cartservice.repository.ProcessedEventRepository;
 import com.ecommerce.cartservice.service.CartService;
+import com.ecommerce.messaging.idempotency.IdempotencyGuard;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
-
 @Component
 @Slf4j
 public class InventoryEventConsumer {
 
     private final ObjectMapper objectMapper;
     private final CartService cartService;
-    private final ProcessedEventRepository processedEventRepository;
+    private final IdempotencyGuard idempotencyGuard;
 
     public InventoryEventConsumer(@Qualifier("kafkaObjectMapper") ObjectMapper objectMapper,
                                   CartService cartService,
-                                  ProcessedEventRepository processedEventRepository) {
+                                  IdempotencyGuard idempotencyGuard) {
         this.objectMapper = objectMapper;
         this.cartService = cartService;
-        this.processedEventRepository = processedEventRepository;
+        this.idempotencyGuard = idempotencyGuard;
     }
 
     @Transactional
     @KafkaListener(
             topics = KafkaTopicConfig.INVENTORY_EVENTS,
-            groupId = KafkaTopicConfig.CART_SERVICE_GROUP
+            groupId = KafkaTopicConfig.CART_SERVICE_GROUP,
+            concurrency = "${messaging.consumer.concurrency.inventory-events:1}"
     )
     public void consumeInventoryEvents(JsonNode node) {
         try {
             String eventId = node.has("eventId") ? node.get("eventId").asText() : null;
             String eventType = node.has("eventType") ? node.get("eventType").asText() : "";
 
-            if (eventId != null) {
-                try {
-                    processedEventRepository.saveAndFlush(ProcessedEvent.builder()
-                            .eventId(eventId)
-                            .eventType(eventType)
-                            .processedAt(Instant.now())
-                            .build());
-                } catch (DataIntegrityViolationException e) {
-                    log.info("Event {} already processed, skipping", eventId);
-                    return;
-                }
+            if (eventId != null && !idempotencyGuard.markProcessed(eventId, eventType)) {
+                log.info("Event {} already processed, skipping", eventId);
+                return;
             }
 
             if ("STOCK_UPDATED".equals(eventType)) {
@@ -60,8 +49,6 @@ public class InventoryEventConsumer {
                 log.info("Received StockUpdatedEvent for product {}: {}", event.productId(), event.stockStatus());
                 cartService.handleStockUpdate(event);
             }
-        } catch (DataIntegrityViolationException e) {
-            log.info("Duplicate event detected, skipping");
         } catch (Exception e) {
             log.error("Error processing inventory event: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to process inventory event", e);
@@ -1,19 +1,19 @@
 package com.ecommerce.cartservice.kafka;
 
 import com.ecommerce.cartservice.config.KafkaTopicConfig;
-import com.ecommerce.cartservice.entity.ProcessedEvent;
-import com.ecommerce.cartservice.repository.ProcessedEventRepository;
 import com.ecommerce.cartservice.service.CartService;
+import com.ecommerce.messaging.idempotency.IdempotencyGuard;
+import com.ecommerce.messaging.kafka.BatchEventProcessor;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Component
@@ -22,50 +22,69 @@ public class PaymentEventConsumer {
 
     private final ObjectMapper objectMapper;
     private final CartService cartService;
-    private final ProcessedEventRepository processedEventRepository;
+    private final IdempotencyGuard idempotencyGuard;
+    private final BatchEventProcessor batchEventProcessor;
 
     public PaymentEventConsumer(@Qualifier("kafkaObjectMapper") ObjectMapper objectMapper,
                                 CartService cartService,
-                                ProcessedEventRepository processedEventRepository) {
+                                IdempotencyGuard idempotencyGuard,
+                                BatchEventProcessor batchEventProcessor) {
         this.objectMapper = objectMapper;
         this.cartService = cartService;
-        this.processedEventRepository = processedEventRepository;
+        this.idempotencyGuard = idempotencyGuard;
+        this.batchEventProcessor = batchEventProcessor;
     }
 
     @Transactional
     @KafkaListener(
             topics = KafkaTopicConfig.PAYMENT_EVENTS,
-            groupId = KafkaTopicConfig.CART_SERVICE_GROUP
+            groupId = KafkaTopicConfig.CART_SERVICE_GROUP,
+            concurrency = "${messaging.consumer.concurrency.payment-events:1}",
+            autoStartup = "#{!${messaging.consumer.batch.enabled:false}}"
     )
     public void consumePaymentEvents(JsonNode node) {
         try {
             String eventId = node.has("eventId") ? node.get("eventId").asText() : null;
-            String eventType = node.has("eventType") ? node.get("eventType").asText() : "";
+            String eventType = eventType(node);
 
-            if (eventId != null) {
-                try {
-                    processedEventRepository.saveAndFlush(ProcessedEvent.builder()
-                            .eventId(eventId)
-                            .eventType(eventType)
-                            .processedAt(Instant.now())
-                            .build());
-                } catch (DataIntegrityViolationException e) {
-                    log.info("Event {} already processed, skipping", eventId);
-                    return;
-                }
+            if (eventId != null && !idempotencyGuard.markProcessed(eventId, eventType)) {
+                log.info("Event {} already processed, skipping", eventId);
+                return;
             }
 
-            if ("PAYMENT_SUCCESS".equals(eventType)) {
-                UUID userId = UUID.fromString(node.get("userId").asText());
-                String orderNumber = node.get("orderNumber").asText();
-                log.info("Received PAYMENT_SUCCESS for order {}, clearing cart for user {}", orderNumber, userId);
-                cartService.clearCart(userId);
-            }
-        } catch (DataIntegrityViolationException e) {
-            log.info("Duplicate event detected, skipping");
+            applyPaymentEvent(node);
         } catch (Exception e) {
             log.error("Error processing payment event: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to process payment event", e);
         }
     }
+
+    /**
+     * Batch variant of {@link #consumePaymentEvents}, used instead of it when
+     * {@code messaging.consumer.batch.enabled} is set.
+     */
+    @KafkaListener(
+            topics = KafkaTopicConfig.PAYMENT_EVENTS,
+            groupId = KafkaTopicConfig.CART_SERVICE_GROUP,
+            concurrency = "${messaging.consumer.concurrency.payment-events:1}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${messaging.consumer.batch.enabled:false}"
+    )
+    public void consumePaymentEventBatch(List<ConsumerRecord<String, JsonNode>> records) {
+        log.debug("Received batch of {} payment events", records.size());
+        batchEventProcessor.process(records, this::eventType, this::applyPaymentEvent);
+    }
+
+    private void applyPaymentEvent(JsonNode node) {
+        if ("PAYMENT_SUCCESS".equals(eventType(node))) {
+            UUID userId = UUID.fromString(node.get("userId").asText());
+            String orderNumber = node.get("orderNumber").asText();
+            log.info("Received PAYMENT_SUCCESS for order {}, clearing cart for user {}", orderNumber, userId);
+            cartService.clearCart(userId);
+        }
+    }
+
+    private String eventType(JsonNode node) {
+        return node.has("eventType") ? node.get("eventType").asText() : "";
+    }
 }
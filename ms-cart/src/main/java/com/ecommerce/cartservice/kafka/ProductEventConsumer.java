@@ -3,73 +3,79 @@ package com.ecommerce.cartservice.kafka;
 import com.ecommerce.cartservice.config.KafkaTopicConfig;
 import com.ecommerce.cartservice.dto.event.PriceChangedEvent;
 import com.ecommerce.cartservice.dto.event.ProductDeletedEvent;
-import com.ecommerce.cartservice.entity.ProcessedEvent;
-import com.ecommerce.cartservice.repository.ProcessedEventRepository;
 import com.ecommerce.cartservice.service.CartService;
+import com.ecommerce.messaging.idempotency.IdempotencyGuard;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
-
 @Component
 @Slf4j
 public class ProductEventConsumer {
 
     private final ObjectMapper objectMapper;
     private final CartService cartService;
-    private final ProcessedEventRepository processedEventRepository;
+    private final IdempotencyGuard idempotencyGuard;
 
     public ProductEventConsumer(@Qualifier("kafkaObjectMapper") ObjectMapper objectMapper,
                                 CartService cartService,
-                                ProcessedEventRepository processedEventRepository) {
+                                IdempotencyGuard idempotencyGuard) {
         this.objectMapper = objectMapper;
         this.cartService = cartService;
-        this.processedEventRepository = processedEventRepository;
+        this.idempotencyGuard = idempotencyGuard;
     }
 
     @Transactional
     @KafkaListener(
             topics = KafkaTopicConfig.PRODUCT_EVENTS,
-            groupId = KafkaTopicConfig.CART_SERVICE_GROUP
+            groupId = KafkaTopicConfig.CART_SERVICE_GROUP,
+            concurrency = "${messaging.consumer.concurrency.product-events:1}"
     )
     public void consumeProductEvents(JsonNode node) {
         try {
             String eventId = node.has("eventId") ? node.get("eventId").asText() : null;
-            String eventType = node.has("newPrice") ? "PRICE_CHANGED" : node.has("deletedAt") ? "PRODUCT_DELETED" : "UNKNOWN";
+            String eventType = eventType(node);
 
-            if (eventId != null) {
-                try {
-                    processedEventRepository.saveAndFlush(ProcessedEvent.builder()
-                            .eventId(eventId)
-                            .eventType(eventType)
-                            .processedAt(Instant.now())
-                            .build());
-                } catch (DataIntegrityViolationException e) {
-                    log.info("Event {} already processed, skipping", eventId);
-                    return;
-                }
+            if (eventId != null && !idempotencyGuard.markProcessed(eventId, eventType)) {
+                log.info("Event {} already processed, skipping", eventId);
+                return;
             }
 
-            if (node.has("newPrice")) {
-                PriceChangedEvent event = objectMapper.treeToValue(node, PriceChangedEvent.class);
-                log.info("Received PriceChangedEvent for product {}", event.id());
-                cartService.handlePriceChange(event);
-            } else if (node.has("deletedAt")) {
-                ProductDeletedEvent event = objectMapper.treeToValue(node, ProductDeletedEvent.class);
-                log.info("Received ProductDeletedEvent for product {}", event.id());
-                cartService.handleProductDeletion(event.id());
+            switch (eventType) {
+                case "PRICE_CHANGED" -> {
+                    PriceChangedEvent event = objectMapper.treeToValue(node, PriceChangedEvent.class);
+                    log.info("Received PriceChangedEvent for product {}", event.id());
+                    cartService.handlePriceChange(event);
+                }
+                case "PRODUCT_DELETED" -> {
+                    ProductDeletedEvent event = objectMapper.treeToValue(node, ProductDeletedEvent.class);
+                    log.info("Received ProductDeletedEvent for product {}", event.id());
+                    cartService.handleProductDeletion(event.id());
+                }
+                default -> log.debug("Ignoring product event of type {}", eventType);
             }
-        } catch (DataIntegrityViolationException e) {
-            log.info("Duplicate event detected, skipping");
         } catch (Exception e) {
             log.error("Error processing product event: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to process product event", e);
         }
     }
+
+    /**
+     * Takes the type from the {@code event-type} header; records published before the header existed are
+     * recognised by their fields.
+     */
+    static String eventType(JsonNode node) {
+        if (node.hasNonNull("eventType")) {
+            return node.get("eventType").asText();
+        }
+        return node.has("newPrice") ? "PRICE_CHANGED"
+                : node.has("deletedAt") ? "PRODUCT_DELETED"
+                : node.has("initialStock") ? "PRODUCT_CREATED"
+                : node.has("updatedAt") ? "PRODUCT_UPDATED"
+                : "UNKNOWN";
+    }
 }
@@ -0,0 +1,26 @@
+package com.ecommerce.cartservice.kafka;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Looks up a topic's partitions for listeners that assign them manually, e.g.
+ * {@code partitions = "#{@topicPartitions.of('product-events')}"}.
+ */
+@Component("topicPartitions")
+@RequiredArgsConstructor
+public class TopicPartitions {
+
+    private final ConsumerFactory<String, JsonNode> consumerFactory;
+
+    public String[] of(String topic) {
+        try (Consumer<String, JsonNode> consumer = consumerFactory.createConsumer()) {
+            return consumer.partitionsFor(topic).stream()
+                    .map(partition -> String.valueOf(partition.partition()))
+                    .toArray(String[]::new);
+        }
+    }
+}
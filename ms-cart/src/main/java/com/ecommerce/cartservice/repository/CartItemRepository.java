@@ -7,16 +7,40 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 
+    /**
+     * Re-prices a product in every cart holding it in one statement and returns the owners of the carts
+     * that changed. Lines already at the new price are left alone.
+     */
+    String UPDATE_UNIT_PRICE_SQL = """
+            WITH updated AS (
+                UPDATE cart_items
+                SET unit_price = :price, updated_at = :now
+                WHERE product_id = :productId AND unit_price <> :price
+                RETURNING cart_id
+            )
+            SELECT DISTINCT c.user_id
+            FROM carts c
+            JOIN updated u ON u.cart_id = c.id
+            """;
+
     Optional<CartItem> findByCartIdAndProductId(Long cartId, Long productId);
 
     List<CartItem> findByProductId(Long productId);
 
+    @Query(value = UPDATE_UNIT_PRICE_SQL, nativeQuery = true)
+    List<UUID> updateUnitPrice(@Param("productId") Long productId,
+                               @Param("price") BigDecimal price,
+                               @Param("now") Instant now);
+
     @Modifying
     @Query("DELETE FROM CartItem ci WHERE ci.productId = :productId")
     void deleteByProductId(@Param("productId") Long productId);
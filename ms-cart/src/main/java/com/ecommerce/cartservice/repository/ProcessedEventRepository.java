@@ -1,8 +0,0 @@
-package com.ecommerce.cartservice.repository;
-
-import com.ecommerce.cartservice.entity.ProcessedEvent;
-import org.springframework.data.jpa.repository.JpaRepository;
-
-public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, Long> {
-    boolean existsByEventId(String eventId);
-}
@@ -0,0 +1,73 @@
+package com.ecommerce.cartservice.service;
+
+import com.ecommerce.cartservice.config.RedisConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.cache.CacheKeyPrefix;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Evicts many users' cached carts at once: multi-key DELs of {@code DEL_BATCH_SIZE} keys each, sent in a
+ * single pipeline, instead of one {@code @CacheEvict} round trip per user.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CartCacheEvictor {
+
+    static final int DEL_BATCH_SIZE = 1000;
+
+    private static final String KEY_PREFIX = CacheKeyPrefix.simple().compute(RedisConfig.CacheNames.CART);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Evicts the cached carts once the current transaction commits, so a concurrent read cannot cache
+     * the pre-update rows again.
+     */
+    public void evict(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    delete(userIds);
+                }
+            });
+        } else {
+            delete(userIds);
+        }
+    }
+
+    private void delete(Collection<UUID> userIds) {
+        List<String> keys = userIds.stream().map(userId -> KEY_PREFIX + userId).toList();
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    for (int from = 0; from < keys.size(); from += DEL_BATCH_SIZE) {
+                        ops.delete(keys.subList(from, Math.min(from + DEL_BATCH_SIZE, keys.size())));
+                    }
+                    return null;
+                }
+            });
+            log.debug("Evicted {} cached carts", keys.size());
+        } catch (RuntimeException e) {
+            // Entries then live out their TTL with the old price; the cart itself is already updated
+            log.warn("Failed to evict {} cached carts: {}", keys.size(), e.getMessage());
+        }
+    }
+}
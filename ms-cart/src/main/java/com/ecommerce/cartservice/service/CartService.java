@@ -11,6 +11,7 @@ import com.ecommerce.cartservice.entity.CartStatus;
 import com.ecommerce.cartservice.exception.CartItemNotFoundException;
 import com.ecommerce.cartservice.exception.CartNotFoundException;
 import com.ecommerce.cartservice.exception.InsufficientStockException;
+import com.ecommerce.cartservice.exception.ProductNotAvailableException;
 import com.ecommerce.cartservice.grpc.InventoryGrpcClient;
 import com.ecommerce.cartservice.grpc.ProductGrpcClient;
 import com.ecommerce.cartservice.kafka.CartEventProducer;
@@ -18,7 +19,7 @@ import com.ecommerce.cartservice.mapper.CartMapper;
 import com.ecommerce.cartservice.repository.CartItemRepository;
 import com.ecommerce.cartservice.repository.CartRepository;
 import com.ecommerce.inventoryservice.grpc.CheckStockResponse;
-import com.ecommerce.productservice.grpc.ProductImageInfo;
+import com.ecommerce.inventoryservice.grpc.StockAvailability;
 import com.ecommerce.productservice.grpc.ProductResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,8 +32,13 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -45,27 +51,38 @@ public class CartService {
     private final ProductGrpcClient productGrpcClient;
     private final InventoryGrpcClient inventoryGrpcClient;
     private final CartEventProducer eventProducer;
+    private final CatalogReplica catalogReplica;
+    private final RedisCartStore redisCartStore;
+    private final CartCacheEvictor cartCacheEvictor;
 
-    @Cacheable(value = RedisConfig.CacheNames.CART, key = "#userId")
+    // In Redis storage mode the cart hash is the cache; the whole-cart blob is skipped
+    @Cacheable(value = RedisConfig.CacheNames.CART, key = "#userId", condition = "!@redisCartStore.enabled")
     @Transactional(readOnly = true)
     public CartResponse getCart(UUID userId) {
         log.info("Fetching cart for user: {}", userId);
-        Cart cart = getOrCreateCart(userId);
+        Cart cart = redisCartStore.isEnabled() ? redisCartStore.getOrCreateCart(userId) : getOrCreateCart(userId);
         return cartMapper.toResponse(cart);
     }
 
-    @CachePut(value = RedisConfig.CacheNames.CART, key = "#userId")
+    @CachePut(value = RedisConfig.CacheNames.CART, key = "#userId", condition = "!@redisCartStore.enabled")
     @Transactional
     public CartResponse addToCart(UUID userId, AddToCartRequest request) {
         log.info("Adding product {} to cart for user {}", request.productId(), userId);
 
-        ProductResponse product = productGrpcClient.getProduct(request.productId());
+        CatalogReplica.CatalogProduct product = catalogReplica.getProduct(request.productId());
+        if (!product.active() || product.price() == null) {
+            throw new ProductNotAvailableException("Product not available: " + request.productId());
+        }
 
         CheckStockResponse stock = inventoryGrpcClient.checkStock(request.productId(), request.quantity());
         if (!stock.getIsAvailable()) {
             throw new InsufficientStockException(request.productId(), request.quantity(), stock.getAvailableQuantity());
         }
 
+        if (redisCartStore.isEnabled()) {
+            return addToRedisCart(userId, request, product);
+        }
+
         Cart cart = getOrCreateCart(userId);
 
         CartItem item = cartItemRepository.findByCartIdAndProductId(cart.getId(), request.productId())
@@ -81,10 +98,10 @@ public class CartService {
                 .orElseGet(() -> {
                     CartItem newItem = CartItem.builder()
                             .cart(cart)
-                            .productId(product.getId())
-                            .productName(product.getName())
-                            .productImageUrl(extractPrimaryImageUrl(product))
-                            .unitPrice(new BigDecimal(product.getPrice()))
+                            .productId(product.id())
+                            .productName(product.name())
+                            .productImageUrl(product.primaryImageUrl())
+                            .unitPrice(product.price())
                             .quantity(request.quantity())
                             .build();
                     cart.addItem(newItem);
@@ -102,13 +119,14 @@ public class CartService {
         return cartMapper.toResponse(cart);
     }
 
-    @CachePut(value = RedisConfig.CacheNames.CART, key = "#userId")
+    @CachePut(value = RedisConfig.CacheNames.CART, key = "#userId", condition = "!@redisCartStore.enabled")
     @Transactional
     public CartResponse updateItemQuantity(UUID userId, Long productId, UpdateCartItemRequest request) {
-        Cart cart = cartRepository.findByUserIdAndStatus(userId, CartStatus.ACTIVE)
-                .orElseThrow(() -> new CartNotFoundException(userId));
+        Cart cart = findActiveCart(userId);
 
-        CartItem item = cartItemRepository.findByCartIdAndProductId(cart.getId(), productId)
+        CartItem item = (redisCartStore.isEnabled()
+                ? findItem(cart, productId)
+                : cartItemRepository.findByCartIdAndProductId(cart.getId(), productId))
                 .orElseThrow(() -> new CartItemNotFoundException(productId, cart.getId()));
 
         int oldQuantity = item.getQuantity();
@@ -118,8 +136,12 @@ public class CartService {
             throw new InsufficientStockException(productId, request.quantity(), stock.getAvailableQuantity());
         }
 
-        item.setQuantity(request.quantity());
-        cartRepository.save(cart);
+        if (redisCartStore.isEnabled()) {
+            redisCartStore.setQuantity(cart, item, request.quantity());
+        } else {
+            item.setQuantity(request.quantity());
+            cartRepository.save(cart);
+        }
 
         eventProducer.sendItemUpdatedEvent(new CartItemUpdatedEvent(
                 UUID.randomUUID().toString(), "CART_ITEM_UPDATED", userId, cart.getId(),
@@ -129,19 +151,23 @@ public class CartService {
         return cartMapper.toResponse(cart);
     }
 
-    @CachePut(value = RedisConfig.CacheNames.CART, key = "#userId")
+    @CachePut(value = RedisConfig.CacheNames.CART, key = "#userId", condition = "!@redisCartStore.enabled")
     @Transactional
     public CartResponse removeItem(UUID userId, Long productId) {
-        Cart cart = cartRepository.findByUserIdAndStatus(userId, CartStatus.ACTIVE)
-                .orElseThrow(() -> new CartNotFoundException(userId));
+        Cart cart = findActiveCart(userId);
 
-        boolean removed = cart.getItems().removeIf(item -> item.getProductId().equals(productId));
-        if (!removed) {
-            throw new CartItemNotFoundException(productId, cart.getId());
+        if (redisCartStore.isEnabled()) {
+            CartItem item = findItem(cart, productId)
+                    .orElseThrow(() -> new CartItemNotFoundException(productId, cart.getId()));
+            redisCartStore.removeItem(cart, item);
+        } else {
+            boolean removed = cart.getItems().removeIf(item -> item.getProductId().equals(productId));
+            if (!removed) {
+                throw new CartItemNotFoundException(productId, cart.getId());
+            }
+            cartRepository.save(cart);
         }
 
-        cartRepository.save(cart);
-
         eventProducer.sendItemRemovedEvent(new CartItemRemovedEvent(
                 UUID.randomUUID().toString(), "CART_ITEM_REMOVED", userId, cart.getId(),
                 productId, Instant.now()
@@ -150,15 +176,18 @@ public class CartService {
         return cartMapper.toResponse(cart);
     }
 
-    @CacheEvict(value = RedisConfig.CacheNames.CART, key = "#userId")
+    @CacheEvict(value = RedisConfig.CacheNames.CART, key = "#userId", condition = "!@redisCartStore.enabled")
     @Transactional
     public void clearCart(UUID userId) {
-        Cart cart = cartRepository.findByUserIdAndStatus(userId, CartStatus.ACTIVE)
-                .orElseThrow(() -> new CartNotFoundException(userId));
+        Cart cart = findActiveCart(userId);
 
         int count = cart.getItems().size();
-        cart.getItems().clear();
-        cartRepository.save(cart);
+        if (redisCartStore.isEnabled()) {
+            redisCartStore.clear(cart);
+        } else {
+            cart.getItems().clear();
+            cartRepository.save(cart);
+        }
 
         eventProducer.sendCartClearedEvent(new CartClearedEvent(
                 UUID.randomUUID().toString(), "CART_CLEARED", userId, cart.getId(),
@@ -169,31 +198,35 @@ public class CartService {
     @Transactional(readOnly = true)
     public CartSummaryResponse getSummary(UUID userId) {
         log.info("Fetching cart summary for user: {}", userId);
-        Cart cart = getOrCreateCart(userId);
+        Cart cart = redisCartStore.isEnabled() ? redisCartStore.getOrCreateCart(userId) : getOrCreateCart(userId);
         return cartMapper.toSummaryResponse(cart);
     }
 
     @Transactional(readOnly = true)
     public CartValidationResponse validateCart(UUID userId) {
-        Cart cart = cartRepository.findByUserIdAndStatus(userId, CartStatus.ACTIVE)
-                .orElseThrow(() -> new CartNotFoundException(userId));
+        Cart cart = findActiveCart(userId);
 
         List<Long> productIds = cart.getItems().stream().map(CartItem::getProductId).toList();
-        List<ProductResponse> products = productGrpcClient.getProductsByIds(productIds);
+        Map<Long, Integer> quantities = cart.getItems().stream()
+                .collect(Collectors.toMap(CartItem::getProductId, CartItem::getQuantity, Integer::sum, LinkedHashMap::new));
+
+        // Two round trips for the whole cart: one for products, one for stock
+        Map<Long, ProductResponse> productsById = productGrpcClient.getProductsByIds(productIds).stream()
+                .collect(Collectors.toMap(ProductResponse::getId, Function.identity(), (first, second) -> first));
+        Map<Long, StockAvailability> stockByProductId = inventoryGrpcClient.checkStockBatch(quantities);
 
         List<CartItemValidation> validations = new ArrayList<>();
         boolean overallValid = true;
 
         for (CartItem item : cart.getItems()) {
-            ProductResponse pResp = products.stream()
-                    .filter(p -> p.getId() == item.getProductId())
-                    .findFirst().orElse(null);
+            ProductResponse pResp = productsById.get(item.getProductId());
 
             boolean available = pResp != null && pResp.getIsActive();
             BigDecimal currentPrice = available ? new BigDecimal(pResp.getPrice()) : BigDecimal.ZERO;
             boolean priceChanged = available && currentPrice.compareTo(item.getUnitPrice()) != 0;
 
-            CheckStockResponse stock = inventoryGrpcClient.checkStock(item.getProductId(), item.getQuantity());
+            StockAvailability stock = stockByProductId.getOrDefault(item.getProductId(),
+                    StockAvailability.getDefaultInstance());
 
             validations.add(new CartItemValidation(
                     item.getProductId(), item.getProductName(), available,
@@ -211,19 +244,26 @@ public class CartService {
     @Transactional
     public void handlePriceChange(PriceChangedEvent event) {
         log.info("Handling price change for product {}: {} -> {}", event.id(), event.oldPrice(), event.newPrice());
-        List<CartItem> items = cartItemRepository.findByProductId(event.id());
         BigDecimal effectivePrice = event.newDiscountPrice() != null ? event.newDiscountPrice() : event.newPrice();
-        items.forEach(item -> {
-            item.setUnitPrice(effectivePrice);
-            evictUserCache(item.getCart().getUserId());
-        });
-        cartItemRepository.saveAll(items);
+
+        // One statement for every cart holding the product, then one pipelined eviction of their cached carts
+        List<UUID> affectedUserIds = cartItemRepository.updateUnitPrice(event.id(), effectivePrice, Instant.now());
+        cartCacheEvictor.evict(affectedUserIds);
+        log.info("Repriced product {} in {} carts", event.id(), affectedUserIds.size());
+
+        if (redisCartStore.isEnabled()) {
+            redisCartStore.updatePrice(event.id(), effectivePrice);
+        }
     }
 
     @Transactional
     public void handleProductDeletion(Long productId) {
         log.info("Handling product deletion for product {}", productId);
         cartItemRepository.deleteByProductId(productId);
+
+        if (redisCartStore.isEnabled()) {
+            redisCartStore.removeProduct(productId);
+        }
     }
 
     @Transactional
@@ -236,6 +276,39 @@ public class CartService {
         }
     }
 
+    private CartResponse addToRedisCart(UUID userId, AddToCartRequest request, CatalogReplica.CatalogProduct product) {
+        Cart cart = redisCartStore.getOrCreateCart(userId);
+
+        findItem(cart, request.productId()).ifPresent(existingItem -> {
+            int newTotal = existingItem.getQuantity() + request.quantity();
+            CheckStockResponse totalStock = inventoryGrpcClient.checkStock(request.productId(), newTotal);
+            if (!totalStock.getIsAvailable()) {
+                throw new InsufficientStockException(request.productId(), newTotal, totalStock.getAvailableQuantity());
+            }
+        });
+
+        CartItem item = redisCartStore.addItem(cart, product, request.quantity());
+
+        eventProducer.sendItemAddedEvent(new CartItemAddedEvent(
+                UUID.randomUUID().toString(), "CART_ITEM_ADDED", userId, cart.getId(),
+                item.getProductId(), item.getProductName(), request.quantity(),
+                item.getUnitPrice(), Instant.now()
+        ));
+
+        return cartMapper.toResponse(cart);
+    }
+
+    private Cart findActiveCart(UUID userId) {
+        return (redisCartStore.isEnabled()
+                ? redisCartStore.findCart(userId)
+                : cartRepository.findByUserIdAndStatus(userId, CartStatus.ACTIVE))
+                .orElseThrow(() -> new CartNotFoundException(userId));
+    }
+
+    private Optional<CartItem> findItem(Cart cart, Long productId) {
+        return cart.getItems().stream().filter(item -> item.getProductId().equals(productId)).findFirst();
+    }
+
     private Cart getOrCreateCart(UUID userId) {
         return cartRepository.findByUserIdAndStatus(userId, CartStatus.ACTIVE)
                 .orElseGet(() -> cartRepository.save(Cart.builder()
@@ -244,17 +317,4 @@ public class CartService {
                         .items(new ArrayList<>())
                         .build()));
     }
-
-    private String extractPrimaryImageUrl(ProductResponse product) {
-        return product.getImagesList().stream()
-                .filter(ProductImageInfo::getIsPrimary)
-                .findFirst()
-                .map(ProductImageInfo::getImageUrl)
-                .orElse(product.getImagesList().isEmpty() ? null : product.getImagesList().get(0).getImageUrl());
-    }
-
-    @CacheEvict(value = RedisConfig.CacheNames.CART, key = "#userId")
-    public void evictUserCache(UUID userId) {
-        log.debug("Evicting cache for user {}", userId);
-    }
 }
@@ -0,0 +1,202 @@
+package com.ecommerce.cartservice.service;
+
+import com.ecommerce.cartservice.dto.event.PriceChangedEvent;
+import com.ecommerce.cartservice.dto.event.ProductUpdatedEvent;
+import com.ecommerce.cartservice.grpc.ProductGrpcClient;
+import com.ecommerce.productservice.grpc.ProductImageInfo;
+import com.ecommerce.productservice.grpc.ProductListResponse;
+import com.ecommerce.productservice.grpc.ProductResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-process snapshot of the product fields the cart needs (name, prices, primary image, active flag),
+ * so add-to-cart does not call product-service in the common case.
+ * <p>
+ * Bootstrapped with paged {@code ListProducts} calls on startup and kept current from product-events by a
+ * group-less consumer reading every partition ({@code CatalogReplicaConsumer}).
+ * ProductCreated and ProductUpdated carry neither the discount price nor images, so they only patch the
+ * fields they do carry on an existing entry; a product first seen through them is loaded over gRPC on its
+ * first add-to-cart. Image changes publish no event, so entries are also reloaded once older than
+ * {@code cart.catalog.max-age}. The snapshot is bounded to {@code cart.catalog.max-entries}, evicting the
+ * least recently used product.
+ */
+@Slf4j
+@Service
+public class CatalogReplica {
+
+    public record CatalogProduct(
+            Long id,
+            String name,
+            BigDecimal price,
+            BigDecimal discountPrice,
+            String primaryImageUrl,
+            boolean active,
+            Instant loadedAt
+    ) {}
+
+    private final ProductGrpcClient productGrpcClient;
+    private final int maxEntries;
+    private final int pageSize;
+    private final Duration maxAge;
+    private final Clock clock;
+    private final Map<Long, CatalogProduct> products;
+
+    public CatalogReplica(ProductGrpcClient productGrpcClient,
+                          @Value("${cart.catalog.max-entries:50000}") int maxEntries,
+                          @Value("${cart.catalog.page-size:500}") int pageSize,
+                          @Value("${cart.catalog.max-age:PT10M}") Duration maxAge) {
+        this(productGrpcClient, maxEntries, pageSize, maxAge, Clock.systemUTC());
+    }
+
+    CatalogReplica(ProductGrpcClient productGrpcClient, int maxEntries, int pageSize, Duration maxAge, Clock clock) {
+        this.productGrpcClient = productGrpcClient;
+        this.maxEntries = maxEntries;
+        this.pageSize = pageSize;
+        this.maxAge = maxAge;
+        this.clock = clock;
+        this.products = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CatalogProduct> eldest) {
+                return size() > CatalogReplica.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Loads the catalog page by page until it is exhausted or the snapshot is full. A failure leaves
+     * whatever was loaded in place; misses fall back to gRPC.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        int loaded = 0;
+        try {
+            for (int page = 0; loaded < maxEntries; page++) {
+                ProductListResponse response = productGrpcClient.listProducts(page, pageSize);
+                for (ProductResponse product : response.getProductsList()) {
+                    CatalogProduct entry = toEntry(product);
+                    synchronized (products) {
+                        // Events applied while bootstrapping are newer than the page we just read
+                        products.putIfAbsent(entry.id(), entry);
+                    }
+                }
+                loaded += response.getProductsCount();
+                if (response.getProductsCount() < pageSize) {
+                    break;
+                }
+            }
+            log.info("Catalog replica bootstrapped with {} products", loaded);
+        } catch (Exception e) {
+            log.warn("Catalog replica bootstrap stopped after {} products: {}", loaded, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the product from the snapshot, or loads it from product-service on a miss or a stale entry.
+     *
+     * @throws com.ecommerce.cartservice.exception.ProductNotAvailableException if the gRPC fallback fails
+     */
+    public CatalogProduct getProduct(Long productId) {
+        return find(productId).orElseGet(() -> {
+            log.debug("Catalog replica miss for product {}", productId);
+            CatalogProduct entry = toEntry(productGrpcClient.getProduct(productId));
+            put(entry);
+            return entry;
+        });
+    }
+
+    public Optional<CatalogProduct> find(Long productId) {
+        CatalogProduct entry;
+        synchronized (products) {
+            entry = products.get(productId);
+        }
+        if (entry == null || entry.loadedAt().plus(maxAge).isBefore(clock.instant())) {
+            return Optional.empty();
+        }
+        return Optional.of(entry);
+    }
+
+    public void applyProductCreated(Long productId) {
+        // A re-created id must not keep serving a previous snapshot
+        remove(productId);
+    }
+
+    public void applyProductUpdated(ProductUpdatedEvent event) {
+        synchronized (products) {
+            products.computeIfPresent(event.id(), (id, entry) -> new CatalogProduct(
+                    id,
+                    event.name() != null ? event.name() : entry.name(),
+                    event.price() != null ? event.price() : entry.price(),
+                    entry.discountPrice(),
+                    entry.primaryImageUrl(),
+                    event.isActive() != null ? event.isActive() : entry.active(),
+                    entry.loadedAt()));
+        }
+    }
+
+    public void applyPriceChange(PriceChangedEvent event) {
+        synchronized (products) {
+            products.computeIfPresent(event.id(), (id, entry) -> new CatalogProduct(
+                    id, entry.name(), event.newPrice(), event.newDiscountPrice(),
+                    entry.primaryImageUrl(), entry.active(), entry.loadedAt()));
+        }
+    }
+
+    public void applyProductDeleted(Long productId) {
+        // Products are soft-deleted; keep the entry so add-to-cart rejects it without a gRPC call
+        synchronized (products) {
+            products.computeIfPresent(productId, (id, entry) -> new CatalogProduct(
+                    id, entry.name(), entry.price(), entry.discountPrice(),
+                    entry.primaryImageUrl(), false, entry.loadedAt()));
+        }
+    }
+
+    public int size() {
+        synchronized (products) {
+            return products.size();
+        }
+    }
+
+
+    private void put(CatalogProduct entry) {
+        synchronized (products) {
+            products.put(entry.id(), entry);
+        }
+    }
+
+    private void remove(Long productId) {
+        synchronized (products) {
+            products.remove(productId);
+        }
+    }
+
+    private CatalogProduct toEntry(ProductResponse product) {
+        return new CatalogProduct(
+                product.getId(),
+                product.getName(),
+                product.getPrice().isEmpty() ? null : new BigDecimal(product.getPrice()),
+                product.getDiscountPrice().isEmpty() ? null : new BigDecimal(product.getDiscountPrice()),
+                extractPrimaryImageUrl(product),
+                product.getIsActive(),
+                clock.instant());
+    }
+
+    private String extractPrimaryImageUrl(ProductResponse product) {
+        return product.getImagesList().stream()
+                .filter(ProductImageInfo::getIsPrimary)
+                .findFirst()
+                .map(ProductImageInfo::getImageUrl)
+                .orElse(product.getImagesList().isEmpty() ? null : product.getImagesList().get(0).getImageUrl());
+    }
+}
@@ -0,0 +1,423 @@
+package com.ecommerce.cartservice.service;
+
+import com.ecommerce.cartservice.config.SchedulingConfig;
+import com.ecommerce.cartservice.entity.Cart;
+import com.ecommerce.cartservice.entity.CartItem;
+import com.ecommerce.cartservice.entity.CartStatus;
+import com.ecommerce.cartservice.repository.CartRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Redis-native storage for active carts, enabled with {@code cart.storage.mode: redis}.
+ * <p>
+ * Each cart is one hash, {@code cart:items:{userId}}, holding a few fields per product line
+ * ({@code qty:<id>}, {@code name:<id>}, {@code img:<id>}, {@code price:<id>}, {@code added:<id>}) plus the
+ * cart's update time and, once known, its Postgres id. Adds are an atomic HINCRBY on the quantity field and
+ * updates/removes a single HSET/HDEL, pipelined with the bookkeeping, so the request path never touches the
+ * database. A cart missing from Redis is hydrated from Postgres on first access.
+ * <p>
+ * Every mutation adds the user to the {@code cart:dirty} set; a scheduled job pops it and writes those carts
+ * through to Postgres, which stays the durable copy used for analytics and recovery. The set lives in
+ * Redis, so carts dirtied on an instance that goes down are flushed by the others. A reverse index,
+ * {@code cart:product-carts:{productId}}, lets price changes and deletions reach the carts holding a product.
+ */
+@Slf4j
+@Service
+public class RedisCartStore {
+
+    static final String DIRTY_KEY = "cart:dirty";
+    static final String ID_FIELD = "_id";
+    static final String UPDATED_FIELD = "_updated";
+    static final String QUANTITY = "qty:";
+    static final String NAME = "name:";
+    static final String IMAGE = "img:";
+    static final String PRICE = "price:";
+    static final String ADDED = "added:";
+
+    private static final String ITEMS_KEY_PREFIX = "cart:items:";
+    private static final String PRODUCT_CARTS_KEY_PREFIX = "cart:product-carts:";
+
+    // Only re-prices a cart that still holds the line: an HSET on an expired cart would recreate its hash
+    // without a TTL
+    static final RedisScript<Long> SET_PRICE_IF_HELD = RedisScript.of(
+            "if redis.call('HEXISTS', KEYS[1], ARGV[1]) == 1 then"
+                    + " return redis.call('HSET', KEYS[1], ARGV[2], ARGV[3]) end return 0", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final CartRepository cartRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final int flushBatchSize;
+
+    public RedisCartStore(StringRedisTemplate redisTemplate,
+                          CartRepository cartRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${cart.storage.mode:database}") String mode,
+                          @Value("${cart.storage.redis.ttl:P30D}") Duration ttl,
+                          @Value("${cart.storage.redis.flush-batch-size:500}") int flushBatchSize) {
+        this.redisTemplate = redisTemplate;
+        this.cartRepository = cartRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = "redis".equalsIgnoreCase(mode);
+        this.ttl = ttl;
+        this.flushBatchSize = flushBatchSize;
+        if (enabled) {
+            log.info("Cart storage mode: redis (ttl {}, flush batch {})", ttl, flushBatchSize);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the user's cart from Redis, hydrating it from Postgres or starting an empty one.
+     * The returned entity is a detached snapshot; it is never persisted directly.
+     */
+    public Cart getOrCreateCart(UUID userId) {
+        return findCart(userId).orElseGet(() -> {
+            Instant now = Instant.now();
+            String key = itemsKey(userId.toString());
+            pipelined(ops -> {
+                ops.<String, String>opsForHash().putIfAbsent(key, UPDATED_FIELD, String.valueOf(now.toEpochMilli()));
+                ops.expire(key, ttl);
+            });
+            return toCart(userId, Map.of(UPDATED_FIELD, String.valueOf(now.toEpochMilli())));
+        });
+    }
+
+    public Optional<Cart> findCart(UUID userId) {
+        Map<String, String> fields = redisTemplate.<String, String>opsForHash().entries(itemsKey(userId.toString()));
+        if (fields.containsKey(UPDATED_FIELD)) {
+            return Optional.of(toCart(userId, fields));
+        }
+        return hydrate(userId);
+    }
+
+    /**
+     * Adds {@code quantity} units of the product with one HINCRBY. Name, image and price are only set when
+     * the line is new, so an existing line keeps the price it was added at, as in database mode.
+     *
+     * @return the line as it now stands in {@code cart}
+     */
+    public CartItem addItem(Cart cart, CatalogReplica.CatalogProduct product, int quantity) {
+        String userId = cart.getUserId().toString();
+        String key = itemsKey(userId);
+        String productId = product.id().toString();
+        Instant now = Instant.now();
+
+        List<Object> results = pipelined(ops -> {
+            HashOperations<String, String, String> hash = ops.opsForHash();
+            hash.increment(key, QUANTITY + productId, quantity);
+            hash.putIfAbsent(key, NAME + productId, product.name());
+            if (product.primaryImageUrl() != null) {
+                hash.putIfAbsent(key, IMAGE + productId, product.primaryImageUrl());
+            }
+            hash.putIfAbsent(key, PRICE + productId, product.price().toPlainString());
+            hash.putIfAbsent(key, ADDED + productId, String.valueOf(now.toEpochMilli()));
+            ops.opsForSet().add(productCartsKey(productId), userId);
+            ops.expire(productCartsKey(productId), ttl);
+            touch(ops, key, userId, now);
+        });
+        int newQuantity = ((Number) results.getFirst()).intValue();
+
+        cart.setUpdatedAt(now);
+        return findItem(cart, product.id())
+                .map(existing -> {
+                    existing.setQuantity(newQuantity);
+                    return existing;
+                })
+                .orElseGet(() -> {
+                    CartItem item = CartItem.builder()
+                            .productId(product.id())
+                            .productName(product.name())
+                            .productImageUrl(product.primaryImageUrl())
+                            .unitPrice(product.price())
+                            .quantity(newQuantity)
+                            .createdAt(now)
+                            .build();
+                    cart.addItem(item);
+                    return item;
+                });
+    }
+
+    public void setQuantity(Cart cart, CartItem item, int quantity) {
+        String userId = cart.getUserId().toString();
+        String key = itemsKey(userId);
+        Instant now = Instant.now();
+
+        pipelined(ops -> {
+            ops.<String, String>opsForHash().put(key, QUANTITY + item.getProductId(), String.valueOf(quantity));
+            touch(ops, key, userId, now);
+        });
+        item.setQuantity(quantity);
+        cart.setUpdatedAt(now);
+    }
+
+    public void removeItem(Cart cart, CartItem item) {
+        String userId = cart.getUserId().toString();
+        String key = itemsKey(userId);
+        Instant now = Instant.now();
+
+        pipelined(ops -> {
+            ops.opsForHash().delete(key, lineFields(item.getProductId()));
+            ops.opsForSet().remove(productCartsKey(item.getProductId().toString()), userId);
+            touch(ops, key, userId, now);
+        });
+        cart.removeItem(item);
+        cart.setUpdatedAt(now);
+    }
+
+    public void clear(Cart cart) {
+        if (cart.getItems().isEmpty()) {
+            return;
+        }
+        String userId = cart.getUserId().toString();
+        String key = itemsKey(userId);
+        Instant now = Instant.now();
+        List<Long> productIds = cart.getItems().stream().map(CartItem::getProductId).toList();
+
+        pipelined(ops -> {
+            HashOperations<String, String, String> hash = ops.opsForHash();
+            for (Long productId : productIds) {
+                hash.delete(key, lineFields(productId));
+                ops.opsForSet().remove(productCartsKey(productId.toString()), userId);
+            }
+            touch(ops, key, userId, now);
+        });
+        cart.getItems().clear();
+        cart.setUpdatedAt(now);
+    }
+
+    /**
+     * Re-prices the product in every Redis cart holding it. Postgres is updated by the caller, so the
+     * carts are not marked dirty.
+     */
+    public void updatePrice(Long productId, BigDecimal price) {
+        Set<String> userIds = redisTemplate.opsForSet().members(productCartsKey(productId.toString()));
+        if (userIds == null || userIds.isEmpty()) {
+            return;
+        }
+        pipelined(ops -> userIds.forEach(userId -> ops.execute(SET_PRICE_IF_HELD, List.of(itemsKey(userId)),
+                QUANTITY + productId, PRICE + productId, price.toPlainString())));
+        log.debug("Updated price of product {} in {} Redis carts", productId, userIds.size());
+    }
+
+    /**
+     * Drops the product from every Redis cart holding it. Postgres is updated by the caller.
+     */
+    public void removeProduct(Long productId) {
+        String indexKey = productCartsKey(productId.toString());
+        Set<String> userIds = redisTemplate.opsForSet().members(indexKey);
+        if (userIds == null || userIds.isEmpty()) {
+            return;
+        }
+        pipelined(ops -> {
+            userIds.forEach(userId -> ops.opsForHash().delete(itemsKey(userId), lineFields(productId)));
+            ops.delete(indexKey);
+        });
+        log.debug("Removed product {} from {} Redis carts", productId, userIds.size());
+    }
+
+    /**
+     * Writes carts changed since the last run through to Postgres, one transaction per cart. A cart whose
+     * write fails is put back in the dirty set and retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${cart.storage.redis.flush-interval-ms:1000}", scheduler = SchedulingConfig.CART_FLUSH)
+    public void flushDirtyCarts() {
+        if (!enabled) {
+            return;
+        }
+
+        List<String> userIds = redisTemplate.opsForSet().pop(DIRTY_KEY, flushBatchSize);
+        if (userIds == null || userIds.isEmpty()) {
+            return;
+        }
+
+        int written = 0;
+        for (String userId : userIds) {
+            try {
+                Map<String, String> fields = redisTemplate.<String, String>opsForHash().entries(itemsKey(userId));
+                if (!fields.containsKey(UPDATED_FIELD)) {
+                    // Expired before it was flushed; never overwrite Postgres with nothing
+                    continue;
+                }
+                Cart snapshot = toCart(UUID.fromString(userId), fields);
+                Long cartId = transactionTemplate.execute(status -> writeThrough(snapshot));
+                if (snapshot.getId() == null && cartId != null) {
+                    redisTemplate.opsForHash().put(itemsKey(userId), ID_FIELD, cartId.toString());
+                }
+                written++;
+            } catch (DataAccessException e) {
+                log.warn("Failed to write cart of user {} through to Postgres, will retry: {}", userId, e.getMessage());
+                redisTemplate.opsForSet().add(DIRTY_KEY, userId);
+            }
+        }
+        log.debug("Wrote {} of {} dirty carts through to Postgres", written, userIds.size());
+    }
+
+
+    private Long writeThrough(Cart snapshot) {
+        Cart cart = cartRepository.findByUserIdAndStatus(snapshot.getUserId(), CartStatus.ACTIVE)
+                .orElseGet(() -> Cart.builder()
+                        .userId(snapshot.getUserId())
+                        .status(CartStatus.ACTIVE)
+                        .items(new ArrayList<>())
+                        .build());
+
+        Map<Long, CartItem> lines = snapshot.getItems().stream()
+                .collect(Collectors.toMap(CartItem::getProductId, Function.identity()));
+        cart.getItems().removeIf(item -> !lines.containsKey(item.getProductId()));
+
+        Map<Long, CartItem> existing = cart.getItems().stream()
+                .collect(Collectors.toMap(CartItem::getProductId, Function.identity()));
+        for (CartItem line : lines.values()) {
+            CartItem item = existing.get(line.getProductId());
+            if (item == null) {
+                cart.addItem(CartItem.builder()
+                        .productId(line.getProductId())
+                        .productName(line.getProductName())
+                        .productImageUrl(line.getProductImageUrl())
+                        .unitPrice(line.getUnitPrice())
+                        .quantity(line.getQuantity())
+                        .build());
+            } else {
+                item.setQuantity(line.getQuantity());
+                item.setUnitPrice(line.getUnitPrice());
+            }
+        }
+        return cartRepository.save(cart).getId();
+    }
+
+    private Optional<Cart> hydrate(UUID userId) {
+        return cartRepository.findByUserIdAndStatus(userId, CartStatus.ACTIVE).map(cart -> {
+            String user = userId.toString();
+            String key = itemsKey(user);
+            Map<String, String> fields = toFields(cart);
+            pipelined(ops -> {
+                ops.<String, String>opsForHash().putAll(key, fields);
+                ops.expire(key, ttl);
+                for (CartItem item : cart.getItems()) {
+                    ops.opsForSet().add(productCartsKey(item.getProductId().toString()), user);
+                }
+            });
+            log.debug("Hydrated cart of user {} with {} items from Postgres", userId, cart.getItems().size());
+            return toCart(userId, fields);
+        });
+    }
+
+    private void touch(RedisOperations<String, String> ops, String key, String userId, Instant now) {
+        ops.<String, String>opsForHash().put(key, UPDATED_FIELD, String.valueOf(now.toEpochMilli()));
+        ops.expire(key, ttl);
+        ops.opsForSet().add(DIRTY_KEY, userId);
+    }
+
+    private List<Object> pipelined(Consumer<RedisOperations<String, String>> commands) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                commands.accept((RedisOperations<String, String>) operations);
+                return null;
+            }
+        });
+    }
+
+    static Map<String, String> toFields(Cart cart) {
+        Map<String, String> fields = new HashMap<>();
+        if (cart.getId() != null) {
+            fields.put(ID_FIELD, cart.getId().toString());
+        }
+        Instant updatedAt = cart.getUpdatedAt() != null ? cart.getUpdatedAt() : Instant.now();
+        fields.put(UPDATED_FIELD, String.valueOf(updatedAt.toEpochMilli()));
+
+        for (CartItem item : cart.getItems()) {
+            String productId = item.getProductId().toString();
+            fields.put(QUANTITY + productId, item.getQuantity().toString());
+            fields.put(NAME + productId, item.getProductName());
+            fields.put(PRICE + productId, item.getUnitPrice().toPlainString());
+            if (item.getProductImageUrl() != null) {
+                fields.put(IMAGE + productId, item.getProductImageUrl());
+            }
+            if (item.getCreatedAt() != null) {
+                fields.put(ADDED + productId, String.valueOf(item.getCreatedAt().toEpochMilli()));
+            }
+        }
+        return fields;
+    }
+
+    static Cart toCart(UUID userId, Map<String, String> fields) {
+        Cart cart = Cart.builder()
+                .id(fields.containsKey(ID_FIELD) ? Long.valueOf(fields.get(ID_FIELD)) : null)
+                .userId(userId)
+                .status(CartStatus.ACTIVE)
+                .items(new ArrayList<>())
+                .updatedAt(toInstant(fields.get(UPDATED_FIELD)))
+                .build();
+
+        fields.entrySet().stream()
+                .filter(field -> field.getKey().startsWith(QUANTITY))
+                .map(field -> {
+                    String productId = field.getKey().substring(QUANTITY.length());
+                    return CartItem.builder()
+                            .productId(Long.valueOf(productId))
+                            .productName(fields.get(NAME + productId))
+                            .productImageUrl(fields.get(IMAGE + productId))
+                            .unitPrice(new BigDecimal(fields.get(PRICE + productId)))
+                            .quantity(Integer.valueOf(field.getValue()))
+                            .createdAt(toInstant(fields.get(ADDED + productId)))
+                            .build();
+                })
+                .sorted(Comparator.comparing(CartItem::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(CartItem::getProductId))
+                .forEach(cart::addItem);
+        return cart;
+    }
+
+    private static Optional<CartItem> findItem(Cart cart, Long productId) {
+        return cart.getItems().stream().filter(item -> item.getProductId().equals(productId)).findFirst();
+    }
+
+    private static Object[] lineFields(Long productId) {
+        return new Object[]{QUANTITY + productId, NAME + productId, IMAGE + productId, PRICE + productId, ADDED + productId};
+    }
+
+    private static Instant toInstant(String epochMillis) {
+        return epochMillis != null ? Instant.ofEpochMilli(Long.parseLong(epochMillis)) : null;
+    }
+
+    private static String itemsKey(String userId) {
+        return ITEMS_KEY_PREFIX + userId;
+    }
+
+    private static String productCartsKey(String productId) {
+        return PRODUCT_CARTS_KEY_PREFIX + productId;
+    }
+}
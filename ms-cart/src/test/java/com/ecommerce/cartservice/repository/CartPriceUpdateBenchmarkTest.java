@@ -0,0 +1,127 @@
+package com.ecommerce.cartservice.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures a price change on a product held by 100k carts against a real PostgreSQL database: the
+ * row-by-row update the entity path used to issue (as one JDBC batch, its best case) versus
+ * {@link CartItemRepository#UPDATE_UNIT_PRICE_SQL}.
+ * Point CART_TEST_DB_URL (plus optional CART_TEST_DB_USERNAME / CART_TEST_DB_PASSWORD) at a scratch
+ * database to run it, e.g. {@code jdbc:postgresql://localhost:5432/cart_test}.
+ */
+@EnabledIfEnvironmentVariable(named = "CART_TEST_DB_URL", matches = ".+")
+class CartPriceUpdateBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CartPriceUpdateBenchmarkTest.class);
+
+    private static final int CARTS = 100_000;
+
+    private NamedParameterJdbcTemplate jdbc;
+    private long productId;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getenv("CART_TEST_DB_URL"),
+                System.getenv().getOrDefault("CART_TEST_DB_USERNAME", "postgres"),
+                System.getenv().getOrDefault("CART_TEST_DB_PASSWORD", "postgres"));
+        jdbc = new NamedParameterJdbcTemplate(dataSource);
+
+        jdbc.getJdbcTemplate().execute("""
+                CREATE TABLE IF NOT EXISTS carts (
+                    id BIGSERIAL PRIMARY KEY,
+                    user_id UUID NOT NULL UNIQUE,
+                    status VARCHAR(20) NOT NULL,
+                    created_at TIMESTAMP(6) WITH TIME ZONE,
+                    updated_at TIMESTAMP(6) WITH TIME ZONE
+                )
+                """);
+        jdbc.getJdbcTemplate().execute("""
+                CREATE TABLE IF NOT EXISTS cart_items (
+                    id BIGSERIAL PRIMARY KEY,
+                    cart_id BIGINT NOT NULL REFERENCES carts (id),
+                    product_id BIGINT NOT NULL,
+                    product_name VARCHAR(255) NOT NULL,
+                    product_image_url VARCHAR(255),
+                    unit_price NUMERIC(10, 2) NOT NULL,
+                    quantity INTEGER NOT NULL,
+                    created_at TIMESTAMP(6) WITH TIME ZONE,
+                    updated_at TIMESTAMP(6) WITH TIME ZONE,
+                    CONSTRAINT uk_cart_id_product_id UNIQUE (cart_id, product_id)
+                )
+                """);
+
+        productId = ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE);
+        jdbc.update("""
+                WITH new_carts AS (
+                    INSERT INTO carts (user_id, status, created_at, updated_at)
+                    SELECT gen_random_uuid(), 'ACTIVE', now(), now() FROM generate_series(1, :carts)
+                    RETURNING id
+                )
+                INSERT INTO cart_items (cart_id, product_id, product_name, unit_price, quantity, created_at, updated_at)
+                SELECT id, :productId, 'Benchmark product', 10.00, 1, now(), now() FROM new_carts
+                """, Map.of("carts", CARTS, "productId", productId));
+        jdbc.getJdbcTemplate().execute("ANALYZE cart_items");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("""
+                WITH removed AS (
+                    DELETE FROM cart_items WHERE product_id = :productId RETURNING cart_id
+                )
+                DELETE FROM carts WHERE id IN (SELECT cart_id FROM removed)
+                """, Map.of("productId", productId));
+    }
+
+    @Test
+    void priceChangeOn100kCarts() {
+        List<Long> itemIds = jdbc.queryForList(
+                "SELECT id FROM cart_items WHERE product_id = :productId",
+                Map.of("productId", productId), Long.class);
+
+        long rowByRowStart = System.nanoTime();
+        SqlParameterSource[] rows = itemIds.stream()
+                .map(id -> new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("price", new BigDecimal("12.00"))
+                        .addValue("now", Timestamp.from(Instant.now())))
+                .toArray(SqlParameterSource[]::new);
+        jdbc.batchUpdate("UPDATE cart_items SET unit_price = :price, updated_at = :now WHERE id = :id", rows);
+        long rowByRowMillis = (System.nanoTime() - rowByRowStart) / 1_000_000;
+
+        long bulkStart = System.nanoTime();
+        List<UUID> userIds = jdbc.queryForList(CartItemRepository.UPDATE_UNIT_PRICE_SQL, new MapSqlParameterSource()
+                .addValue("productId", productId)
+                .addValue("price", new BigDecimal("15.00"))
+                .addValue("now", Timestamp.from(Instant.now())), UUID.class);
+        long bulkMillis = (System.nanoTime() - bulkStart) / 1_000_000;
+
+        log.info("Price change on {} carts: row-by-row batch {} ms, bulk UPDATE ... RETURNING {} ms",
+                CARTS, rowByRowMillis, bulkMillis);
+
+        assertThat(userIds).hasSize(CARTS).doesNotHaveDuplicates();
+        assertThat(jdbc.queryForObject(
+                "SELECT COUNT(*) FROM cart_items WHERE product_id = :productId AND unit_price = 15.00",
+                Map.of("productId", productId), Long.class)).isEqualTo(CARTS);
+    }
+}
@@ -4,13 +4,16 @@ import com.ecommerce.cartservice.dto.event.PriceChangedEvent;
 import com.ecommerce.cartservice.dto.event.StockUpdatedEvent;
 import com.ecommerce.cartservice.dto.request.AddToCartRequest;
 import com.ecommerce.cartservice.dto.request.UpdateCartItemRequest;
+import com.ecommerce.cartservice.dto.response.CartItemValidation;
 import com.ecommerce.cartservice.dto.response.CartResponse;
+import com.ecommerce.cartservice.dto.response.CartValidationResponse;
 import com.ecommerce.cartservice.entity.Cart;
 import com.ecommerce.cartservice.entity.CartItem;
 import com.ecommerce.cartservice.entity.CartStatus;
 import com.ecommerce.cartservice.exception.CartItemNotFoundException;
 import com.ecommerce.cartservice.exception.CartNotFoundException;
 import com.ecommerce.cartservice.exception.InsufficientStockException;
+import com.ecommerce.cartservice.exception.ProductNotAvailableException;
 import com.ecommerce.cartservice.grpc.InventoryGrpcClient;
 import com.ecommerce.cartservice.grpc.ProductGrpcClient;
 import com.ecommerce.cartservice.kafka.CartEventProducer;
@@ -18,6 +21,7 @@ import com.ecommerce.cartservice.mapper.CartMapper;
 import com.ecommerce.cartservice.repository.CartItemRepository;
 import com.ecommerce.cartservice.repository.CartRepository;
 import com.ecommerce.inventoryservice.grpc.CheckStockResponse;
+import com.ecommerce.inventoryservice.grpc.StockAvailability;
 import com.ecommerce.productservice.grpc.ProductResponse;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,6 +33,7 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -52,6 +57,12 @@ class CartServiceTest {
     private InventoryGrpcClient inventoryGrpcClient;
     @Mock
     private CartEventProducer eventProducer;
+    @Mock
+    private CatalogReplica catalogReplica;
+    @Mock
+    private RedisCartStore redisCartStore;
+    @Mock
+    private CartCacheEvictor cartCacheEvictor;
 
     @InjectMocks
     private CartService cartService;
@@ -67,16 +78,28 @@ class CartServiceTest {
                 .productName("Product").unitPrice(BigDecimal.TEN).quantity(1).build();
     }
 
+    private CatalogReplica.CatalogProduct catalogProduct(Long productId, boolean active) {
+        return new CatalogReplica.CatalogProduct(productId, "Product", new BigDecimal("10.00"), null, null, active, Instant.now());
+    }
+
+    @Test
+    void addToCart_inactiveProduct_throwsWithoutCheckingStock() {
+        when(catalogReplica.getProduct(1L)).thenReturn(catalogProduct(1L, false));
+
+        assertThatThrownBy(() -> cartService.addToCart(userId, new AddToCartRequest(1L, 1)))
+                .isInstanceOf(ProductNotAvailableException.class);
+
+        verifyNoInteractions(inventoryGrpcClient);
+    }
+
     @Test
     void addToCart_newItem_addsSuccessfully() {
         AddToCartRequest request = new AddToCartRequest(1L, 2);
         Cart cart = activeCart();
 
-        ProductResponse product = ProductResponse.newBuilder()
-                .setId(1L).setName("Product").setPrice("10.00").setIsActive(true).build();
         CheckStockResponse stock = CheckStockResponse.newBuilder().setIsAvailable(true).setAvailableQuantity(100).build();
 
-        when(productGrpcClient.getProduct(1L)).thenReturn(product);
+        when(catalogReplica.getProduct(1L)).thenReturn(catalogProduct(1L, true));
         when(inventoryGrpcClient.checkStock(1L, 2)).thenReturn(stock);
         when(cartRepository.findByUserIdAndStatus(userId, CartStatus.ACTIVE)).thenReturn(Optional.of(cart));
         when(cartItemRepository.findByCartIdAndProductId(1L, 1L)).thenReturn(Optional.empty());
@@ -92,15 +115,53 @@ class CartServiceTest {
         verify(eventProducer).sendItemAddedEvent(any());
     }
 
+    @Test
+    void addToCart_redisMode_addsThroughStoreWithoutDatabase() {
+        AddToCartRequest request = new AddToCartRequest(1L, 2);
+        Cart cart = activeCart();
+        CatalogReplica.CatalogProduct product = catalogProduct(1L, true);
+        CheckStockResponse stock = CheckStockResponse.newBuilder().setIsAvailable(true).setAvailableQuantity(100).build();
+
+        when(redisCartStore.isEnabled()).thenReturn(true);
+        when(catalogReplica.getProduct(1L)).thenReturn(product);
+        when(inventoryGrpcClient.checkStock(1L, 2)).thenReturn(stock);
+        when(redisCartStore.getOrCreateCart(userId)).thenReturn(cart);
+        when(redisCartStore.addItem(cart, product, 2)).thenReturn(cartItem(cart, 1L));
+
+        CartResponse expected = mock(CartResponse.class);
+        when(cartMapper.toResponse(cart)).thenReturn(expected);
+
+        assertThat(cartService.addToCart(userId, request)).isEqualTo(expected);
+        verify(eventProducer).sendItemAddedEvent(any());
+        verifyNoInteractions(cartRepository, cartItemRepository);
+    }
+
+    @Test
+    void addToCart_redisMode_existingItem_checksStockForNewTotal() {
+        Cart cart = activeCart();
+        cart.addItem(cartItem(cart, 1L));
+        CheckStockResponse available = CheckStockResponse.newBuilder().setIsAvailable(true).setAvailableQuantity(2).build();
+        CheckStockResponse exceeded = CheckStockResponse.newBuilder().setIsAvailable(false).setAvailableQuantity(2).build();
+
+        when(redisCartStore.isEnabled()).thenReturn(true);
+        when(catalogReplica.getProduct(1L)).thenReturn(catalogProduct(1L, true));
+        when(inventoryGrpcClient.checkStock(1L, 2)).thenReturn(available);
+        when(inventoryGrpcClient.checkStock(1L, 3)).thenReturn(exceeded);
+        when(redisCartStore.getOrCreateCart(userId)).thenReturn(cart);
+
+        assertThatThrownBy(() -> cartService.addToCart(userId, new AddToCartRequest(1L, 2)))
+                .isInstanceOf(InsufficientStockException.class);
+
+        verify(redisCartStore, never()).addItem(any(), any(), anyInt());
+    }
+
     @Test
     void addToCart_insufficientStock_throwsException() {
         AddToCartRequest request = new AddToCartRequest(1L, 100);
 
-        ProductResponse product = ProductResponse.newBuilder()
-                .setId(1L).setName("Product").setPrice("10.00").build();
         CheckStockResponse stock = CheckStockResponse.newBuilder().setIsAvailable(false).setAvailableQuantity(5).build();
 
-        when(productGrpcClient.getProduct(1L)).thenReturn(product);
+        when(catalogReplica.getProduct(1L)).thenReturn(catalogProduct(1L, true));
         when(inventoryGrpcClient.checkStock(1L, 100)).thenReturn(stock);
 
         assertThatThrownBy(() -> cartService.addToCart(userId, request))
@@ -172,6 +233,30 @@ class CartServiceTest {
         verify(eventProducer).sendCartClearedEvent(any());
     }
 
+    @Test
+    void clearCart_redisMode_clearsThroughStore() {
+        Cart cart = activeCart();
+        cart.addItem(cartItem(cart, 1L));
+
+        when(redisCartStore.isEnabled()).thenReturn(true);
+        when(redisCartStore.findCart(userId)).thenReturn(Optional.of(cart));
+
+        cartService.clearCart(userId);
+
+        verify(redisCartStore).clear(cart);
+        verify(eventProducer).sendCartClearedEvent(any());
+        verifyNoInteractions(cartRepository);
+    }
+
+    @Test
+    void updateItemQuantity_redisMode_noCart_throwsCartNotFoundException() {
+        when(redisCartStore.isEnabled()).thenReturn(true);
+        when(redisCartStore.findCart(userId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> cartService.updateItemQuantity(userId, 1L, new UpdateCartItemRequest(2)))
+                .isInstanceOf(CartNotFoundException.class);
+    }
+
     @Test
     void clearCart_noCart_throwsCartNotFoundException() {
         when(cartRepository.findByUserIdAndStatus(userId, CartStatus.ACTIVE)).thenReturn(Optional.empty());
@@ -181,37 +266,33 @@ class CartServiceTest {
     }
 
     @Test
-    void handlePriceChange_updatesItemPrice() {
-        Cart cart = activeCart();
-        CartItem item = cartItem(cart, 1L);
-        item.setUnitPrice(BigDecimal.TEN);
-
+    void handlePriceChange_updatesItemPricesInBulkAndEvictsAffectedCarts() {
+        UUID otherUserId = UUID.randomUUID();
         PriceChangedEvent event = new PriceChangedEvent(
                 1L, "slug", BigDecimal.TEN, BigDecimal.valueOf(20),
                 null, null, Instant.now(), "evt-1", Instant.now());
 
-        when(cartItemRepository.findByProductId(1L)).thenReturn(List.of(item));
+        when(cartItemRepository.updateUnitPrice(eq(1L), eq(BigDecimal.valueOf(20)), any(Instant.class)))
+                .thenReturn(List.of(userId, otherUserId));
 
         cartService.handlePriceChange(event);
 
-        assertThat(item.getUnitPrice()).isEqualTo(BigDecimal.valueOf(20));
-        verify(cartItemRepository).saveAll(List.of(item));
+        verify(cartCacheEvictor).evict(List.of(userId, otherUserId));
+        verify(cartItemRepository, never()).saveAll(any());
     }
 
     @Test
     void handlePriceChange_withDiscountPrice_usesDiscountPrice() {
-        Cart cart = activeCart();
-        CartItem item = cartItem(cart, 1L);
-
         PriceChangedEvent event = new PriceChangedEvent(
                 1L, "slug", BigDecimal.TEN, BigDecimal.valueOf(20),
                 null, BigDecimal.valueOf(15), Instant.now(), "evt-1", Instant.now());
 
-        when(cartItemRepository.findByProductId(1L)).thenReturn(List.of(item));
+        when(cartItemRepository.updateUnitPrice(eq(1L), eq(BigDecimal.valueOf(15)), any(Instant.class)))
+                .thenReturn(List.of());
 
         cartService.handlePriceChange(event);
 
-        assertThat(item.getUnitPrice()).isEqualTo(BigDecimal.valueOf(15));
+        verify(cartCacheEvictor).evict(List.of());
     }
 
     @Test
@@ -230,4 +311,43 @@ class CartServiceTest {
 
         verifyNoInteractions(cartItemRepository);
     }
+
+    @Test
+    void validateCart_checksWholeCartInTwoCalls() {
+        Cart cart = activeCart();
+        CartItem first = cartItem(cart, 1L);
+        CartItem second = CartItem.builder().id(2L).cart(cart).productId(2L)
+                .productName("Other").unitPrice(BigDecimal.TEN).quantity(3).build();
+        cart.getItems().addAll(List.of(first, second));
+
+        when(cartRepository.findByUserIdAndStatus(userId, CartStatus.ACTIVE)).thenReturn(Optional.of(cart));
+        when(productGrpcClient.getProductsByIds(List.of(1L, 2L))).thenReturn(List.of(
+                ProductResponse.newBuilder().setId(2L).setPrice("12.00").setIsActive(true).build(),
+                ProductResponse.newBuilder().setId(1L).setPrice("10.00").setIsActive(true).build()));
+        when(inventoryGrpcClient.checkStockBatch(Map.of(1L, 1, 2L, 3))).thenReturn(Map.of(
+                1L, StockAvailability.newBuilder().setProductId(1L).setIsAvailable(true).setAvailableQuantity(5).build(),
+                2L, StockAvailability.newBuilder().setProductId(2L).setIsAvailable(true).setAvailableQuantity(9).build()));
+
+        CartValidationResponse response = cartService.validateCart(userId);
+
+        assertThat(response.valid()).isTrue();
+        assertThat(response.items()).extracting(CartItemValidation::priceChanged).containsExactly(false, true);
+        verify(inventoryGrpcClient, never()).checkStock(anyLong(), anyInt());
+    }
+
+    @Test
+    void validateCart_stockMissingFromBatch_marksItemUnavailable() {
+        Cart cart = activeCart();
+        cart.getItems().add(cartItem(cart, 1L));
+
+        when(cartRepository.findByUserIdAndStatus(userId, CartStatus.ACTIVE)).thenReturn(Optional.of(cart));
+        when(productGrpcClient.getProductsByIds(List.of(1L))).thenReturn(List.of(
+                ProductResponse.newBuilder().setId(1L).setPrice("10.00").setIsActive(true).build()));
+        when(inventoryGrpcClient.checkStockBatch(anyMap())).thenReturn(Map.of());
+
+        CartValidationResponse response = cartService.validateCart(userId);
+
+        assertThat(response.valid()).isFalse();
+        assertThat(response.items().getFirst().inStock()).isFalse();
+    }
 }
@@ -0,0 +1,165 @@
+package com.ecommerce.cartservice.service;
+
+import com.ecommerce.cartservice.dto.event.PriceChangedEvent;
+import com.ecommerce.cartservice.dto.event.ProductUpdatedEvent;
+import com.ecommerce.cartservice.exception.ProductNotAvailableException;
+import com.ecommerce.cartservice.grpc.ProductGrpcClient;
+import com.ecommerce.productservice.grpc.ProductImageInfo;
+import com.ecommerce.productservice.grpc.ProductListResponse;
+import com.ecommerce.productservice.grpc.ProductResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogReplicaTest {
+
+    @Mock
+    private ProductGrpcClient productGrpcClient;
+
+    private MutableClock clock;
+    private CatalogReplica catalogReplica;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        catalogReplica = new CatalogReplica(productGrpcClient, 3, 2, Duration.ofMinutes(10), clock);
+    }
+
+    private ProductResponse product(long id) {
+        return ProductResponse.newBuilder()
+                .setId(id).setName("Product " + id).setPrice("10.00").setIsActive(true)
+                .addImages(ProductImageInfo.newBuilder().setImageUrl("other.png").build())
+                .addImages(ProductImageInfo.newBuilder().setImageUrl("primary.png").setIsPrimary(true).build())
+                .build();
+    }
+
+    private ProductListResponse page(ProductResponse... products) {
+        return ProductListResponse.newBuilder().addAllProducts(java.util.List.of(products)).build();
+    }
+
+    @Test
+    void bootstrap_loadsPagesUntilShortPage() {
+        when(productGrpcClient.listProducts(0, 2)).thenReturn(page(product(1), product(2)));
+        when(productGrpcClient.listProducts(1, 2)).thenReturn(page(product(3)));
+
+        catalogReplica.bootstrap();
+
+        assertThat(catalogReplica.size()).isEqualTo(3);
+        assertThat(catalogReplica.getProduct(1L).primaryImageUrl()).isEqualTo("primary.png");
+        verify(productGrpcClient, never()).getProduct(anyLong());
+    }
+
+    @Test
+    void bootstrap_failure_keepsWhatWasLoaded() {
+        when(productGrpcClient.listProducts(0, 2)).thenReturn(page(product(1), product(2)));
+        when(productGrpcClient.listProducts(1, 2)).thenThrow(new ProductNotAvailableException("down"));
+
+        catalogReplica.bootstrap();
+
+        assertThat(catalogReplica.size()).isEqualTo(2);
+    }
+
+    @Test
+    void getProduct_missFallsBackToGrpcOnce() {
+        when(productGrpcClient.getProduct(7L)).thenReturn(product(7));
+
+        catalogReplica.getProduct(7L);
+        catalogReplica.getProduct(7L);
+
+        verify(productGrpcClient, times(1)).getProduct(7L);
+    }
+
+    @Test
+    void getProduct_staleEntryIsReloaded() {
+        when(productGrpcClient.getProduct(7L)).thenReturn(product(7));
+        catalogReplica.getProduct(7L);
+
+        clock.advance(Duration.ofMinutes(11));
+        catalogReplica.getProduct(7L);
+
+        verify(productGrpcClient, times(2)).getProduct(7L);
+    }
+
+    @Test
+    void snapshotIsBoundedAndEvictsLeastRecentlyUsed() {
+        for (long id = 1; id <= 3; id++) {
+            when(productGrpcClient.getProduct(id)).thenReturn(product(id));
+            catalogReplica.getProduct(id);
+        }
+        catalogReplica.find(1L);
+
+        when(productGrpcClient.getProduct(4L)).thenReturn(product(4));
+        catalogReplica.getProduct(4L);
+
+        assertThat(catalogReplica.size()).isEqualTo(3);
+        assertThat(catalogReplica.find(1L)).isPresent();
+        assertThat(catalogReplica.find(2L)).isEmpty();
+    }
+
+    @Test
+    void events_patchExistingEntries() {
+        when(productGrpcClient.getProduct(1L)).thenReturn(product(1));
+        catalogReplica.getProduct(1L);
+
+        catalogReplica.applyProductUpdated(new ProductUpdatedEvent(1L, "Renamed", null, null, null,
+                null, null, null, Instant.now(), "evt-1", Instant.now()));
+        catalogReplica.applyPriceChange(new PriceChangedEvent(1L, null, BigDecimal.TEN, new BigDecimal("12.00"),
+                null, new BigDecimal("11.00"), Instant.now(), "evt-2", Instant.now()));
+
+        CatalogReplica.CatalogProduct entry = catalogReplica.find(1L).orElseThrow();
+        assertThat(entry.name()).isEqualTo("Renamed");
+        assertThat(entry.price()).isEqualByComparingTo("12.00");
+        assertThat(entry.discountPrice()).isEqualByComparingTo("11.00");
+        assertThat(entry.primaryImageUrl()).isEqualTo("primary.png");
+
+        catalogReplica.applyProductDeleted(1L);
+        assertThat(catalogReplica.find(1L).orElseThrow().active()).isFalse();
+    }
+
+    @Test
+    void events_forUnknownProductsAreIgnored() {
+        catalogReplica.applyPriceChange(new PriceChangedEvent(9L, null, BigDecimal.ONE, BigDecimal.TEN,
+                null, null, Instant.now(), "evt-3", Instant.now()));
+
+        assertThat(catalogReplica.find(9L)).isEmpty();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
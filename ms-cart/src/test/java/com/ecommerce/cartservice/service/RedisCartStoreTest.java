@@ -0,0 +1,89 @@
+package com.ecommerce.cartservice.service;
+
+import com.ecommerce.cartservice.entity.Cart;
+import com.ecommerce.cartservice.entity.CartItem;
+import com.ecommerce.cartservice.entity.CartStatus;
+import com.ecommerce.cartservice.repository.CartRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RedisCartStoreTest {
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void toFieldsAndBack_roundTripsCart() {
+        Cart cart = Cart.builder().id(7L).userId(userId).status(CartStatus.ACTIVE)
+                .items(new ArrayList<>()).updatedAt(Instant.ofEpochMilli(5_000)).build();
+        cart.addItem(item(2L, "Second", "4.50", 3, 2_000));
+        cart.addItem(item(1L, "First", "10.00", 1, 1_000));
+
+        Cart restored = RedisCartStore.toCart(userId, RedisCartStore.toFields(cart));
+
+        assertThat(restored.getId()).isEqualTo(7L);
+        assertThat(restored.getUpdatedAt()).isEqualTo(Instant.ofEpochMilli(5_000));
+        assertThat(restored.getItems()).extracting(CartItem::getProductId).containsExactly(1L, 2L);
+        assertThat(restored.getItems().get(1).getUnitPrice()).isEqualByComparingTo("4.50");
+        assertThat(restored.getItems().get(1).getQuantity()).isEqualTo(3);
+        assertThat(restored.getItems().get(1).getCart()).isSameAs(restored);
+    }
+
+    @Test
+    void toCart_ignoresFieldsWithoutQuantity() {
+        Map<String, String> fields = new HashMap<>();
+        fields.put(RedisCartStore.UPDATED_FIELD, "1000");
+        fields.put(RedisCartStore.PRICE + "9", "12.00");
+
+        Cart cart = RedisCartStore.toCart(userId, fields);
+
+        assertThat(cart.getId()).isNull();
+        assertThat(cart.getItems()).isEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void updatePrice_onlyWritesCartsStillHoldingTheProduct() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        SetOperations<String, String> sets = mock(SetOperations.class);
+        RedisOperations<String, String> pipeline = mock(RedisOperations.class);
+        when(redisTemplate.opsForSet()).thenReturn(sets);
+        when(sets.members("cart:product-carts:5")).thenReturn(Set.of(userId.toString()));
+        when(redisTemplate.executePipelined(any(SessionCallback.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<SessionCallback<Object>>getArgument(0).execute(pipeline);
+                    return List.of();
+                });
+        RedisCartStore store = new RedisCartStore(redisTemplate, mock(CartRepository.class),
+                mock(PlatformTransactionManager.class), "redis", Duration.ofDays(30), 500);
+
+        store.updatePrice(5L, new BigDecimal("9.99"));
+
+        verify(pipeline).execute(RedisCartStore.SET_PRICE_IF_HELD, List.of("cart:items:" + userId),
+                RedisCartStore.QUANTITY + 5, RedisCartStore.PRICE + 5, "9.99");
+        verify(pipeline, never()).opsForHash();
+    }
+
+    private CartItem item(Long productId, String name, String price, int quantity, long addedAt) {
+        return CartItem.builder().productId(productId).productName(name)
+                .unitPrice(new BigDecimal(price)).quantity(quantity)
+                .createdAt(Instant.ofEpochMilli(addedAt)).build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.ecommerce.inventoryservice.config;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.ecommerce.messaging.kafka.EventSerializer;
+import com.ecommerce.messaging.kafka.ProducerProfile;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -39,18 +40,12 @@ public class KafkaProducerConfig {
 
     @Bean
     public Serializer<Object> jsonSerializer(@Qualifier("kafkaObjectMapper") ObjectMapper kafkaObjectMapper) {
-        return (topic, data) -> {
-            if (data == null) return null;
-            try {
-                return kafkaObjectMapper.writeValueAsBytes(data);
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException("Error serializing Kafka message", e);
-            }
-        };
+        return new EventSerializer(kafkaObjectMapper);
     }
 
     @Bean
-    public ProducerFactory<String, Object> producerFactory(Serializer<Object> jsonSerializer) {
+    public ProducerFactory<String, Object> producerFactory(Serializer<Object> jsonSerializer,
+                                                           ProducerProfile producerProfile) {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
 
@@ -58,9 +53,9 @@ public class KafkaProducerConfig {
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
         configProps.put(ProducerConfig.RETRY_BACKOFF_MS_CONFIG, 1000);
 
-        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        producerProfile.applyTo(configProps);
 
-        log.info("Kafka producer configured with bootstrap servers: {}", bootstrapServers);
+        log.info("Kafka producer configured with bootstrap servers: {} ({})", bootstrapServers, producerProfile);
 
         return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(), jsonSerializer);
     }
@@ -1,13 +1,21 @@
 package com.ecommerce.inventoryservice.config;
 
-public final class KafkaTopicConfig {
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
 
-    private KafkaTopicConfig() {
-        // Private constructor to prevent instantiation as per requirements
-        throw new UnsupportedOperationException("This is a utility/constants class and cannot be instantiated");
-    }
+@Configuration
+public class KafkaTopicConfig {
 
     public static final String INVENTORY_EVENTS_TOPIC = "inventory-events";
     public static final String PRODUCT_EVENTS_TOPIC = "product-events";
     public static final String INVENTORY_SERVICE_GROUP = "inventory-service-group";
-}
\ No newline at end of file
+
+    @Bean
+    public NewTopic inventoryEventsTopic(@Value("${messaging.topics.inventory-events.partitions:6}") int partitions,
+                                         @Value("${messaging.topics.replicas:1}") int replicas) {
+        return TopicBuilder.name(INVENTORY_EVENTS_TOPIC).partitions(partitions).replicas(replicas).build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.inventoryservice.config;
+
+import com.ecommerce.messaging.scheduling.MonitoredTaskScheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Scheduler pools for inventory's own jobs; outbox, DLQ and purges run on the messaging pools.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    /** Timing-wheel tick and overdue sweep: two threads so a slow sweep never holds up the tick. */
+    public static final String RESERVATION_EXPIRY = "reservationExpiryScheduler";
+    /** Stock-watch flush and flash-sale shard merge. */
+    public static final String STOCK = "stockScheduler";
+
+    @Bean(name = RESERVATION_EXPIRY)
+    public MonitoredTaskScheduler reservationExpiryScheduler(
+            MeterRegistry meterRegistry,
+            @Value("${inventory.scheduling.reservation-expiry.pool-size:2}") int poolSize) {
+        return new MonitoredTaskScheduler("reservation-expiry", poolSize, meterRegistry);
+    }
+
+    @Bean(name = STOCK)
+    public MonitoredTaskScheduler stockScheduler(MeterRegistry meterRegistry,
+                                                 @Value("${inventory.scheduling.stock.pool-size:2}") int poolSize) {
+        return new MonitoredTaskScheduler("stock-scheduler", poolSize, meterRegistry);
+    }
+}
@@ -42,6 +42,7 @@ public class SecurityConfig {
 
                         .requestMatchers(HttpMethod.PUT, "/inventory/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/inventory/**").hasAnyRole("ADMIN", "STORE")
+                        .requestMatchers(HttpMethod.DELETE, "/inventory/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/inventory/low-stock").hasRole("ADMIN")
 
                         .anyRequest().authenticated()
@@ -5,6 +5,7 @@ import com.ecommerce.inventoryservice.dto.request.StockUpdateRequest;
 import com.ecommerce.inventoryservice.dto.response.InventoryResponse;
 import com.ecommerce.inventoryservice.dto.response.StockStatusResponse;
 import com.ecommerce.inventoryservice.entity.StockStatus;
+import com.ecommerce.inventoryservice.service.FlashSaleService;
 import com.ecommerce.inventoryservice.service.InventoryService;
 import com.ecommerce.inventoryservice.service.StockReservationService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -27,6 +28,7 @@ public class InventoryController {
 
     private final InventoryService inventoryService;
     private final StockReservationService stockReservationService;
+    private final FlashSaleService flashSaleService;
 
     @GetMapping("/{productId}")
     @Operation(summary = "Get stock info", description = "Returns full stock details for a product")
@@ -80,6 +82,26 @@ public class InventoryController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/{productId}/flash-sale")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Enable flash-sale mode", description = "Splits the product's free stock across sharded counters for high-contention sales (Admin only)")
+    public ResponseEntity<InventoryResponse> enableFlashSale(
+            @PathVariable Long productId,
+            @RequestParam(defaultValue = "8") int shards) {
+        log.info("REST request to enable flash-sale mode for product {} with {} shards", productId, shards);
+        flashSaleService.enableFlashSale(productId, shards);
+        return ResponseEntity.ok(inventoryService.getStockInfo(productId));
+    }
+
+    @DeleteMapping("/{productId}/flash-sale")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Disable flash-sale mode", description = "Folds the sharded counters back into the product's stock (Admin only)")
+    public ResponseEntity<InventoryResponse> disableFlashSale(@PathVariable Long productId) {
+        log.info("REST request to disable flash-sale mode for product {}", productId);
+        flashSaleService.disableFlashSale(productId);
+        return ResponseEntity.ok(inventoryService.getStockInfo(productId));
+    }
+
     @GetMapping("/low-stock")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get low stock products", description = "Returns all products with LOW_STOCK or OUT_OF_STOCK status (Admin only)")
@@ -0,0 +1,41 @@
+package com.ecommerce.inventoryservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+
+/**
+ * A slice of a flash-sale product's free stock. While a product is in flash-sale mode its free units are
+ * parked here (and counted as reserved on the canonical {@link Inventory} row), so concurrent reservations
+ * spread over several rows instead of queuing on one.
+ */
+@Entity
+@Table(name = "inventory_shards", indexes = {
+        @Index(name = "idx_inventory_shard_product_shard", columnList = "product_id, shard_index", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryShard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "shard_index", nullable = false)
+    private Integer shardIndex;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer available = 0;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
@@ -10,7 +10,8 @@ import java.time.Instant;
 @Entity
 @Table(name = "stock_reservations", indexes = {
         @Index(name = "idx_reservation_product_id", columnList = "product_id"),
-        @Index(name = "idx_reservation_order_id", columnList = "order_id")
+        @Index(name = "idx_reservation_order_id", columnList = "order_id"),
+        @Index(name = "idx_reservation_status_expires_at", columnList = "status, expires_at")
 })
 @Data
 @NoArgsConstructor
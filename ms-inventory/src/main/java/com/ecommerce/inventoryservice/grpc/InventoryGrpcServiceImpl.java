@@ -3,11 +3,17 @@ package com.ecommerce.inventoryservice.grpc;
 import com.ecommerce.inventoryservice.dto.response.InventoryResponse;
 import com.ecommerce.inventoryservice.service.InventoryService;
 import com.ecommerce.inventoryservice.service.StockReservationService;
+import com.ecommerce.inventoryservice.service.StockWatchService;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.server.service.GrpcService;
 
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Slf4j
 @GrpcService
 @RequiredArgsConstructor
@@ -15,6 +21,7 @@ public class InventoryGrpcServiceImpl extends InventoryGrpcServiceGrpc.Inventory
 
     private final InventoryService inventoryService;
     private final StockReservationService stockReservationService;
+    private final StockWatchService stockWatchService;
 
     @Override
     public void checkStock(CheckStockRequest request, StreamObserver<CheckStockResponse> responseObserver) {
@@ -33,6 +40,44 @@ public class InventoryGrpcServiceImpl extends InventoryGrpcServiceGrpc.Inventory
         responseObserver.onCompleted();
     }
 
+    @Override
+    public void checkStockBatch(CheckStockBatchRequest request, StreamObserver<CheckStockBatchResponse> responseObserver) {
+        log.info("gRPC checkStockBatch request for {} lines", request.getItemsCount());
+
+        Map<Long, Integer> quantities = request.getItemsList().stream()
+                .collect(Collectors.toMap(StockLineItem::getProductId, StockLineItem::getQuantity, Integer::sum));
+        Map<Long, InventoryResponse> inventories = inventoryService.getStockInfos(quantities.keySet()).stream()
+                .collect(Collectors.toMap(InventoryResponse::productId, Function.identity()));
+
+        CheckStockBatchResponse.Builder response = CheckStockBatchResponse.newBuilder();
+        quantities.forEach((productId, quantity) -> {
+            // Products without inventory are reported as unavailable rather than failing the whole batch
+            InventoryResponse inventory = inventories.get(productId);
+            int availableQuantity = inventory != null ? inventory.quantity() - inventory.reservedQuantity() : 0;
+
+            response.addResults(StockAvailability.newBuilder()
+                    .setProductId(productId)
+                    .setIsAvailable(inventory != null && availableQuantity >= quantity)
+                    .setAvailableQuantity(availableQuantity)
+                    .build());
+        });
+
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Streams the current stock of the requested products, then a coalesced update whenever one changes
+     * on any inventory instance, as relayed through inventory-events. The stream stays open until the
+     * client cancels it.
+     */
+    @Override
+    public void watchStock(WatchStockRequest request, StreamObserver<StockChange> responseObserver) {
+        log.info("gRPC watchStock request for {} products", request.getProductIdsCount());
+
+        stockWatchService.watch(request.getProductIdsList(), (ServerCallStreamObserver<StockChange>) responseObserver);
+    }
+
     @Override
     public void reserveStock(ReserveStockRequest request, StreamObserver<ReserveStockResponse> responseObserver) {
         log.info("gRPC reserveStock request for productId: {}, orderId: {}", request.getProductId(), request.getOrderId());
@@ -94,4 +139,52 @@ public class InventoryGrpcServiceImpl extends InventoryGrpcServiceGrpc.Inventory
         responseObserver.onNext(response);
         responseObserver.onCompleted();
     }
-}
\ No newline at end of file
+
+    @Override
+    public void reserveStockBatch(ReserveStockBatchRequest request, StreamObserver<ReserveStockBatchResponse> responseObserver) {
+        log.info("gRPC reserveStockBatch request for orderId: {}, lines: {}", request.getOrderId(), request.getItemsCount());
+
+        Map<Long, Integer> quantities = request.getItemsList().stream()
+                .collect(Collectors.toMap(StockLineItem::getProductId, StockLineItem::getQuantity, Integer::sum));
+        stockReservationService.reserveStockBatch(request.getOrderId(), quantities);
+
+        ReserveStockBatchResponse response = ReserveStockBatchResponse.newBuilder()
+                .setSuccess(true)
+                .setMessage("Stock reserved successfully")
+                .build();
+
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void confirmStockBatch(ConfirmStockBatchRequest request, StreamObserver<ConfirmStockBatchResponse> responseObserver) {
+        log.info("gRPC confirmStockBatch request for orderId: {}, lines: {}", request.getOrderId(), request.getProductIdsCount());
+
+        stockReservationService.confirmStockBatch(request.getOrderId(), request.getProductIdsList());
+
+        ConfirmStockBatchResponse response = ConfirmStockBatchResponse.newBuilder()
+                .setSuccess(true)
+                .setMessage("Stock confirmed successfully")
+                .build();
+
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void releaseStockBatch(ReleaseStockBatchRequest request, StreamObserver<ReleaseStockBatchResponse> responseObserver) {
+        log.info("gRPC releaseStockBatch request for orderId: {}, lines: {}", request.getOrderId(), request.getProductIdsCount());
+
+        int released = stockReservationService.releaseStockBatch(request.getOrderId(), request.getProductIdsList());
+
+        ReleaseStockBatchResponse response = ReleaseStockBatchResponse.newBuilder()
+                .setSuccess(true)
+                .setMessage("Stock released successfully")
+                .setReleasedCount(released)
+                .build();
+
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+}
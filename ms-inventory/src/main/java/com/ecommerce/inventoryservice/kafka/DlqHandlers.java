@@ -0,0 +1,23 @@
+package com.ecommerce.inventoryservice.kafka;
+
+import com.ecommerce.messaging.dlq.DlqService;
+import com.ecommerce.inventoryservice.config.KafkaTopicConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells the shared {@link DlqService} which consumer replays a failed event from each topic.
+ */
+@Component
+@RequiredArgsConstructor
+public class DlqHandlers {
+
+    private final DlqService dlqService;
+    private final ProductEventConsumer productEventConsumer;
+
+    @PostConstruct
+    void registerHandlers() {
+        dlqService.registerHandler(KafkaTopicConfig.PRODUCT_EVENTS_TOPIC, productEventConsumer::consumeProductEvents);
+    }
+}
@@ -3,9 +3,9 @@ package com.ecommerce.inventoryservice.kafka;
 import com.ecommerce.inventoryservice.config.KafkaTopicConfig;
 import com.ecommerce.inventoryservice.dto.event.*;
 import com.ecommerce.inventoryservice.entity.Inventory;
-import com.ecommerce.inventoryservice.entity.OutboxEvent;
 import com.ecommerce.inventoryservice.entity.StockReservation;
-import com.ecommerce.inventoryservice.repository.OutboxEventRepository;
+import com.ecommerce.messaging.outbox.OutboxEvent;
+import com.ecommerce.messaging.outbox.OutboxEventRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
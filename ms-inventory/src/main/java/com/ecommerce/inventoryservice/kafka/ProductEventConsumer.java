@@ -4,80 +4,117 @@ import com.ecommerce.inventoryservice.config.KafkaTopicConfig;
 import com.ecommerce.inventoryservice.dto.event.ProductCreatedEvent;
 import com.ecommerce.inventoryservice.dto.event.ProductDeletedEvent;
 import com.ecommerce.inventoryservice.dto.event.ProductUpdatedEvent;
-import com.ecommerce.inventoryservice.entity.ProcessedEvent;
-import com.ecommerce.inventoryservice.repository.ProcessedEventRepository;
 import com.ecommerce.inventoryservice.service.InventoryService;
+import com.ecommerce.messaging.idempotency.IdempotencyGuard;
+import com.ecommerce.messaging.kafka.BatchEventProcessor;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
+import java.util.List;
 
 @Slf4j
 @Component
 public class ProductEventConsumer {
 
+    private static final String EVENT_TYPE = "PRODUCT_EVENT";
+
     private final ObjectMapper objectMapper;
     private final InventoryService inventoryService;
-    private final ProcessedEventRepository processedEventRepository;
+    private final IdempotencyGuard idempotencyGuard;
+    private final BatchEventProcessor batchEventProcessor;
 
     public ProductEventConsumer(@Qualifier("kafkaObjectMapper") ObjectMapper objectMapper,
                                 InventoryService inventoryService,
-                                ProcessedEventRepository processedEventRepository) {
+                                IdempotencyGuard idempotencyGuard,
+                                BatchEventProcessor batchEventProcessor) {
         this.objectMapper = objectMapper;
         this.inventoryService = inventoryService;
-        this.processedEventRepository = processedEventRepository;
+        this.idempotencyGuard = idempotencyGuard;
+        this.batchEventProcessor = batchEventProcessor;
     }
 
     @Transactional
-    @KafkaListener(topics = KafkaTopicConfig.PRODUCT_EVENTS_TOPIC, groupId = KafkaTopicConfig.INVENTORY_SERVICE_GROUP)
+    @KafkaListener(
+            topics = KafkaTopicConfig.PRODUCT_EVENTS_TOPIC,
+            groupId = KafkaTopicConfig.INVENTORY_SERVICE_GROUP,
+            concurrency = "${messaging.consumer.concurrency.product-events:1}",
+            autoStartup = "#{!${messaging.consumer.batch.enabled:false}}"
+    )
     public void consumeProductEvents(JsonNode payload) {
         try {
             String eventId = payload.has("eventId") ? payload.get("eventId").asText() : null;
 
-            if (eventId != null) {
-                try {
-                    processedEventRepository.saveAndFlush(ProcessedEvent.builder()
-                            .eventId(eventId)
-                            .eventType("PRODUCT_EVENT")
-                            .processedAt(Instant.now())
-                            .build());
-                } catch (DataIntegrityViolationException e) {
-                    log.info("Event {} already processed, skipping", eventId);
-                    return;
-                }
+            if (eventId != null && !idempotencyGuard.markProcessed(eventId, EVENT_TYPE)) {
+                log.info("Event {} already processed, skipping", eventId);
+                return;
             }
 
-            if (payload.has("deletedAt")) {
+            applyProductEvent(payload);
+        } catch (Exception e) {
+            log.error("Failed to process consumed product event. Payload: {}", payload, e);
+            throw new RuntimeException("Failed to process product event", e);
+        }
+    }
+
+    /**
+     * Batch variant of {@link #consumeProductEvents}, used instead of it when
+     * {@code messaging.consumer.batch.enabled} is set.
+     */
+    @KafkaListener(
+            topics = KafkaTopicConfig.PRODUCT_EVENTS_TOPIC,
+            groupId = KafkaTopicConfig.INVENTORY_SERVICE_GROUP,
+            concurrency = "${messaging.consumer.concurrency.product-events:1}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${messaging.consumer.batch.enabled:false}"
+    )
+    public void consumeProductEventBatch(List<ConsumerRecord<String, JsonNode>> records) {
+        log.debug("Received batch of {} product events", records.size());
+        batchEventProcessor.process(records, payload -> EVENT_TYPE, this::applyProductEvent);
+    }
+
+    private void applyProductEvent(JsonNode payload) throws Exception {
+        switch (productEventType(payload)) {
+            case "PRODUCT_DELETED" -> {
                 ProductDeletedEvent event = objectMapper.treeToValue(payload, ProductDeletedEvent.class);
                 log.info("Consumed ProductDeletedEvent for productId: {}", event.id());
                 inventoryService.deleteInventory(event.id());
-
-            } else if (payload.has("updatedAt") && !payload.get("updatedAt").isNull()) {
+            }
+            case "PRODUCT_UPDATED" -> {
                 ProductUpdatedEvent event = objectMapper.treeToValue(payload, ProductUpdatedEvent.class);
                 log.info("Consumed ProductUpdatedEvent for productId: {}", event.id());
                 if (event.stock() != null) {
                     inventoryService.updateOrCreateStock(event.id(), event.stock());
                 }
-
-            } else if (payload.has("categoryId")) {
+            }
+            case "PRODUCT_CREATED" -> {
                 ProductCreatedEvent event = objectMapper.treeToValue(payload, ProductCreatedEvent.class);
                 log.info("Consumed ProductCreatedEvent for productId: {}", event.id());
                 inventoryService.createInventory(event);
-
-            } else {
-                log.debug("Consumed an unhandled product event type. Payload: {}", payload);
             }
-        } catch (DataIntegrityViolationException e) {
-            log.info("Duplicate event detected, skipping");
-        } catch (Exception e) {
-            log.error("Failed to process consumed product event. Payload: {}", payload, e);
-            throw new RuntimeException("Failed to process product event", e);
+            default -> log.debug("Consumed an unhandled product event type. Payload: {}", payload);
+        }
+    }
+
+    /**
+     * Product events carry no {@code eventType} field of their own; it comes from the record header, or is
+     * inferred from the payload for records relayed before headers were added.
+     */
+    private String productEventType(JsonNode payload) {
+        if (payload.hasNonNull("eventType")) {
+            return payload.get("eventType").asText();
+        }
+        if (payload.has("deletedAt")) {
+            return "PRODUCT_DELETED";
+        }
+        if (payload.has("updatedAt") && !payload.get("updatedAt").isNull()) {
+            return "PRODUCT_UPDATED";
         }
+        return payload.has("categoryId") ? "PRODUCT_CREATED" : "UNKNOWN";
     }
 }
@@ -0,0 +1,40 @@
+package com.ecommerce.inventoryservice.kafka;
+
+import com.ecommerce.inventoryservice.config.KafkaTopicConfig;
+import com.ecommerce.inventoryservice.service.StockWatchService;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds {@link StockWatchService} from inventory-events, so {@code WatchStock} streams see stock changes
+ * committed on every inventory instance, not just the one serving the stream. Each instance assigns itself
+ * every partition instead of joining a consumer group and starts from the latest offset: watchers get the
+ * current stock when they subscribe, so only changes from then on matter. Marking a product twice is
+ * harmless, so nothing is committed and no idempotency record is kept.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockWatchConsumer {
+
+    private final StockWatchService stockWatchService;
+
+    @KafkaListener(
+            topicPartitions = @TopicPartition(
+                    topic = KafkaTopicConfig.INVENTORY_EVENTS_TOPIC,
+                    partitions = "#{@topicPartitions.of('" + KafkaTopicConfig.INVENTORY_EVENTS_TOPIC + "')}"),
+            containerFactory = "groupLessKafkaListenerContainerFactory"
+    )
+    public void consumeInventoryEvents(JsonNode node) {
+        JsonNode productId = node.path("productId");
+        if (productId.canConvertToLong()) {
+            stockWatchService.markChanged(productId.asLong());
+        } else {
+            log.debug("Stock watch ignoring inventory event without a product id");
+        }
+    }
+}
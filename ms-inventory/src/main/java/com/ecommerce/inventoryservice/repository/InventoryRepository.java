@@ -1,17 +1,54 @@
 package com.ecommerce.inventoryservice.repository;
 
 import com.ecommerce.inventoryservice.entity.Inventory;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
 
+    /**
+     * Guarded reservation: the availability check and the increment happen in one statement, so
+     * concurrent reservers serialize on the row lock instead of racing on the entity version.
+     * Exposed as a constant so the concurrency test runs exactly this statement.
+     */
+    String RESERVE_IF_AVAILABLE_SQL = """
+            UPDATE inventory
+            SET reserved_quantity = reserved_quantity + :quantity,
+                version = version + 1,
+                updated_at = :now
+            WHERE product_id = :productId
+              AND quantity - reserved_quantity >= :quantity
+            """;
+
     // Crucial for sync with Product Service and gRPC stock checks
     Optional<Inventory> findByProductId(Long productId);
 
     // Used for the admin "low stock" dashboard requirement
     java.util.List<Inventory> findAllByStockStatus(com.ecommerce.inventoryservice.entity.StockStatus status);
-}
\ No newline at end of file
+
+    // Batch lookup for multi-product stock checks and stock watch snapshots, in one round trip
+    List<Inventory> findAllByProductIdIn(Collection<Long> productIds);
+
+    // Returns the affected-row count: 1 when reserved, 0 when the product is missing or short on stock
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = RESERVE_IF_AVAILABLE_SQL, nativeQuery = true)
+    int reserveIfAvailable(@Param("productId") Long productId,
+                           @Param("quantity") int quantity,
+                           @Param("now") Instant now);
+
+    // Row locks are taken in product_id order so concurrent multi-line orders cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.productId IN :productIds ORDER BY i.productId")
+    List<Inventory> findAllByProductIdInForUpdate(@Param("productIds") Collection<Long> productIds);
+}
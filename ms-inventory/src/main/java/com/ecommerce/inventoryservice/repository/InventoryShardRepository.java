@@ -0,0 +1,40 @@
+package com.ecommerce.inventoryservice.repository;
+
+import com.ecommerce.inventoryservice.entity.InventoryShard;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface InventoryShardRepository extends JpaRepository<InventoryShard, Long> {
+
+    // Guarded take from a single shard: 1 when taken, 0 when the shard is short
+    @Modifying
+    @Query("""
+        UPDATE InventoryShard s
+        SET s.available = s.available - :quantity
+        WHERE s.productId = :productId
+          AND s.shardIndex = :shardIndex
+          AND s.available >= :quantity
+    """)
+    int takeFromShard(@Param("productId") Long productId,
+                      @Param("shardIndex") int shardIndex,
+                      @Param("quantity") int quantity);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM InventoryShard s WHERE s.productId = :productId ORDER BY s.shardIndex")
+    List<InventoryShard> findAllByProductIdForUpdate(@Param("productId") Long productId);
+
+    @Query("SELECT COALESCE(SUM(s.available), 0) FROM InventoryShard s WHERE s.productId = :productId")
+    long sumAvailableByProductId(@Param("productId") Long productId);
+
+    // Rows of [productId, shardCount] for every product currently in flash-sale mode
+    @Query("SELECT s.productId, COUNT(s) FROM InventoryShard s GROUP BY s.productId")
+    List<Object[]> countShardsByProduct();
+}
@@ -2,21 +2,95 @@ package com.ecommerce.inventoryservice.repository;
 
 import com.ecommerce.inventoryservice.entity.ReservationStatus;
 import com.ecommerce.inventoryservice.entity.StockReservation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
 
+    /**
+     * Expires the given reservations that are still PENDING and hands their quantity back to inventory,
+     * summed per product, in one statement. Returns one row per expired reservation together with the
+     * post-update stock of its product (null when the inventory row no longer exists).
+     */
+    String EXPIRE_PENDING_SQL = """
+            WITH expired AS (
+                UPDATE stock_reservations
+                SET status = 'EXPIRED', updated_at = :now
+                WHERE id IN (:ids) AND status = 'PENDING'
+                RETURNING id, product_id, order_id, quantity
+            ), released AS (
+                UPDATE inventory i
+                SET reserved_quantity = i.reserved_quantity - t.quantity,
+                    version = i.version + 1,
+                    updated_at = :now
+                FROM (SELECT product_id, SUM(quantity) AS quantity FROM expired GROUP BY product_id) t
+                WHERE i.product_id = t.product_id
+                RETURNING i.product_id, i.quantity, i.reserved_quantity, i.stock_status
+            )
+            SELECT e.id AS "id", e.product_id AS "productId", e.order_id AS "orderId", e.quantity AS "quantity",
+                   r.quantity AS "inventoryQuantity", r.reserved_quantity AS "reservedQuantity",
+                   r.stock_status AS "stockStatus"
+            FROM expired e
+            LEFT JOIN released r ON r.product_id = e.product_id
+            """;
+
+    interface ExpiredReservation {
+        Long getId();
+        Long getProductId();
+        String getOrderId();
+        Integer getQuantity();
+        Integer getInventoryQuantity();
+        Integer getReservedQuantity();
+        String getStockStatus();
+    }
+
+    interface PendingExpiry {
+        Long getId();
+        Instant getExpiresAt();
+    }
+
     // Find specific reservation to CONFIRM or RELEASE
     Optional<StockReservation> findByOrderIdAndProductId(String orderId, Long productId);
 
     List<StockReservation> findAllByOrderId(String orderId);
 
-    // For the background task that releases stock back to inventory
-    List<StockReservation> findAllByStatusAndExpiresAtBefore(ReservationStatus status, Instant now);
-}
\ No newline at end of file
+    // Locks the order's reservations before any inventory row, in the same order as the expiry statement,
+    // so a caller that waited on a concurrent confirm/release/expiry no longer sees the lines it flipped
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r WHERE r.orderId = :orderId AND r.status = :status ORDER BY r.id")
+    List<StockReservation> findAllByOrderIdAndStatusForUpdate(@Param("orderId") String orderId,
+                                                              @Param("status") ReservationStatus status);
+
+    // The same lock for the single-line confirm/release paths
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r "
+            + "WHERE r.orderId = :orderId AND r.productId = :productId AND r.status = :status")
+    Optional<StockReservation> findByOrderIdAndProductIdAndStatusForUpdate(@Param("orderId") String orderId,
+                                                                           @Param("productId") Long productId,
+                                                                           @Param("status") ReservationStatus status);
+
+    // Rebuilds the expiry timing wheel on startup
+    @Query("SELECT r.id AS id, r.expiresAt AS expiresAt FROM StockReservation r WHERE r.status = :status")
+    List<PendingExpiry> findAllExpiriesByStatus(@Param("status") ReservationStatus status);
+
+    // Safety net for reservations missing from this instance's wheel (e.g. created by another instance)
+    @Query("SELECT r.id AS id, r.expiresAt AS expiresAt FROM StockReservation r "
+            + "WHERE r.status = :status AND r.expiresAt < :before ORDER BY r.expiresAt")
+    List<PendingExpiry> findExpiriesByStatusAndExpiresAtBefore(@Param("status") ReservationStatus status,
+                                                               @Param("before") Instant before,
+                                                               Pageable pageable);
+
+    @Query(value = EXPIRE_PENDING_SQL, nativeQuery = true)
+    List<ExpiredReservation> expirePending(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+}
@@ -0,0 +1,257 @@
+package com.ecommerce.inventoryservice.service;
+
+import com.ecommerce.inventoryservice.config.RedisConfig;
+import com.ecommerce.inventoryservice.config.SchedulingConfig;
+import com.ecommerce.inventoryservice.entity.Inventory;
+import com.ecommerce.inventoryservice.entity.InventoryShard;
+import com.ecommerce.inventoryservice.exception.InventoryNotFoundException;
+import com.ecommerce.inventoryservice.repository.InventoryRepository;
+import com.ecommerce.inventoryservice.repository.InventoryShardRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Flash-sale mode for hot products. While enabled, a product's free stock is split across N
+ * {@link InventoryShard} rows and reservations take from a random shard, so hundreds of concurrent
+ * reservers contend on N rows instead of one. Units parked in shards are counted as reserved on the
+ * canonical {@link Inventory} row; a periodic merge folds released or restocked units back into the shards
+ * so the canonical row stays the single source of truth for quantity and order reservations.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FlashSaleService {
+
+    public static final int MIN_SHARDS = 2;
+    public static final int MAX_SHARDS = 64;
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryShardRepository shardRepository;
+    private final CacheManager cacheManager;
+
+    // productId -> shard count for every product currently in flash-sale mode
+    private final Map<Long, Integer> shardCounts = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void loadShardCounts() {
+        refreshShardCounts();
+        if (!shardCounts.isEmpty()) {
+            log.info("Loaded flash-sale mode for {} products", shardCounts.size());
+        }
+    }
+
+    public boolean isFlashSale(Long productId) {
+        return shardCounts.containsKey(productId);
+    }
+
+    /**
+     * Moves the product's free stock into {@code shards} sub-counters.
+     */
+    @Transactional
+    public void enableFlashSale(Long productId, int shards) {
+        if (shards < MIN_SHARDS || shards > MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard count must be between " + MIN_SHARDS + " and " + MAX_SHARDS);
+        }
+
+        Inventory inventory = lockInventory(productId);
+        if (!shardRepository.findAllByProductIdForUpdate(productId).isEmpty()) {
+            throw new IllegalArgumentException("Flash-sale mode is already enabled for product " + productId);
+        }
+
+        int free = Math.max(inventory.getQuantity() - inventory.getReservedQuantity(), 0);
+        List<InventoryShard> created = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            created.add(InventoryShard.builder()
+                    .productId(productId)
+                    .shardIndex(i)
+                    .available(shareOf(free, shards, i))
+                    .build());
+        }
+        shardRepository.saveAll(created);
+
+        inventory.setReservedQuantity(inventory.getReservedQuantity() + free);
+        inventoryRepository.save(inventory);
+
+        shardCounts.put(productId, shards);
+        evictInventoryCache(productId);
+        log.info("Enabled flash-sale mode for product {} with {} shards holding {} units", productId, shards, free);
+    }
+
+    /**
+     * Returns the units still held by the shards to the canonical row and drops the shards.
+     */
+    @Transactional
+    public void disableFlashSale(Long productId) {
+        Inventory inventory = lockInventory(productId);
+        List<InventoryShard> shards = shardRepository.findAllByProductIdForUpdate(productId);
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("Flash-sale mode is not enabled for product " + productId);
+        }
+
+        int held = heldBy(shards);
+        inventory.setReservedQuantity(inventory.getReservedQuantity() - held);
+        inventoryRepository.save(inventory);
+        shardRepository.deleteAll(shards);
+
+        shardCounts.remove(productId);
+        evictInventoryCache(productId);
+        log.info("Disabled flash-sale mode for product {}, returned {} units", productId, held);
+    }
+
+    /**
+     * Takes {@code quantity} units from the product's shards. Tries each shard once with a guarded UPDATE,
+     * starting at a random one; only when no single shard can cover the request are all shards locked and
+     * drained together.
+     *
+     * @return false when the shards together hold fewer than {@code quantity} units
+     */
+    @Transactional
+    public boolean tryReserve(Long productId, int quantity) {
+        Integer shards = shardCounts.get(productId);
+        if (shards == null) {
+            return false;
+        }
+
+        int start = ThreadLocalRandom.current().nextInt(shards);
+        for (int i = 0; i < shards; i++) {
+            if (shardRepository.takeFromShard(productId, (start + i) % shards, quantity) == 1) {
+                return true;
+            }
+        }
+
+        List<InventoryShard> locked = shardRepository.findAllByProductIdForUpdate(productId);
+        if (locked.isEmpty()) {
+            // Disabled on another instance since our last refresh
+            shardCounts.remove(productId);
+            return false;
+        }
+        if (heldBy(locked) < quantity) {
+            return false;
+        }
+
+        int remaining = quantity;
+        for (InventoryShard shard : locked) {
+            int take = Math.min(shard.getAvailable(), remaining);
+            shard.setAvailable(shard.getAvailable() - take);
+            remaining -= take;
+            if (remaining == 0) break;
+        }
+        shardRepository.saveAll(locked);
+        return true;
+    }
+
+    /**
+     * Re-balances every flash-sale product: units released back to the canonical row, or added by a
+     * restock, are spread over the shards again, and shards shrink if quantity was lowered.
+     */
+    @Scheduled(fixedDelayString = "${inventory.flash-sale.merge-interval-ms:5000}", scheduler = SchedulingConfig.STOCK)
+    @Transactional
+    public void mergeShards() {
+        refreshShardCounts();
+        for (Long productId : new TreeSet<>(shardCounts.keySet())) {
+            mergeShards(productId);
+        }
+    }
+
+    /**
+     * Returns the inventory as callers should see it: for a flash-sale product, units parked in shards
+     * are reported as available rather than reserved. The returned copy is never persisted.
+     */
+    public Inventory withShardStock(Inventory inventory) {
+        if (!isFlashSale(inventory.getProductId())) {
+            return inventory;
+        }
+
+        int held = (int) shardRepository.sumAvailableByProductId(inventory.getProductId());
+        return Inventory.builder()
+                .id(inventory.getId())
+                .productId(inventory.getProductId())
+                .quantity(inventory.getQuantity())
+                .reservedQuantity(inventory.getReservedQuantity() - held)
+                .lowStockThreshold(inventory.getLowStockThreshold())
+                .stockStatus(inventory.getStockStatus())
+                .createdAt(inventory.getCreatedAt())
+                .version(inventory.getVersion())
+                .updatedAt(inventory.getUpdatedAt())
+                .build();
+    }
+
+
+    private void mergeShards(Long productId) {
+        List<Inventory> inventories = inventoryRepository.findAllByProductIdInForUpdate(List.of(productId));
+        List<InventoryShard> shards = shardRepository.findAllByProductIdForUpdate(productId);
+
+        if (inventories.isEmpty()) {
+            log.warn("Inventory for flash-sale product {} no longer exists, dropping its shards", productId);
+            shardRepository.deleteAll(shards);
+            shardCounts.remove(productId);
+            return;
+        }
+        if (shards.isEmpty()) {
+            shardCounts.remove(productId);
+            return;
+        }
+
+        Inventory inventory = inventories.getFirst();
+        int held = heldBy(shards);
+        int orderReserved = inventory.getReservedQuantity() - held;
+        int free = Math.max(inventory.getQuantity() - orderReserved, 0);
+        if (free == held) {
+            return;
+        }
+
+        for (int i = 0; i < shards.size(); i++) {
+            shards.get(i).setAvailable(shareOf(free, shards.size(), i));
+        }
+        shardRepository.saveAll(shards);
+
+        inventory.setReservedQuantity(orderReserved + free);
+        inventoryRepository.save(inventory);
+        evictInventoryCache(productId);
+        log.debug("Merged flash-sale shards for product {}: {} -> {} units", productId, held, free);
+    }
+
+    private void refreshShardCounts() {
+        Map<Long, Integer> current = new ConcurrentHashMap<>();
+        for (Object[] row : shardRepository.countShardsByProduct()) {
+            current.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        shardCounts.keySet().retainAll(current.keySet());
+        shardCounts.putAll(current);
+    }
+
+    private Inventory lockInventory(Long productId) {
+        return inventoryRepository.findAllByProductIdInForUpdate(List.of(productId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new InventoryNotFoundException("Inventory not found for product: " + productId));
+    }
+
+    private int heldBy(List<InventoryShard> shards) {
+        return shards.stream().mapToInt(InventoryShard::getAvailable).sum();
+    }
+
+    // Even split of total over n shards, the first (total % n) shards taking one extra unit
+    private static int shareOf(int total, int n, int index) {
+        return total / n + (index < total % n ? 1 : 0);
+    }
+
+    private void evictInventoryCache(Long productId) {
+        Cache cache = cacheManager.getCache(RedisConfig.CacheNames.INVENTORY);
+        if (cache != null) {
+            cache.evict(productId);
+        }
+    }
+}
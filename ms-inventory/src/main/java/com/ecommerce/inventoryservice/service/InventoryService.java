@@ -11,6 +11,7 @@ import com.ecommerce.inventoryservice.kafka.InventoryEventProducer;
 import com.ecommerce.inventoryservice.mapper.InventoryMapper;
 import com.ecommerce.inventoryservice.repository.InventoryRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +30,7 @@ public class InventoryService {
     private final InventoryRepository inventoryRepository;
     private final InventoryMapper inventoryMapper;
     private final InventoryEventProducer eventProducer;
+    private final FlashSaleService flashSaleService;
 
     @Transactional
     public void createInventory(ProductCreatedEvent event) {
@@ -48,10 +50,26 @@ public class InventoryService {
     @Cacheable(value = RedisConfig.CacheNames.INVENTORY, key = "#productId")
     public InventoryResponse getStockInfo(Long productId) {
         return inventoryRepository.findByProductId(productId)
+                .map(inventory -> flashSaleService.isFlashSale(productId)
+                        ? flashSaleService.withShardStock(inventory)
+                        : inventory)
                 .map(inventoryMapper::toResponse)
                 .orElseThrow(() -> new InventoryNotFoundException("Inventory not found for product: " + productId));
     }
 
+    /**
+     * Stock info for many products in one query. Products without inventory are left out.
+     */
+    @Transactional(readOnly = true)
+    public List<InventoryResponse> getStockInfos(Collection<Long> productIds) {
+        return inventoryRepository.findAllByProductIdIn(productIds).stream()
+                .map(inventory -> flashSaleService.isFlashSale(inventory.getProductId())
+                        ? flashSaleService.withShardStock(inventory)
+                        : inventory)
+                .map(inventoryMapper::toResponse)
+                .toList();
+    }
+
     @Transactional
     @CachePut(value = RedisConfig.CacheNames.INVENTORY, key = "#productId")
     public InventoryResponse updateStock(Long productId, StockUpdateRequest request) {
@@ -0,0 +1,150 @@
+package com.ecommerce.inventoryservice.service;
+
+import com.ecommerce.inventoryservice.config.RedisConfig;
+import com.ecommerce.inventoryservice.config.SchedulingConfig;
+import com.ecommerce.inventoryservice.entity.Inventory;
+import com.ecommerce.inventoryservice.entity.ReservationStatus;
+import com.ecommerce.inventoryservice.entity.StockReservation;
+import com.ecommerce.inventoryservice.entity.StockStatus;
+import com.ecommerce.inventoryservice.kafka.InventoryEventProducer;
+import com.ecommerce.inventoryservice.repository.StockReservationRepository;
+import com.ecommerce.inventoryservice.repository.StockReservationRepository.ExpiredReservation;
+import com.ecommerce.inventoryservice.repository.StockReservationRepository.PendingExpiry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Releases "abandoned cart" reservations when they expire. Deadlines are kept in a {@link ReservationTimingWheel}
+ * (rebuilt from the database on startup), so each tick only touches the reservations that are actually due;
+ * those are expired and handed back to inventory in set-based batches.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReservationExpiryService {
+
+    static final int RELEASE_BATCH_SIZE = 500;
+    private static final int SWEEP_PAGE_SIZE = 1000;
+    private static final long SWEEP_GRACE_SECONDS = 60;
+
+    private final ReservationTimingWheel timingWheel;
+    private final StockReservationRepository reservationRepository;
+    private final InventoryEventProducer eventProducer;
+    private final FlashSaleService flashSaleService;
+    private final CacheManager cacheManager;
+
+    @PostConstruct
+    void rebuildTimingWheel() {
+        List<PendingExpiry> pending = reservationRepository.findAllExpiriesByStatus(ReservationStatus.PENDING);
+        pending.forEach(this::schedule);
+        log.info("Rebuilt reservation timing wheel with {} PENDING reservations", pending.size());
+    }
+
+    public void schedule(StockReservation reservation) {
+        if (reservation.getId() != null) {
+            timingWheel.schedule(reservation.getId(), reservation.getExpiresAt().toEpochMilli());
+        }
+    }
+
+    /**
+     * Advances the timing wheel and releases every reservation that fell due since the last tick.
+     * Ids whose reservation was confirmed or released in the meantime are skipped by the SQL guard.
+     */
+    @Scheduled(fixedDelayString = "${inventory.reservation-expiry.tick-ms:1000}",
+            scheduler = SchedulingConfig.RESERVATION_EXPIRY)
+    @Transactional
+    public void releaseDueReservations() {
+        List<Long> dueIds = timingWheel.advance(System.currentTimeMillis());
+        if (dueIds.isEmpty()) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        Set<Long> affectedProductIds = new TreeSet<>();
+        int released = 0;
+
+        for (int from = 0; from < dueIds.size(); from += RELEASE_BATCH_SIZE) {
+            List<Long> batch = dueIds.subList(from, Math.min(from + RELEASE_BATCH_SIZE, dueIds.size()));
+            for (ExpiredReservation expired : reservationRepository.expirePending(batch, now)) {
+                log.info("Released expired reservation {} for order {}", expired.getId(), expired.getOrderId());
+                affectedProductIds.add(expired.getProductId());
+                released++;
+
+                if (expired.getInventoryQuantity() != null) {
+                    eventProducer.sendStockReleasedEvent(toReservation(expired), toInventory(expired));
+                }
+            }
+        }
+
+        evictInventoryCache(affectedProductIds);
+        if (released > 0) {
+            log.info("Released {} expired reservations across {} products", released, affectedProductIds.size());
+        }
+    }
+
+    /**
+     * Safety net for reservations this instance's wheel does not know about, such as those created by
+     * another instance that went down, or whose release batch failed. Uses the (status, expires_at) index,
+     * so it only reads overdue rows.
+     */
+    @Scheduled(fixedDelayString = "${inventory.reservation-expiry.sweep-interval-ms:60000}",
+            scheduler = SchedulingConfig.RESERVATION_EXPIRY)
+    @Transactional(readOnly = true)
+    public void sweepOverdueReservations() {
+        List<PendingExpiry> overdue = reservationRepository.findExpiriesByStatusAndExpiresAtBefore(
+                ReservationStatus.PENDING,
+                Instant.now().minusSeconds(SWEEP_GRACE_SECONDS),
+                PageRequest.of(0, SWEEP_PAGE_SIZE));
+
+        if (!overdue.isEmpty()) {
+            log.warn("Found {} overdue PENDING reservations outside the timing wheel", overdue.size());
+            overdue.forEach(this::schedule);
+        }
+    }
+
+
+    private void schedule(PendingExpiry expiry) {
+        timingWheel.schedule(expiry.getId(), expiry.getExpiresAt().toEpochMilli());
+    }
+
+    private StockReservation toReservation(ExpiredReservation expired) {
+        return StockReservation.builder()
+                .id(expired.getId())
+                .productId(expired.getProductId())
+                .orderId(expired.getOrderId())
+                .quantity(expired.getQuantity())
+                .status(ReservationStatus.EXPIRED)
+                .build();
+    }
+
+    private Inventory toInventory(ExpiredReservation expired) {
+        Inventory inventory = Inventory.builder()
+                .productId(expired.getProductId())
+                .quantity(expired.getInventoryQuantity())
+                .reservedQuantity(expired.getReservedQuantity())
+                .stockStatus(StockStatus.valueOf(expired.getStockStatus()))
+                .build();
+        return flashSaleService.isFlashSale(inventory.getProductId())
+                ? flashSaleService.withShardStock(inventory)
+                : inventory;
+    }
+
+    private void evictInventoryCache(Set<Long> productIds) {
+        Cache cache = cacheManager.getCache(RedisConfig.CacheNames.INVENTORY);
+        if (cache != null) {
+            productIds.forEach(cache::evict);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.ecommerce.inventoryservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel holding the expiry deadlines of PENDING reservations.
+ * Three levels of 64 slots each cover 64 ticks, 64² ticks and 64³ ticks ahead (about 73 hours at the
+ * default one-second tick); later deadlines are parked in the farthest slot and re-placed when it comes
+ * round. Scheduling is O(1) and advancing costs O(ticks elapsed + entries due), independent of how many
+ * reservations exist in the database.
+ */
+@Component
+public class ReservationTimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 3;
+
+    private record Entry(long reservationId, long deadlineTick) {
+    }
+
+    private final long tickMillis;
+    private final List<Entry>[][] wheels;
+    private List<Long> due = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    public ReservationTimingWheel(@Value("${inventory.reservation-expiry.tick-ms:1000}") long tickMillis) {
+        this(tickMillis, System.currentTimeMillis());
+    }
+
+    @SuppressWarnings("unchecked")
+    ReservationTimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.wheels = new List[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheels[level][slot] = new ArrayList<>();
+            }
+        }
+    }
+
+    /**
+     * Registers a reservation to expire at {@code deadlineMillis}. A deadline already in the past is handed
+     * out by the next {@link #advance(long)}.
+     */
+    public synchronized void schedule(long reservationId, long deadlineMillis) {
+        // Round up so a reservation is never reported before its deadline
+        place(new Entry(reservationId, Math.ceilDiv(deadlineMillis, tickMillis)));
+        size++;
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis} and returns the ids of every reservation whose deadline
+     * has passed since the previous call.
+     */
+    public synchronized List<Long> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Cascade from the outermost level first so entries can fall through to level 0 on this tick
+            for (int level = LEVELS - 1; level >= 1; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level, slotOf(currentTick, level));
+                }
+            }
+            List<Entry> slot = wheels[0][slotOf(currentTick, 0)];
+            slot.forEach(entry -> due.add(entry.reservationId()));
+            slot.clear();
+        }
+
+        List<Long> expired = due;
+        due = new ArrayList<>();
+        size -= expired.size();
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void place(Entry entry) {
+        long delta = entry.deadlineTick() - currentTick;
+        if (delta <= 0) {
+            due.add(entry.reservationId());
+            return;
+        }
+
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                wheels[level][slotOf(entry.deadlineTick(), level)].add(entry);
+                return;
+            }
+        }
+
+        // Beyond the wheel's span: park in the farthest slot; it is re-placed when that slot cascades
+        long parkedTick = currentTick + (1L << (SLOT_BITS * LEVELS)) - 1;
+        wheels[LEVELS - 1][slotOf(parkedTick, LEVELS - 1)].add(entry);
+    }
+
+    private void cascade(int level, int slotIndex) {
+        List<Entry> slot = wheels[level][slotIndex];
+        if (slot.isEmpty()) {
+            return;
+        }
+        List<Entry> entries = new ArrayList<>(slot);
+        slot.clear();
+        entries.forEach(this::place);
+    }
+
+    private static int slotOf(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+}
@@ -11,14 +11,21 @@ import com.ecommerce.inventoryservice.repository.InventoryRepository;
 import com.ecommerce.inventoryservice.repository.StockReservationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -28,9 +35,14 @@ public class StockReservationService {
     private final InventoryRepository inventoryRepository;
     private final StockReservationRepository reservationRepository;
     private final InventoryEventProducer eventProducer;
+    private final CacheManager cacheManager;
+    private final FlashSaleService flashSaleService;
+    private final ReservationExpiryService reservationExpiryService;
 
     /**
-     * Locks stock for an incoming order. 
+     * Locks stock for an incoming order with a single guarded UPDATE, so concurrent reservations on a
+     * hot product never fail on optimistic locking and can never oversell.
+     * Products in flash-sale mode take from their sharded sub-counters instead of the canonical row.
      * Evicts the Redis cache so the next read fetches the newly calculated Available to Promise (ATP) stock.
      */
     @Transactional
@@ -38,17 +50,19 @@ public class StockReservationService {
     public void reserveStock(String orderId, Long productId, Integer quantity) {
         log.info("Attempting to reserve {} items of product {} for order {}", quantity, productId, orderId);
 
-        Inventory inventory = inventoryRepository.findByProductId(productId)
-                .orElseThrow(() -> new InventoryNotFoundException("Inventory not found for product: " + productId));
-
-        int availableQuantity = inventory.getQuantity() - inventory.getReservedQuantity();
+        // 1. Reserve on the row itself; zero affected rows means missing inventory or not enough stock
+        boolean reserved = flashSaleService.isFlashSale(productId)
+                ? flashSaleService.tryReserve(productId, quantity)
+                : inventoryRepository.reserveIfAvailable(productId, quantity, Instant.now()) == 1;
 
-        if (availableQuantity < quantity) {
+        if (!reserved) {
+            Inventory inventory = withShardStock(getInventory(productId));
+            int availableQuantity = inventory.getQuantity() - inventory.getReservedQuantity();
             log.error("Insufficient stock for product {}. Requested: {}, Available: {}", productId, quantity, availableQuantity);
             throw new InsufficientStockException("Not enough stock available to fulfill reservation.");
         }
 
-        // 1. Create Reservation (Locks for 15 minutes by default)
+        // 2. Create Reservation (Locks for 15 minutes by default)
         StockReservation reservation = StockReservation.builder()
                 .productId(productId)
                 .orderId(orderId)
@@ -58,13 +72,10 @@ public class StockReservationService {
                 .build();
 
         reservationRepository.save(reservation);
+        reservationExpiryService.schedule(reservation);
 
-        // 2. Update Inventory
-        inventory.setReservedQuantity(inventory.getReservedQuantity() + quantity);
-        inventoryRepository.save(inventory);
-
-        // 3. Publish Kafka Event
-        eventProducer.sendStockReservedEvent(reservation, inventory);
+        // 3. Publish Kafka Event with the post-update inventory state
+        eventProducer.sendStockReservedEvent(reservation, withShardStock(getInventory(productId)));
         log.info("Successfully reserved {} items of product {} for order {}", quantity, productId, orderId);
     }
 
@@ -127,40 +138,228 @@ public class StockReservationService {
     }
 
     /**
-     * Background job to automatically release expired "abandoned cart" reservations.
-     * Runs every minute. Note: Add @EnableScheduling to your main Application class to activate this.
+     * Reserves every line of an order in a single transaction. Inventory rows are locked in ascending
+     * product-id order, so two orders that share products always queue in the same sequence and cannot
+     * deadlock. Either every line is reserved or, if any line is short, none is.
+     * Lines for flash-sale products are taken from their shards after the other lines are checked.
      */
-    @Scheduled(fixedRate = 60000)
     @Transactional
-    public void releaseExpiredReservations() {
-        List<StockReservation> expiredReservations = reservationRepository
-                .findAllByStatusAndExpiresAtBefore(ReservationStatus.PENDING, Instant.now());
+    public void reserveStockBatch(String orderId, Map<Long, Integer> quantities) {
+        log.info("Attempting to reserve {} lines for order {}", quantities.size(), orderId);
+
+        List<Long> flashSaleProductIds = quantities.keySet().stream()
+                .filter(flashSaleService::isFlashSale)
+                .sorted()
+                .toList();
+        List<Long> regularProductIds = quantities.keySet().stream()
+                .filter(productId -> !flashSaleProductIds.contains(productId))
+                .toList();
+
+        Map<Long, Inventory> inventories = regularProductIds.isEmpty()
+                ? new TreeMap<>()
+                : lockInventories(regularProductIds);
+
+        for (Map.Entry<Long, Inventory> entry : inventories.entrySet()) {
+            Inventory inventory = entry.getValue();
+            int requested = quantities.get(entry.getKey());
+            int availableQuantity = inventory.getQuantity() - inventory.getReservedQuantity();
+
+            if (availableQuantity < requested) {
+                log.error("Insufficient stock for product {} on order {}. Requested: {}, Available: {}",
+                        entry.getKey(), orderId, requested, availableQuantity);
+                throw new InsufficientStockException("Not enough stock available for product " + entry.getKey()
+                        + ". Requested: " + requested + ", Available: " + availableQuantity);
+            }
+        }
 
-        for (StockReservation reservation : expiredReservations) {
-            log.info("Releasing expired reservation {} for order {}", reservation.getId(), reservation.getOrderId());
+        for (Long productId : flashSaleProductIds) {
+            int requested = quantities.get(productId);
+            if (!flashSaleService.tryReserve(productId, requested)) {
+                Inventory inventory = withShardStock(getInventory(productId));
+                int availableQuantity = inventory.getQuantity() - inventory.getReservedQuantity();
+                log.error("Insufficient stock for flash-sale product {} on order {}. Requested: {}, Available: {}",
+                        productId, orderId, requested, availableQuantity);
+                throw new InsufficientStockException("Not enough stock available for product " + productId
+                        + ". Requested: " + requested + ", Available: " + availableQuantity);
+            }
+        }
 
-            reservation.setStatus(ReservationStatus.EXPIRED);
-            reservationRepository.save(reservation);
+        Instant expiresAt = Instant.now().plus(15, ChronoUnit.MINUTES);
+        List<StockReservation> reservations = new ArrayList<>(quantities.size());
+
+        for (Map.Entry<Long, Inventory> entry : inventories.entrySet()) {
+            Inventory inventory = entry.getValue();
+            int requested = quantities.get(entry.getKey());
+
+            reservations.add(StockReservation.builder()
+                    .productId(entry.getKey())
+                    .orderId(orderId)
+                    .quantity(requested)
+                    .status(ReservationStatus.PENDING)
+                    .expiresAt(expiresAt)
+                    .build());
+            inventory.setReservedQuantity(inventory.getReservedQuantity() + requested);
+        }
+        for (Long productId : flashSaleProductIds) {
+            reservations.add(StockReservation.builder()
+                    .productId(productId)
+                    .orderId(orderId)
+                    .quantity(quantities.get(productId))
+                    .status(ReservationStatus.PENDING)
+                    .expiresAt(expiresAt)
+                    .build());
+        }
 
-            inventoryRepository.findByProductId(reservation.getProductId()).ifPresent(inventory -> {
-                inventory.setReservedQuantity(inventory.getReservedQuantity() - reservation.getQuantity());
-                inventoryRepository.save(inventory);
-                eventProducer.sendStockReleasedEvent(reservation, inventory);
+        reservationRepository.saveAll(reservations);
+        inventoryRepository.saveAll(inventories.values());
+        reservations.forEach(reservationExpiryService::schedule);
 
-                // Programmatic cache eviction since we aren't passing the productId as a method argument
-                // In a real scenario, you'd inject the CacheManager here to evict the specific key.
-            });
+        for (StockReservation reservation : reservations) {
+            Inventory inventory = inventories.containsKey(reservation.getProductId())
+                    ? inventories.get(reservation.getProductId())
+                    : withShardStock(getInventory(reservation.getProductId()));
+            eventProducer.sendStockReservedEvent(reservation, inventory);
         }
+        evictInventoryCache(quantities.keySet());
+
+        log.info("Successfully reserved {} lines for order {}", reservations.size(), orderId);
     }
 
+    /**
+     * Confirms the stock deduction for every given line of an order in a single transaction.
+     * Fails as a whole if any line has no PENDING reservation once its row is locked, so a line that a
+     * concurrent release or expiry got to first is never deducted.
+     */
+    @Transactional
+    public void confirmStockBatch(String orderId, Collection<Long> productIds) {
+        log.info("Attempting to confirm {} lines for order {}", productIds.size(), orderId);
+
+        Map<Long, StockReservation> reservations = getPendingReservations(orderId);
+        for (Long productId : productIds) {
+            if (!reservations.containsKey(productId)) {
+                throw new IllegalArgumentException(
+                        "No PENDING reservation found for order " + orderId + " and product " + productId);
+            }
+        }
+
+        Map<Long, Inventory> inventories = lockInventories(productIds);
+
+        for (Map.Entry<Long, Inventory> entry : inventories.entrySet()) {
+            StockReservation reservation = reservations.get(entry.getKey());
+            Inventory inventory = entry.getValue();
+
+            reservation.setStatus(ReservationStatus.CONFIRMED);
+            inventory.setQuantity(inventory.getQuantity() - reservation.getQuantity());
+            inventory.setReservedQuantity(inventory.getReservedQuantity() - reservation.getQuantity());
+        }
+
+        reservationRepository.saveAll(inventories.keySet().stream().map(reservations::get).toList());
+        inventoryRepository.saveAll(inventories.values());
+
+        for (Map.Entry<Long, Inventory> entry : inventories.entrySet()) {
+            eventProducer.sendStockConfirmedEvent(reservations.get(entry.getKey()), entry.getValue());
+            eventProducer.sendStockUpdatedEvent(entry.getValue());
+        }
+        evictInventoryCache(inventories.keySet());
+
+        log.info("Successfully confirmed {} lines for order {}", inventories.size(), orderId);
+    }
+
+    /**
+     * Releases the PENDING reservations of an order in a single transaction. Lines that are no longer
+     * PENDING once their rows are locked (already released, expired or confirmed) are skipped, so the call
+     * is safe to repeat and to race.
+     * An empty product-id list releases every PENDING line of the order.
+     *
+     * @return the number of reservations released
+     */
+    @Transactional
+    public int releaseStockBatch(String orderId, Collection<Long> productIds) {
+        log.info("Attempting to release stock for order {}", orderId);
+
+        Map<Long, StockReservation> reservations = getPendingReservations(orderId);
+        if (!productIds.isEmpty()) {
+            reservations.keySet().retainAll(productIds);
+        }
+        if (reservations.isEmpty()) {
+            log.info("No PENDING reservations to release for order {}", orderId);
+            return 0;
+        }
+
+        Map<Long, Inventory> inventories = lockInventories(reservations.keySet());
+
+        for (Map.Entry<Long, Inventory> entry : inventories.entrySet()) {
+            StockReservation reservation = reservations.get(entry.getKey());
+            Inventory inventory = entry.getValue();
+
+            reservation.setStatus(ReservationStatus.RELEASED);
+            inventory.setReservedQuantity(inventory.getReservedQuantity() - reservation.getQuantity());
+        }
+
+        reservationRepository.saveAll(reservations.values());
+        inventoryRepository.saveAll(inventories.values());
+
+        for (Map.Entry<Long, Inventory> entry : inventories.entrySet()) {
+            eventProducer.sendStockReleasedEvent(reservations.get(entry.getKey()), entry.getValue());
+        }
+        evictInventoryCache(inventories.keySet());
 
+        log.info("Successfully released {} lines for order {}", inventories.size(), orderId);
+        return inventories.size();
+    }
+
+    /**
+     * The order's PENDING reservation of the product, row-locked until the transaction ends, so a
+     * concurrent expiry cannot release it a second time.
+     */
     private StockReservation getPendingReservation(String orderId, Long productId) {
-        return reservationRepository.findByOrderIdAndProductId(orderId, productId)
-                .filter(res -> res.getStatus() == ReservationStatus.PENDING)
+        return reservationRepository
+                .findByOrderIdAndProductIdAndStatusForUpdate(orderId, productId, ReservationStatus.PENDING)
                 .orElseThrow(() -> new IllegalArgumentException(
                         "No PENDING reservation found for order " + orderId + " and product " + productId));
     }
 
+    /**
+     * The order's PENDING reservations keyed by product id, row-locked until the transaction ends.
+     */
+    private Map<Long, StockReservation> getPendingReservations(String orderId) {
+        return reservationRepository.findAllByOrderIdAndStatusForUpdate(orderId, ReservationStatus.PENDING).stream()
+                .collect(Collectors.toMap(StockReservation::getProductId, Function.identity(), (first, second) -> first));
+    }
+
+    /**
+     * Locks the inventory rows of the given products in ascending product-id order and returns them keyed
+     * by product id, in that same order.
+     */
+    private Map<Long, Inventory> lockInventories(Collection<Long> productIds) {
+        List<Long> sortedProductIds = productIds.stream().distinct().sorted().toList();
+
+        Map<Long, Inventory> inventories = new TreeMap<>();
+        for (Inventory inventory : inventoryRepository.findAllByProductIdInForUpdate(sortedProductIds)) {
+            inventories.put(inventory.getProductId(), inventory);
+        }
+
+        for (Long productId : sortedProductIds) {
+            if (!inventories.containsKey(productId)) {
+                throw new InventoryNotFoundException("Inventory not found for product: " + productId);
+            }
+        }
+        return inventories;
+    }
+
+    private Inventory withShardStock(Inventory inventory) {
+        return flashSaleService.isFlashSale(inventory.getProductId())
+                ? flashSaleService.withShardStock(inventory)
+                : inventory;
+    }
+
+    private void evictInventoryCache(Collection<Long> productIds) {
+        Cache cache = cacheManager.getCache(RedisConfig.CacheNames.INVENTORY);
+        if (cache != null) {
+            productIds.forEach(cache::evict);
+        }
+    }
+
     private Inventory getInventory(Long productId) {
         return inventoryRepository.findByProductId(productId)
                 .orElseThrow(() -> new InventoryNotFoundException("Inventory not found for product: " + productId));
@@ -0,0 +1,165 @@
+package com.ecommerce.inventoryservice.service;
+
+import com.ecommerce.inventoryservice.config.SchedulingConfig;
+import com.ecommerce.inventoryservice.entity.Inventory;
+import com.ecommerce.inventoryservice.grpc.StockChange;
+import com.ecommerce.inventoryservice.repository.InventoryRepository;
+import io.grpc.stub.ServerCallStreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes live stock changes to {@code WatchStock} subscribers. Changes are marked per product from
+ * inventory-events ({@code StockWatchConsumer}), which every instance reads in full, so a watcher sees
+ * changes committed on any replica; a flush every coalescing window reads the current stock of the marked
+ * products once and sends one update per product, however many reservations touched it in between.
+ * <p>
+ * Each subscriber is written to only while its stream is ready. A slow subscriber keeps just the latest
+ * unsent change per product, which its on-ready handler sends once the transport drains, so it skips
+ * stale stock levels instead of buffering every update in memory.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockWatchService {
+
+    public static final int MAX_WATCHED_PRODUCTS = 1000;
+
+    private final InventoryRepository inventoryRepository;
+    private final FlashSaleService flashSaleService;
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Set<Long> changedProductIds = ConcurrentHashMap.newKeySet();
+
+    private static final class Subscription {
+
+        private final Set<Long> productIds;
+        private final ServerCallStreamObserver<StockChange> observer;
+        private final Map<Long, StockChange> pending = new LinkedHashMap<>();
+
+        Subscription(Set<Long> productIds, ServerCallStreamObserver<StockChange> observer) {
+            this.productIds = productIds;
+            this.observer = observer;
+        }
+
+        Set<Long> productIds() {
+            return productIds;
+        }
+
+        // StreamObserver is not thread-safe; the first snapshot, flushes and the on-ready handler may overlap
+        synchronized void send(StockChange change) {
+            pending.put(change.getProductId(), change);
+            drain();
+        }
+
+        synchronized void drain() {
+            Iterator<StockChange> changes = pending.values().iterator();
+            while (changes.hasNext() && !observer.isCancelled() && observer.isReady()) {
+                StockChange change = changes.next();
+                changes.remove();
+                observer.onNext(change);
+            }
+        }
+    }
+
+    /**
+     * Registers a subscriber and sends it the current stock of every watched product.
+     */
+    public void watch(Collection<Long> productIds, ServerCallStreamObserver<StockChange> observer) {
+        if (productIds.isEmpty() || productIds.size() > MAX_WATCHED_PRODUCTS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_WATCHED_PRODUCTS + " product ids can be watched");
+        }
+
+        Subscription subscription = new Subscription(Set.copyOf(productIds), observer);
+        observer.setOnCancelHandler(() -> subscriptions.remove(subscription));
+        observer.setOnReadyHandler(() -> resume(subscription));
+        subscriptions.add(subscription);
+        log.info("Stock watch opened for {} products ({} active watches)", productIds.size(), subscriptions.size());
+
+        loadStock(subscription.productIds()).forEach(inventory -> subscription.send(toChange(inventory)));
+    }
+
+    /**
+     * Marks a product as changed. Inventory events are only relayed once committed, so subscribers never
+     * see stock that is later rolled back.
+     */
+    public void markChanged(Long productId) {
+        if (!subscriptions.isEmpty()) {
+            changedProductIds.add(productId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.watch.coalesce-window-ms:250}", scheduler = SchedulingConfig.STOCK)
+    public void flushChanges() {
+        if (changedProductIds.isEmpty()) {
+            return;
+        }
+
+        Set<Long> changed = new HashSet<>(changedProductIds);
+        changedProductIds.removeAll(changed);
+
+        Set<Long> watched = new HashSet<>();
+        subscriptions.forEach(subscription -> watched.addAll(subscription.productIds()));
+        changed.retainAll(watched);
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        Map<Long, StockChange> changes = new HashMap<>();
+        loadStock(changed).forEach(inventory -> changes.put(inventory.getProductId(), toChange(inventory)));
+
+        for (Subscription subscription : subscriptions) {
+            for (Long productId : subscription.productIds()) {
+                StockChange change = changes.get(productId);
+                if (change != null) {
+                    try {
+                        subscription.send(change);
+                    } catch (RuntimeException e) {
+                        log.warn("Dropping stock watch after failed send: {}", e.getMessage());
+                        subscriptions.remove(subscription);
+                        break;
+                    }
+                }
+            }
+        }
+        log.debug("Pushed stock changes for {} products to {} watches", changes.size(), subscriptions.size());
+    }
+
+    private void resume(Subscription subscription) {
+        try {
+            subscription.drain();
+        } catch (RuntimeException e) {
+            log.warn("Dropping stock watch after failed send: {}", e.getMessage());
+            subscriptions.remove(subscription);
+        }
+    }
+
+    private List<Inventory> loadStock(Collection<Long> productIds) {
+        return inventoryRepository.findAllByProductIdIn(productIds).stream()
+                .map(inventory -> flashSaleService.isFlashSale(inventory.getProductId())
+                        ? flashSaleService.withShardStock(inventory)
+                        : inventory)
+                .toList();
+    }
+
+    private StockChange toChange(Inventory inventory) {
+        return StockChange.newBuilder()
+                .setProductId(inventory.getProductId())
+                .setQuantity(inventory.getQuantity())
+                .setAvailableQuantity(inventory.getQuantity() - inventory.getReservedQuantity())
+                .setStockStatus(inventory.getStockStatus().name())
+                .build();
+    }
+}
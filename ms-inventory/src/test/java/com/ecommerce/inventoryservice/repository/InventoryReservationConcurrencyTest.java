@@ -0,0 +1,105 @@
+package com.ecommerce.inventoryservice.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link InventoryRepository#RESERVE_IF_AVAILABLE_SQL} from 500 concurrent reservers against a real
+ * PostgreSQL database and checks that exactly the available stock is handed out.
+ * Point INVENTORY_TEST_DB_URL (plus optional INVENTORY_TEST_DB_USERNAME / INVENTORY_TEST_DB_PASSWORD)
+ * at a scratch database to run it, e.g. {@code jdbc:postgresql://localhost:5432/inventory_test}.
+ */
+@EnabledIfEnvironmentVariable(named = "INVENTORY_TEST_DB_URL", matches = ".+")
+class InventoryReservationConcurrencyTest {
+
+    private static final int RESERVERS = 500;
+    private static final int STOCK = 120;
+
+    private NamedParameterJdbcTemplate jdbc;
+    private long productId;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getenv("INVENTORY_TEST_DB_URL"),
+                System.getenv().getOrDefault("INVENTORY_TEST_DB_USERNAME", "postgres"),
+                System.getenv().getOrDefault("INVENTORY_TEST_DB_PASSWORD", "postgres"));
+        jdbc = new NamedParameterJdbcTemplate(dataSource);
+
+        jdbc.getJdbcTemplate().execute("""
+                CREATE TABLE IF NOT EXISTS inventory (
+                    id BIGSERIAL PRIMARY KEY,
+                    product_id BIGINT NOT NULL UNIQUE,
+                    quantity INTEGER NOT NULL,
+                    reserved_quantity INTEGER NOT NULL,
+                    low_stock_threshold INTEGER NOT NULL,
+                    stock_status VARCHAR(20) NOT NULL,
+                    created_at TIMESTAMP(6) WITH TIME ZONE,
+                    version BIGINT,
+                    updated_at TIMESTAMP(6) WITH TIME ZONE
+                )
+                """);
+
+        productId = ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE);
+        jdbc.update("""
+                INSERT INTO inventory (product_id, quantity, reserved_quantity, low_stock_threshold, stock_status, version)
+                VALUES (:productId, :quantity, 0, 10, 'AVAILABLE', 0)
+                """, Map.of("productId", productId, "quantity", STOCK));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("DELETE FROM inventory WHERE product_id = :productId", Map.of("productId", productId));
+    }
+
+    @Test
+    void concurrentReservers_neverOversell() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>(RESERVERS);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(64)) {
+            for (int i = 0; i < RESERVERS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return jdbc.update(InventoryRepository.RESERVE_IF_AVAILABLE_SQL, new MapSqlParameterSource()
+                            .addValue("productId", productId)
+                            .addValue("quantity", 1)
+                            .addValue("now", Timestamp.from(Instant.now())));
+                }));
+            }
+            start.countDown();
+        }
+
+        int succeeded = 0;
+        for (Future<Integer> result : results) {
+            succeeded += result.get();
+        }
+
+        Map<String, Object> row = jdbc.queryForMap(
+                "SELECT quantity, reserved_quantity, version FROM inventory WHERE product_id = :productId",
+                Map.of("productId", productId));
+
+        assertThat(succeeded).isEqualTo(STOCK);
+        assertThat(((Number) row.get("reserved_quantity")).intValue()).isEqualTo(STOCK);
+        assertThat(((Number) row.get("quantity")).intValue()).isEqualTo(STOCK);
+        assertThat(((Number) row.get("version")).longValue()).isEqualTo(STOCK);
+    }
+}
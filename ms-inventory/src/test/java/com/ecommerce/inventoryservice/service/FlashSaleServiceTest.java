@@ -0,0 +1,142 @@
+package com.ecommerce.inventoryservice.service;
+
+import com.ecommerce.inventoryservice.entity.Inventory;
+import com.ecommerce.inventoryservice.entity.InventoryShard;
+import com.ecommerce.inventoryservice.entity.StockStatus;
+import com.ecommerce.inventoryservice.repository.InventoryRepository;
+import com.ecommerce.inventoryservice.repository.InventoryShardRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlashSaleServiceTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+    @Mock
+    private InventoryShardRepository shardRepository;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private Cache cache;
+
+    @InjectMocks
+    private FlashSaleService flashSaleService;
+
+    private Inventory inventory(int quantity, int reserved) {
+        return Inventory.builder().id(1L).productId(1L).quantity(quantity)
+                .reservedQuantity(reserved).lowStockThreshold(10).stockStatus(StockStatus.AVAILABLE).build();
+    }
+
+    private InventoryShard shard(int index, int available) {
+        return InventoryShard.builder().productId(1L).shardIndex(index).available(available).build();
+    }
+
+    private List<Object[]> shardCount(int shards) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, (long) shards});
+        return rows;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void enableFlashSale_spreadsFreeStockEvenlyAndHoldsItOnCanonicalRow() {
+        Inventory inv = inventory(100, 3);
+
+        when(inventoryRepository.findAllByProductIdInForUpdate(List.of(1L))).thenReturn(List.of(inv));
+        when(shardRepository.findAllByProductIdForUpdate(1L)).thenReturn(List.of());
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+
+        flashSaleService.enableFlashSale(1L, 4);
+
+        ArgumentCaptor<List<InventoryShard>> captor = ArgumentCaptor.forClass(List.class);
+        verify(shardRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).extracting(InventoryShard::getAvailable).containsExactly(25, 24, 24, 24);
+        assertThat(inv.getReservedQuantity()).isEqualTo(100);
+        assertThat(flashSaleService.isFlashSale(1L)).isTrue();
+        verify(cache).evict(1L);
+    }
+
+    @Test
+    void enableFlashSale_shardCountOutOfRange_throws() {
+        assertThatThrownBy(() -> flashSaleService.enableFlashSale(1L, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(inventoryRepository);
+    }
+
+    @Test
+    void tryReserve_noSingleShardCovers_drainsAcrossLockedShards() {
+        when(shardRepository.countShardsByProduct()).thenReturn(shardCount(2));
+        flashSaleService.loadShardCounts();
+
+        InventoryShard first = shard(0, 2);
+        InventoryShard second = shard(1, 2);
+        when(shardRepository.takeFromShard(eq(1L), anyInt(), eq(3))).thenReturn(0);
+        when(shardRepository.findAllByProductIdForUpdate(1L)).thenReturn(List.of(first, second));
+
+        assertThat(flashSaleService.tryReserve(1L, 3)).isTrue();
+
+        verify(shardRepository, times(2)).takeFromShard(eq(1L), anyInt(), eq(3));
+        assertThat(first.getAvailable() + second.getAvailable()).isEqualTo(1);
+    }
+
+    @Test
+    void tryReserve_shardsExhausted_returnsFalse() {
+        when(shardRepository.countShardsByProduct()).thenReturn(shardCount(2));
+        flashSaleService.loadShardCounts();
+
+        when(shardRepository.takeFromShard(eq(1L), anyInt(), eq(1))).thenReturn(0);
+        when(shardRepository.findAllByProductIdForUpdate(1L)).thenReturn(List.of(shard(0, 0), shard(1, 0)));
+
+        assertThat(flashSaleService.tryReserve(1L, 1)).isFalse();
+        verify(shardRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void mergeShards_releasedUnitsFlowBackIntoShards() {
+        // 100 units: 60 reserved by orders, 30 still in shards, 10 released back onto the canonical row
+        Inventory inv = inventory(100, 90);
+        InventoryShard first = shard(0, 20);
+        InventoryShard second = shard(1, 10);
+
+        when(shardRepository.countShardsByProduct()).thenReturn(shardCount(2));
+        when(inventoryRepository.findAllByProductIdInForUpdate(List.of(1L))).thenReturn(List.of(inv));
+        when(shardRepository.findAllByProductIdForUpdate(1L)).thenReturn(List.of(first, second));
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+
+        flashSaleService.mergeShards();
+
+        assertThat(first.getAvailable()).isEqualTo(20);
+        assertThat(second.getAvailable()).isEqualTo(20);
+        assertThat(inv.getReservedQuantity()).isEqualTo(100);
+        verify(cache).evict(1L);
+    }
+
+    @Test
+    void withShardStock_reportsShardUnitsAsAvailable() {
+        when(shardRepository.countShardsByProduct()).thenReturn(shardCount(2));
+        flashSaleService.loadShardCounts();
+
+        Inventory inv = inventory(100, 100);
+        when(shardRepository.sumAvailableByProductId(1L)).thenReturn(40L);
+
+        Inventory view = flashSaleService.withShardStock(inv);
+
+        assertThat(view.getReservedQuantity()).isEqualTo(60);
+        assertThat(inv.getReservedQuantity()).isEqualTo(100);
+    }
+}
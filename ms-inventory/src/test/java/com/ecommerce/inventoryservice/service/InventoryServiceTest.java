@@ -34,6 +34,8 @@ class InventoryServiceTest {
     private InventoryMapper inventoryMapper;
     @Mock
     private InventoryEventProducer eventProducer;
+    @Mock
+    private FlashSaleService flashSaleService;
 
     @InjectMocks
     private InventoryService inventoryService;
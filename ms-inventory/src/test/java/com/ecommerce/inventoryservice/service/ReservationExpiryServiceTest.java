@@ -0,0 +1,115 @@
+package com.ecommerce.inventoryservice.service;
+
+import com.ecommerce.inventoryservice.entity.Inventory;
+import com.ecommerce.inventoryservice.entity.ReservationStatus;
+import com.ecommerce.inventoryservice.entity.StockReservation;
+import com.ecommerce.inventoryservice.kafka.InventoryEventProducer;
+import com.ecommerce.inventoryservice.repository.StockReservationRepository;
+import com.ecommerce.inventoryservice.repository.StockReservationRepository.ExpiredReservation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationExpiryServiceTest {
+
+    @Mock
+    private ReservationTimingWheel timingWheel;
+    @Mock
+    private StockReservationRepository reservationRepository;
+    @Mock
+    private InventoryEventProducer eventProducer;
+    @Mock
+    private FlashSaleService flashSaleService;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private Cache cache;
+
+    @InjectMocks
+    private ReservationExpiryService reservationExpiryService;
+
+    private ExpiredReservation expired(Long id, Long productId, Integer inventoryQuantity) {
+        ExpiredReservation row = mock(ExpiredReservation.class);
+        lenient().when(row.getId()).thenReturn(id);
+        lenient().when(row.getProductId()).thenReturn(productId);
+        lenient().when(row.getOrderId()).thenReturn("ORD-" + id);
+        lenient().when(row.getQuantity()).thenReturn(2);
+        lenient().when(row.getInventoryQuantity()).thenReturn(inventoryQuantity);
+        lenient().when(row.getReservedQuantity()).thenReturn(4);
+        lenient().when(row.getStockStatus()).thenReturn("AVAILABLE");
+        return row;
+    }
+
+    @Test
+    void releaseDueReservations_nothingDue_touchesNothing() {
+        when(timingWheel.advance(anyLong())).thenReturn(List.of());
+
+        reservationExpiryService.releaseDueReservations();
+
+        verifyNoInteractions(reservationRepository, eventProducer, cacheManager);
+    }
+
+    @Test
+    void releaseDueReservations_publishesPerReservationAndEvictsExactProducts() {
+        when(timingWheel.advance(anyLong())).thenReturn(List.of(1L, 2L, 3L));
+        when(reservationRepository.expirePending(eq(List.of(1L, 2L, 3L)), any(Instant.class)))
+                .thenReturn(List.of(expired(1L, 10L, 20), expired(2L, 10L, 20), expired(3L, 30L, null)));
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+
+        reservationExpiryService.releaseDueReservations();
+
+        verify(eventProducer, times(2)).sendStockReleasedEvent(
+                argThat(r -> r.getStatus() == ReservationStatus.EXPIRED && r.getProductId() == 10L),
+                argThat((Inventory i) -> i.getQuantity() == 20 && i.getReservedQuantity() == 4));
+        verify(cache).evict(10L);
+        verify(cache).evict(30L);
+        verifyNoMoreInteractions(cache);
+    }
+
+    @Test
+    void releaseDueReservations_splitsLargeBacklogIntoBatches() {
+        List<Long> due = LongStream.rangeClosed(1, ReservationExpiryService.RELEASE_BATCH_SIZE + 1).boxed().toList();
+        when(timingWheel.advance(anyLong())).thenReturn(due);
+        when(reservationRepository.expirePending(anyList(), any(Instant.class))).thenReturn(List.of());
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+
+        reservationExpiryService.releaseDueReservations();
+
+        verify(reservationRepository, times(2)).expirePending(anyList(), any(Instant.class));
+    }
+
+    @Test
+    void schedule_registersReservationDeadline() {
+        Instant expiresAt = Instant.now().plusSeconds(900);
+
+        reservationExpiryService.schedule(StockReservation.builder().id(7L).expiresAt(expiresAt).build());
+
+        verify(timingWheel).schedule(7L, expiresAt.toEpochMilli());
+    }
+
+    @Test
+    void sweepOverdueReservations_schedulesRowsMissingFromWheel() {
+        StockReservationRepository.PendingExpiry overdue = mock(StockReservationRepository.PendingExpiry.class);
+        Instant expiresAt = Instant.now().minusSeconds(600);
+        when(overdue.getId()).thenReturn(5L);
+        when(overdue.getExpiresAt()).thenReturn(expiresAt);
+        when(reservationRepository.findExpiriesByStatusAndExpiresAtBefore(eq(ReservationStatus.PENDING), any(), any()))
+                .thenReturn(List.of(overdue));
+
+        reservationExpiryService.sweepOverdueReservations();
+
+        verify(timingWheel).schedule(5L, expiresAt.toEpochMilli());
+    }
+}
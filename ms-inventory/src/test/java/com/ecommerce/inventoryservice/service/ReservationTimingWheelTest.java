@@ -0,0 +1,72 @@
+package com.ecommerce.inventoryservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReservationTimingWheelTest {
+
+    private static final long TICK = 1000;
+    private static final long START = 1_700_000_000_000L;
+
+    private final ReservationTimingWheel wheel = new ReservationTimingWheel(TICK, START);
+
+    @Test
+    void advance_returnsReservationOnlyOnceItsDeadlineHasPassed() {
+        wheel.schedule(1L, START + 5_000);
+
+        assertThat(wheel.advance(START + 4_999)).isEmpty();
+        assertThat(wheel.advance(START + 5_000)).containsExactly(1L);
+        assertThat(wheel.advance(START + 10_000)).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void schedule_pastDeadline_isDueOnNextAdvance() {
+        wheel.schedule(1L, START - 30_000);
+
+        assertThat(wheel.advance(START)).containsExactly(1L);
+    }
+
+    @Test
+    void advance_cascadesFromOuterLevels() {
+        // 15 minutes sits on level 1, 10 hours on level 2
+        wheel.schedule(1L, START + 15 * 60_000);
+        wheel.schedule(2L, START + 10 * 3_600_000);
+
+        assertThat(wheel.advance(START + 15 * 60_000 - 1)).isEmpty();
+        assertThat(wheel.advance(START + 15 * 60_000)).containsExactly(1L);
+        assertThat(wheel.advance(START + 10 * 3_600_000 - 1)).isEmpty();
+        assertThat(wheel.advance(START + 10 * 3_600_000)).containsExactly(2L);
+    }
+
+    @Test
+    void schedule_beyondWheelSpan_isStillReleasedOnTime() {
+        long deadline = START + 7L * 24 * 3_600_000;
+        wheel.schedule(1L, deadline);
+
+        assertThat(wheel.advance(deadline - 1)).isEmpty();
+        assertThat(wheel.advance(deadline)).containsExactly(1L);
+    }
+
+    @Test
+    void advance_inSmallSteps_neverReleasesEarlyOrTwice() {
+        List<Long> released = new ArrayList<>();
+        for (long id = 0; id < 2_000; id++) {
+            wheel.schedule(id, START + id * 7_919 % 20_000_000);
+        }
+
+        for (long now = START; now <= START + 20_003_000; now += 3_000) {
+            long current = now;
+            List<Long> due = wheel.advance(now);
+            due.forEach(id -> assertThat(START + id * 7_919 % 20_000_000).isLessThanOrEqualTo(current));
+            released.addAll(due);
+        }
+
+        assertThat(released).hasSize(2_000).doesNotHaveDuplicates();
+        assertThat(wheel.size()).isZero();
+    }
+}
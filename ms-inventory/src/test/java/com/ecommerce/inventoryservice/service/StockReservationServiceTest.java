@@ -0,0 +1,258 @@
+package com.ecommerce.inventoryservice.service;
+
+import com.ecommerce.inventoryservice.entity.Inventory;
+import com.ecommerce.inventoryservice.entity.ReservationStatus;
+import com.ecommerce.inventoryservice.entity.StockReservation;
+import com.ecommerce.inventoryservice.entity.StockStatus;
+import com.ecommerce.inventoryservice.exception.InsufficientStockException;
+import com.ecommerce.inventoryservice.exception.InventoryNotFoundException;
+import com.ecommerce.inventoryservice.kafka.InventoryEventProducer;
+import com.ecommerce.inventoryservice.repository.InventoryRepository;
+import com.ecommerce.inventoryservice.repository.StockReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationServiceTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+    @Mock
+    private StockReservationRepository reservationRepository;
+    @Mock
+    private InventoryEventProducer eventProducer;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private Cache cache;
+    @Mock
+    private FlashSaleService flashSaleService;
+    @Mock
+    private ReservationExpiryService reservationExpiryService;
+
+    @InjectMocks
+    private StockReservationService stockReservationService;
+
+    private Inventory inventory(Long productId, int quantity, int reserved) {
+        return Inventory.builder().id(productId).productId(productId).quantity(quantity)
+                .reservedQuantity(reserved).lowStockThreshold(10).stockStatus(StockStatus.AVAILABLE).build();
+    }
+
+    private StockReservation pending(String orderId, Long productId, int quantity) {
+        return StockReservation.builder().orderId(orderId).productId(productId).quantity(quantity)
+                .status(ReservationStatus.PENDING).expiresAt(Instant.now().plusSeconds(900)).build();
+    }
+
+    @Test
+    void reserveStock_guardedUpdateSucceeds_savesReservationAndPublishes() {
+        Inventory afterUpdate = inventory(1L, 10, 3);
+
+        when(inventoryRepository.reserveIfAvailable(eq(1L), eq(3), any(Instant.class))).thenReturn(1);
+        when(inventoryRepository.findByProductId(1L)).thenReturn(Optional.of(afterUpdate));
+
+        stockReservationService.reserveStock("ORD-1", 1L, 3);
+
+        verify(reservationRepository).save(argThat(r -> r.getQuantity() == 3
+                && r.getStatus() == ReservationStatus.PENDING && "ORD-1".equals(r.getOrderId())));
+        verify(eventProducer).sendStockReservedEvent(any(StockReservation.class), eq(afterUpdate));
+        verify(reservationExpiryService).schedule(any(StockReservation.class));
+        verify(inventoryRepository, never()).save(any(Inventory.class));
+    }
+
+    @Test
+    void reserveStock_noRowUpdated_throwsInsufficientStock() {
+        when(inventoryRepository.reserveIfAvailable(eq(1L), eq(5), any(Instant.class))).thenReturn(0);
+        when(inventoryRepository.findByProductId(1L)).thenReturn(Optional.of(inventory(1L, 10, 8)));
+
+        assertThatThrownBy(() -> stockReservationService.reserveStock("ORD-1", 1L, 5))
+                .isInstanceOf(InsufficientStockException.class);
+
+        verify(reservationRepository, never()).save(any());
+        verify(eventProducer, never()).sendStockReservedEvent(any(), any());
+    }
+
+    @Test
+    void reserveStock_unknownProduct_throwsInventoryNotFoundException() {
+        when(inventoryRepository.reserveIfAvailable(eq(99L), eq(1), any(Instant.class))).thenReturn(0);
+        when(inventoryRepository.findByProductId(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> stockReservationService.reserveStock("ORD-1", 99L, 1))
+                .isInstanceOf(InventoryNotFoundException.class);
+    }
+
+    @Test
+    void reserveStock_flashSaleProduct_takesFromShardsInsteadOfCanonicalRow() {
+        Inventory canonical = inventory(1L, 100, 90);
+        Inventory view = inventory(1L, 100, 2);
+
+        when(flashSaleService.isFlashSale(1L)).thenReturn(true);
+        when(flashSaleService.tryReserve(1L, 2)).thenReturn(true);
+        when(inventoryRepository.findByProductId(1L)).thenReturn(Optional.of(canonical));
+        when(flashSaleService.withShardStock(canonical)).thenReturn(view);
+
+        stockReservationService.reserveStock("ORD-1", 1L, 2);
+
+        verify(inventoryRepository, never()).reserveIfAvailable(anyLong(), anyInt(), any());
+        verify(reservationRepository).save(any(StockReservation.class));
+        verify(eventProducer).sendStockReservedEvent(any(StockReservation.class), eq(view));
+    }
+
+    @Test
+    void reserveStockBatch_flashSaleLineShort_throwsInsufficientStock() {
+        Inventory regular = inventory(1L, 10, 0);
+        Inventory flash = inventory(2L, 50, 50);
+
+        when(flashSaleService.isFlashSale(1L)).thenReturn(false);
+        when(flashSaleService.isFlashSale(2L)).thenReturn(true);
+        when(inventoryRepository.findAllByProductIdInForUpdate(List.of(1L))).thenReturn(List.of(regular));
+        when(flashSaleService.tryReserve(2L, 5)).thenReturn(false);
+        when(inventoryRepository.findByProductId(2L)).thenReturn(Optional.of(flash));
+        when(flashSaleService.withShardStock(flash)).thenReturn(inventory(2L, 50, 47));
+
+        assertThatThrownBy(() -> stockReservationService.reserveStockBatch("ORD-1", Map.of(1L, 1, 2L, 5)))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessageContaining("product 2");
+
+        assertThat(regular.getReservedQuantity()).isZero();
+        verify(reservationRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void reserveStockBatch_locksInProductIdOrderAndReservesEveryLine() {
+        Inventory first = inventory(1L, 10, 0);
+        Inventory second = inventory(2L, 10, 4);
+
+        when(inventoryRepository.findAllByProductIdInForUpdate(List.of(1L, 2L))).thenReturn(List.of(first, second));
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+
+        stockReservationService.reserveStockBatch("ORD-1", Map.of(2L, 6, 1L, 3));
+
+        assertThat(first.getReservedQuantity()).isEqualTo(3);
+        assertThat(second.getReservedQuantity()).isEqualTo(10);
+        verify(reservationRepository).saveAll(anyList());
+        verify(eventProducer, times(2)).sendStockReservedEvent(any(StockReservation.class), any(Inventory.class));
+        verify(cache).evict(1L);
+        verify(cache).evict(2L);
+    }
+
+    @Test
+    void reserveStockBatch_oneLineShort_reservesNothing() {
+        Inventory first = inventory(1L, 10, 0);
+        Inventory second = inventory(2L, 5, 4);
+
+        when(inventoryRepository.findAllByProductIdInForUpdate(List.of(1L, 2L))).thenReturn(List.of(first, second));
+
+        assertThatThrownBy(() -> stockReservationService.reserveStockBatch("ORD-1", Map.of(1L, 3, 2L, 2)))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessageContaining("product 2");
+
+        assertThat(first.getReservedQuantity()).isZero();
+        verify(reservationRepository, never()).saveAll(any());
+        verify(eventProducer, never()).sendStockReservedEvent(any(), any());
+    }
+
+    @Test
+    void reserveStockBatch_unknownProduct_throwsInventoryNotFoundException() {
+        when(inventoryRepository.findAllByProductIdInForUpdate(List.of(1L, 99L))).thenReturn(List.of(inventory(1L, 10, 0)));
+
+        assertThatThrownBy(() -> stockReservationService.reserveStockBatch("ORD-1", Map.of(1L, 1, 99L, 1)))
+                .isInstanceOf(InventoryNotFoundException.class);
+    }
+
+    @Test
+    void releaseStock_locksThePendingReservationAndReturnsItsQuantity() {
+        Inventory inventory = inventory(1L, 10, 3);
+        when(reservationRepository.findByOrderIdAndProductIdAndStatusForUpdate("ORD-1", 1L, ReservationStatus.PENDING))
+                .thenReturn(Optional.of(pending("ORD-1", 1L, 3)));
+        when(inventoryRepository.findByProductId(1L)).thenReturn(Optional.of(inventory));
+
+        stockReservationService.releaseStock("ORD-1", 1L);
+
+        assertThat(inventory.getReservedQuantity()).isZero();
+        verify(reservationRepository).save(argThat(r -> r.getStatus() == ReservationStatus.RELEASED));
+    }
+
+    @Test
+    void confirmStock_reservationAlreadyExpired_throwsWithoutTouchingInventory() {
+        when(reservationRepository.findByOrderIdAndProductIdAndStatusForUpdate("ORD-1", 1L, ReservationStatus.PENDING))
+                .thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> stockReservationService.confirmStock("ORD-1", 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(inventoryRepository, eventProducer);
+    }
+
+    @Test
+    void confirmStockBatch_deductsQuantityAndReservation() {
+        Inventory inv = inventory(1L, 10, 3);
+        StockReservation reservation = pending("ORD-1", 1L, 3);
+
+        when(reservationRepository.findAllByOrderIdAndStatusForUpdate("ORD-1", ReservationStatus.PENDING))
+                .thenReturn(List.of(reservation));
+        when(inventoryRepository.findAllByProductIdInForUpdate(List.of(1L))).thenReturn(List.of(inv));
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+
+        stockReservationService.confirmStockBatch("ORD-1", List.of(1L));
+
+        assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.CONFIRMED);
+        assertThat(inv.getQuantity()).isEqualTo(7);
+        assertThat(inv.getReservedQuantity()).isZero();
+        verify(eventProducer).sendStockConfirmedEvent(reservation, inv);
+        verify(eventProducer).sendStockUpdatedEvent(inv);
+    }
+
+    @Test
+    void confirmStockBatch_missingReservation_throwsBeforeLocking() {
+        when(reservationRepository.findAllByOrderIdAndStatusForUpdate("ORD-1", ReservationStatus.PENDING))
+                .thenReturn(List.of(pending("ORD-1", 1L, 3)));
+
+        assertThatThrownBy(() -> stockReservationService.confirmStockBatch("ORD-1", List.of(1L, 2L)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(inventoryRepository, never()).findAllByProductIdInForUpdate(any());
+    }
+
+    @Test
+    void releaseStockBatch_skipsLinesThatAreNoLongerPending() {
+        Inventory inv = inventory(1L, 10, 3);
+        StockReservation reservation = pending("ORD-1", 1L, 3);
+
+        when(reservationRepository.findAllByOrderIdAndStatusForUpdate("ORD-1", ReservationStatus.PENDING))
+                .thenReturn(List.of(reservation));
+        when(inventoryRepository.findAllByProductIdInForUpdate(anyCollection())).thenReturn(List.of(inv));
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+
+        int released = stockReservationService.releaseStockBatch("ORD-1", List.of(1L, 2L));
+
+        assertThat(released).isEqualTo(1);
+        assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.RELEASED);
+        assertThat(inv.getReservedQuantity()).isZero();
+        verify(eventProducer).sendStockReleasedEvent(reservation, inv);
+    }
+
+    @Test
+    void releaseStockBatch_nothingPending_isNoOp() {
+        when(reservationRepository.findAllByOrderIdAndStatusForUpdate("ORD-1", ReservationStatus.PENDING))
+                .thenReturn(List.of());
+
+        int released = stockReservationService.releaseStockBatch("ORD-1", List.of());
+
+        assertThat(released).isZero();
+        verify(inventoryRepository, never()).findAllByProductIdInForUpdate(any());
+    }
+}
@@ -0,0 +1,119 @@
+package com.ecommerce.inventoryservice.service;
+
+import com.ecommerce.inventoryservice.entity.Inventory;
+import com.ecommerce.inventoryservice.entity.StockStatus;
+import com.ecommerce.inventoryservice.grpc.StockChange;
+import com.ecommerce.inventoryservice.repository.InventoryRepository;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockWatchServiceTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+    @Mock
+    private FlashSaleService flashSaleService;
+    @Mock
+    private ServerCallStreamObserver<StockChange> observer;
+
+    @InjectMocks
+    private StockWatchService stockWatchService;
+
+    private Inventory inventory(Long productId, int quantity, int reserved) {
+        return Inventory.builder().productId(productId).quantity(quantity).reservedQuantity(reserved)
+                .lowStockThreshold(10).stockStatus(StockStatus.AVAILABLE).build();
+    }
+
+    @Test
+    void watch_sendsCurrentStockFirst() {
+        when(observer.isReady()).thenReturn(true);
+        when(inventoryRepository.findAllByProductIdIn(Set.of(1L))).thenReturn(List.of(inventory(1L, 10, 4)));
+
+        stockWatchService.watch(List.of(1L), observer);
+
+        ArgumentCaptor<StockChange> captor = ArgumentCaptor.forClass(StockChange.class);
+        verify(observer).onNext(captor.capture());
+        assertThat(captor.getValue().getAvailableQuantity()).isEqualTo(6);
+        assertThat(captor.getValue().getStockStatus()).isEqualTo("AVAILABLE");
+    }
+
+    @Test
+    void flushChanges_coalescesRepeatedChangesIntoOneUpdate() {
+        when(observer.isReady()).thenReturn(true);
+        when(inventoryRepository.findAllByProductIdIn(anyCollection()))
+                .thenReturn(List.of(inventory(1L, 10, 0)))
+                .thenReturn(List.of(inventory(1L, 10, 3)));
+        stockWatchService.watch(List.of(1L, 2L), observer);
+
+        stockWatchService.markChanged(1L);
+        stockWatchService.markChanged(1L);
+        stockWatchService.markChanged(1L);
+        stockWatchService.markChanged(3L);
+        stockWatchService.flushChanges();
+
+        verify(inventoryRepository).findAllByProductIdIn(Set.of(1L));
+        verify(observer, times(2)).onNext(any(StockChange.class));
+    }
+
+    @Test
+    void flushChanges_slowWatch_keepsLatestChangeUntilStreamIsReady() {
+        when(inventoryRepository.findAllByProductIdIn(anyCollection()))
+                .thenReturn(List.of(inventory(1L, 10, 0)))
+                .thenReturn(List.of(inventory(1L, 10, 3)))
+                .thenReturn(List.of(inventory(1L, 10, 5)));
+        ArgumentCaptor<Runnable> onReady = ArgumentCaptor.forClass(Runnable.class);
+        stockWatchService.watch(List.of(1L), observer);
+        verify(observer).setOnReadyHandler(onReady.capture());
+
+        stockWatchService.markChanged(1L);
+        stockWatchService.flushChanges();
+        stockWatchService.markChanged(1L);
+        stockWatchService.flushChanges();
+        verify(observer, never()).onNext(any(StockChange.class));
+
+        when(observer.isReady()).thenReturn(true);
+        onReady.getValue().run();
+
+        ArgumentCaptor<StockChange> captor = ArgumentCaptor.forClass(StockChange.class);
+        verify(observer).onNext(captor.capture());
+        assertThat(captor.getValue().getAvailableQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    void cancelledWatch_stopsReceivingUpdates() {
+        when(inventoryRepository.findAllByProductIdIn(anyCollection())).thenReturn(List.of());
+        ArgumentCaptor<Runnable> onCancel = ArgumentCaptor.forClass(Runnable.class);
+
+        stockWatchService.watch(List.of(1L), observer);
+        verify(observer).setOnCancelHandler(onCancel.capture());
+        onCancel.getValue().run();
+
+        stockWatchService.markChanged(1L);
+        stockWatchService.flushChanges();
+
+        verify(inventoryRepository, times(1)).findAllByProductIdIn(anyCollection());
+    }
+
+    @Test
+    void watch_tooManyProducts_throws() {
+        List<Long> productIds = java.util.stream.LongStream.rangeClosed(1, StockWatchService.MAX_WATCHED_PRODUCTS + 1)
+                .boxed().toList();
+
+        assertThatThrownBy(() -> stockWatchService.watch(productIds, observer))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
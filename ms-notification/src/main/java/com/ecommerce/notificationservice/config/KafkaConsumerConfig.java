@@ -1,6 +1,7 @@
 package com.ecommerce.notificationservice.config;
 
-import com.ecommerce.notificationservice.kafka.DlqService;
+import com.ecommerce.messaging.dlq.DlqService;
+import com.ecommerce.messaging.kafka.JsonNodeDeserializer;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -13,13 +14,11 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
-import org.springframework.kafka.listener.DefaultErrorHandler;
-import org.springframework.util.backoff.FixedBackOff;
+import org.springframework.util.backoff.BackOff;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -36,7 +35,7 @@ public class KafkaConsumerConfig {
     public KafkaConsumerConfig(
             @Value("${spring.kafka.bootstrap-servers}") String bootstrapServers,
             @Qualifier("kafkaObjectMapper") ObjectMapper kafkaObjectMapper,
-            @Lazy DlqService dlqService) {
+            DlqService dlqService) {
         this.bootstrapServers = bootstrapServers;
         this.kafkaObjectMapper = kafkaObjectMapper;
         this.dlqService = dlqService;
@@ -44,18 +43,7 @@ public class KafkaConsumerConfig {
 
     @Bean
     public Deserializer<JsonNode> jsonNodeDeserializer() {
-        return new Deserializer<>() {
-            @Override
-            public JsonNode deserialize(String topic, byte[] data) {
-                if (data == null) return null;
-                try {
-                    return kafkaObjectMapper.readTree(data);
-                } catch (Exception e) {
-                    log.error("Error deserializing message to JsonNode: {}", e.getMessage());
-                    throw new RuntimeException("Error deserializing message", e);
-                }
-            }
-        };
+        return new JsonNodeDeserializer(kafkaObjectMapper);
     }
 
     @Bean
@@ -74,20 +62,13 @@ public class KafkaConsumerConfig {
 
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, JsonNode> kafkaListenerContainerFactory(
-            ConsumerFactory<String, JsonNode> consumerFactory) {
+            ConsumerFactory<String, JsonNode> consumerFactory,
+            BackOff consumerRetryBackOff) {
         ConcurrentKafkaListenerContainerFactory<String, JsonNode> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory);
         factory.getContainerProperties().setAckMode(org.springframework.kafka.listener.ContainerProperties.AckMode.RECORD);
 
-        DefaultErrorHandler errorHandler = new DefaultErrorHandler(
-                (record, exception) -> {
-                    log.error("Failed to process message after retries - topic: {}, partition: {}, offset: {}, error: {}",
-                            record.topic(), record.partition(), record.offset(), exception.getMessage());
-                    dlqService.saveFailedEvent(record, exception);
-                },
-                new FixedBackOff(1000L, 3L)
-        );
-        factory.setCommonErrorHandler(errorHandler);
+        factory.setCommonErrorHandler(dlqService.errorHandler(consumerRetryBackOff));
 
         return factory;
     }
@@ -0,0 +1,31 @@
+package com.ecommerce.notificationservice.config;
+
+import com.ecommerce.messaging.scheduling.MonitoredTaskScheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Keeps SSE heartbeats apart from email retries, which block on SMTP for as long as the mail server takes.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    public static final String SSE_HEARTBEAT = "sseHeartbeatScheduler";
+    public static final String EMAIL_RETRY = "emailRetryScheduler";
+
+    @Bean(name = SSE_HEARTBEAT)
+    public MonitoredTaskScheduler sseHeartbeatScheduler(
+            MeterRegistry meterRegistry,
+            @Value("${notification.scheduling.sse-heartbeat.pool-size:1}") int poolSize) {
+        return new MonitoredTaskScheduler("sse-heartbeat", poolSize, meterRegistry);
+    }
+
+    @Bean(name = EMAIL_RETRY)
+    public MonitoredTaskScheduler emailRetryScheduler(
+            MeterRegistry meterRegistry,
+            @Value("${notification.scheduling.email-retry.pool-size:1}") int poolSize) {
+        return new MonitoredTaskScheduler("email-retry", poolSize, meterRegistry);
+    }
+}
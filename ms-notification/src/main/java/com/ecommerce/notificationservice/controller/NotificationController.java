@@ -1,5 +1,6 @@
 package com.ecommerce.notificationservice.controller;
 
+import com.ecommerce.notificationservice.dto.response.CursorPagedResponse;
 import com.ecommerce.notificationservice.dto.response.NotificationResponse;
 import com.ecommerce.notificationservice.dto.response.PagedResponse;
 import com.ecommerce.notificationservice.service.NotificationService;
@@ -42,6 +43,14 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.getAllNotifications(page, size));
     }
 
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPagedResponse<NotificationResponse>> getAllNotificationsAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size) {
+        log.debug("GET /notifications after={}, size={}", after, size);
+        return ResponseEntity.ok(notificationService.getAllNotificationsAfter(after, size));
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<PagedResponse<NotificationResponse>> getNotificationsByUser(
             @PathVariable UUID userId,
@@ -51,6 +60,15 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.getNotificationsByUser(userId, page, size));
     }
 
+    @GetMapping(value = "/user/{userId}", params = "after")
+    public ResponseEntity<CursorPagedResponse<NotificationResponse>> getNotificationsByUserAfter(
+            @PathVariable UUID userId,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size) {
+        log.debug("GET /notifications/user/{} after={}, size={}", userId, after, size);
+        return ResponseEntity.ok(notificationService.getNotificationsByUserAfter(userId, after, size));
+    }
+
     @GetMapping("/failed")
     public ResponseEntity<PagedResponse<NotificationResponse>> getFailedNotifications(
             @RequestParam(defaultValue = "0") int page,
@@ -59,6 +77,14 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.getFailedNotifications(page, size));
     }
 
+    @GetMapping(value = "/failed", params = "after")
+    public ResponseEntity<CursorPagedResponse<NotificationResponse>> getFailedNotificationsAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size) {
+        log.debug("GET /notifications/failed after={}, size={}", after, size);
+        return ResponseEntity.ok(notificationService.getFailedNotificationsAfter(after, size));
+    }
+
     @PostMapping("/{id}/retry")
     public ResponseEntity<NotificationResponse> retryNotification(@PathVariable Long id) {
         log.debug("POST /notifications/{}/retry", id);
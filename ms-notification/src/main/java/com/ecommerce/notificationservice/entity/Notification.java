@@ -11,6 +11,9 @@ import java.util.UUID;
 @Table(name = "notifications", indexes = {
         @Index(name = "idx_notification_user_id", columnList = "user_id"),
         @Index(name = "idx_notification_status", columnList = "status"),
+        @Index(name = "idx_notification_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_notification_user_created_at_id", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_notification_status_created_at_id", columnList = "status, created_at, id"),
         @Index(name = "idx_notification_type_ref_email", columnList = "type, reference_id, recipient_email")
 })
 @Data
@@ -1,33 +0,0 @@
-package com.ecommerce.notificationservice.entity;
-
-import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import java.time.Instant;
-
-@Entity
-@Table(name = "processed_events", indexes = {
-        @Index(name = "idx_processed_event_id", columnList = "event_id", unique = true)
-})
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class ProcessedEvent {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(name = "event_id", nullable = false, unique = true, length = 100)
-    private String eventId;
-
-    @Column(name = "event_type", nullable = false, length = 50)
-    private String eventType;
-
-    @Column(name = "processed_at", nullable = false)
-    private Instant processedAt;
-}
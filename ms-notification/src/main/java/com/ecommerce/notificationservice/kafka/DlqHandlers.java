@@ -0,0 +1,27 @@
+package com.ecommerce.notificationservice.kafka;
+
+import com.ecommerce.messaging.dlq.DlqService;
+import com.ecommerce.notificationservice.config.KafkaTopicConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells the shared {@link DlqService} which consumer replays a failed event from each topic.
+ */
+@Component
+@RequiredArgsConstructor
+public class DlqHandlers {
+
+    private final DlqService dlqService;
+    private final OrderEventConsumer orderEventConsumer;
+    private final PaymentEventConsumer paymentEventConsumer;
+    private final InventoryEventConsumer inventoryEventConsumer;
+
+    @PostConstruct
+    void registerHandlers() {
+        dlqService.registerHandler(KafkaTopicConfig.ORDER_EVENTS_TOPIC, orderEventConsumer::consumeOrderEvents);
+        dlqService.registerHandler(KafkaTopicConfig.PAYMENT_EVENTS_TOPIC, paymentEventConsumer::consumePaymentEvents);
+        dlqService.registerHandler(KafkaTopicConfig.INVENTORY_EVENTS_TOPIC, inventoryEventConsumer::consumeInventoryEvents);
+    }
+}
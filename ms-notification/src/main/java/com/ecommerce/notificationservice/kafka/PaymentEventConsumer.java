@@ -1,60 +1,49 @@
 package com.ecommerce.notificationservice.kafka;
 
+import com.ecommerce.messaging.idempotency.IdempotencyGuard;
 import com.ecommerce.notificationservice.config.KafkaTopicConfig;
 import com.ecommerce.notificationservice.dto.event.PaymentFailedEvent;
 import com.ecommerce.notificationservice.dto.event.PaymentRefundedEvent;
 import com.ecommerce.notificationservice.dto.event.PaymentSuccessEvent;
-import com.ecommerce.notificationservice.entity.ProcessedEvent;
-import com.ecommerce.notificationservice.repository.ProcessedEventRepository;
 import com.ecommerce.notificationservice.service.NotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
-
 @Component
 @Slf4j
 public class PaymentEventConsumer {
 
     private final ObjectMapper objectMapper;
     private final NotificationService notificationService;
-    private final ProcessedEventRepository processedEventRepository;
+    private final IdempotencyGuard idempotencyGuard;
 
     public PaymentEventConsumer(@Qualifier("kafkaObjectMapper") ObjectMapper objectMapper,
                                 NotificationService notificationService,
-                                ProcessedEventRepository processedEventRepository) {
+                                IdempotencyGuard idempotencyGuard) {
         this.objectMapper = objectMapper;
         this.notificationService = notificationService;
-        this.processedEventRepository = processedEventRepository;
+        this.idempotencyGuard = idempotencyGuard;
     }
 
     @Transactional
     @KafkaListener(
             topics = KafkaTopicConfig.PAYMENT_EVENTS_TOPIC,
-            groupId = KafkaTopicConfig.NOTIFICATION_SERVICE_GROUP
+            groupId = KafkaTopicConfig.NOTIFICATION_SERVICE_GROUP,
+            concurrency = "${messaging.consumer.concurrency.payment-events:1}"
     )
     public void consumePaymentEvents(JsonNode node) {
         try {
             String eventId = node.has("eventId") ? node.get("eventId").asText() : null;
             String eventType = node.has("eventType") ? node.get("eventType").asText() : "";
 
-            if (eventId != null) {
-                try {
-                    processedEventRepository.saveAndFlush(ProcessedEvent.builder()
-                            .eventId(eventId)
-                            .eventType(eventType)
-                            .processedAt(Instant.now())
-                            .build());
-                } catch (DataIntegrityViolationException e) {
-                    log.info("Event {} already processed, skipping", eventId);
-                    return;
-                }
+            if (eventId != null && !idempotencyGuard.markProcessed(eventId, eventType)) {
+                log.info("Event {} already processed, skipping", eventId);
+                return;
             }
 
             switch (eventType) {
@@ -75,8 +64,6 @@ public class PaymentEventConsumer {
                 }
                 default -> log.debug("Ignoring payment event with type: {}", eventType);
             }
-        } catch (DataIntegrityViolationException e) {
-            log.info("Duplicate event detected, skipping");
         } catch (Exception e) {
             log.error("Error processing payment event: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to process payment event", e);
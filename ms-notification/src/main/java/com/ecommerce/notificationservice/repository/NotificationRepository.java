@@ -3,11 +3,15 @@ package com.ecommerce.notificationservice.repository;
 import com.ecommerce.notificationservice.entity.Notification;
 import com.ecommerce.notificationservice.entity.NotificationStatus;
 import com.ecommerce.notificationservice.entity.NotificationType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,6 +24,45 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     Page<Notification> findAllByStatusOrderByCreatedAtDesc(NotificationStatus status, Pageable pageable);
 
+    // Keyset pages: each *Before query continues after the (createdAt, id) of the previous page's last row.
+    // The createdAt <= bound is what the (…, created_at, id) indexes seek on; the OR only drops rows
+    // sharing the cursor's timestamp that the previous page already returned.
+
+    List<Notification> findAllByOrderByCreatedAtDescIdDesc(Limit limit);
+
+    @Query("""
+            SELECT n FROM Notification n
+            WHERE n.createdAt <= :createdAt AND (n.createdAt < :createdAt OR n.id < :id)
+            ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    List<Notification> findAllBefore(@Param("createdAt") Instant createdAt, @Param("id") Long id, Limit limit);
+
+    List<Notification> findAllByUserIdOrderByCreatedAtDescIdDesc(UUID userId, Limit limit);
+
+    @Query("""
+            SELECT n FROM Notification n
+            WHERE n.userId = :userId
+              AND n.createdAt <= :createdAt AND (n.createdAt < :createdAt OR n.id < :id)
+            ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    List<Notification> findAllByUserIdBefore(@Param("userId") UUID userId,
+                                             @Param("createdAt") Instant createdAt,
+                                             @Param("id") Long id,
+                                             Limit limit);
+
+    List<Notification> findAllByStatusOrderByCreatedAtDescIdDesc(NotificationStatus status, Limit limit);
+
+    @Query("""
+            SELECT n FROM Notification n
+            WHERE n.status = :status
+              AND n.createdAt <= :createdAt AND (n.createdAt < :createdAt OR n.id < :id)
+            ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    List<Notification> findAllByStatusBefore(@Param("status") NotificationStatus status,
+                                             @Param("createdAt") Instant createdAt,
+                                             @Param("id") Long id,
+                                             Limit limit);
+
     List<Notification> findAllByStatusAndRetryCountLessThanOrderByCreatedAtAsc(
             NotificationStatus status, Integer maxRetries);
 
@@ -1,5 +1,6 @@
 package com.ecommerce.notificationservice.service;
 
+import com.ecommerce.notificationservice.config.SchedulingConfig;
 import com.ecommerce.notificationservice.entity.Notification;
 import com.ecommerce.notificationservice.entity.NotificationStatus;
 import com.ecommerce.notificationservice.repository.NotificationRepository;
@@ -30,7 +31,7 @@ public class NotificationRetryScheduler {
         this.objectMapper = objectMapper;
     }
 
-    @Scheduled(fixedDelayString = "${notification.retry.interval-ms:900000}")
+    @Scheduled(fixedDelayString = "${notification.retry.interval-ms:900000}", scheduler = SchedulingConfig.EMAIL_RETRY)
     public void retryFailedNotifications() {
         List<Notification> failed = notificationRepository
                 .findAllByStatusAndRetryCountLessThanOrderByCreatedAtAsc(NotificationStatus.FAILED, 3);
@@ -3,11 +3,13 @@ package com.ecommerce.notificationservice.service;
 import com.ecommerce.notificationservice.client.UserServiceClient;
 import com.ecommerce.notificationservice.dto.UserInfo;
 import com.ecommerce.notificationservice.dto.event.*;
+import com.ecommerce.notificationservice.dto.response.CursorPagedResponse;
 import com.ecommerce.notificationservice.dto.response.NotificationResponse;
 import com.ecommerce.notificationservice.dto.response.PagedResponse;
 import com.ecommerce.notificationservice.entity.Notification;
 import com.ecommerce.notificationservice.entity.NotificationStatus;
 import com.ecommerce.notificationservice.entity.NotificationType;
+import com.ecommerce.notificationservice.exception.InvalidCursorException;
 import com.ecommerce.notificationservice.exception.NotificationNotFoundException;
 import com.ecommerce.notificationservice.repository.NotificationRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -15,6 +17,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
@@ -177,6 +180,46 @@ public class NotificationService {
         );
     }
 
+    public CursorPagedResponse<NotificationResponse> getAllNotificationsAfter(String after, int size) {
+        CursorPagedResponse.Cursor cursor = decodeCursor(after);
+        Limit limit = Limit.of(CursorPagedResponse.fetchSize(size));
+        List<Notification> notifications = cursor == null
+                ? notificationRepository.findAllByOrderByCreatedAtDescIdDesc(limit)
+                : notificationRepository.findAllBefore(cursor.createdAt(), cursor.id(), limit);
+        return CursorPagedResponse.from(notifications, size, NotificationService::cursorOf, NotificationResponse::from);
+    }
+
+    public CursorPagedResponse<NotificationResponse> getNotificationsByUserAfter(UUID userId, String after, int size) {
+        CursorPagedResponse.Cursor cursor = decodeCursor(after);
+        Limit limit = Limit.of(CursorPagedResponse.fetchSize(size));
+        List<Notification> notifications = cursor == null
+                ? notificationRepository.findAllByUserIdOrderByCreatedAtDescIdDesc(userId, limit)
+                : notificationRepository.findAllByUserIdBefore(userId, cursor.createdAt(), cursor.id(), limit);
+        return CursorPagedResponse.from(notifications, size, NotificationService::cursorOf, NotificationResponse::from);
+    }
+
+    public CursorPagedResponse<NotificationResponse> getFailedNotificationsAfter(String after, int size) {
+        CursorPagedResponse.Cursor cursor = decodeCursor(after);
+        Limit limit = Limit.of(CursorPagedResponse.fetchSize(size));
+        List<Notification> notifications = cursor == null
+                ? notificationRepository.findAllByStatusOrderByCreatedAtDescIdDesc(NotificationStatus.FAILED, limit)
+                : notificationRepository.findAllByStatusBefore(
+                        NotificationStatus.FAILED, cursor.createdAt(), cursor.id(), limit);
+        return CursorPagedResponse.from(notifications, size, NotificationService::cursorOf, NotificationResponse::from);
+    }
+
+    private static CursorPagedResponse.Cursor decodeCursor(String after) {
+        try {
+            return CursorPagedResponse.Cursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(e.getMessage());
+        }
+    }
+
+    private static CursorPagedResponse.Cursor cursorOf(Notification notification) {
+        return new CursorPagedResponse.Cursor(notification.getCreatedAt(), notification.getId());
+    }
+
     public NotificationResponse retryNotification(Long id) {
         Notification notification = notificationRepository.findById(id)
                 .orElseThrow(() -> new NotificationNotFoundException("Notification not found with id: " + id));
@@ -1,5 +1,6 @@
 package com.ecommerce.notificationservice.service;
 
+import com.ecommerce.notificationservice.config.SchedulingConfig;
 import com.ecommerce.notificationservice.dto.response.NotificationResponse;
 import com.ecommerce.notificationservice.entity.Notification;
 import lombok.extern.slf4j.Slf4j;
@@ -63,7 +64,7 @@ public class SseEmitterService {
         dead.forEach(e -> removeEmitter(notification.getUserId(), e));
     }
 
-    @Scheduled(fixedDelay = 30_000)
+    @Scheduled(fixedDelay = 30_000, scheduler = SchedulingConfig.SSE_HEARTBEAT)
     public void heartbeat() {
         userEmitters.forEach((userId, emitters) -> {
             List<SseEmitter> dead = new CopyOnWriteArrayList<>();
@@ -5,9 +5,12 @@ import com.ecommerce.notificationservice.dto.UserInfo;
 import com.ecommerce.notificationservice.dto.event.OrderConfirmedEvent;
 import com.ecommerce.notificationservice.dto.event.PaymentSuccessEvent;
 import com.ecommerce.notificationservice.dto.event.StockUpdatedEvent;
+import com.ecommerce.notificationservice.dto.response.CursorPagedResponse;
+import com.ecommerce.notificationservice.dto.response.NotificationResponse;
 import com.ecommerce.notificationservice.entity.Notification;
 import com.ecommerce.notificationservice.entity.NotificationStatus;
 import com.ecommerce.notificationservice.entity.NotificationType;
+import com.ecommerce.notificationservice.exception.InvalidCursorException;
 import com.ecommerce.notificationservice.repository.NotificationRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -16,6 +19,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
@@ -25,6 +29,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -201,4 +206,41 @@ class NotificationServiceTest {
 
         verify(channel).send(any(Notification.class));
     }
+
+    @Test
+    void getFailedNotificationsAfter_walksPagesByCursor() {
+        setUp();
+        Instant now = Instant.parse("2026-01-01T10:00:00Z");
+        Notification newest = Notification.builder().id(3L).status(NotificationStatus.FAILED).createdAt(now).build();
+        Notification tied = Notification.builder().id(2L).status(NotificationStatus.FAILED)
+                .createdAt(now.minusSeconds(60)).build();
+        Notification oldest = Notification.builder().id(1L).status(NotificationStatus.FAILED)
+                .createdAt(now.minusSeconds(60)).build();
+
+        when(notificationRepository.findAllByStatusOrderByCreatedAtDescIdDesc(NotificationStatus.FAILED, Limit.of(3)))
+                .thenReturn(List.of(newest, tied, oldest));
+
+        CursorPagedResponse<NotificationResponse> first = notificationService.getFailedNotificationsAfter("", 2);
+
+        assertThat(first.content()).extracting(NotificationResponse::id).containsExactly(3L, 2L);
+        assertThat(first.nextCursor()).isNotNull();
+
+        when(notificationRepository.findAllByStatusBefore(
+                NotificationStatus.FAILED, now.minusSeconds(60), 2L, Limit.of(3)))
+                .thenReturn(List.of(oldest));
+
+        CursorPagedResponse<NotificationResponse> second =
+                notificationService.getFailedNotificationsAfter(first.nextCursor(), 2);
+
+        assertThat(second.content()).extracting(NotificationResponse::id).containsExactly(1L);
+        assertThat(second.nextCursor()).isNull();
+        verify(notificationRepository, never()).count();
+    }
+
+    @Test
+    void getAllNotificationsAfter_malformedCursor_throwsInvalidCursorException() {
+        setUp();
+        assertThatThrownBy(() -> notificationService.getAllNotificationsAfter("not-a-cursor", 20))
+                .isInstanceOf(InvalidCursorException.class);
+    }
 }
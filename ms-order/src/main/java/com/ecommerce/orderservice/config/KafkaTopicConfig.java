@@ -1,6 +1,13 @@
 package com.ecommerce.orderservice.config;
 
-public final class KafkaTopicConfig {
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaTopicConfig {
 
     public static final String ORDER_EVENTS_TOPIC = "order-events";
     public static final String INVENTORY_EVENTS_TOPIC = "inventory-events";
@@ -8,7 +15,9 @@ public final class KafkaTopicConfig {
     public static final String PAYMENT_EVENTS_TOPIC = "payment-events";
     public static final String ORDER_SERVICE_GROUP = "order-service-group";
 
-    private KafkaTopicConfig() {
-        throw new UnsupportedOperationException("This is a constants class and cannot be instantiated");
+    @Bean
+    public NewTopic orderEventsTopic(@Value("${messaging.topics.order-events.partitions:6}") int partitions,
+                                     @Value("${messaging.topics.replicas:1}") int replicas) {
+        return TopicBuilder.name(ORDER_EVENTS_TOPIC).partitions(partitions).replicas(replicas).build();
     }
-}
\ No newline at end of file
+}
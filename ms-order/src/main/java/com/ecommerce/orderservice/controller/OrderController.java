@@ -51,6 +51,17 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getOrdersByUser(userId, page, size));
     }
 
+    @GetMapping(params = "after")
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'STORE', 'ADMIN')")
+    @Operation(summary = "Get my orders by cursor", description = "Returns the current user's orders after a cursor, without a total count; pass an empty after to start")
+    public ResponseEntity<CursorPagedResponse<OrderSummaryResponse>> getMyOrdersAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size) {
+        UUID userId = extractUserId();
+        log.debug("GET /orders for user {}, after={}, size={}", userId, after, size);
+        return ResponseEntity.ok(orderService.getOrdersByUserAfter(userId, after, size));
+    }
+
     @GetMapping("/{orderNumber}")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'STORE', 'ADMIN')")
     @Operation(summary = "Get order details", description = "Returns full order details by order number")
@@ -120,6 +131,17 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getOrdersByStatus(status, page, size));
     }
 
+    @GetMapping(value = "/status/{status}", params = "after")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get orders by status by cursor", description = "Returns orders by status after a cursor, without a total count (admin only); pass an empty after to start")
+    public ResponseEntity<CursorPagedResponse<OrderSummaryResponse>> getOrdersByStatusAfter(
+            @PathVariable OrderStatus status,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size) {
+        log.debug("GET /orders/status/{}, after={}, size={}", status, after, size);
+        return ResponseEntity.ok(orderService.getOrdersByStatusAfter(status, after, size));
+    }
+
     @GetMapping("/{orderNumber}/history")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'STORE', 'ADMIN')")
     @Operation(summary = "Get order history", description = "Returns the status change history for an order")
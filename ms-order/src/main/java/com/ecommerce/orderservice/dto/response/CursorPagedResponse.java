@@ -0,0 +1,66 @@
+package com.ecommerce.orderservice.dto.response;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a listing walked newest first by keyset instead of offset: the next page starts after the
+ * (createdAt, id) of this page's last row, so every page costs the same and nothing is counted.
+ * {@code nextCursor} goes back as the {@code after} parameter and is null on the last page.
+ */
+public record CursorPagedResponse<T>(
+        List<T> content,
+        int size,
+        String nextCursor
+) {
+    /**
+     * Rows to fetch for a page of {@code size}: one more than the page holds, to tell whether a next page exists.
+     */
+    public static int fetchSize(int size) {
+        return Math.max(size, 1) + 1;
+    }
+
+    /**
+     * Builds the page from the {@link #fetchSize} rows fetched for it.
+     */
+    public static <T, R> CursorPagedResponse<R> from(List<T> rows, int size,
+                                                     Function<T, Cursor> cursor, Function<T, R> mapper) {
+        int pageSize = Math.max(size, 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<T> page = hasNext ? rows.subList(0, pageSize) : rows;
+        return new CursorPagedResponse<>(
+                page.stream().map(mapper).toList(),
+                pageSize,
+                hasNext ? cursor.apply(page.get(pageSize - 1)).encode() : null
+        );
+    }
+
+    public record Cursor(Instant createdAt, Long id) {
+
+        public String encode() {
+            String position = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * @return the position encoded in {@code after}, or null for a blank value, which starts at the newest row
+         * @throws IllegalArgumentException if {@code after} is not a cursor this service handed out
+         */
+        public static Cursor decode(String after) {
+            if (after == null || after.isBlank()) {
+                return null;
+            }
+            try {
+                String position = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8);
+                int separator = position.indexOf('|');
+                return new Cursor(Instant.parse(position.substring(0, separator)),
+                        Long.parseLong(position.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Malformed page cursor: " + after, e);
+            }
+        }
+    }
+}
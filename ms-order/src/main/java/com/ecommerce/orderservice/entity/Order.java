@@ -14,7 +14,9 @@ import java.util.UUID;
 @Entity
 @Table(name = "orders", indexes = {
         @Index(name = "idx_order_number", columnList = "order_number", unique = true),
-        @Index(name = "idx_order_user_id", columnList = "user_id")
+        @Index(name = "idx_order_user_id", columnList = "user_id"),
+        @Index(name = "idx_order_user_created_at_id", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_order_status_created_at_id", columnList = "status, created_at, id")
 })
 @Data
 @Builder
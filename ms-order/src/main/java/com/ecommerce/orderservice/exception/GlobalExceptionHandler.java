@@ -34,6 +34,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler({
             InvalidOrderStatusException.class,
+            InvalidCursorException.class,
             CartEmptyException.class,
             InsufficientStockException.class,
             StockReservationException.class
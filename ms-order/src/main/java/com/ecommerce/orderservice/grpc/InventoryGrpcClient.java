@@ -2,17 +2,26 @@ package com.ecommerce.orderservice.grpc;
 
 import com.ecommerce.inventoryservice.grpc.CheckStockRequest;
 import com.ecommerce.inventoryservice.grpc.CheckStockResponse;
+import com.ecommerce.inventoryservice.grpc.ConfirmStockBatchRequest;
+import com.ecommerce.inventoryservice.grpc.ConfirmStockBatchResponse;
 import com.ecommerce.inventoryservice.grpc.ConfirmStockRequest;
 import com.ecommerce.inventoryservice.grpc.ConfirmStockResponse;
 import com.ecommerce.inventoryservice.grpc.InventoryGrpcServiceGrpc;
+import com.ecommerce.inventoryservice.grpc.ReleaseStockBatchRequest;
+import com.ecommerce.inventoryservice.grpc.ReleaseStockBatchResponse;
 import com.ecommerce.inventoryservice.grpc.ReleaseStockRequest;
 import com.ecommerce.inventoryservice.grpc.ReleaseStockResponse;
+import com.ecommerce.inventoryservice.grpc.ReserveStockBatchRequest;
+import com.ecommerce.inventoryservice.grpc.ReserveStockBatchResponse;
 import com.ecommerce.inventoryservice.grpc.ReserveStockRequest;
 import com.ecommerce.inventoryservice.grpc.ReserveStockResponse;
+import com.ecommerce.inventoryservice.grpc.StockLineItem;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.client.inject.GrpcClient;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 @Service
@@ -60,4 +69,33 @@ public class InventoryGrpcClient {
                 .build();
         return inventoryStub.withDeadlineAfter(TIMEOUT_SECONDS, TimeUnit.SECONDS).releaseStock(request);
     }
+
+    public ReserveStockBatchResponse reserveStockBatch(String orderId, Map<Long, Integer> quantities) {
+        log.debug("Calling Inventory Service gRPC ReserveStockBatch for orderId: {}, lines: {}", orderId, quantities);
+        ReserveStockBatchRequest.Builder request = ReserveStockBatchRequest.newBuilder()
+                .setOrderId(orderId);
+        quantities.forEach((productId, quantity) -> request.addItems(StockLineItem.newBuilder()
+                .setProductId(productId)
+                .setQuantity(quantity)
+                .build()));
+        return inventoryStub.withDeadlineAfter(TIMEOUT_SECONDS, TimeUnit.SECONDS).reserveStockBatch(request.build());
+    }
+
+    public ConfirmStockBatchResponse confirmStockBatch(String orderId, List<Long> productIds) {
+        log.debug("Calling Inventory Service gRPC ConfirmStockBatch for orderId: {}, productIds: {}", orderId, productIds);
+        ConfirmStockBatchRequest request = ConfirmStockBatchRequest.newBuilder()
+                .setOrderId(orderId)
+                .addAllProductIds(productIds)
+                .build();
+        return inventoryStub.withDeadlineAfter(TIMEOUT_SECONDS, TimeUnit.SECONDS).confirmStockBatch(request);
+    }
+
+    public ReleaseStockBatchResponse releaseStockBatch(String orderId, List<Long> productIds) {
+        log.debug("Calling Inventory Service gRPC ReleaseStockBatch for orderId: {}, productIds: {}", orderId, productIds);
+        ReleaseStockBatchRequest request = ReleaseStockBatchRequest.newBuilder()
+                .setOrderId(orderId)
+                .addAllProductIds(productIds)
+                .build();
+        return inventoryStub.withDeadlineAfter(TIMEOUT_SECONDS, TimeUnit.SECONDS).releaseStockBatch(request);
+    }
 }
@@ -0,0 +1,27 @@
+package com.ecommerce.orderservice.kafka;
+
+import com.ecommerce.messaging.dlq.DlqService;
+import com.ecommerce.orderservice.config.KafkaTopicConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells the shared {@link DlqService} which consumer replays a failed event from each topic.
+ */
+@Component
+@RequiredArgsConstructor
+public class DlqHandlers {
+
+    private final DlqService dlqService;
+    private final PaymentEventConsumer paymentEventConsumer;
+    private final InventoryEventConsumer inventoryEventConsumer;
+    private final ProductEventConsumer productEventConsumer;
+
+    @PostConstruct
+    void registerHandlers() {
+        dlqService.registerHandler(KafkaTopicConfig.PAYMENT_EVENTS_TOPIC, paymentEventConsumer::consumePaymentEvents);
+        dlqService.registerHandler(KafkaTopicConfig.INVENTORY_EVENTS_TOPIC, inventoryEventConsumer::consumeInventoryEvents);
+        dlqService.registerHandler(KafkaTopicConfig.PRODUCT_EVENTS_TOPIC, productEventConsumer::consumeProductEvents);
+    }
+}
@@ -23,7 +23,8 @@ public class InventoryEventConsumer {
 
     @KafkaListener(
             topics = KafkaTopicConfig.INVENTORY_EVENTS_TOPIC,
-            groupId = KafkaTopicConfig.ORDER_SERVICE_GROUP
+            groupId = KafkaTopicConfig.ORDER_SERVICE_GROUP,
+            concurrency = "${messaging.consumer.concurrency.inventory-events:1}"
     )
     public void consumeInventoryEvents(JsonNode node) {
         try {
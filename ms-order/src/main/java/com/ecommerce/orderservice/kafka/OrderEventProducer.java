@@ -1,9 +1,9 @@
 package com.ecommerce.orderservice.kafka;
 
+import com.ecommerce.messaging.outbox.OutboxEvent;
+import com.ecommerce.messaging.outbox.OutboxEventRepository;
 import com.ecommerce.orderservice.config.KafkaTopicConfig;
 import com.ecommerce.orderservice.dto.event.*;
-import com.ecommerce.orderservice.entity.OutboxEvent;
-import com.ecommerce.orderservice.repository.OutboxEventRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -1,21 +1,21 @@
 package com.ecommerce.orderservice.kafka;
 
+import com.ecommerce.messaging.idempotency.IdempotencyGuard;
+import com.ecommerce.messaging.kafka.BatchEventProcessor;
 import com.ecommerce.orderservice.config.KafkaTopicConfig;
 import com.ecommerce.orderservice.dto.event.PaymentFailedEvent;
 import com.ecommerce.orderservice.dto.event.PaymentSuccessEvent;
-import com.ecommerce.orderservice.entity.ProcessedEvent;
-import com.ecommerce.orderservice.repository.ProcessedEventRepository;
 import com.ecommerce.orderservice.service.OrderService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
+import java.util.List;
 
 @Component
 @Slf4j
@@ -23,58 +23,77 @@ public class PaymentEventConsumer {
 
     private final ObjectMapper objectMapper;
     private final OrderService orderService;
-    private final ProcessedEventRepository processedEventRepository;
+    private final IdempotencyGuard idempotencyGuard;
+    private final BatchEventProcessor batchEventProcessor;
 
     public PaymentEventConsumer(@Qualifier("kafkaObjectMapper") ObjectMapper objectMapper,
                                 OrderService orderService,
-                                ProcessedEventRepository processedEventRepository) {
+                                IdempotencyGuard idempotencyGuard,
+                                BatchEventProcessor batchEventProcessor) {
         this.objectMapper = objectMapper;
         this.orderService = orderService;
-        this.processedEventRepository = processedEventRepository;
+        this.idempotencyGuard = idempotencyGuard;
+        this.batchEventProcessor = batchEventProcessor;
     }
 
     @Transactional
     @KafkaListener(
             topics = KafkaTopicConfig.PAYMENT_EVENTS_TOPIC,
-            groupId = KafkaTopicConfig.ORDER_SERVICE_GROUP
+            groupId = KafkaTopicConfig.ORDER_SERVICE_GROUP,
+            concurrency = "${messaging.consumer.concurrency.payment-events:1}",
+            autoStartup = "#{!${messaging.consumer.batch.enabled:false}}"
     )
     public void consumePaymentEvents(JsonNode node) {
         try {
             String eventId = node.has("eventId") ? node.get("eventId").asText() : null;
-            String eventType = node.has("eventType") ? node.get("eventType").asText() : "";
+            String eventType = eventType(node);
 
-            if (eventId != null) {
-                try {
-                    processedEventRepository.saveAndFlush(ProcessedEvent.builder()
-                            .eventId(eventId)
-                            .eventType(eventType)
-                            .processedAt(Instant.now())
-                            .build());
-                } catch (DataIntegrityViolationException e) {
-                    log.info("Event {} already processed, skipping", eventId);
-                    return;
-                }
+            if (eventId != null && !idempotencyGuard.markProcessed(eventId, eventType)) {
+                log.info("Event {} already processed, skipping", eventId);
+                return;
             }
 
-            switch (eventType) {
-                case "PAYMENT_SUCCESS" -> {
-                    PaymentSuccessEvent event = objectMapper.treeToValue(node, PaymentSuccessEvent.class);
-                    log.info("Received PaymentSuccessEvent for order {}", event.orderNumber());
-                    orderService.handlePaymentSuccess(event.orderNumber());
-                }
-                case "PAYMENT_FAILED" -> {
-                    PaymentFailedEvent event = objectMapper.treeToValue(node, PaymentFailedEvent.class);
-                    log.info("Received PaymentFailedEvent for order {}: {}", event.orderNumber(), event.reason());
-                    orderService.handlePaymentFailure(event.orderNumber(), event.reason());
-                }
-                default -> log.debug("Ignoring payment event with type: {}", eventType);
-            }
-        } catch (DataIntegrityViolationException e) {
-            // Already handled above, but guard against unexpected cases
-            log.info("Duplicate event detected, skipping");
+            applyPaymentEvent(node);
         } catch (Exception e) {
             log.error("Error processing payment event: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to process payment event", e);
         }
     }
+
+    /**
+     * Batch variant of {@link #consumePaymentEvents}, used instead of it when
+     * {@code messaging.consumer.batch.enabled} is set.
+     */
+    @KafkaListener(
+            topics = KafkaTopicConfig.PAYMENT_EVENTS_TOPIC,
+            groupId = KafkaTopicConfig.ORDER_SERVICE_GROUP,
+            concurrency = "${messaging.consumer.concurrency.payment-events:1}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${messaging.consumer.batch.enabled:false}"
+    )
+    public void consumePaymentEventBatch(List<ConsumerRecord<String, JsonNode>> records) {
+        log.debug("Received batch of {} payment events", records.size());
+        batchEventProcessor.process(records, this::eventType, this::applyPaymentEvent);
+    }
+
+    private void applyPaymentEvent(JsonNode node) throws Exception {
+        String eventType = eventType(node);
+        switch (eventType) {
+            case "PAYMENT_SUCCESS" -> {
+                PaymentSuccessEvent event = objectMapper.treeToValue(node, PaymentSuccessEvent.class);
+                log.info("Received PaymentSuccessEvent for order {}", event.orderNumber());
+                orderService.handlePaymentSuccess(event.orderNumber());
+            }
+            case "PAYMENT_FAILED" -> {
+                PaymentFailedEvent event = objectMapper.treeToValue(node, PaymentFailedEvent.class);
+                log.info("Received PaymentFailedEvent for order {}: {}", event.orderNumber(), event.reason());
+                orderService.handlePaymentFailure(event.orderNumber(), event.reason());
+            }
+            default -> log.debug("Ignoring payment event with type: {}", eventType);
+        }
+    }
+
+    private String eventType(JsonNode node) {
+        return node.has("eventType") ? node.get("eventType").asText() : "";
+    }
 }
@@ -22,20 +22,36 @@ public class ProductEventConsumer {
 
     @KafkaListener(
             topics = KafkaTopicConfig.PRODUCT_EVENTS_TOPIC,
-            groupId = KafkaTopicConfig.ORDER_SERVICE_GROUP
+            groupId = KafkaTopicConfig.ORDER_SERVICE_GROUP,
+            concurrency = "${messaging.consumer.concurrency.product-events:1}"
     )
     public void consumeProductEvents(JsonNode node) {
         try {
-            if (node.has("newPrice")) {
-                PriceChangedEvent event = objectMapper.treeToValue(node, PriceChangedEvent.class);
-                log.info("Received PriceChangedEvent for product {}: {} -> {} (does not affect existing orders)",
-                        event.id(), event.oldPrice(), event.newPrice());
-            } else if (node.has("deletedAt")) {
-                ProductDeletedEvent event = objectMapper.treeToValue(node, ProductDeletedEvent.class);
-                log.info("Received ProductDeletedEvent for product {} (does not affect existing orders)", event.id());
+            switch (eventType(node)) {
+                case "PRICE_CHANGED" -> {
+                    PriceChangedEvent event = objectMapper.treeToValue(node, PriceChangedEvent.class);
+                    log.info("Received PriceChangedEvent for product {}: {} -> {} (does not affect existing orders)",
+                            event.id(), event.oldPrice(), event.newPrice());
+                }
+                case "PRODUCT_DELETED" -> {
+                    ProductDeletedEvent event = objectMapper.treeToValue(node, ProductDeletedEvent.class);
+                    log.info("Received ProductDeletedEvent for product {} (does not affect existing orders)", event.id());
+                }
+                default -> {
+                }
             }
         } catch (Exception e) {
             log.error("Error processing product event: {}", e.getMessage(), e);
         }
     }
+
+    private String eventType(JsonNode node) {
+        // Older records carry no type header, so fall back to their distinguishing fields
+        if (node.hasNonNull("eventType")) {
+            return node.get("eventType").asText();
+        }
+        return node.has("newPrice") ? "PRICE_CHANGED"
+                : node.has("deletedAt") ? "PRODUCT_DELETED"
+                : "UNKNOWN";
+    }
 }
@@ -2,13 +2,17 @@ package com.ecommerce.orderservice.repository;
 
 import com.ecommerce.orderservice.entity.Order;
 import com.ecommerce.orderservice.entity.OrderStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -25,6 +29,37 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     Page<Order> findAllByStatusOrderByCreatedAtDesc(OrderStatus status, Pageable pageable);
 
+    List<Order> findAllByUserIdOrderByCreatedAtDescIdDesc(UUID userId, Limit limit);
+
+    /**
+     * The orders after a keyset cursor. {@code createdAt <= :createdAt} is the bound the
+     * (user_id, created_at, id) index seeks to; the rest only skips rows of the cursor's own timestamp
+     * that were already returned.
+     */
+    @Query("""
+            SELECT o FROM Order o
+            WHERE o.userId = :userId
+              AND o.createdAt <= :createdAt AND (o.createdAt < :createdAt OR o.id < :id)
+            ORDER BY o.createdAt DESC, o.id DESC
+            """)
+    List<Order> findAllByUserIdBefore(@Param("userId") UUID userId,
+                                      @Param("createdAt") Instant createdAt,
+                                      @Param("id") Long id,
+                                      Limit limit);
+
+    List<Order> findAllByStatusOrderByCreatedAtDescIdDesc(OrderStatus status, Limit limit);
+
+    @Query("""
+            SELECT o FROM Order o
+            WHERE o.status = :status
+              AND o.createdAt <= :createdAt AND (o.createdAt < :createdAt OR o.id < :id)
+            ORDER BY o.createdAt DESC, o.id DESC
+            """)
+    List<Order> findAllByStatusBefore(@Param("status") OrderStatus status,
+                                      @Param("createdAt") Instant createdAt,
+                                      @Param("id") Long id,
+                                      Limit limit);
+
     @Query(value = "SELECT COUNT(*) FROM orders WHERE DATE(created_at) = CURRENT_DATE", nativeQuery = true)
     long countByCreatedAtToday();
 }
\ No newline at end of file
@@ -1,8 +0,0 @@
-package com.ecommerce.orderservice.repository;
-
-import com.ecommerce.orderservice.entity.ProcessedEvent;
-import org.springframework.data.jpa.repository.JpaRepository;
-
-public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, Long> {
-    boolean existsByEventId(String eventId);
-}
@@ -1,8 +1,8 @@
 package com.ecommerce.orderservice.service;
 
-import com.ecommerce.inventoryservice.grpc.ConfirmStockResponse;
-import com.ecommerce.inventoryservice.grpc.ReleaseStockResponse;
-import com.ecommerce.inventoryservice.grpc.ReserveStockResponse;
+import com.ecommerce.inventoryservice.grpc.ConfirmStockBatchResponse;
+import com.ecommerce.inventoryservice.grpc.ReleaseStockBatchResponse;
+import com.ecommerce.inventoryservice.grpc.ReserveStockBatchResponse;
 import com.ecommerce.orderservice.client.CartServiceClient;
 import com.ecommerce.orderservice.config.RedisConfig;
 import com.ecommerce.orderservice.dto.event.*;
@@ -20,8 +20,11 @@ import com.ecommerce.orderservice.kafka.OrderEventProducer;
 import com.ecommerce.orderservice.mapper.OrderMapper;
 import com.ecommerce.orderservice.repository.OrderRepository;
 import com.ecommerce.productservice.grpc.ProductResponse;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -31,10 +34,13 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -89,32 +95,13 @@ public class OrderService {
                 .notes(request.notes())
                 .build();
 
+        Map<Long, ProductResponse> productsById = fetchProducts(cart.items());
+        reserveStock(orderNumber, cart.items());
+
         BigDecimal totalAmount = BigDecimal.ZERO;
-        List<Long> reservedProductIds = new ArrayList<>();
 
         for (CartItemResponse cartItem : cart.items()) {
-            ProductResponse product;
-            try {
-                product = productGrpcClient.getProduct(cartItem.productId());
-            } catch (Exception e) {
-                releaseReservedStock(orderNumber, reservedProductIds);
-                throw new StockReservationException("Failed to fetch product details for productId: " + cartItem.productId());
-            }
-
-            ReserveStockResponse reserveResponse;
-            try {
-                reserveResponse = inventoryGrpcClient.reserveStock(orderNumber, cartItem.productId(), cartItem.quantity());
-            } catch (Exception e) {
-                releaseReservedStock(orderNumber, reservedProductIds);
-                throw new StockReservationException("Failed to reserve stock for productId: " + cartItem.productId());
-            }
-
-            if (!reserveResponse.getSuccess()) {
-                releaseReservedStock(orderNumber, reservedProductIds);
-                throw new InsufficientStockException("Insufficient stock for product: " + product.getName());
-            }
-
-            reservedProductIds.add(cartItem.productId());
+            ProductResponse product = productsById.get(cartItem.productId());
 
             BigDecimal price = new BigDecimal(product.getPrice());
             BigDecimal discountPrice = product.getDiscountPrice().isEmpty()
@@ -221,11 +208,11 @@ public class OrderService {
             return;
         }
 
-        for (OrderItem item : order.getItems()) {
-            ConfirmStockResponse response = inventoryGrpcClient.confirmStock(orderNumber, item.getProductId());
-            if (!response.getSuccess()) {
-                throw new StockReservationException("Failed to confirm stock for productId: " + item.getProductId());
-            }
+        List<Long> productIds = order.getItems().stream().map(OrderItem::getProductId).toList();
+        ConfirmStockBatchResponse response = inventoryGrpcClient.confirmStockBatch(orderNumber, productIds);
+        if (!response.getSuccess()) {
+            throw new StockReservationException("Failed to confirm stock for order " + orderNumber
+                    + ": " + response.getMessage());
         }
 
         updateOrderStatus(order, OrderStatus.PROCESSING, order.getUserId(), "Payment successful - stock confirmed");
@@ -255,18 +242,7 @@ public class OrderService {
             return;
         }
 
-        for (OrderItem item : order.getItems()) {
-            try {
-                ReleaseStockResponse response = inventoryGrpcClient.releaseStock(orderNumber, item.getProductId());
-                if (!response.getSuccess()) {
-                    log.warn("Failed to release stock for productId {} on order {}: {}",
-                            item.getProductId(), orderNumber, response.getMessage());
-                }
-            } catch (Exception e) {
-                log.warn("Error releasing stock for productId {} on order {}: {}",
-                        item.getProductId(), orderNumber, e.getMessage());
-            }
-        }
+        releaseOrderStock(order);
 
         order.setCancelledReason(reason);
         updateOrderStatus(order, OrderStatus.CANCELLED, order.getUserId(), "Payment failed: " + reason);
@@ -302,18 +278,7 @@ public class OrderService {
                     "Cannot cancel order in status " + order.getStatus() + ". Allowed: " + allowedStatuses);
         }
 
-        for (OrderItem item : order.getItems()) {
-            try {
-                ReleaseStockResponse response = inventoryGrpcClient.releaseStock(orderNumber, item.getProductId());
-                if (!response.getSuccess()) {
-                    log.warn("Failed to release stock for productId {} on order {}: {}",
-                            item.getProductId(), orderNumber, response.getMessage());
-                }
-            } catch (Exception e) {
-                log.warn("Error releasing stock for productId {} on order {}: {}",
-                        item.getProductId(), orderNumber, e.getMessage());
-            }
-        }
+        releaseOrderStock(order);
 
         order.setCancelledReason(request.reason());
         updateOrderStatus(order, OrderStatus.CANCELLED, userId, request.reason());
@@ -411,6 +376,18 @@ public class OrderService {
         return PagedResponse.from(orders, orderMapper::toOrderSummaryResponse);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<OrderSummaryResponse> getOrdersByUserAfter(UUID userId, String after, int size) {
+        log.debug("Getting orders for user {}, after={}, size={}", userId, after, size);
+
+        CursorPagedResponse.Cursor cursor = decodeCursor(after);
+        Limit limit = Limit.of(CursorPagedResponse.fetchSize(size));
+        List<Order> orders = cursor == null
+                ? orderRepository.findAllByUserIdOrderByCreatedAtDescIdDesc(userId, limit)
+                : orderRepository.findAllByUserIdBefore(userId, cursor.createdAt(), cursor.id(), limit);
+        return CursorPagedResponse.from(orders, size, OrderService::cursorOf, orderMapper::toOrderSummaryResponse);
+    }
+
     @Transactional(readOnly = true)
     public PagedResponse<OrderSummaryResponse> getOrdersByStatus(OrderStatus status, int page, int size) {
         log.debug("Getting orders by status {}, page={}, size={}", status, page, size);
@@ -419,6 +396,18 @@ public class OrderService {
         return PagedResponse.from(orders, orderMapper::toOrderSummaryResponse);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<OrderSummaryResponse> getOrdersByStatusAfter(OrderStatus status, String after, int size) {
+        log.debug("Getting orders by status {}, after={}, size={}", status, after, size);
+
+        CursorPagedResponse.Cursor cursor = decodeCursor(after);
+        Limit limit = Limit.of(CursorPagedResponse.fetchSize(size));
+        List<Order> orders = cursor == null
+                ? orderRepository.findAllByStatusOrderByCreatedAtDescIdDesc(status, limit)
+                : orderRepository.findAllByStatusBefore(status, cursor.createdAt(), cursor.id(), limit);
+        return CursorPagedResponse.from(orders, size, OrderService::cursorOf, orderMapper::toOrderSummaryResponse);
+    }
+
     @Transactional(readOnly = true)
     public List<OrderStatusHistoryResponse> getOrderHistory(String orderNumber, UUID userId, String role) {
         log.debug("Getting order history for {}", orderNumber);
@@ -441,6 +430,18 @@ public class OrderService {
                 .orElseThrow(() -> new OrderNotFoundException("Order not found: " + orderNumber));
     }
 
+    private static CursorPagedResponse.Cursor decodeCursor(String after) {
+        try {
+            return CursorPagedResponse.Cursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(e.getMessage());
+        }
+    }
+
+    private static CursorPagedResponse.Cursor cursorOf(Order order) {
+        return new CursorPagedResponse.Cursor(order.getCreatedAt(), order.getId());
+    }
+
     private void validateStatusTransition(Order order, OrderStatus newStatus) {
         OrderStatus currentStatus = order.getStatus();
         Set<OrderStatus> validTransitions = switch (currentStatus) {
@@ -476,14 +477,61 @@ public class OrderService {
         return String.format("ORD-%s-%s", datePart, uniquePart);
     }
 
-    private void releaseReservedStock(String orderNumber, List<Long> reservedProductIds) {
-        for (Long productId : reservedProductIds) {
-            try {
-                inventoryGrpcClient.releaseStock(orderNumber, productId);
-            } catch (Exception e) {
-                log.error("Failed to release stock for productId {} on order {}: {}",
-                        productId, orderNumber, e.getMessage());
+    private Map<Long, ProductResponse> fetchProducts(List<CartItemResponse> items) {
+        List<Long> productIds = items.stream().map(CartItemResponse::productId).distinct().toList();
+
+        Map<Long, ProductResponse> productsById;
+        try {
+            productsById = productGrpcClient.getProductsByIds(productIds).getProductsList().stream()
+                    .collect(Collectors.toMap(ProductResponse::getId, Function.identity(), (first, second) -> first));
+        } catch (Exception e) {
+            throw new StockReservationException("Failed to fetch product details for productIds: " + productIds);
+        }
+
+        for (Long productId : productIds) {
+            if (!productsById.containsKey(productId)) {
+                throw new StockReservationException("Failed to fetch product details for productId: " + productId);
+            }
+        }
+        return productsById;
+    }
+
+    /**
+     * Reserves every cart line with a single ReserveStockBatch call. Inventory applies the batch
+     * atomically, so a failure leaves nothing reserved and there is no partial reservation to undo.
+     */
+    private void reserveStock(String orderNumber, List<CartItemResponse> items) {
+        Map<Long, Integer> quantities = items.stream()
+                .collect(Collectors.toMap(CartItemResponse::productId, CartItemResponse::quantity,
+                        Integer::sum, LinkedHashMap::new));
+
+        ReserveStockBatchResponse reserveResponse;
+        try {
+            reserveResponse = inventoryGrpcClient.reserveStockBatch(orderNumber, quantities);
+        } catch (StatusRuntimeException e) {
+            if (e.getStatus().getCode() == Status.Code.FAILED_PRECONDITION) {
+                throw new InsufficientStockException(e.getStatus().getDescription());
+            }
+            throw new StockReservationException("Failed to reserve stock for order " + orderNumber
+                    + ": " + e.getStatus().getDescription());
+        } catch (Exception e) {
+            throw new StockReservationException("Failed to reserve stock for order " + orderNumber);
+        }
+
+        if (!reserveResponse.getSuccess()) {
+            throw new InsufficientStockException(reserveResponse.getMessage());
+        }
+    }
+
+    private void releaseOrderStock(Order order) {
+        List<Long> productIds = order.getItems().stream().map(OrderItem::getProductId).toList();
+        try {
+            ReleaseStockBatchResponse response = inventoryGrpcClient.releaseStockBatch(order.getOrderNumber(), productIds);
+            if (!response.getSuccess()) {
+                log.warn("Failed to release stock for order {}: {}", order.getOrderNumber(), response.getMessage());
             }
+        } catch (Exception e) {
+            log.warn("Error releasing stock for order {}: {}", order.getOrderNumber(), e.getMessage());
         }
     }
 }
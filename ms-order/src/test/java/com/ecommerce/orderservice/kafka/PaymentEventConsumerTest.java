@@ -1,7 +1,7 @@
 package com.ecommerce.orderservice.kafka;
 
-import com.ecommerce.orderservice.entity.ProcessedEvent;
-import com.ecommerce.orderservice.repository.ProcessedEventRepository;
+import com.ecommerce.messaging.idempotency.IdempotencyGuard;
+import com.ecommerce.messaging.kafka.BatchEventProcessor;
 import com.ecommerce.orderservice.service.OrderService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -11,7 +11,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -30,7 +29,9 @@ class PaymentEventConsumerTest {
     @Mock
     private OrderService orderService;
     @Mock
-    private ProcessedEventRepository processedEventRepository;
+    private IdempotencyGuard idempotencyGuard;
+    @Mock
+    private BatchEventProcessor batchEventProcessor;
 
     @InjectMocks
     private PaymentEventConsumer paymentEventConsumer;
@@ -64,7 +65,7 @@ class PaymentEventConsumerTest {
 
     @Test
     void consumePaymentSuccess_callsHandlePaymentSuccess() {
-        when(processedEventRepository.saveAndFlush(any(ProcessedEvent.class))).thenReturn(null);
+        when(idempotencyGuard.markProcessed(any(), any())).thenReturn(true);
 
         paymentEventConsumer.consumePaymentEvents(paymentSuccessNode());
 
@@ -73,7 +74,7 @@ class PaymentEventConsumerTest {
 
     @Test
     void consumePaymentFailed_callsHandlePaymentFailure() {
-        when(processedEventRepository.saveAndFlush(any(ProcessedEvent.class))).thenReturn(null);
+        when(idempotencyGuard.markProcessed(any(), any())).thenReturn(true);
 
         paymentEventConsumer.consumePaymentEvents(paymentFailedNode());
 
@@ -82,8 +83,7 @@ class PaymentEventConsumerTest {
 
     @Test
     void consumeDuplicateEvent_skipped() {
-        when(processedEventRepository.saveAndFlush(any(ProcessedEvent.class)))
-                .thenThrow(new DataIntegrityViolationException("Duplicate"));
+        when(idempotencyGuard.markProcessed(any(), any())).thenReturn(false);
 
         paymentEventConsumer.consumePaymentEvents(paymentSuccessNode());
 
@@ -98,7 +98,7 @@ class PaymentEventConsumerTest {
             put("timestamp", Instant.now().toString());
         }});
 
-        when(processedEventRepository.saveAndFlush(any(ProcessedEvent.class))).thenReturn(null);
+        when(idempotencyGuard.markProcessed(any(), any())).thenReturn(true);
 
         paymentEventConsumer.consumePaymentEvents(node);
 
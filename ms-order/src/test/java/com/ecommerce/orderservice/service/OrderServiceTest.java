@@ -1,8 +1,8 @@
 package com.ecommerce.orderservice.service;
 
-import com.ecommerce.inventoryservice.grpc.ConfirmStockResponse;
-import com.ecommerce.inventoryservice.grpc.ReleaseStockResponse;
-import com.ecommerce.inventoryservice.grpc.ReserveStockResponse;
+import com.ecommerce.inventoryservice.grpc.ConfirmStockBatchResponse;
+import com.ecommerce.inventoryservice.grpc.ReleaseStockBatchResponse;
+import com.ecommerce.inventoryservice.grpc.ReserveStockBatchResponse;
 import com.ecommerce.orderservice.client.CartServiceClient;
 import com.ecommerce.orderservice.dto.request.CancelOrderRequest;
 import com.ecommerce.orderservice.dto.request.CreateOrderRequest;
@@ -17,12 +17,15 @@ import com.ecommerce.orderservice.kafka.OrderEventProducer;
 import com.ecommerce.orderservice.mapper.OrderMapper;
 import com.ecommerce.orderservice.repository.OrderRepository;
 import com.ecommerce.productservice.grpc.ProductImageInfo;
+import com.ecommerce.productservice.grpc.ProductListResponse;
 import com.ecommerce.productservice.grpc.ProductResponse;
+import io.grpc.Status;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -78,6 +81,10 @@ class OrderServiceTest {
                 .build();
     }
 
+    private ProductListResponse productList(ProductResponse... products) {
+        return ProductListResponse.newBuilder().addAllProducts(List.of(products)).build();
+    }
+
     @Test
     void createOrder_happyPath() {
         CreateOrderRequest request = createOrderRequest();
@@ -87,10 +94,10 @@ class OrderServiceTest {
 
         when(cartServiceClient.getCart(userId, role)).thenReturn(cart);
         when(cartServiceClient.validateCart(userId, role)).thenReturn(validation);
-        when(productGrpcClient.getProduct(1L)).thenReturn(mockProduct(1L));
+        when(productGrpcClient.getProductsByIds(List.of(1L))).thenReturn(productList(mockProduct(1L)));
 
-        ReserveStockResponse reserveResponse = ReserveStockResponse.newBuilder().setSuccess(true).build();
-        when(inventoryGrpcClient.reserveStock(anyString(), eq(1L), eq(2))).thenReturn(reserveResponse);
+        ReserveStockBatchResponse reserveResponse = ReserveStockBatchResponse.newBuilder().setSuccess(true).build();
+        when(inventoryGrpcClient.reserveStockBatch(anyString(), eq(Map.of(1L, 2)))).thenReturn(reserveResponse);
         when(orderRepository.save(any(Order.class))).thenAnswer(inv -> {
             Order o = inv.getArgument(0);
             o.setId(1L);
@@ -138,25 +145,84 @@ class OrderServiceTest {
     }
 
     @Test
-    void createOrder_stockReservationFails_releasesAlreadyReserved() {
+    void createOrder_insufficientStock_throwsInsufficientStockException() {
         List<CartItemResponse> items = List.of(cartItem(1L, 1), cartItem(2L, 1));
         CartResponse cart = new CartResponse(1L, userId, items, BigDecimal.valueOf(20), "ACTIVE");
         CartValidationResponse validation = new CartValidationResponse(true, null, List.of());
 
         when(cartServiceClient.getCart(userId, role)).thenReturn(cart);
         when(cartServiceClient.validateCart(userId, role)).thenReturn(validation);
-        when(productGrpcClient.getProduct(1L)).thenReturn(mockProduct(1L));
-        when(productGrpcClient.getProduct(2L)).thenReturn(mockProduct(2L));
+        when(productGrpcClient.getProductsByIds(List.of(1L, 2L)))
+                .thenReturn(productList(mockProduct(1L), mockProduct(2L)));
+        when(inventoryGrpcClient.reserveStockBatch(anyString(), anyMap()))
+                .thenThrow(Status.FAILED_PRECONDITION.withDescription("Not enough stock available for product 2")
+                        .asRuntimeException());
+
+        assertThatThrownBy(() -> orderService.createOrder(userId, createOrderRequest(), role))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessageContaining("product 2");
+
+        verify(inventoryGrpcClient, never()).releaseStockBatch(anyString(), anyList());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
 
-        ReserveStockResponse success = ReserveStockResponse.newBuilder().setSuccess(true).build();
-        ReserveStockResponse fail = ReserveStockResponse.newBuilder().setSuccess(false).build();
-        when(inventoryGrpcClient.reserveStock(anyString(), eq(1L), eq(1))).thenReturn(success);
-        when(inventoryGrpcClient.reserveStock(anyString(), eq(2L), eq(1))).thenReturn(fail);
+    @Test
+    void createOrder_reservesEveryLineInOneBatchCall() {
+        List<CartItemResponse> items = List.of(cartItem(1L, 1), cartItem(2L, 3), cartItem(3L, 2));
+        CartResponse cart = new CartResponse(1L, userId, items, BigDecimal.valueOf(60), "ACTIVE");
+        CartValidationResponse validation = new CartValidationResponse(true, null, List.of());
+
+        when(cartServiceClient.getCart(userId, role)).thenReturn(cart);
+        when(cartServiceClient.validateCart(userId, role)).thenReturn(validation);
+        when(productGrpcClient.getProductsByIds(List.of(1L, 2L, 3L)))
+                .thenReturn(productList(mockProduct(1L), mockProduct(2L), mockProduct(3L)));
+
+        ReserveStockBatchResponse success = ReserveStockBatchResponse.newBuilder().setSuccess(true).build();
+        when(inventoryGrpcClient.reserveStockBatch(anyString(), eq(Map.of(1L, 1, 2L, 3, 3L, 2)))).thenReturn(success);
+        when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        OrderCreateResponse result = orderService.createOrder(userId, createOrderRequest(), role);
+
+        assertThat(result.itemCount()).isEqualTo(3);
+        assertThat(result.finalAmount()).isEqualByComparingTo("60.00");
+        verify(productGrpcClient, never()).getProduct(anyLong());
+        verify(inventoryGrpcClient, never()).reserveStock(anyString(), anyLong(), anyInt());
+        verify(inventoryGrpcClient).reserveStockBatch(anyString(), anyMap());
+    }
+
+    @Test
+    void createOrder_productMissing_throwsWithoutReserving() {
+        List<CartItemResponse> items = List.of(cartItem(1L, 1), cartItem(2L, 1));
+        CartResponse cart = new CartResponse(1L, userId, items, BigDecimal.valueOf(20), "ACTIVE");
+        CartValidationResponse validation = new CartValidationResponse(true, null, List.of());
+
+        when(cartServiceClient.getCart(userId, role)).thenReturn(cart);
+        when(cartServiceClient.validateCart(userId, role)).thenReturn(validation);
+        when(productGrpcClient.getProductsByIds(List.of(1L, 2L))).thenReturn(productList(mockProduct(1L)));
+
+        assertThatThrownBy(() -> orderService.createOrder(userId, createOrderRequest(), role))
+                .isInstanceOf(StockReservationException.class)
+                .hasMessageContaining("2");
+
+        verify(inventoryGrpcClient, never()).reserveStockBatch(anyString(), anyMap());
+    }
+
+    @Test
+    void createOrder_inventoryUnavailable_throwsStockReservationException() {
+        List<CartItemResponse> items = List.of(cartItem(1L, 1));
+        CartResponse cart = new CartResponse(1L, userId, items, BigDecimal.TEN, "ACTIVE");
+        CartValidationResponse validation = new CartValidationResponse(true, null, List.of());
+
+        when(cartServiceClient.getCart(userId, role)).thenReturn(cart);
+        when(cartServiceClient.validateCart(userId, role)).thenReturn(validation);
+        when(productGrpcClient.getProductsByIds(List.of(1L))).thenReturn(productList(mockProduct(1L)));
+        when(inventoryGrpcClient.reserveStockBatch(anyString(), anyMap()))
+                .thenThrow(Status.UNAVAILABLE.asRuntimeException());
 
         assertThatThrownBy(() -> orderService.createOrder(userId, createOrderRequest(), role))
-                .isInstanceOf(InsufficientStockException.class);
+                .isInstanceOf(StockReservationException.class);
 
-        verify(inventoryGrpcClient).releaseStock(anyString(), eq(1L));
+        verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
@@ -192,10 +258,10 @@ class OrderServiceTest {
         Order order = Order.builder().orderNumber("ORD-001").userId(userId).status(OrderStatus.CONFIRMED)
                 .items(new LinkedHashSet<>(Set.of(item))).statusHistory(new LinkedHashSet<>()).build();
 
-        ConfirmStockResponse confirmResponse = ConfirmStockResponse.newBuilder().setSuccess(true).build();
+        ConfirmStockBatchResponse confirmResponse = ConfirmStockBatchResponse.newBuilder().setSuccess(true).build();
 
         when(orderRepository.findByOrderNumber("ORD-001")).thenReturn(Optional.of(order));
-        when(inventoryGrpcClient.confirmStock("ORD-001", 1L)).thenReturn(confirmResponse);
+        when(inventoryGrpcClient.confirmStockBatch("ORD-001", List.of(1L))).thenReturn(confirmResponse);
         when(orderRepository.save(any(Order.class))).thenReturn(order);
 
         orderService.handlePaymentSuccess("ORD-001");
@@ -213,7 +279,7 @@ class OrderServiceTest {
 
         orderService.handlePaymentSuccess("ORD-001");
 
-        verify(inventoryGrpcClient, never()).confirmStock(anyString(), anyLong());
+        verify(inventoryGrpcClient, never()).confirmStockBatch(anyString(), anyList());
         verify(orderEventProducer, never()).sendOrderConfirmedEvent(any());
     }
 
@@ -223,10 +289,10 @@ class OrderServiceTest {
         Order order = Order.builder().orderNumber("ORD-001").userId(userId).status(OrderStatus.CONFIRMED)
                 .items(new LinkedHashSet<>(Set.of(item))).statusHistory(new LinkedHashSet<>()).build();
 
-        ReleaseStockResponse releaseResponse = ReleaseStockResponse.newBuilder().setSuccess(true).build();
+        ReleaseStockBatchResponse releaseResponse = ReleaseStockBatchResponse.newBuilder().setSuccess(true).build();
 
         when(orderRepository.findByOrderNumber("ORD-001")).thenReturn(Optional.of(order));
-        when(inventoryGrpcClient.releaseStock("ORD-001", 1L)).thenReturn(releaseResponse);
+        when(inventoryGrpcClient.releaseStockBatch("ORD-001", List.of(1L))).thenReturn(releaseResponse);
         when(orderRepository.save(any(Order.class))).thenReturn(order);
 
         orderService.handlePaymentFailure("ORD-001", "Card declined");
@@ -256,10 +322,10 @@ class OrderServiceTest {
                 .items(new LinkedHashSet<>(Set.of(item))).statusHistory(new LinkedHashSet<>()).build();
         OrderResponse expected = mock(OrderResponse.class);
 
-        ReleaseStockResponse releaseResponse = ReleaseStockResponse.newBuilder().setSuccess(true).build();
+        ReleaseStockBatchResponse releaseResponse = ReleaseStockBatchResponse.newBuilder().setSuccess(true).build();
 
         when(orderRepository.findByOrderNumber("ORD-001")).thenReturn(Optional.of(order));
-        when(inventoryGrpcClient.releaseStock("ORD-001", 1L)).thenReturn(releaseResponse);
+        when(inventoryGrpcClient.releaseStockBatch("ORD-001", List.of(1L))).thenReturn(releaseResponse);
         when(orderRepository.save(any(Order.class))).thenReturn(order);
         when(orderMapper.toOrderResponse(order)).thenReturn(expected);
 
@@ -269,4 +335,32 @@ class OrderServiceTest {
         assertThat(result).isEqualTo(expected);
         assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELLED);
     }
+
+    @Test
+    void getOrdersByUserAfter_walksPagesByCursor() {
+        Instant createdAt = Instant.parse("2026-03-01T10:15:30.123456Z");
+        Order newest = Order.builder().id(3L).userId(userId).createdAt(createdAt).build();
+        Order middle = Order.builder().id(2L).userId(userId).createdAt(createdAt).build();
+        Order oldest = Order.builder().id(1L).userId(userId).createdAt(createdAt.minusSeconds(60)).build();
+
+        when(orderRepository.findAllByUserIdOrderByCreatedAtDescIdDesc(userId, Limit.of(3)))
+                .thenReturn(List.of(newest, middle, oldest));
+        when(orderRepository.findAllByUserIdBefore(userId, createdAt, 2L, Limit.of(3)))
+                .thenReturn(List.of(oldest));
+
+        CursorPagedResponse<OrderSummaryResponse> first = orderService.getOrdersByUserAfter(userId, "", 2);
+        assertThat(first.content()).hasSize(2);
+        assertThat(first.nextCursor()).isNotNull();
+
+        CursorPagedResponse<OrderSummaryResponse> second = orderService.getOrdersByUserAfter(userId, first.nextCursor(), 2);
+        assertThat(second.content()).hasSize(1);
+        assertThat(second.nextCursor()).isNull();
+        verify(orderRepository, never()).count();
+    }
+
+    @Test
+    void getOrdersByUserAfter_malformedCursor_throwsInvalidCursorException() {
+        assertThatThrownBy(() -> orderService.getOrdersByUserAfter(userId, "not-a-cursor", 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
 }
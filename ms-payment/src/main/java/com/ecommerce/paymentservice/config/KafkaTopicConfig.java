@@ -1,12 +1,21 @@
 package com.ecommerce.paymentservice.config;
 
-public final class KafkaTopicConfig {
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaTopicConfig {
 
     public static final String PAYMENT_EVENTS_TOPIC = "payment-events";
     public static final String ORDER_EVENTS_TOPIC = "order-events";
     public static final String PAYMENT_SERVICE_GROUP = "payment-service-group";
 
-    private KafkaTopicConfig() {
-        throw new UnsupportedOperationException("This is a constants class and cannot be instantiated");
+    @Bean
+    public NewTopic paymentEventsTopic(@Value("${messaging.topics.payment-events.partitions:6}") int partitions,
+                                       @Value("${messaging.topics.replicas:1}") int replicas) {
+        return TopicBuilder.name(PAYMENT_EVENTS_TOPIC).partitions(partitions).replicas(replicas).build();
     }
 }
@@ -1,6 +1,7 @@
 package com.ecommerce.paymentservice.controller;
 
 import com.ecommerce.paymentservice.dto.request.InitiatePaymentRequest;
+import com.ecommerce.paymentservice.dto.response.CursorPagedResponse;
 import com.ecommerce.paymentservice.dto.response.PagedResponse;
 import com.ecommerce.paymentservice.dto.response.PaymentInitiatedResponse;
 import com.ecommerce.paymentservice.dto.response.PaymentResponse;
@@ -72,6 +73,17 @@ public class PaymentController {
         return ResponseEntity.ok(paymentService.getMyPayments(userId, page, size));
     }
 
+    @GetMapping(value = "/my", params = "after")
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'STORE', 'ADMIN')")
+    @Operation(summary = "Get my payments by cursor", description = "Returns the current user's payments after a cursor, without a total count; pass an empty after to start")
+    public ResponseEntity<CursorPagedResponse<PaymentResponse>> getMyPaymentsAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size) {
+        UUID userId = extractUserId();
+        log.debug("GET /payments/my for user {}, after={}, size={}", userId, after, size);
+        return ResponseEntity.ok(paymentService.getMyPaymentsAfter(userId, after, size));
+    }
+
     @GetMapping("/{paymentId}/history")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'STORE', 'ADMIN')")
     @Operation(summary = "Get payment history", description = "Returns the status change history for a payment")
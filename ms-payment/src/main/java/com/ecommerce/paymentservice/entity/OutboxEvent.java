@@ -1,51 +0,0 @@
-package com.ecommerce.paymentservice.entity;
-
-import jakarta.persistence.*;
-import lombok.*;
-import org.hibernate.annotations.CreationTimestamp;
-
-import java.time.Instant;
-
-@Entity
-@Table(name = "outbox_events", indexes = {
-        @Index(name = "idx_outbox_published", columnList = "published, created_at")
-})
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class OutboxEvent {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(name = "aggregate_type", nullable = false, length = 50)
-    private String aggregateType;
-
-    @Column(name = "aggregate_id", nullable = false, length = 100)
-    private String aggregateId;
-
-    @Column(name = "event_type", nullable = false, length = 50)
-    private String eventType;
-
-    @Column(name = "topic", nullable = false, length = 100)
-    private String topic;
-
-    @Column(name = "partition_key", nullable = false, length = 100)
-    private String partitionKey;
-
-    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
-    private String payload;
-
-    @Column(name = "published", nullable = false)
-    @Builder.Default
-    private Boolean published = false;
-
-    @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
-    private Instant createdAt;
-
-    @Column(name = "published_at")
-    private Instant publishedAt;
-}
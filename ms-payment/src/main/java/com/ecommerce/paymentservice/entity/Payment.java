@@ -15,6 +15,7 @@ import java.util.UUID;
 @Table(name = "payments", indexes = {
         @Index(name = "idx_payment_order_number", columnList = "order_number"),
         @Index(name = "idx_payment_user_id", columnList = "user_id"),
+        @Index(name = "idx_payment_user_created_at_id", columnList = "user_id, created_at, id"),
         @Index(name = "idx_payment_kapital_order_id", columnList = "kapital_order_id", unique = true)
 })
 @Data
@@ -45,7 +45,8 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
-    @ExceptionHandler({InvalidPaymentStatusException.class, KapitalBankException.class, OrderNotConfirmedException.class})
+    @ExceptionHandler({InvalidPaymentStatusException.class, KapitalBankException.class, OrderNotConfirmedException.class,
+            InvalidCursorException.class})
     public ResponseEntity<ErrorResponse> handleBadRequestExceptions(RuntimeException ex, HttpServletRequest request) {
         log.warn("Bad request: {}", ex.getMessage());
         ErrorResponse errorResponse = new ErrorResponse(
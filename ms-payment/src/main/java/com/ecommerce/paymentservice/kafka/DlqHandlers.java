@@ -0,0 +1,23 @@
+package com.ecommerce.paymentservice.kafka;
+
+import com.ecommerce.messaging.dlq.DlqService;
+import com.ecommerce.paymentservice.config.KafkaTopicConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells the shared {@link DlqService} which consumer replays a failed event from each topic.
+ */
+@Component
+@RequiredArgsConstructor
+public class DlqHandlers {
+
+    private final DlqService dlqService;
+    private final OrderEventConsumer orderEventConsumer;
+
+    @PostConstruct
+    void registerHandlers() {
+        dlqService.registerHandler(KafkaTopicConfig.ORDER_EVENTS_TOPIC, orderEventConsumer::consumeOrderEvents);
+    }
+}
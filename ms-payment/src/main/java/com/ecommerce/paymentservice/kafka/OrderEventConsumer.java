@@ -1,57 +1,46 @@
 package com.ecommerce.paymentservice.kafka;
 
+import com.ecommerce.messaging.idempotency.IdempotencyGuard;
 import com.ecommerce.paymentservice.config.KafkaTopicConfig;
-import com.ecommerce.paymentservice.entity.ProcessedEvent;
-import com.ecommerce.paymentservice.repository.ProcessedEventRepository;
 import com.ecommerce.paymentservice.service.PaymentService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
-
 @Component
 @Slf4j
 public class OrderEventConsumer {
 
     private final ObjectMapper objectMapper;
     private final PaymentService paymentService;
-    private final ProcessedEventRepository processedEventRepository;
+    private final IdempotencyGuard idempotencyGuard;
 
     public OrderEventConsumer(@Qualifier("kafkaObjectMapper") ObjectMapper objectMapper,
                               PaymentService paymentService,
-                              ProcessedEventRepository processedEventRepository) {
+                              IdempotencyGuard idempotencyGuard) {
         this.objectMapper = objectMapper;
         this.paymentService = paymentService;
-        this.processedEventRepository = processedEventRepository;
+        this.idempotencyGuard = idempotencyGuard;
     }
 
     @Transactional
     @KafkaListener(
             topics = KafkaTopicConfig.ORDER_EVENTS_TOPIC,
-            groupId = KafkaTopicConfig.PAYMENT_SERVICE_GROUP
+            groupId = KafkaTopicConfig.PAYMENT_SERVICE_GROUP,
+            concurrency = "${messaging.consumer.concurrency.order-events:1}"
     )
     public void consumeOrderEvents(JsonNode node) {
         try {
             String eventId = node.has("eventId") ? node.get("eventId").asText() : null;
             String eventType = node.has("eventType") ? node.get("eventType").asText() : "";
 
-            if (eventId != null) {
-                try {
-                    processedEventRepository.saveAndFlush(ProcessedEvent.builder()
-                            .eventId(eventId)
-                            .eventType(eventType)
-                            .processedAt(Instant.now())
-                            .build());
-                } catch (DataIntegrityViolationException e) {
-                    log.info("Event {} already processed, skipping", eventId);
-                    return;
-                }
+            if (eventId != null && !idempotencyGuard.markProcessed(eventId, eventType)) {
+                log.info("Event {} already processed, skipping", eventId);
+                return;
             }
 
             switch (eventType) {
@@ -63,8 +52,6 @@ public class OrderEventConsumer {
                 }
                 default -> log.debug("Ignoring order event with type: {}", eventType);
             }
-        } catch (DataIntegrityViolationException e) {
-            log.info("Duplicate event detected, skipping");
         } catch (Exception e) {
             log.error("Error processing order event: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to process order event", e);
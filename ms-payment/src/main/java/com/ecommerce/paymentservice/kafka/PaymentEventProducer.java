@@ -1,12 +1,12 @@
 package com.ecommerce.paymentservice.kafka;
 
+import com.ecommerce.messaging.outbox.OutboxEvent;
+import com.ecommerce.messaging.outbox.OutboxEventRepository;
 import com.ecommerce.paymentservice.config.KafkaTopicConfig;
 import com.ecommerce.paymentservice.dto.event.PaymentFailedEvent;
 import com.ecommerce.paymentservice.dto.event.PaymentInitiatedEvent;
 import com.ecommerce.paymentservice.dto.event.PaymentRefundedEvent;
 import com.ecommerce.paymentservice.dto.event.PaymentSuccessEvent;
-import com.ecommerce.paymentservice.entity.OutboxEvent;
-import com.ecommerce.paymentservice.repository.OutboxEventRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
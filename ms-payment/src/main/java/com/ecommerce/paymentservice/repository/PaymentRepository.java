@@ -2,11 +2,16 @@ package com.ecommerce.paymentservice.repository;
 
 import com.ecommerce.paymentservice.entity.Payment;
 import com.ecommerce.paymentservice.entity.PaymentStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,6 +24,24 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     Page<Payment> findAllByUserIdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
 
+    List<Payment> findAllByUserIdOrderByCreatedAtDescIdDesc(UUID userId, Limit limit);
+
+    /**
+     * The payments after a keyset cursor. {@code createdAt <= :createdAt} is the bound the
+     * (user_id, created_at, id) index seeks to; the rest only skips rows of the cursor's own timestamp
+     * that were already returned.
+     */
+    @Query("""
+            SELECT p FROM Payment p
+            WHERE p.userId = :userId
+              AND p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.id < :id)
+            ORDER BY p.createdAt DESC, p.id DESC
+            """)
+    List<Payment> findAllByUserIdBefore(@Param("userId") UUID userId,
+                                        @Param("createdAt") Instant createdAt,
+                                        @Param("id") Long id,
+                                        Limit limit);
+
     Page<Payment> findAllByStatusOrderByCreatedAtDesc(PaymentStatus status, Pageable pageable);
 
     boolean existsByOrderNumberAndStatusNot(String orderNumber, PaymentStatus status);
@@ -10,6 +10,7 @@ import com.ecommerce.paymentservice.dto.kapitalbank.KapitalBankOrderResponse;
 import com.ecommerce.paymentservice.dto.kapitalbank.KapitalBankRefundResponse;
 import com.ecommerce.paymentservice.dto.kapitalbank.KapitalBankStatusResponse;
 import com.ecommerce.paymentservice.dto.request.InitiatePaymentRequest;
+import com.ecommerce.paymentservice.dto.response.CursorPagedResponse;
 import com.ecommerce.paymentservice.dto.response.PagedResponse;
 import com.ecommerce.paymentservice.dto.response.PaymentInitiatedResponse;
 import com.ecommerce.paymentservice.dto.response.PaymentResponse;
@@ -17,6 +18,7 @@ import com.ecommerce.paymentservice.dto.response.PaymentStatusHistoryResponse;
 import com.ecommerce.paymentservice.entity.Payment;
 import com.ecommerce.paymentservice.entity.PaymentStatus;
 import com.ecommerce.paymentservice.entity.PaymentStatusHistory;
+import com.ecommerce.paymentservice.exception.InvalidCursorException;
 import com.ecommerce.paymentservice.exception.InvalidPaymentStatusException;
 import com.ecommerce.paymentservice.exception.KapitalBankException;
 import com.ecommerce.paymentservice.exception.OrderNotConfirmedException;
@@ -28,6 +30,7 @@ import com.ecommerce.paymentservice.repository.PaymentRepository;
 import com.ecommerce.paymentservice.repository.PaymentStatusHistoryRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -340,6 +343,16 @@ public class PaymentService {
         return PagedResponse.from(payments, paymentMapper::toPaymentResponse);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<PaymentResponse> getMyPaymentsAfter(UUID userId, String after, int size) {
+        CursorPagedResponse.Cursor cursor = decodeCursor(after);
+        Limit limit = Limit.of(CursorPagedResponse.fetchSize(size));
+        List<Payment> payments = cursor == null
+                ? paymentRepository.findAllByUserIdOrderByCreatedAtDescIdDesc(userId, limit)
+                : paymentRepository.findAllByUserIdBefore(userId, cursor.createdAt(), cursor.id(), limit);
+        return CursorPagedResponse.from(payments, size, PaymentService::cursorOf, paymentMapper::toPaymentResponse);
+    }
+
     @Transactional(readOnly = true)
     public List<PaymentStatusHistoryResponse> getPaymentHistory(Long paymentId) {
         return statusHistoryRepository.findByPaymentIdOrderByCreatedAtDesc(paymentId).stream()
@@ -347,6 +360,18 @@ public class PaymentService {
                 .toList();
     }
 
+    private static CursorPagedResponse.Cursor decodeCursor(String after) {
+        try {
+            return CursorPagedResponse.Cursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(e.getMessage());
+        }
+    }
+
+    private static CursorPagedResponse.Cursor cursorOf(Payment payment) {
+        return new CursorPagedResponse.Cursor(payment.getCreatedAt(), payment.getId());
+    }
+
     private Payment findByKapitalOrderId(String kapitalOrderId) {
         return paymentRepository.findByKapitalOrderId(kapitalOrderId)
                 .orElseThrow(() -> new PaymentNotFoundException("Payment not found for Kapital order: " + kapitalOrderId));
@@ -6,10 +6,12 @@ import com.ecommerce.paymentservice.dto.kapitalbank.KapitalBankOrderResponse;
 import com.ecommerce.paymentservice.dto.kapitalbank.KapitalBankRefundResponse;
 import com.ecommerce.paymentservice.dto.kapitalbank.KapitalBankStatusResponse;
 import com.ecommerce.paymentservice.dto.request.InitiatePaymentRequest;
+import com.ecommerce.paymentservice.dto.response.CursorPagedResponse;
 import com.ecommerce.paymentservice.dto.response.PaymentInitiatedResponse;
 import com.ecommerce.paymentservice.dto.response.PaymentResponse;
 import com.ecommerce.paymentservice.entity.Payment;
 import com.ecommerce.paymentservice.entity.PaymentStatus;
+import com.ecommerce.paymentservice.exception.InvalidCursorException;
 import com.ecommerce.paymentservice.exception.InvalidPaymentStatusException;
 import com.ecommerce.paymentservice.exception.KapitalBankException;
 import com.ecommerce.paymentservice.exception.OrderNotConfirmedException;
@@ -23,9 +25,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -234,4 +238,36 @@ class PaymentServiceTest {
 
         assertThat(payment.getStatus()).isEqualTo(PaymentStatus.REFUNDED);
     }
+
+    @Test
+    void getMyPaymentsAfter_walksPagesByCursor() {
+        Instant now = Instant.parse("2026-01-01T10:00:00Z");
+        Payment newest = Payment.builder().id(3L).userId(userId).createdAt(now).build();
+        Payment tied = Payment.builder().id(2L).userId(userId).createdAt(now.minusSeconds(60)).build();
+        Payment oldest = Payment.builder().id(1L).userId(userId).createdAt(now.minusSeconds(60)).build();
+
+        when(paymentRepository.findAllByUserIdOrderByCreatedAtDescIdDesc(userId, Limit.of(3)))
+                .thenReturn(List.of(newest, tied, oldest));
+        when(paymentMapper.toPaymentResponse(any(Payment.class))).thenReturn(mock(PaymentResponse.class));
+
+        CursorPagedResponse<PaymentResponse> first = paymentService.getMyPaymentsAfter(userId, "", 2);
+
+        assertThat(first.content()).hasSize(2);
+        assertThat(first.nextCursor()).isNotNull();
+
+        when(paymentRepository.findAllByUserIdBefore(userId, now.minusSeconds(60), 2L, Limit.of(3)))
+                .thenReturn(List.of(oldest));
+
+        CursorPagedResponse<PaymentResponse> second = paymentService.getMyPaymentsAfter(userId, first.nextCursor(), 2);
+
+        assertThat(second.content()).hasSize(1);
+        assertThat(second.nextCursor()).isNull();
+        verify(paymentRepository, never()).count();
+    }
+
+    @Test
+    void getMyPaymentsAfter_malformedCursor_throwsInvalidCursorException() {
+        assertThatThrownBy(() -> paymentService.getMyPaymentsAfter(userId, "not-a-cursor", 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
 }
@@ -1,9 +1,13 @@
 package com.ecommerce.productservice.config;
 
-public final class KafkaTopicConfig {
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
 
-    private KafkaTopicConfig() {
-    }
+@Configuration
+public class KafkaTopicConfig {
 
     public static final String PRODUCT_EVENTS_TOPIC = "product-events";
 
@@ -11,4 +15,9 @@ public final class KafkaTopicConfig {
 
     public static final String PRODUCT_SERVICE_GROUP = "product-service-group";
 
+    @Bean
+    public NewTopic productEventsTopic(@Value("${messaging.topics.product-events.partitions:6}") int partitions,
+                                       @Value("${messaging.topics.replicas:1}") int replicas) {
+        return TopicBuilder.name(PRODUCT_EVENTS_TOPIC).partitions(partitions).replicas(replicas).build();
+    }
 }
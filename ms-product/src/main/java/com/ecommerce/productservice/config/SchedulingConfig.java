@@ -0,0 +1,23 @@
+package com.ecommerce.productservice.config;
+
+import com.ecommerce.messaging.scheduling.MonitoredTaskScheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Search maintenance runs on its own pool: a suggestion rebuild reads the whole catalog and must not hold up
+ * the outbox poll.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    public static final String SEARCH = "searchScheduler";
+
+    @Bean(name = SEARCH)
+    public MonitoredTaskScheduler searchScheduler(MeterRegistry meterRegistry,
+                                                  @Value("${product.scheduling.search.pool-size:1}") int poolSize) {
+        return new MonitoredTaskScheduler("search-scheduler", poolSize, meterRegistry);
+    }
+}
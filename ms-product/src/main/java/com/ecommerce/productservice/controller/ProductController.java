@@ -3,11 +3,15 @@ package com.ecommerce.productservice.controller;
 import com.ecommerce.productservice.dto.request.CreateProductRequest;
 import com.ecommerce.productservice.dto.request.ProductFilterRequest;
 import com.ecommerce.productservice.dto.request.UpdateProductRequest;
+import com.ecommerce.productservice.dto.response.CursorPagedResponse;
+import com.ecommerce.productservice.dto.response.FacetedPagedResponse;
 import com.ecommerce.productservice.dto.response.PagedResponse;
 import com.ecommerce.productservice.dto.response.ProductCreateResponse;
 import com.ecommerce.productservice.dto.response.ProductDetailResponse;
 import com.ecommerce.productservice.dto.response.ProductSummaryResponse;
+import com.ecommerce.productservice.dto.response.SuggestionResponse;
 import com.ecommerce.productservice.service.ProductService;
+import com.ecommerce.productservice.service.ProductSuggestionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -32,10 +36,11 @@ import java.util.Map;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductSuggestionService productSuggestionService;
 
     @GetMapping
-    @Operation(summary = "Filter products", description = "Retrieves a paginated list of products with dynamic filtering, sorting, and search")
-    public ResponseEntity<PagedResponse<ProductSummaryResponse>> getProducts(
+    @Operation(summary = "Filter products", description = "Retrieves a paginated list of products with dynamic filtering, sorting, and search, optionally with facet counts")
+    public ResponseEntity<FacetedPagedResponse<ProductSummaryResponse>> getProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String keyword,
@@ -46,23 +51,34 @@ public class ProductController {
             @RequestParam(required = false) String stockStatus,
             @RequestParam(required = false) Map<String, String> attributes,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
-
-        Map<String, String> filteredAttributes = null;
-        if (attributes != null) {
-            filteredAttributes = attributes.entrySet().stream()
-                    .filter(e -> e.getKey().startsWith("attr."))
-                    .collect(java.util.stream.Collectors.toMap(
-                            e -> e.getKey().substring(5),
-                            Map.Entry::getValue));
-            if (filteredAttributes.isEmpty()) filteredAttributes = null;
-        }
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean facets) {
+
+        ProductFilterRequest filter = new ProductFilterRequest(
+                keyword, categoryId, featured, minPrice, maxPrice,
+                stockStatus, attributeFilters(attributes), sortBy, sortDir);
+
+        return ResponseEntity.ok(productService.filterProducts(filter, page, size, facets));
+    }
+
+    @GetMapping(params = "after")
+    @Operation(summary = "Filter products by cursor", description = "Retrieves filtered products newest first after a cursor, without a total count; pass an empty after to start")
+    public ResponseEntity<CursorPagedResponse<ProductSummaryResponse>> getProductsAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Boolean featured,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String stockStatus,
+            @RequestParam(required = false) Map<String, String> attributes) {
 
         ProductFilterRequest filter = new ProductFilterRequest(
                 keyword, categoryId, featured, minPrice, maxPrice,
-                stockStatus, filteredAttributes, sortBy, sortDir);
+                stockStatus, attributeFilters(attributes), null, null);
 
-        return ResponseEntity.ok(productService.filterProducts(filter, page, size));
+        return ResponseEntity.ok(productService.filterProductsAfter(filter, after, size));
     }
 
     @GetMapping("/{id}")
@@ -110,6 +126,14 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest products", description = "Returns product and category names starting with the typed prefix")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productSuggestionService.suggest(q, limit));
+    }
+
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "Get products by category", description = "Retrieves paginated products by category ID")
     public ResponseEntity<PagedResponse<ProductSummaryResponse>> getProductsByCategory(
@@ -159,4 +183,19 @@ public class ProductController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Attribute filters arrive as {@code attr.<key>} query parameters next to the named ones.
+     */
+    private static Map<String, String> attributeFilters(Map<String, String> params) {
+        if (params == null) {
+            return null;
+        }
+        Map<String, String> attributes = params.entrySet().stream()
+                .filter(e -> e.getKey().startsWith("attr."))
+                .collect(java.util.stream.Collectors.toMap(
+                        e -> e.getKey().substring(5),
+                        Map.Entry::getValue));
+        return attributes.isEmpty() ? null : attributes;
+    }
+
 }
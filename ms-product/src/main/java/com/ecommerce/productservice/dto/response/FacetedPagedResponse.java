@@ -0,0 +1,28 @@
+package com.ecommerce.productservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * A {@link PagedResponse} with facet counts alongside; {@code facets} is omitted unless requested.
+ */
+public record FacetedPagedResponse<T>(
+        List<T> content,
+        int page,
+        int size,
+        long totalElements,
+        int totalPages,
+        @JsonInclude(JsonInclude.Include.NON_NULL) ProductFacetsResponse facets
+) {
+    public static <T> FacetedPagedResponse<T> of(PagedResponse<T> page, ProductFacetsResponse facets) {
+        return new FacetedPagedResponse<>(
+                page.content(),
+                page.page(),
+                page.size(),
+                page.totalElements(),
+                page.totalPages(),
+                facets
+        );
+    }
+}
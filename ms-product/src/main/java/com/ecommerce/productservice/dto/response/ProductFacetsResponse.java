@@ -0,0 +1,25 @@
+package com.ecommerce.productservice.dto.response;
+
+import com.ecommerce.productservice.entity.StockStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts of the products matching a filter, per facet value. Categories, stock statuses and attribute
+ * values without a matching product are left out; every price bucket is listed.
+ */
+public record ProductFacetsResponse(
+        long total,
+        long featured,
+        Map<Long, Long> categories,
+        Map<StockStatus, Long> stockStatuses,
+        List<PriceBucket> priceBuckets,
+        Map<String, Map<String, Long>> attributes
+) {
+    /**
+     * Products priced from {@code min} (inclusive) up to {@code max} (exclusive); a null bound is open.
+     */
+    public record PriceBucket(BigDecimal min, BigDecimal max, long count) {}
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.productservice.dto.response;
+
+public record SuggestionResponse(
+        String text,
+        SuggestionType type,
+        Long id,
+        String slug
+) {
+    public enum SuggestionType {
+        PRODUCT,
+        CATEGORY
+    }
+}
@@ -20,7 +20,8 @@ import java.util.Map;
 
 @Entity
 @Table(name = "products", indexes = {
-        @Index(name = "idx_product_slug", columnList = "slug", unique = true)
+        @Index(name = "idx_product_slug", columnList = "slug", unique = true),
+        @Index(name = "idx_product_active_created_at_id", columnList = "is_active, created_at, id")
 })
 @Data
 @Builder
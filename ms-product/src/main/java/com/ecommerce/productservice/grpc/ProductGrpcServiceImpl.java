@@ -10,6 +10,7 @@ import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.server.service.GrpcService;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -102,6 +103,28 @@ public class ProductGrpcServiceImpl extends ProductGrpcServiceGrpc.ProductGrpcSe
         responseObserver.onCompleted();
     }
 
+    /**
+     * Pages through all active products in id order, for consumers that keep a local catalog replica.
+     */
+    @Override
+    public void listProducts(ListProductsRequest request, StreamObserver<ProductListResponse> responseObserver) {
+        log.info("gRPC: ListProducts called for page: {}, size: {}", request.getPage(), request.getSize());
+
+        Pageable pageable = PageRequest.of(request.getPage(), request.getSize(), Sort.by("id"));
+        PagedResponse<ProductSummaryResponse> pagedProducts = productService.getAllProducts(pageable);
+
+        ProductListResponse response = ProductListResponse.newBuilder()
+                .addAllProducts(pagedProducts.content().stream()
+                        .map(this::mapSummaryToProductResponse)
+                        .toList())
+                .setTotalCount((int) pagedProducts.totalElements())
+                .setPage(pagedProducts.page())
+                .setSize(pagedProducts.size())
+                .build();
+
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
 
     private ProductResponse mapToProductResponse(ProductDetailResponse product) {
         ProductResponse.Builder builder = ProductResponse.newBuilder()
@@ -0,0 +1,23 @@
+package com.ecommerce.productservice.kafka;
+
+import com.ecommerce.messaging.dlq.DlqService;
+import com.ecommerce.productservice.config.KafkaTopicConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells the shared {@link DlqService} which consumer replays a failed event from each topic.
+ */
+@Component
+@RequiredArgsConstructor
+public class DlqHandlers {
+
+    private final DlqService dlqService;
+    private final InventoryEventConsumer inventoryEventConsumer;
+
+    @PostConstruct
+    void registerHandlers() {
+        dlqService.registerHandler(KafkaTopicConfig.INVENTORY_EVENTS_TOPIC, node -> inventoryEventConsumer.consumeStockUpdatedEvent(node, "dlq-retry", 0, 0L));
+    }
+}
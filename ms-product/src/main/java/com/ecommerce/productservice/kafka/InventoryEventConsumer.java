@@ -1,17 +1,17 @@
 package com.ecommerce.productservice.kafka;
 
+import com.ecommerce.messaging.idempotency.IdempotencyGuard;
+import com.ecommerce.messaging.kafka.BatchEventProcessor;
 import com.ecommerce.productservice.config.KafkaTopicConfig;
 import com.ecommerce.productservice.dto.event.InventoryStockUpdatedEvent;
-import com.ecommerce.productservice.entity.ProcessedEvent;
 import com.ecommerce.productservice.entity.StockStatus;
 import com.ecommerce.productservice.exception.ResourceNotFoundException;
-import com.ecommerce.productservice.repositories.ProcessedEventRepository;
 import com.ecommerce.productservice.service.ProductService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
@@ -19,29 +19,36 @@ import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
+import java.util.List;
 
 @Component
 @Slf4j
 public class InventoryEventConsumer {
 
+    private static final String EVENT_TYPE = "STOCK_UPDATED";
+
     private final ProductService productService;
     private final ObjectMapper kafkaObjectMapper;
-    private final ProcessedEventRepository processedEventRepository;
+    private final IdempotencyGuard idempotencyGuard;
+    private final BatchEventProcessor batchEventProcessor;
 
     public InventoryEventConsumer(ProductService productService,
                                   @Qualifier("kafkaObjectMapper") ObjectMapper kafkaObjectMapper,
-                                  ProcessedEventRepository processedEventRepository) {
+                                  IdempotencyGuard idempotencyGuard,
+                                  BatchEventProcessor batchEventProcessor) {
         this.productService = productService;
         this.kafkaObjectMapper = kafkaObjectMapper;
-        this.processedEventRepository = processedEventRepository;
+        this.idempotencyGuard = idempotencyGuard;
+        this.batchEventProcessor = batchEventProcessor;
     }
 
     @Transactional
     @KafkaListener(
             topics = KafkaTopicConfig.INVENTORY_EVENTS_TOPIC,
             groupId = KafkaTopicConfig.PRODUCT_SERVICE_GROUP,
-            containerFactory = "kafkaListenerContainerFactory"
+            concurrency = "${messaging.consumer.concurrency.inventory-events:1}",
+            containerFactory = "kafkaListenerContainerFactory",
+            autoStartup = "#{!${messaging.consumer.batch.enabled:false}}"
     )
     public void consumeStockUpdatedEvent(
             @Payload JsonNode message,
@@ -56,39 +63,52 @@ public class InventoryEventConsumer {
                     event.eventId(), event.productId(), event.stockStatus(), partition, offset);
 
             String eventId = event.eventId();
-            if (eventId != null) {
-                try {
-                    processedEventRepository.saveAndFlush(ProcessedEvent.builder()
-                            .eventId(eventId)
-                            .eventType("STOCK_UPDATED")
-                            .processedAt(Instant.now())
-                            .build());
-                } catch (DataIntegrityViolationException e) {
-                    log.info("Event {} already processed, skipping", eventId);
-                    return;
-                }
-            }
-
-            if (event.productId() == null) {
-                log.error("Received event with null productId, skipping - eventId: {}", event.eventId());
+            if (eventId != null && !idempotencyGuard.markProcessed(eventId, EVENT_TYPE)) {
+                log.info("Event {} already processed, skipping", eventId);
                 return;
             }
 
-            StockStatus effectiveStatus = event.getEffectiveStockStatus();
-            productService.updateStockStatus(event.productId(), effectiveStatus);
-
-            log.info("Successfully updated stock status for product: {} to {}",
-                    event.productId(), effectiveStatus);
+            applyStockUpdate(event);
 
-        } catch (DataIntegrityViolationException e) {
-            log.info("Duplicate event detected, skipping");
-        } catch (ResourceNotFoundException e) {
-            log.warn("Product not found for stock update - partition: {}, offset: {}. Skipping event.",
-                    partition, offset);
         } catch (Exception e) {
             log.error("Failed to process InventoryStockUpdatedEvent - partition: {}, offset: {}, error: {}",
                     partition, offset, e.getMessage(), e);
             throw new RuntimeException("Failed to process inventory event", e);
         }
     }
+
+    /**
+     * Batch variant of {@link #consumeStockUpdatedEvent}, used instead of it when
+     * {@code messaging.consumer.batch.enabled} is set.
+     */
+    @KafkaListener(
+            topics = KafkaTopicConfig.INVENTORY_EVENTS_TOPIC,
+            groupId = KafkaTopicConfig.PRODUCT_SERVICE_GROUP,
+            concurrency = "${messaging.consumer.concurrency.inventory-events:1}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${messaging.consumer.batch.enabled:false}"
+    )
+    public void consumeStockUpdatedEventBatch(List<ConsumerRecord<String, JsonNode>> records) {
+        log.debug("Received batch of {} inventory events", records.size());
+        batchEventProcessor.process(records, node -> EVENT_TYPE,
+                node -> applyStockUpdate(kafkaObjectMapper.treeToValue(node, InventoryStockUpdatedEvent.class)));
+    }
+
+    private void applyStockUpdate(InventoryStockUpdatedEvent event) {
+        if (event.productId() == null) {
+            log.error("Received event with null productId, skipping - eventId: {}", event.eventId());
+            return;
+        }
+
+        StockStatus effectiveStatus = event.getEffectiveStockStatus();
+        try {
+            productService.updateStockStatus(event.productId(), effectiveStatus);
+        } catch (ResourceNotFoundException e) {
+            log.warn("Product {} not found for stock update, skipping event {}", event.productId(), event.eventId());
+            return;
+        }
+
+        log.info("Successfully updated stock status for product: {} to {}",
+                event.productId(), effectiveStatus);
+    }
 }
@@ -0,0 +1,26 @@
+package com.ecommerce.productservice.repositories;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Exposes PostgreSQL's {@code value = any(array)} to JPQL and the Criteria API as
+ * {@code any_element(value, array)}. The array is bound as one parameter however many elements it has,
+ * where an {@code IN} list needs a bind parameter per element and runs into the driver's limit.
+ * <p>
+ * Registered through {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ */
+public class ArrayFunctionContributor implements FunctionContributor {
+
+    public static final String ANY_ELEMENT = "any_element";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                ANY_ELEMENT,
+                "(?1 = any(?2))",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.productservice.repositories;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Exposes PostgreSQL's jsonb containment operator to JPQL and the Criteria API as
+ * {@code jsonb_containment(document, json)}. It has to render as the {@code @>} operator itself:
+ * the equivalent {@code jsonb_contains()} function call cannot use a GIN index.
+ * <p>
+ * Registered through {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ */
+public class JsonbFunctionContributor implements FunctionContributor {
+
+    public static final String JSONB_CONTAINMENT = "jsonb_containment";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                JSONB_CONTAINMENT,
+                "(?1 @> cast(?2 as jsonb))",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
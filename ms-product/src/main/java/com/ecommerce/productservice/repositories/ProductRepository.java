@@ -1,10 +1,16 @@
 package com.ecommerce.productservice.repositories;
 
 import com.ecommerce.productservice.entity.Product;
+import com.ecommerce.productservice.search.ProductFacetDocument;
+import com.ecommerce.productservice.search.ProductSearchDocument;
+import com.ecommerce.productservice.search.SuggestionSource;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -45,4 +51,47 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
 
     Page<Product> findByNameContainingIgnoreCaseAndIsActiveTrue(String keyword, Pageable pageable);
 
+    @Query("""
+            SELECT new com.ecommerce.productservice.search.ProductSearchDocument(
+                p.id, p.name, p.shortDescription, p.sku, c.name)
+            FROM Product p LEFT JOIN p.category c
+            WHERE p.isActive = true AND p.id > :afterId
+            ORDER BY p.id
+            """)
+    List<ProductSearchDocument> findSearchDocuments(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("""
+            SELECT new com.ecommerce.productservice.search.ProductSearchDocument(
+                p.id, p.name, p.shortDescription, p.sku, c.name)
+            FROM Product p JOIN p.category c
+            WHERE p.isActive = true AND c.id = :categoryId
+            """)
+    List<ProductSearchDocument> findSearchDocumentsByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query("""
+            SELECT new com.ecommerce.productservice.search.ProductFacetDocument(
+                p.id, c.id, p.isFeatured, p.price, p.stockStatus, p.attributes)
+            FROM Product p LEFT JOIN p.category c
+            WHERE p.isActive = true AND p.id > :afterId
+            ORDER BY p.id
+            """)
+    List<ProductFacetDocument> findFacetDocuments(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("""
+            SELECT new com.ecommerce.productservice.search.SuggestionSource(
+                p.id, p.name, p.slug, p.isFeatured, CAST(NULL AS Long))
+            FROM Product p
+            WHERE p.isActive = true AND p.id > :afterId
+            ORDER BY p.id
+            """)
+    List<SuggestionSource> findProductSuggestionSources(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("""
+            SELECT new com.ecommerce.productservice.search.SuggestionSource(
+                c.id, c.name, c.slug, false, COUNT(p))
+            FROM Category c LEFT JOIN Product p ON p.category = c AND p.isActive = true
+            GROUP BY c.id, c.name, c.slug
+            """)
+    List<SuggestionSource> findCategorySuggestionSources();
+
 }
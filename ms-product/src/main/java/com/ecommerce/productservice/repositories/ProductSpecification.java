@@ -2,16 +2,24 @@ package com.ecommerce.productservice.repositories;
 
 import com.ecommerce.productservice.entity.Product;
 import com.ecommerce.productservice.entity.StockStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.criteria.Predicate;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 public final class ProductSpecification {
 
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Pattern JSON_NUMBER = Pattern.compile("-?(0|[1-9]\\d*)(\\.\\d+)?([eE][+-]?\\d+)?");
+
     private ProductSpecification() {}
 
     public static Specification<Product> isActive() {
@@ -23,6 +31,27 @@ public final class ProductSpecification {
                 cb.like(cb.lower(root.get("name")), "%" + keyword.toLowerCase() + "%");
     }
 
+    /**
+     * Id is one of {@code ids}, bound as a single array parameter so a keyword matching much of the
+     * catalog does not become an {@code IN} list of that size.
+     */
+    public static Specification<Product> hasIdIn(RoaringBitmap ids) {
+        Long[] values = ids.stream().mapToObj(Long::valueOf).toArray(Long[]::new);
+        return (root, query, cb) -> cb.isTrue(cb.function(ArrayFunctionContributor.ANY_ELEMENT, Boolean.class,
+                root.get("id"), cb.literal(values)));
+    }
+
+    /**
+     * Products listed after the keyset position ({@code createdAt}, {@code id}) when walking newest first.
+     * The {@code createdAt <=} conjunct is the range the (is_active, created_at, id) index seeks to; the
+     * disjunction only drops rows of that same timestamp the previous page already returned.
+     */
+    public static Specification<Product> createdBefore(Instant createdAt, Long id) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("createdAt"), createdAt),
+                cb.or(cb.lessThan(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id)));
+    }
+
     public static Specification<Product> hasCategory(Long categoryId) {
         return (root, query, cb) ->
                 cb.equal(root.get("category").get("id"), categoryId);
@@ -50,13 +79,20 @@ public final class ProductSpecification {
                 cb.equal(root.get("stockStatus"), StockStatus.valueOf(status));
     }
 
+    /**
+     * Attribute {@code key} equals {@code value}, as jsonb containment so the GIN index on
+     * {@code attributes} serves it. The value arrives as text; when it also reads as a JSON number or
+     * boolean, that form matches too, as {@code ram=16} matched {@code {"ram": 16}} before.
+     */
     public static Specification<Product> hasAttribute(String key, String value) {
-        return (root, query, cb) ->
-                cb.equal(
-                        cb.function("jsonb_extract_path_text", String.class,
-                                root.get("attributes"), cb.literal(key)),
-                        value
-                );
+        return (root, query, cb) -> {
+            List<Predicate> alternatives = new ArrayList<>();
+            for (Object candidate : attributeValues(value)) {
+                alternatives.add(cb.isTrue(cb.function(JsonbFunctionContributor.JSONB_CONTAINMENT, Boolean.class,
+                        root.get("attributes"), cb.literal(toJson(Map.of(key, candidate))))));
+            }
+            return cb.or(alternatives.toArray(new Predicate[0]));
+        };
     }
 
     public static Specification<Product> buildFilter(
@@ -89,4 +125,23 @@ public final class ProductSpecification {
 
         return spec;
     }
+
+    static List<Object> attributeValues(String value) {
+        List<Object> values = new ArrayList<>();
+        values.add(value);
+        if ("true".equals(value) || "false".equals(value)) {
+            values.add(Boolean.valueOf(value));
+        } else if (JSON_NUMBER.matcher(value).matches()) {
+            values.add(new BigDecimal(value));
+        }
+        return values;
+    }
+
+    static String toJson(Map<String, Object> document) {
+        try {
+            return JSON.writeValueAsString(document);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Attribute filter is not serializable: " + document, e);
+        }
+    }
 }
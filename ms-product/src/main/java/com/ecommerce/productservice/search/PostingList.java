@@ -0,0 +1,64 @@
+package com.ecommerce.productservice.search;
+
+import java.util.Arrays;
+
+/**
+ * Documents containing one term, as parallel arrays of document ordinal and weighted term frequency.
+ * Ordinals are handed out in increasing order and only ever appended, so the list stays sorted and
+ * membership is a binary search.
+ */
+final class PostingList {
+
+    private int[] docs = new int[2];
+    private float[] freqs = new float[2];
+    private int size;
+
+    void add(int doc, float freq) {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+            freqs = Arrays.copyOf(freqs, size * 2);
+        }
+        docs[size] = doc;
+        freqs[size] = freq;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int doc(int index) {
+        return docs[index];
+    }
+
+    float freq(int index) {
+        return freqs[index];
+    }
+
+    /**
+     * @return the position of {@code doc}, or a negative value if it is not in the list
+     */
+    int indexOf(int doc) {
+        return Arrays.binarySearch(docs, 0, size, doc);
+    }
+
+    /**
+     * Drops deleted documents and renumbers the rest.
+     *
+     * @param remap new ordinal per old ordinal, or -1 for a deleted document
+     */
+    void compact(int[] remap) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int doc = remap[docs[i]];
+            if (doc >= 0) {
+                docs[kept] = doc;
+                freqs[kept] = freqs[i];
+                kept++;
+            }
+        }
+        size = kept;
+        docs = Arrays.copyOf(docs, Math.max(kept, 2));
+        freqs = Arrays.copyOf(freqs, Math.max(kept, 2));
+    }
+}
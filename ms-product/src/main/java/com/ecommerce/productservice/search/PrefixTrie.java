@@ -0,0 +1,169 @@
+package com.ecommerce.productservice.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable radix trie from string keys to ranked values, answering "best values under this prefix" with
+ * one walk down the trie and no scan: every node holds the top {@code k} values of its subtree, computed
+ * once when the trie is built.
+ * <p>
+ * Edges carry whole label strings, so chains of single-child nodes collapse into one node. Children are
+ * kept as a sorted array of first characters next to an array of nodes. Values are ranked by weight, then
+ * by shorter key; a value stored under several keys appears at most once per node.
+ */
+public final class PrefixTrie<T> {
+
+    public record Entry<T>(String key, T value, long weight) {}
+
+    private static final Comparator<Entry<?>> RANKING = Comparator.<Entry<?>>comparingLong(Entry::weight)
+            .reversed()
+            .thenComparingInt(entry -> entry.key().length())
+            .thenComparing(Entry::key);
+
+    private static final class Node<T> {
+        private final String label;
+        private final char[] firsts;
+        private final Node<T>[] children;
+        private final List<T> top;
+
+        private Node(String label, char[] firsts, Node<T>[] children, List<T> top) {
+            this.label = label;
+            this.firsts = firsts;
+            this.children = children;
+            this.top = top;
+        }
+
+        private Node<T> child(char first) {
+            int index = Arrays.binarySearch(firsts, first);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+
+    private final Node<T> root;
+    private final int size;
+
+    private PrefixTrie(Node<T> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static <T> PrefixTrie<T> empty() {
+        return build(List.of(), 1);
+    }
+
+    public static <T> PrefixTrie<T> build(List<Entry<T>> entries, int k) {
+        List<Entry<T>> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparing(Entry::key));
+        Builder<T> builder = new Builder<>(sorted, k);
+        return new PrefixTrie<>(builder.node("", 0, sorted.size(), 0).node(), sorted.size());
+    }
+
+    /**
+     * @return up to {@code limit} of the best values whose key starts with {@code prefix}, best first
+     */
+    public List<T> lookup(String prefix, int limit) {
+        Node<T> node = root;
+        int position = 0;
+        while (position < prefix.length()) {
+            Node<T> child = node.child(prefix.charAt(position));
+            if (child == null) {
+                return List.of();
+            }
+            int length = Math.min(child.label.length(), prefix.length() - position);
+            if (!child.label.regionMatches(0, prefix, position, length)) {
+                return List.of();
+            }
+            position += length;
+            node = child;
+        }
+        return node.top.size() <= limit ? node.top : node.top.subList(0, limit);
+    }
+
+    /** Number of keys the trie was built from. */
+    public int size() {
+        return size;
+    }
+
+    private record Built<T>(Node<T> node, List<Entry<T>> top) {}
+
+    private static final class Builder<T> {
+
+        private final List<Entry<T>> sorted;
+        private final int k;
+
+        private Builder(List<Entry<T>> sorted, int k) {
+            this.sorted = sorted;
+            this.k = k;
+        }
+
+        /**
+         * Builds the node for {@code sorted[from, to)}, whose keys all share their first {@code depth}
+         * characters. Shorter keys sort first, so the keys ending here lead the range.
+         */
+        @SuppressWarnings("unchecked")
+        private Built<T> node(String label, int from, int to, int depth) {
+            List<Entry<T>> candidates = new ArrayList<>();
+            int i = from;
+            while (i < to && sorted.get(i).key().length() == depth) {
+                candidates.add(sorted.get(i));
+                i++;
+            }
+
+            List<Character> firsts = new ArrayList<>();
+            List<Node<T>> children = new ArrayList<>();
+            while (i < to) {
+                String key = sorted.get(i).key();
+                char first = key.charAt(depth);
+                int j = i + 1;
+                while (j < to && sorted.get(j).key().charAt(depth) == first) {
+                    j++;
+                }
+                int end = commonPrefixLength(key, sorted.get(j - 1).key());
+                Built<T> child = node(key.substring(depth, end), i, j, end);
+                firsts.add(first);
+                children.add(child.node());
+                candidates.addAll(child.top());
+                i = j;
+            }
+
+            List<Entry<T>> top = best(candidates);
+            char[] firstChars = new char[firsts.size()];
+            for (int c = 0; c < firstChars.length; c++) {
+                firstChars[c] = firsts.get(c);
+            }
+            List<T> values = top.stream().map(Entry::value).toList();
+            Node<T> node = new Node<>(label, firstChars, children.toArray(new Node[0]), values);
+            return new Built<>(node, top);
+        }
+
+        private List<Entry<T>> best(List<Entry<T>> candidates) {
+            candidates.sort(RANKING);
+            Map<T, Boolean> seen = new IdentityHashMap<>();
+            List<Entry<T>> top = new ArrayList<>(Math.min(k, candidates.size()));
+            for (Entry<T> candidate : candidates) {
+                if (top.size() == k) {
+                    break;
+                }
+                if (seen.put(candidate.value(), Boolean.TRUE) == null) {
+                    top.add(candidate);
+                }
+            }
+            return Collections.unmodifiableList(top);
+        }
+
+        private static int commonPrefixLength(String a, String b) {
+            int max = Math.min(a.length(), b.length());
+            int i = 0;
+            while (i < max && a.charAt(i) == b.charAt(i)) {
+                i++;
+            }
+            return i;
+        }
+    }
+}
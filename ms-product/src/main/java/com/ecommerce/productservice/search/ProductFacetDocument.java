@@ -0,0 +1,31 @@
+package com.ecommerce.productservice.search;
+
+import com.ecommerce.productservice.entity.Category;
+import com.ecommerce.productservice.entity.Product;
+import com.ecommerce.productservice.entity.StockStatus;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * The product fields the facet index counts by, loaded with a constructor projection on startup.
+ */
+public record ProductFacetDocument(
+        Long id,
+        Long categoryId,
+        Boolean featured,
+        BigDecimal price,
+        StockStatus stockStatus,
+        Map<String, Object> attributes
+) {
+    public static ProductFacetDocument from(Product product) {
+        Category category = product.getCategory();
+        return new ProductFacetDocument(
+                product.getId(),
+                category != null ? category.getId() : null,
+                product.getIsFeatured(),
+                product.getPrice(),
+                product.getStockStatus(),
+                product.getAttributes());
+    }
+}
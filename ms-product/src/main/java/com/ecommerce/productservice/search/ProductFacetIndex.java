@@ -0,0 +1,419 @@
+package com.ecommerce.productservice.search;
+
+import com.ecommerce.productservice.dto.request.ProductFilterRequest;
+import com.ecommerce.productservice.dto.response.ProductFacetsResponse;
+import com.ecommerce.productservice.dto.response.ProductFacetsResponse.PriceBucket;
+import com.ecommerce.productservice.entity.Product;
+import com.ecommerce.productservice.entity.StockStatus;
+import com.ecommerce.productservice.repositories.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Facet counts for the product filter, answered from memory: one roaring bitmap of product ids per
+ * category, stock status, price bucket and scalar attribute value, plus one of featured products.
+ * <p>
+ * A filter is evaluated by intersecting the bitmaps its criteria select (the keyword as the caller's
+ * {@link ProductSearchIndex#matchingIdBitmap} result); each facet count is then the cardinality of the match
+ * intersected with that facet value's bitmap, so no count touches the database. Price ranges take the
+ * buckets they cover whole and check the prices of the products in the buckets they cut through.
+ * <p>
+ * Built on startup and kept current by the product write paths after commit, like the search index;
+ * until it is built no facets are returned. Product ids
+ * must fit in an {@code int}.
+ */
+@Slf4j
+@Component
+public class ProductFacetIndex {
+
+    private final ProductRepository productRepository;
+    private final BigDecimal[] priceBounds;
+    private final int maxAttributeValues;
+    private final int bootstrapPageSize;
+    private final Timer facetTimer;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, ProductFacetDocument> documents = new HashMap<>();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final RoaringBitmap featured = new RoaringBitmap();
+    private final Map<Long, RoaringBitmap> byCategory = new HashMap<>();
+    private final Map<StockStatus, RoaringBitmap> byStockStatus = new EnumMap<>(StockStatus.class);
+    private final RoaringBitmap[] byPriceBucket;
+    private final Map<String, Map<String, RoaringBitmap>> byAttribute = new TreeMap<>();
+    private final Set<Long> removedWhileBuilding = new HashSet<>();
+    private boolean building;
+    private volatile boolean ready;
+
+    public ProductFacetIndex(ProductRepository productRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${product.facets.price-bounds:25,50,100,250,500,1000}") BigDecimal[] priceBounds,
+                             @Value("${product.facets.max-attribute-values:20}") int maxAttributeValues,
+                             @Value("${product.search.bootstrap-page-size:1000}") int bootstrapPageSize) {
+        this.productRepository = productRepository;
+        this.priceBounds = priceBounds.clone();
+        Arrays.sort(this.priceBounds);
+        this.maxAttributeValues = maxAttributeValues;
+        this.bootstrapPageSize = bootstrapPageSize;
+        this.facetTimer = meterRegistry.timer("product.facets.duration");
+        this.byPriceBucket = new RoaringBitmap[this.priceBounds.length + 1];
+        for (int i = 0; i < byPriceBucket.length; i++) {
+            byPriceBucket[i] = new RoaringBitmap();
+        }
+    }
+
+    /**
+     * Loads every active product in id order, one page per write-lock hold. Products the write paths
+     * touched in the meantime are skipped, as the page read may predate them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.nanoTime();
+        setBuilding(true);
+        int loaded = 0;
+        try {
+            long afterId = 0;
+            List<ProductFacetDocument> page;
+            do {
+                page = productRepository.findFacetDocuments(afterId, Limit.of(bootstrapPageSize));
+                lock.writeLock().lock();
+                try {
+                    for (ProductFacetDocument document : page) {
+                        if (!documents.containsKey(document.id()) && !removedWhileBuilding.contains(document.id())) {
+                            add(document);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                loaded += page.size();
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).id();
+                }
+            } while (page.size() == bootstrapPageSize);
+
+            ready = true;
+            log.info("Facet index built with {} products in {} ms", loaded, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Facet index build stopped after {} products, facet counts stay unavailable: {}",
+                    loaded, e.getMessage());
+        } finally {
+            setBuilding(false);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Indexes the product as it will be once the current transaction commits. Inactive products are removed.
+     */
+    public void indexAfterCommit(Product product) {
+        if (!Boolean.TRUE.equals(product.getIsActive())) {
+            removeAfterCommit(product.getId());
+            return;
+        }
+        ProductFacetDocument document = ProductFacetDocument.from(product);
+        afterCommit(() -> index(document));
+    }
+
+    public void removeAfterCommit(Long productId) {
+        afterCommit(() -> remove(productId));
+    }
+
+    public void index(ProductFacetDocument document) {
+        lock.writeLock().lock();
+        try {
+            delete(document.id());
+            add(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            delete(productId);
+            if (building) {
+                removedWhileBuilding.add(productId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the active products matching the filter per facet value; empty while the index is not built.
+     * The filter's keyword is not looked up here: {@code keywordMatches} is the id set the caller already
+     * resolved for its page query, or null when the filter has no keyword, so both count the same products.
+     */
+    public Optional<ProductFacetsResponse> facets(ProductFilterRequest filter, RoaringBitmap keywordMatches) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        return Optional.of(facetTimer.record(() -> {
+            lock.readLock().lock();
+            try {
+                return count(match(filter, keywordMatches));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap match(ProductFilterRequest filter, RoaringBitmap keywordMatches) {
+        RoaringBitmap match = all.clone();
+        if (keywordMatches != null) {
+            match.and(keywordMatches);
+        }
+        if (filter.categoryId() != null) {
+            match.and(byCategory.getOrDefault(filter.categoryId(), new RoaringBitmap()));
+        }
+        if (Boolean.TRUE.equals(filter.featured())) {
+            match.and(featured);
+        }
+        if (filter.minPrice() != null || filter.maxPrice() != null) {
+            match.and(priceRange(filter.minPrice(), filter.maxPrice()));
+        }
+        if (filter.stockStatus() != null && !filter.stockStatus().isBlank()) {
+            match.and(byStockStatus.getOrDefault(StockStatus.valueOf(filter.stockStatus()), new RoaringBitmap()));
+        }
+        if (filter.attributes() != null) {
+            for (Map.Entry<String, String> attribute : filter.attributes().entrySet()) {
+                RoaringBitmap values = byAttribute.getOrDefault(attribute.getKey(), Map.of()).get(attribute.getValue());
+                match.and(values != null ? values : new RoaringBitmap());
+            }
+        }
+        return match;
+    }
+
+    private RoaringBitmap priceRange(BigDecimal min, BigDecimal max) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (int bucket = 0; bucket < byPriceBucket.length; bucket++) {
+            BigDecimal low = bucket > 0 ? priceBounds[bucket - 1] : null;
+            BigDecimal high = bucket < priceBounds.length ? priceBounds[bucket] : null;
+            boolean disjoint = (max != null && low != null && low.compareTo(max) > 0)
+                    || (min != null && high != null && high.compareTo(min) <= 0);
+            if (disjoint) {
+                continue;
+            }
+            boolean covered = (min == null || (low != null && low.compareTo(min) >= 0))
+                    && (max == null || (high != null && high.compareTo(max) <= 0));
+            if (covered) {
+                result.or(byPriceBucket[bucket]);
+                continue;
+            }
+            IntIterator ids = byPriceBucket[bucket].getIntIterator();
+            while (ids.hasNext()) {
+                int id = ids.next();
+                BigDecimal price = documents.get((long) id).price();
+                if ((min == null || price.compareTo(min) >= 0) && (max == null || price.compareTo(max) <= 0)) {
+                    result.add(id);
+                }
+            }
+        }
+        return result;
+    }
+
+    private ProductFacetsResponse count(RoaringBitmap match) {
+        Map<Long, Long> categories = new LinkedHashMap<>();
+        byCategory.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), (long) RoaringBitmap.andCardinality(match, entry.getValue())))
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> categories.put(entry.getKey(), entry.getValue()));
+
+        Map<StockStatus, Long> stockStatuses = new EnumMap<>(StockStatus.class);
+        byStockStatus.forEach((status, ids) -> {
+            long count = RoaringBitmap.andCardinality(match, ids);
+            if (count > 0) {
+                stockStatuses.put(status, count);
+            }
+        });
+
+        List<PriceBucket> priceBuckets = new ArrayList<>(byPriceBucket.length);
+        for (int bucket = 0; bucket < byPriceBucket.length; bucket++) {
+            priceBuckets.add(new PriceBucket(
+                    bucket > 0 ? priceBounds[bucket - 1] : null,
+                    bucket < priceBounds.length ? priceBounds[bucket] : null,
+                    RoaringBitmap.andCardinality(match, byPriceBucket[bucket])));
+        }
+
+        Map<String, Map<String, Long>> attributes = new LinkedHashMap<>();
+        byAttribute.forEach((key, values) -> {
+            Map<String, Long> counts = topValues(match, values);
+            if (!counts.isEmpty()) {
+                attributes.put(key, counts);
+            }
+        });
+
+        return new ProductFacetsResponse(match.getLongCardinality(), RoaringBitmap.andCardinality(match, featured),
+                categories, stockStatuses, priceBuckets, attributes);
+    }
+
+    /**
+     * The {@code product.facets.max-attribute-values} most frequent values of one attribute, most frequent first.
+     */
+    private Map<String, Long> topValues(RoaringBitmap match, Map<String, RoaringBitmap> values) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        values.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), (long) RoaringBitmap.andCardinality(match, entry.getValue())))
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(maxAttributeValues)
+                .forEach(entry -> counts.put(entry.getKey(), entry.getValue()));
+        return counts;
+    }
+
+    private void add(ProductFacetDocument document) {
+        int id = Math.toIntExact(document.id());
+        documents.put(document.id(), document);
+        all.add(id);
+        if (Boolean.TRUE.equals(document.featured())) {
+            featured.add(id);
+        }
+        if (document.categoryId() != null) {
+            byCategory.computeIfAbsent(document.categoryId(), c -> new RoaringBitmap()).add(id);
+        }
+        if (document.stockStatus() != null) {
+            byStockStatus.computeIfAbsent(document.stockStatus(), s -> new RoaringBitmap()).add(id);
+        }
+        if (document.price() != null) {
+            byPriceBucket[priceBucket(document.price())].add(id);
+        }
+        if (document.attributes() != null) {
+            document.attributes().forEach((key, value) -> {
+                String text = attributeText(value);
+                if (text != null) {
+                    byAttribute.computeIfAbsent(key, k -> new HashMap<>())
+                            .computeIfAbsent(text, v -> new RoaringBitmap())
+                            .add(id);
+                }
+            });
+        }
+    }
+
+    private void delete(Long productId) {
+        ProductFacetDocument document = documents.remove(productId);
+        if (document == null) {
+            return;
+        }
+        int id = Math.toIntExact(productId);
+        all.remove(id);
+        featured.remove(id);
+        if (document.categoryId() != null) {
+            removeFrom(byCategory, document.categoryId(), id);
+        }
+        if (document.stockStatus() != null) {
+            removeFrom(byStockStatus, document.stockStatus(), id);
+        }
+        if (document.price() != null) {
+            byPriceBucket[priceBucket(document.price())].remove(id);
+        }
+        if (document.attributes() != null) {
+            document.attributes().forEach((key, value) -> {
+                String text = attributeText(value);
+                Map<String, RoaringBitmap> values = byAttribute.get(key);
+                if (text != null && values != null) {
+                    removeFrom(values, text, id);
+                    if (values.isEmpty()) {
+                        byAttribute.remove(key);
+                    }
+                }
+            });
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, RoaringBitmap> bitmaps, K key, int id) {
+        RoaringBitmap ids = bitmaps.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    private int priceBucket(BigDecimal price) {
+        int bucket = 0;
+        while (bucket < priceBounds.length && price.compareTo(priceBounds[bucket]) >= 0) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    /**
+     * The value as it is written in an {@code attr.} filter: strings as they are, numbers and booleans as
+     * their text. Nested objects and arrays are not faceted.
+     */
+    private static String attributeText(Object value) {
+        if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        return null;
+    }
+
+    private void setBuilding(boolean building) {
+        lock.writeLock().lock();
+        try {
+            this.building = building;
+            removedWhileBuilding.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable update) {
+        Runnable guarded = () -> {
+            try {
+                update.run();
+            } catch (Exception e) {
+                log.warn("Facet index update failed, the entry stays stale until the next restart: {}", e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.productservice.search;
+
+import com.ecommerce.productservice.entity.Category;
+import com.ecommerce.productservice.entity.Product;
+
+/**
+ * The product fields the search index reads. Loaded with a constructor projection when the index is
+ * built, so bootstrapping never hydrates full entities or their images.
+ */
+public record ProductSearchDocument(
+        Long id,
+        String name,
+        String shortDescription,
+        String sku,
+        String categoryName
+) {
+    public static ProductSearchDocument from(Product product) {
+        Category category = product.getCategory();
+        return new ProductSearchDocument(
+                product.getId(),
+                product.getName(),
+                product.getShortDescription(),
+                product.getSku(),
+                category != null ? category.getName() : null);
+    }
+}
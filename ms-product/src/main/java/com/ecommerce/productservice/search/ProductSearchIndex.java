@@ -0,0 +1,501 @@
+package com.ecommerce.productservice.search;
+
+import com.ecommerce.productservice.entity.Product;
+import com.ecommerce.productservice.repositories.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over the active products' name, SKU, category name and short description,
+ * so keyword search does not sequentially scan {@code products} with {@code LIKE '%keyword%'}.
+ * <p>
+ * Text goes through {@link TextAnalyzer}. Hits must contain every query term, the last one also matching
+ * as a prefix of up to {@code product.search.prefix-expansions} indexed terms, and are ranked with BM25
+ * over the fields weighted name = SKU > category > description.
+ * <p>
+ * Built from the database on startup; until then {@link #isReady()} is false and callers fall back to the
+ * database. Afterwards the product write paths keep it current once their transaction commits. An update
+ * marks the old document deleted and appends a new one; deleted documents are dropped by a compaction
+ * once they make up a quarter of the index.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+    public record Hits(List<Long> productIds, int total) {}
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float NAME_WEIGHT = 3f;
+    private static final float SKU_WEIGHT = 3f;
+    private static final float CATEGORY_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_DELETED_BEFORE_COMPACTION = 1024;
+    private static final Comparator<Map.Entry<Integer, Float>> RANKING = Map.Entry.<Integer, Float>comparingByValue()
+            .reversed()
+            .thenComparing(Map.Entry.comparingByKey());
+
+    private final ProductRepository productRepository;
+    private final int prefixExpansions;
+    private final int bootstrapPageSize;
+    private final Timer searchTimer;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<Long, Integer> ordinalByProduct = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private final Set<Long> removedWhileBuilding = new HashSet<>();
+    private long[] productIds = new long[1024];
+    private float[] lengths = new float[1024];
+    private int ordinals;
+    private double totalLength;
+    private boolean building;
+    private volatile boolean ready;
+
+    public ProductSearchIndex(ProductRepository productRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${product.search.prefix-expansions:50}") int prefixExpansions,
+                              @Value("${product.search.bootstrap-page-size:1000}") int bootstrapPageSize) {
+        this.productRepository = productRepository;
+        this.prefixExpansions = prefixExpansions;
+        this.bootstrapPageSize = bootstrapPageSize;
+        this.searchTimer = meterRegistry.timer("product.search.duration");
+        Gauge.builder("product.search.documents", this, ProductSearchIndex::size).register(meterRegistry);
+    }
+
+    /**
+     * Loads every active product in id order, one page per write-lock hold so searches keep running.
+     * Products the write paths touched in the meantime are skipped, as the page read may predate them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.nanoTime();
+        setBuilding(true);
+        int loaded = 0;
+        try {
+            long afterId = 0;
+            List<ProductSearchDocument> page;
+            do {
+                page = productRepository.findSearchDocuments(afterId, Limit.of(bootstrapPageSize));
+                lock.writeLock().lock();
+                try {
+                    for (ProductSearchDocument document : page) {
+                        if (!ordinalByProduct.containsKey(document.id())
+                                && !removedWhileBuilding.contains(document.id())) {
+                            add(document);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                loaded += page.size();
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).id();
+                }
+            } while (page.size() == bootstrapPageSize);
+
+            ready = true;
+            log.info("Search index built with {} products and {} terms in {} ms",
+                    loaded, termCount(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Search index build stopped after {} products, keyword search stays on the database: {}",
+                    loaded, e.getMessage());
+        } finally {
+            setBuilding(false);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Indexes the product as it will be once the current transaction commits. Inactive products are removed.
+     */
+    public void indexAfterCommit(Product product) {
+        if (!Boolean.TRUE.equals(product.getIsActive())) {
+            removeAfterCommit(product.getId());
+            return;
+        }
+        ProductSearchDocument document = ProductSearchDocument.from(product);
+        afterCommit(() -> index(document));
+    }
+
+    public void removeAfterCommit(Long productId) {
+        afterCommit(() -> remove(productId));
+    }
+
+    /**
+     * Re-reads the products of a category after its name changed.
+     */
+    public void reindexCategoryAfterCommit(Long categoryId) {
+        afterCommit(() -> productRepository.findSearchDocumentsByCategoryId(categoryId).forEach(this::index));
+    }
+
+    public void index(ProductSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            delete(document.id());
+            add(document);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            delete(productId);
+            if (building) {
+                removedWhileBuilding.add(productId);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks the products matching every term of the query and returns the requested slice.
+     */
+    public Hits search(String query, int offset, int limit) {
+        return searchTimer.record(() -> {
+            lock.readLock().lock();
+            try {
+                return rank(query, offset, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Every product matching the query, unranked, for intersecting with other filters or narrowing a
+     * database filter; empty when the index is not built yet. Product ids must fit in an {@code int}.
+     */
+    public Optional<RoaringBitmap> matchingIdBitmap(String query) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.of(matches(query));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalByProduct.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void setBuilding(boolean building) {
+        lock.writeLock().lock();
+        try {
+            this.building = building;
+            removedWhileBuilding.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Hits rank(String query, int offset, int limit) {
+        List<List<PostingList>> groups = termGroups(query);
+        if (groups.isEmpty() || ordinals == 0) {
+            return new Hits(List.of(), 0);
+        }
+        // Candidates come from the rarest term; the other terms only filter and score them
+        groups.sort(Comparator.comparingInt(ProductSearchIndex::postingCount));
+        float avgLength = (float) (totalLength / ordinals);
+
+        Map<Integer, Float> scores = new HashMap<>();
+        for (PostingList list : groups.get(0)) {
+            float idf = idf(list);
+            for (int i = 0; i < list.size(); i++) {
+                int doc = list.doc(i);
+                if (!deleted.get(doc)) {
+                    scores.merge(doc, bm25(idf, list.freq(i), doc, avgLength), Float::sum);
+                }
+            }
+        }
+        for (List<PostingList> group : groups.subList(1, groups.size())) {
+            float[] idfs = new float[group.size()];
+            for (int i = 0; i < idfs.length; i++) {
+                idfs[i] = idf(group.get(i));
+            }
+            Iterator<Map.Entry<Integer, Float>> candidates = scores.entrySet().iterator();
+            while (candidates.hasNext()) {
+                Map.Entry<Integer, Float> candidate = candidates.next();
+                int doc = candidate.getKey();
+                float score = 0;
+                boolean matched = false;
+                for (int i = 0; i < idfs.length; i++) {
+                    PostingList list = group.get(i);
+                    int index = list.indexOf(doc);
+                    if (index >= 0) {
+                        score += bm25(idfs[i], list.freq(index), doc, avgLength);
+                        matched = true;
+                    }
+                }
+                if (matched) {
+                    candidate.setValue(candidate.getValue() + score);
+                } else {
+                    candidates.remove();
+                }
+            }
+        }
+        return new Hits(top(scores, offset, limit), scores.size());
+    }
+
+    private RoaringBitmap matches(String query) {
+        RoaringBitmap ids = new RoaringBitmap();
+        List<List<PostingList>> groups = termGroups(query);
+        if (groups.isEmpty()) {
+            return ids;
+        }
+        groups.sort(Comparator.comparingInt(ProductSearchIndex::postingCount));
+
+        RoaringBitmap docs = new RoaringBitmap();
+        for (PostingList list : groups.get(0)) {
+            for (int i = 0; i < list.size(); i++) {
+                if (!deleted.get(list.doc(i))) {
+                    docs.add(list.doc(i));
+                }
+            }
+        }
+        for (List<PostingList> group : groups.subList(1, groups.size())) {
+            RoaringBitmap kept = new RoaringBitmap();
+            IntIterator candidates = docs.getIntIterator();
+            while (candidates.hasNext()) {
+                int doc = candidates.next();
+                for (PostingList list : group) {
+                    if (list.indexOf(doc) >= 0) {
+                        kept.add(doc);
+                        break;
+                    }
+                }
+            }
+            docs = kept;
+        }
+
+        IntIterator matched = docs.getIntIterator();
+        while (matched.hasNext()) {
+            ids.add(Math.toIntExact(productIds[matched.next()]));
+        }
+        return ids;
+    }
+
+    /**
+     * One group of posting lists per distinct query term. Stop words are dropped except as the last token,
+     * where they may be the start of a longer word ("an" of "android").
+     */
+    private List<List<PostingList>> termGroups(String query) {
+        List<String> tokens = TextAnalyzer.tokenize(query);
+        Map<String, List<PostingList>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            boolean last = i == tokens.size() - 1;
+            boolean stopWord = TextAnalyzer.isStopWord(token);
+            if (stopWord && !last) {
+                continue;
+            }
+            String term = TextAnalyzer.stem(token);
+            List<PostingList> group = groups.computeIfAbsent(term, t -> new ArrayList<>());
+            PostingList exact = postings.get(term);
+            if (!stopWord && exact != null && !group.contains(exact)) {
+                group.add(exact);
+            }
+            if (last && token.length() >= MIN_PREFIX_LENGTH) {
+                addPrefixExpansions(token, group);
+            }
+            if (stopWord && group.isEmpty()) {
+                groups.remove(term);
+            }
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Adds the most frequent indexed terms starting with {@code prefix}.
+     */
+    private void addPrefixExpansions(String prefix, List<PostingList> group) {
+        PriorityQueue<PostingList> largest = new PriorityQueue<>(Comparator.comparingInt(PostingList::size));
+        for (PostingList list : postings.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+            if (!group.contains(list)) {
+                largest.offer(list);
+                if (largest.size() > prefixExpansions) {
+                    largest.poll();
+                }
+            }
+        }
+        group.addAll(largest);
+    }
+
+    private List<Long> top(Map<Integer, Float> scores, int offset, int limit) {
+        int wanted = (int) Math.min(scores.size(), (long) offset + limit);
+        if (offset >= wanted) {
+            return List.of();
+        }
+        PriorityQueue<Map.Entry<Integer, Float>> best = new PriorityQueue<>(RANKING.reversed());
+        for (Map.Entry<Integer, Float> entry : scores.entrySet()) {
+            best.offer(entry);
+            if (best.size() > wanted) {
+                best.poll();
+            }
+        }
+        List<Long> ranked = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            ranked.add(productIds[best.poll().getKey()]);
+        }
+        Collections.reverse(ranked);
+        return ranked.subList(offset, ranked.size());
+    }
+
+    private float bm25(float idf, float freq, int doc, float avgLength) {
+        return idf * freq * (K1 + 1) / (freq + K1 * (1 - B + B * lengths[doc] / avgLength));
+    }
+
+    private float idf(PostingList list) {
+        // Deleted documents still count until the next compaction, as in Lucene
+        int df = list.size();
+        return (float) Math.log(1 + (ordinals - df + 0.5) / (df + 0.5));
+    }
+
+    private static int postingCount(List<PostingList> group) {
+        int count = 0;
+        for (PostingList list : group) {
+            count += list.size();
+        }
+        return count;
+    }
+
+    private void add(ProductSearchDocument document) {
+        Map<String, Float> freqs = new HashMap<>();
+        float length = addTerms(freqs, document.name(), NAME_WEIGHT)
+                + addTerms(freqs, document.sku(), SKU_WEIGHT)
+                + addTerms(freqs, document.categoryName(), CATEGORY_WEIGHT)
+                + addTerms(freqs, document.shortDescription(), DESCRIPTION_WEIGHT);
+        if (freqs.isEmpty()) {
+            return;
+        }
+
+        int doc = ordinals++;
+        if (doc == productIds.length) {
+            productIds = Arrays.copyOf(productIds, doc * 2);
+            lengths = Arrays.copyOf(lengths, doc * 2);
+        }
+        productIds[doc] = document.id();
+        lengths[doc] = length;
+        totalLength += length;
+        ordinalByProduct.put(document.id(), doc);
+        freqs.forEach((term, freq) -> postings.computeIfAbsent(term, t -> new PostingList()).add(doc, freq));
+    }
+
+    private static float addTerms(Map<String, Float> freqs, String text, float weight) {
+        List<String> terms = TextAnalyzer.analyze(text);
+        for (String term : terms) {
+            freqs.merge(term, weight, Float::sum);
+        }
+        return terms.size() * weight;
+    }
+
+    private void delete(Long productId) {
+        Integer doc = ordinalByProduct.remove(productId);
+        if (doc != null) {
+            deleted.set(doc);
+        }
+    }
+
+    private void compactIfNeeded() {
+        int deletedCount = deleted.cardinality();
+        if (deletedCount < MIN_DELETED_BEFORE_COMPACTION || deletedCount < ordinalByProduct.size() / 4) {
+            return;
+        }
+        int[] remap = new int[ordinals];
+        int next = 0;
+        totalLength = 0;
+        for (int doc = 0; doc < ordinals; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+            } else {
+                remap[doc] = next;
+                productIds[next] = productIds[doc];
+                lengths[next] = lengths[doc];
+                totalLength += lengths[next];
+                ordinalByProduct.put(productIds[next], next);
+                next++;
+            }
+        }
+        postings.values().removeIf(list -> {
+            list.compact(remap);
+            return list.size() == 0;
+        });
+        deleted.clear();
+        ordinals = next;
+        log.info("Compacted search index, dropped {} deleted documents", deletedCount);
+    }
+
+    private void afterCommit(Runnable update) {
+        Runnable guarded = () -> {
+            try {
+                update.run();
+            } catch (Exception e) {
+                log.warn("Search index update failed, the entry stays stale until the next build: {}", e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.productservice.search;
+
+/**
+ * A product or category name the suggestion trie is built from. {@code products} is the number of active
+ * products in a category, and null for products.
+ */
+public record SuggestionSource(
+        Long id,
+        String name,
+        String slug,
+        Boolean featured,
+        Long products
+) {}
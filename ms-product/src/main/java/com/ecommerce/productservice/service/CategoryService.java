@@ -14,6 +14,7 @@ import com.ecommerce.productservice.exception.ResourceNotFoundException;
 import com.ecommerce.productservice.mapper.CategoryMapper;
 import com.ecommerce.productservice.repositories.CategoryRepository;
 import com.ecommerce.productservice.repositories.ProductRepository;
+import com.ecommerce.productservice.search.ProductSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
@@ -23,6 +24,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @Slf4j
@@ -32,6 +34,8 @@ public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
     private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSuggestionService productSuggestionService;
 
     @Transactional
     @Caching(evict = {
@@ -53,6 +57,7 @@ public class CategoryService {
         }
 
         Category savedCategory = categoryRepository.save(category);
+        productSuggestionService.markStaleAfterCommit();
         log.info("Category created successfully with id: {}", savedCategory.getId());
 
         return categoryMapper.toCreateResponse(savedCategory);
@@ -86,11 +91,17 @@ public class CategoryService {
             category.setParent(parent);
         }
 
+        String oldName = category.getName();
         categoryMapper.updateEntityFromRequest(request, category);
 
         Category updatedCategory = categoryRepository.save(category);
         log.info("Category updated successfully with ID: {}", updatedCategory.getId());
 
+        if (!Objects.equals(oldName, updatedCategory.getName())) {
+            productSearchIndex.reindexCategoryAfterCommit(id);
+        }
+        productSuggestionService.markStaleAfterCommit();
+
         return categoryMapper.toDetailResponse(updatedCategory);
     }
 
@@ -116,6 +127,7 @@ public class CategoryService {
         }
 
         categoryRepository.delete(category);
+        productSuggestionService.markStaleAfterCommit();
         log.info("Category deleted successfully with ID: {}", id);
     }
 
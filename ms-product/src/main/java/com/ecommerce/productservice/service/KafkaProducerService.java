@@ -1,13 +1,13 @@
 package com.ecommerce.productservice.service;
 
+import com.ecommerce.messaging.outbox.OutboxEvent;
+import com.ecommerce.messaging.outbox.OutboxEventRepository;
 import com.ecommerce.productservice.config.KafkaTopicConfig;
 import com.ecommerce.productservice.dto.event.PriceChangedEvent;
 import com.ecommerce.productservice.dto.event.ProductCreatedEvent;
 import com.ecommerce.productservice.dto.event.ProductDeletedEvent;
 import com.ecommerce.productservice.dto.event.ProductUpdatedEvent;
-import com.ecommerce.productservice.entity.OutboxEvent;
 import com.ecommerce.productservice.entity.Product;
-import com.ecommerce.productservice.repositories.OutboxEventRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
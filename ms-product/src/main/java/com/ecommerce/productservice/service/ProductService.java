@@ -4,7 +4,10 @@ import com.ecommerce.productservice.config.RedisConfig;
 import com.ecommerce.productservice.dto.request.CreateProductRequest;
 import com.ecommerce.productservice.dto.request.ProductFilterRequest;
 import com.ecommerce.productservice.dto.request.UpdateProductRequest;
+import com.ecommerce.productservice.dto.response.CursorPagedResponse;
+import com.ecommerce.productservice.dto.response.FacetedPagedResponse;
 import com.ecommerce.productservice.dto.response.PagedResponse;
+import com.ecommerce.productservice.dto.response.ProductFacetsResponse;
 import com.ecommerce.productservice.dto.response.ProductCreateResponse;
 import com.ecommerce.productservice.dto.response.ProductDetailResponse;
 import com.ecommerce.productservice.dto.response.ProductSummaryResponse;
@@ -12,18 +15,23 @@ import com.ecommerce.productservice.entity.Category;
 import com.ecommerce.productservice.entity.Product;
 import com.ecommerce.productservice.entity.StockStatus;
 import com.ecommerce.productservice.exception.DuplicateResourceException;
+import com.ecommerce.productservice.exception.InvalidRequestException;
 import com.ecommerce.productservice.exception.ResourceNotFoundException;
 import com.ecommerce.productservice.mapper.ProductMapper;
 import com.ecommerce.productservice.repositories.CategoryRepository;
 import com.ecommerce.productservice.repositories.ProductRepository;
 import com.ecommerce.productservice.repositories.ProductSpecification;
+import com.ecommerce.productservice.search.ProductFacetIndex;
+import com.ecommerce.productservice.search.ProductSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -33,6 +41,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -43,6 +56,9 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final KafkaProducerService kafkaProducerService;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSuggestionService productSuggestionService;
+    private final ProductFacetIndex productFacetIndex;
 
     @Transactional
     public ProductCreateResponse createProduct(CreateProductRequest request) {
@@ -74,6 +90,9 @@ public class ProductService {
         log.info("Product created successfully with id: {}", savedProduct.getId());
 
         kafkaProducerService.publishProductCreatedEvent(savedProduct, request.initialStock());
+        productSearchIndex.indexAfterCommit(savedProduct);
+        productFacetIndex.indexAfterCommit(savedProduct);
+        productSuggestionService.markStaleAfterCommit();
 
         return productMapper.toCreateResponse(savedProduct);
     }
@@ -121,6 +140,9 @@ public class ProductService {
         log.info("Product updated successfully with ID: {}", updatedProduct.getId());
 
         kafkaProducerService.publishProductUpdatedEvent(updatedProduct, request.getStock());
+        productSearchIndex.indexAfterCommit(updatedProduct);
+        productFacetIndex.indexAfterCommit(updatedProduct);
+        productSuggestionService.markStaleAfterCommit();
 
         boolean priceChanged = (request.getPrice() != null && !request.getPrice().equals(oldPrice)) ||
                 (request.getDiscountPrice() != null && !request.getDiscountPrice().equals(oldDiscountPrice));
@@ -152,6 +174,9 @@ public class ProductService {
         log.info("Product soft-deleted successfully with ID: {}", id);
 
         kafkaProducerService.publishProductDeletedEvent(id, slug, sku);
+        productSearchIndex.removeAfterCommit(id);
+        productFacetIndex.removeAfterCommit(id);
+        productSuggestionService.markStaleAfterCommit();
     }
 
     @Transactional(readOnly = true)
@@ -176,22 +201,70 @@ public class ProductService {
         return productMapper.toDetailResponse(product);
     }
 
+    /**
+     * A page of the filtered listing, with facet counts when asked for. The keyword is resolved once, so
+     * the facets count exactly the products the page is drawn from; while the keyword falls back to a name
+     * {@code LIKE}, which the facet index cannot answer, facets are omitted.
+     */
     @Transactional(readOnly = true)
-    public PagedResponse<ProductSummaryResponse> filterProducts(ProductFilterRequest filter, int page, int size) {
+    public FacetedPagedResponse<ProductSummaryResponse> filterProducts(ProductFilterRequest filter, int page,
+                                                                       int size, boolean facets) {
+        Optional<RoaringBitmap> keywordMatches = keywordMatches(filter);
+        ProductFacetsResponse facetCounts = null;
+        if (facets && (!hasKeyword(filter) || keywordMatches.isPresent())) {
+            facetCounts = productFacetIndex.facets(filter, keywordMatches.orElse(null)).orElse(null);
+        }
+        return FacetedPagedResponse.of(filterPage(filter, keywordMatches, page, size), facetCounts);
+    }
+
+    private PagedResponse<ProductSummaryResponse> filterPage(ProductFilterRequest filter,
+                                                             Optional<RoaringBitmap> keywordMatches,
+                                                             int page, int size) {
         String sortBy = filter.sortBy() != null ? filter.sortBy() : "createdAt";
         String sortDir = filter.sortDir() != null ? filter.sortDir() : "desc";
         Sort sort = "asc".equalsIgnoreCase(sortDir) ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Specification<Product> spec = ProductSpecification.buildFilter(
-                filter.keyword(), filter.categoryId(), filter.featured(),
-                filter.minPrice(), filter.maxPrice(),
-                filter.stockStatus(), filter.attributes());
+        Optional<Specification<Product>> spec = filterSpecification(filter, keywordMatches);
+        if (spec.isEmpty()) {
+            return PagedResponse.from(Page.<Product>empty(pageable), productMapper::toSummaryResponse);
+        }
 
-        Page<Product> productPage = productRepository.findAll(spec, pageable);
+        Page<Product> productPage = productRepository.findAll(spec.get(), pageable);
         return PagedResponse.from(productPage, productMapper::toSummaryResponse);
     }
 
+    /**
+     * The filtered listing walked newest first by keyset: seeks past the {@code after} cursor instead of
+     * skipping an offset and runs no count query. The cursor fixes the order, so the filter's sort is ignored.
+     */
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<ProductSummaryResponse> filterProductsAfter(ProductFilterRequest filter,
+                                                                           String after, int size) {
+        CursorPagedResponse.Cursor cursor;
+        try {
+            cursor = CursorPagedResponse.Cursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("after", "malformed cursor");
+        }
+
+        Optional<Specification<Product>> spec = filterSpecification(filter, keywordMatches(filter));
+        if (spec.isEmpty()) {
+            return CursorPagedResponse.from(List.<Product>of(), size, ProductService::cursorOf,
+                    productMapper::toSummaryResponse);
+        }
+        Specification<Product> seek = cursor == null
+                ? spec.get()
+                : spec.get().and(ProductSpecification.createdBefore(cursor.createdAt(), cursor.id()));
+
+        List<Product> products = productRepository.findBy(seek, query -> query
+                .sortBy(Sort.by(Sort.Direction.DESC, "createdAt", "id"))
+                .limit(CursorPagedResponse.fetchSize(size))
+                .all());
+        return CursorPagedResponse.from(products, size, ProductService::cursorOf, productMapper::toSummaryResponse);
+    }
+
+
     @Transactional(readOnly = true)
     public PagedResponse<ProductSummaryResponse> getAllProducts(Pageable pageable) {
         log.info("Fetching all active products, page: {}, size: {}", pageable.getPageNumber(), pageable.getPageSize());
@@ -228,9 +301,21 @@ public class ProductService {
     public PagedResponse<ProductSummaryResponse> searchProducts(String keyword, Pageable pageable) {
         log.info("Searching products with keyword: '{}', page: {}, size: {}", keyword, pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Product> productPage = productRepository.findByNameContainingIgnoreCaseAndIsActiveTrue(keyword, pageable);
+        if (!productSearchIndex.isReady()) {
+            Page<Product> productPage = productRepository.findByNameContainingIgnoreCaseAndIsActiveTrue(keyword, pageable);
+            return PagedResponse.from(productPage, productMapper::toSummaryResponse);
+        }
 
-        return PagedResponse.from(productPage, productMapper::toSummaryResponse);
+        ProductSearchIndex.Hits hits = productSearchIndex.search(keyword, (int) pageable.getOffset(), pageable.getPageSize());
+        Map<Long, Product> products = productRepository.findAllById(hits.productIds()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductSummaryResponse> content = hits.productIds().stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .map(productMapper::toSummaryResponse)
+                .toList();
+
+        return PagedResponse.from(new PageImpl<>(content, pageable, hits.total()));
     }
 
     @Transactional(readOnly = true)
@@ -260,12 +345,50 @@ public class ProductService {
 
         product.setStockStatus(stockStatus);
         Product updatedProduct = productRepository.save(product);
+        productFacetIndex.indexAfterCommit(updatedProduct);
 
         log.info("Stock status updated successfully for product ID: {}", productId);
 
         return productMapper.toDetailResponse(updatedProduct);
     }
 
+    /**
+     * The products the filter's keyword matches in the search index; empty when there is no keyword or the
+     * index is not built yet. Once the index is built the keyword always means what it means for
+     * {@code /products/search}, whatever the number of matches.
+     */
+    private Optional<RoaringBitmap> keywordMatches(ProductFilterRequest filter) {
+        return hasKeyword(filter) ? productSearchIndex.matchingIdBitmap(filter.keyword()) : Optional.empty();
+    }
+
+    private static boolean hasKeyword(ProductFilterRequest filter) {
+        return filter.keyword() != null && !filter.keyword().isBlank();
+    }
+
+    /**
+     * The filter as a specification, or empty when the keyword matches no product in the search index.
+     * Without {@code keywordMatches} the keyword falls back to a name {@code LIKE}, as search itself does.
+     */
+    private Optional<Specification<Product>> filterSpecification(ProductFilterRequest filter,
+                                                                 Optional<RoaringBitmap> keywordMatches) {
+        if (keywordMatches.isPresent() && keywordMatches.get().isEmpty()) {
+            return Optional.empty();
+        }
+
+        Specification<Product> spec = ProductSpecification.buildFilter(
+                keywordMatches.isPresent() ? null : filter.keyword(), filter.categoryId(), filter.featured(),
+                filter.minPrice(), filter.maxPrice(),
+                filter.stockStatus(), filter.attributes());
+        if (keywordMatches.isPresent()) {
+            spec = spec.and(ProductSpecification.hasIdIn(keywordMatches.get()));
+        }
+        return Optional.of(spec);
+    }
+
+    private static CursorPagedResponse.Cursor cursorOf(Product product) {
+        return new CursorPagedResponse.Cursor(product.getCreatedAt(), product.getId());
+    }
+
 }
 
 
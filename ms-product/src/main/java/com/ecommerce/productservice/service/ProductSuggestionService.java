@@ -0,0 +1,141 @@
+package com.ecommerce.productservice.service;
+
+import com.ecommerce.productservice.config.SchedulingConfig;
+import com.ecommerce.productservice.dto.response.SuggestionResponse;
+import com.ecommerce.productservice.dto.response.SuggestionResponse.SuggestionType;
+import com.ecommerce.productservice.repositories.ProductRepository;
+import com.ecommerce.productservice.search.PrefixTrie;
+import com.ecommerce.productservice.search.SuggestionSource;
+import com.ecommerce.productservice.search.TextAnalyzer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Typeahead over product and category names, served from a {@link PrefixTrie} that is rebuilt in the
+ * background and swapped in whole, so lookups never lock and never touch the database.
+ * <p>
+ * Names are matched from the start of any of their first {@value #MAX_WORD_STARTS} words, so "mouse" finds
+ * "Wireless Mouse". Categories rank above products, by number of active products; featured products rank
+ * above the rest. Writes to products and categories only mark the trie stale; it is rebuilt on the next
+ * {@code product.suggest.rebuild-interval-ms} tick, so a burst of edits costs one rebuild.
+ */
+@Slf4j
+@Service
+public class ProductSuggestionService {
+
+    static final int MAX_WORD_STARTS = 3;
+    private static final long CATEGORY_WEIGHT = 1L << 40;
+    private static final long FEATURED_WEIGHT = 1;
+
+    private final ProductRepository productRepository;
+    private final int topK;
+    private final int pageSize;
+    private final Timer rebuildTimer;
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private volatile PrefixTrie<SuggestionResponse> trie = PrefixTrie.empty();
+
+    public ProductSuggestionService(ProductRepository productRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${product.suggest.top-k:10}") int topK,
+                                    @Value("${product.search.bootstrap-page-size:1000}") int pageSize) {
+        this.productRepository = productRepository;
+        this.topK = topK;
+        this.pageSize = pageSize;
+        this.rebuildTimer = meterRegistry.timer("product.suggest.rebuild.duration");
+    }
+
+    public List<SuggestionResponse> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        return trie.lookup(prefix, Math.min(limit, topK));
+    }
+
+    /**
+     * Marks the suggestions stale once the current transaction commits, so the rebuild reads the change.
+     */
+    public void markStaleAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stale.set(true);
+                }
+            });
+        } else {
+            stale.set(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.suggest.rebuild-interval-ms:30000}", scheduler = SchedulingConfig.SEARCH)
+    public void rebuildIfStale() {
+        if (!stale.getAndSet(false)) {
+            return;
+        }
+        try {
+            rebuildTimer.record(this::rebuild);
+        } catch (Exception e) {
+            stale.set(true);
+            log.warn("Suggestion rebuild failed, keeping the previous suggestions: {}", e.getMessage());
+        }
+    }
+
+    void rebuild() {
+        List<PrefixTrie.Entry<SuggestionResponse>> entries = new ArrayList<>();
+        for (SuggestionSource category : productRepository.findCategorySuggestionSources()) {
+            addEntries(entries, new SuggestionResponse(category.name(), SuggestionType.CATEGORY,
+                    category.id(), category.slug()), CATEGORY_WEIGHT + category.products());
+        }
+
+        long afterId = 0;
+        List<SuggestionSource> page;
+        do {
+            page = productRepository.findProductSuggestionSources(afterId, Limit.of(pageSize));
+            for (SuggestionSource product : page) {
+                addEntries(entries, new SuggestionResponse(product.name(), SuggestionType.PRODUCT,
+                        product.id(), product.slug()), Boolean.TRUE.equals(product.featured()) ? FEATURED_WEIGHT : 0);
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).id();
+            }
+        } while (page.size() == pageSize);
+
+        trie = PrefixTrie.build(entries, topK);
+        log.info("Rebuilt suggestions from {} keys", trie.size());
+    }
+
+    private static void addEntries(List<PrefixTrie.Entry<SuggestionResponse>> entries,
+                                   SuggestionResponse suggestion,
+                                   long weight) {
+        List<String> words = TextAnalyzer.tokenize(suggestion.text());
+        for (int start = 0; start < Math.min(words.size(), MAX_WORD_STARTS); start++) {
+            String key = String.join(" ", words.subList(start, words.size()));
+            entries.add(new PrefixTrie.Entry<>(key, suggestion, weight));
+        }
+    }
+
+    /**
+     * Keys are the name's words joined by single spaces. A trailing space in the query is kept, so
+     * "wireless " only continues with a next word.
+     */
+    static String normalize(String query) {
+        List<String> words = TextAnalyzer.tokenize(query);
+        if (words.isEmpty()) {
+            return "";
+        }
+        String prefix = String.join(" ", words);
+        return Character.isWhitespace(query.charAt(query.length() - 1)) ? prefix + " " : prefix;
+    }
+}
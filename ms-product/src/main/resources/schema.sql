@@ -0,0 +1,5 @@
+-- Runs after Hibernate has created or updated the tables (spring.jpa.defer-datasource-initialization).
+-- Indexes here are the ones JPA's @Index cannot express.
+
+-- Serves attribute filters, which ProductSpecification renders as attributes @> '{"key": value}'
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_product_attributes ON products USING gin (attributes jsonb_path_ops);
@@ -0,0 +1,151 @@
+package com.ecommerce.productservice.repositories;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs multi-attribute filter pages against a real PostgreSQL database in both shapes
+ * {@link ProductSpecification#hasAttribute} has had: one {@code jsonb_extract_path_text(attributes, key) = value}
+ * per attribute, which scans the table, and one {@code attributes @> '{"key": value}'} per attribute, served
+ * by the {@code jsonb_path_ops} GIN index from schema.sql. Each page is the page query plus its count query,
+ * over a seeded catalog of PRODUCT_ATTRIBUTE_BENCHMARK_PRODUCTS products (default 1,000,000). Point
+ * PRODUCT_TEST_DB_URL (plus optional PRODUCT_TEST_DB_USERNAME / PRODUCT_TEST_DB_PASSWORD) at a scratch
+ * database to run it.
+ */
+@EnabledIfEnvironmentVariable(named = "PRODUCT_TEST_DB_URL", matches = ".+")
+class ProductAttributeFilterBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductAttributeFilterBenchmarkTest.class);
+
+    private static final String[] COLORS = {"black", "white", "red", "blue", "green", "grey", "silver", "gold"};
+    private static final String[] SIZES = {"XS", "S", "M", "L", "XL"};
+    private static final String[] MATERIALS = {"steel", "leather", "bamboo", "carbon", "cotton", "glass"};
+    private static final int BRANDS = 40;
+    private static final int[] RAM = {4, 8, 16, 32};
+    private static final List<Map<String, String>> FILTERS = List.of(
+            Map.of("color", "red", "brand", "brand-7"),
+            Map.of("color", "black", "size", "M", "material", "leather"),
+            Map.of("brand", "brand-12", "ram", "16"),
+            Map.of("color", "silver", "size", "XL", "brand", "brand-3", "ram", "32"));
+    private static final int PAGE_SIZE = 20;
+    private static final int ROUNDS = 10;
+
+    private final int products = Integer.parseInt(
+            System.getenv().getOrDefault("PRODUCT_ATTRIBUTE_BENCHMARK_PRODUCTS", "1000000"));
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                System.getenv("PRODUCT_TEST_DB_URL"),
+                System.getenv().getOrDefault("PRODUCT_TEST_DB_USERNAME", "postgres"),
+                System.getenv().getOrDefault("PRODUCT_TEST_DB_PASSWORD", "postgres")));
+        jdbc.execute("DROP TABLE IF EXISTS products_attribute_benchmark");
+        jdbc.execute("""
+                CREATE TABLE products_attribute_benchmark (
+                    id BIGINT PRIMARY KEY,
+                    is_active BOOLEAN NOT NULL,
+                    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+                    attributes JSONB
+                )
+                """);
+        jdbc.update("""
+                INSERT INTO products_attribute_benchmark (id, is_active, created_at, attributes)
+                SELECT g,
+                       true,
+                       now() - g * interval '1 second',
+                       jsonb_build_object(
+                           'color', (?::text[])[1 + g % ?],
+                           'size', (?::text[])[1 + (g / 3) % ?],
+                           'material', (?::text[])[1 + (g / 7) % ?],
+                           'brand', 'brand-' || (g / 11) % ?,
+                           'ram', (?::int[])[1 + (g / 13) % ?])
+                FROM generate_series(1, ?) AS g
+                """,
+                COLORS, COLORS.length, SIZES, SIZES.length, MATERIALS, MATERIALS.length, BRANDS,
+                RAM, RAM.length, products);
+        jdbc.execute("CREATE INDEX ON products_attribute_benchmark USING gin (attributes jsonb_path_ops)");
+        jdbc.execute("ANALYZE products_attribute_benchmark");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("DROP TABLE IF EXISTS products_attribute_benchmark");
+    }
+
+    @Test
+    void containmentOutperformsExtractPath() {
+        for (Map<String, String> filter : FILTERS) {
+            assertThat(containmentPage(filter)).isEqualTo(extractPathPage(filter));
+        }
+
+        long extractStart = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            FILTERS.forEach(this::extractPathPage);
+        }
+        double extractMillis = millisPerPage(extractStart);
+
+        long containmentStart = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            FILTERS.forEach(this::containmentPage);
+        }
+        double containmentMillis = millisPerPage(containmentStart);
+
+        log.info(String.format("products=%d extract-path=%.2fms/page containment=%.2fms/page (%.0fx)",
+                products, extractMillis, containmentMillis, extractMillis / containmentMillis));
+        assertThat(containmentMillis).isLessThan(extractMillis);
+    }
+
+    private long extractPathPage(Map<String, String> filter) {
+        StringBuilder where = new StringBuilder("is_active");
+        List<Object> args = new ArrayList<>();
+        filter.forEach((key, value) -> {
+            where.append(" AND jsonb_extract_path_text(attributes, ?) = ?");
+            args.add(key);
+            args.add(value);
+        });
+        return page(where.toString(), args);
+    }
+
+    /**
+     * Same predicates as {@link ProductSpecification#hasAttribute} renders, one containment per attribute.
+     */
+    private long containmentPage(Map<String, String> filter) {
+        StringBuilder where = new StringBuilder("is_active");
+        List<Object> args = new ArrayList<>();
+        filter.forEach((key, value) -> {
+            List<String> alternatives = new ArrayList<>();
+            for (Object candidate : ProductSpecification.attributeValues(value)) {
+                alternatives.add("attributes @> cast(? as jsonb)");
+                args.add(ProductSpecification.toJson(Map.of(key, candidate)));
+            }
+            where.append(" AND (").append(String.join(" OR ", alternatives)).append(')');
+        });
+        return page(where.toString(), args);
+    }
+
+    private long page(String where, List<Object> args) {
+        List<Object> pageArgs = new ArrayList<>(args);
+        pageArgs.add(PAGE_SIZE);
+        jdbc.queryForList("SELECT id FROM products_attribute_benchmark WHERE " + where
+                + " ORDER BY created_at DESC LIMIT ?", Long.class, pageArgs.toArray());
+        return jdbc.queryForObject("SELECT count(*) FROM products_attribute_benchmark WHERE " + where,
+                Long.class, args.toArray());
+    }
+
+    private static double millisPerPage(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0 / (ROUNDS * FILTERS.size());
+    }
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.productservice.repositories;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSpecificationTest {
+
+    @Test
+    void attributeValues_addJsonNumberAndBooleanForms() {
+        assertThat(ProductSpecification.attributeValues("red")).containsExactly("red");
+        assertThat(ProductSpecification.attributeValues("16")).containsExactly("16", new BigDecimal("16"));
+        assertThat(ProductSpecification.attributeValues("-1.5e3")).containsExactly("-1.5e3", new BigDecimal("-1.5e3"));
+        assertThat(ProductSpecification.attributeValues("true")).containsExactly("true", true);
+        assertThat(ProductSpecification.attributeValues("016")).containsExactly("016");
+        assertThat(ProductSpecification.attributeValues("1.")).containsExactly("1.");
+    }
+
+    @Test
+    void toJson_escapesKeysAndValues() {
+        assertThat(ProductSpecification.toJson(Map.of("screen \"size\"", "15\" inch")))
+                .isEqualTo("{\"screen \\\"size\\\"\":\"15\\\" inch\"}");
+        assertThat(ProductSpecification.toJson(Map.of("ram", new BigDecimal("16")))).isEqualTo("{\"ram\":16}");
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.productservice.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixTrieTest {
+
+    @Test
+    void lookup_matchesPrefixesEndingInsideAnEdge() {
+        PrefixTrie<String> trie = PrefixTrie.build(List.of(
+                new PrefixTrie.Entry<>("laptop", "laptop", 0),
+                new PrefixTrie.Entry<>("laptop sleeve", "sleeve", 0),
+                new PrefixTrie.Entry<>("lamp", "lamp", 0)), 10);
+
+        assertThat(trie.lookup("la", 10)).containsExactly("lamp", "laptop", "sleeve");
+        assertThat(trie.lookup("lapto", 10)).containsExactly("laptop", "sleeve");
+        assertThat(trie.lookup("laptop ", 10)).containsExactly("sleeve");
+        assertThat(trie.lookup("", 10)).hasSize(3);
+    }
+
+    @Test
+    void lookup_returnsNothingForUnknownPrefix() {
+        PrefixTrie<String> trie = PrefixTrie.build(List.of(new PrefixTrie.Entry<>("kettle", "kettle", 0)), 10);
+
+        assertThat(trie.lookup("kettles", 10)).isEmpty();
+        assertThat(trie.lookup("ketch", 10)).isEmpty();
+        assertThat(trie.lookup("x", 10)).isEmpty();
+        assertThat(PrefixTrie.<String>empty().lookup("k", 10)).isEmpty();
+    }
+
+    @Test
+    void lookup_ranksByWeightThenShorterKey_andKeepsTopK() {
+        PrefixTrie<String> trie = PrefixTrie.build(List.of(
+                new PrefixTrie.Entry<>("chair", "chair", 0),
+                new PrefixTrie.Entry<>("chair cushion", "cushion", 0),
+                new PrefixTrie.Entry<>("chairs", "chairs", 5),
+                new PrefixTrie.Entry<>("chaise", "chaise", 1)), 3);
+
+        assertThat(trie.lookup("cha", 10)).containsExactly("chairs", "chaise", "chair");
+        assertThat(trie.lookup("cha", 2)).containsExactly("chairs", "chaise");
+        assertThat(trie.lookup("chair ", 10)).containsExactly("cushion");
+    }
+
+    @Test
+    void lookup_listsValueStoredUnderSeveralKeysOnce() {
+        String mouse = "Wireless Mouse";
+        PrefixTrie<String> trie = PrefixTrie.build(List.of(
+                new PrefixTrie.Entry<>("wireless mouse", mouse, 0),
+                new PrefixTrie.Entry<>("mouse", mouse, 0),
+                new PrefixTrie.Entry<>("mousepad", "Mousepad", 0)), 10);
+
+        assertThat(trie.lookup("mouse", 10)).containsExactly(mouse, "Mousepad");
+        assertThat(trie.lookup("", 10)).containsExactly(mouse, "Mousepad");
+        assertThat(trie.size()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,124 @@
+package com.ecommerce.productservice.search;
+
+import com.ecommerce.productservice.dto.request.ProductFilterRequest;
+import com.ecommerce.productservice.dto.response.ProductFacetsResponse;
+import com.ecommerce.productservice.dto.response.ProductFacetsResponse.PriceBucket;
+import com.ecommerce.productservice.entity.StockStatus;
+import com.ecommerce.productservice.repositories.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductFacetIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductFacetIndex facetIndex;
+
+    @BeforeEach
+    void setUp() {
+        facetIndex = new ProductFacetIndex(productRepository, new SimpleMeterRegistry(),
+                new BigDecimal[]{new BigDecimal("100"), new BigDecimal("50")}, 10, 10);
+        when(productRepository.findFacetDocuments(0L, Limit.of(10))).thenReturn(List.of(
+                new ProductFacetDocument(1L, 10L, true, new BigDecimal("20"), StockStatus.AVAILABLE,
+                        Map.of("color", "red", "ram", 16)),
+                new ProductFacetDocument(2L, 10L, false, new BigDecimal("75"), StockStatus.LOW_STOCK,
+                        Map.of("color", "blue", "ram", 8)),
+                new ProductFacetDocument(3L, 20L, false, new BigDecimal("150"), StockStatus.AVAILABLE,
+                        Map.of("color", "red", "tags", List.of("sale")))));
+        facetIndex.build();
+    }
+
+    @Test
+    void facets_countEveryFacetOverAllProducts() {
+        ProductFacetsResponse facets = facetIndex.facets(noFilter(), null).orElseThrow();
+
+        assertThat(facets.total()).isEqualTo(3);
+        assertThat(facets.featured()).isEqualTo(1);
+        assertThat(facets.categories()).containsExactly(Map.entry(10L, 2L), Map.entry(20L, 1L));
+        assertThat(facets.stockStatuses())
+                .containsExactly(Map.entry(StockStatus.AVAILABLE, 2L), Map.entry(StockStatus.LOW_STOCK, 1L));
+        assertThat(facets.priceBuckets()).containsExactly(
+                new PriceBucket(null, new BigDecimal("50"), 1),
+                new PriceBucket(new BigDecimal("50"), new BigDecimal("100"), 1),
+                new PriceBucket(new BigDecimal("100"), null, 1));
+        assertThat(facets.attributes()).containsOnlyKeys("color", "ram");
+        assertThat(facets.attributes().get("color")).containsExactly(Map.entry("red", 2L), Map.entry("blue", 1L));
+        assertThat(facets.attributes().get("ram")).containsOnly(Map.entry("16", 1L), Map.entry("8", 1L));
+    }
+
+    @Test
+    void facets_countOnlyProductsMatchingTheFilter() {
+        ProductFacetsResponse facets = facetIndex.facets(
+                filter(null, null, null, null, "AVAILABLE", Map.of("color", "red")), null).orElseThrow();
+
+        assertThat(facets.total()).isEqualTo(2);
+        assertThat(facets.categories()).containsOnly(Map.entry(10L, 1L), Map.entry(20L, 1L));
+        assertThat(facets.stockStatuses()).containsOnly(Map.entry(StockStatus.AVAILABLE, 2L));
+        assertThat(facetIndex.facets(filter(null, 30L, null, null, null, null), null).orElseThrow().total()).isZero();
+        assertThat(facetIndex.facets(filter(null, null, null, null, null, Map.of("color", "green")), null)
+                .orElseThrow().total()).isZero();
+    }
+
+    @Test
+    void facets_checkPricesInBucketsTheRangeCutsThrough() {
+        assertThat(facetIndex.facets(filter(null, null, new BigDecimal("20"), new BigDecimal("75"), null, null), null)
+                .orElseThrow().total()).isEqualTo(2);
+        assertThat(facetIndex.facets(filter(null, null, new BigDecimal("21"), null, null, null), null)
+                .orElseThrow().total()).isEqualTo(2);
+        assertThat(facetIndex.facets(filter(null, null, null, new BigDecimal("74.99"), null, null), null)
+                .orElseThrow().total()).isEqualTo(1);
+    }
+
+    @Test
+    void facets_intersectTheCallersKeywordMatches() {
+        ProductFilterRequest keyword = filter("oak", null, null, null, null, null);
+
+        ProductFacetsResponse facets = facetIndex.facets(keyword, RoaringBitmap.bitmapOf(1, 3)).orElseThrow();
+        assertThat(facets.total()).isEqualTo(2);
+        assertThat(facets.categories()).containsOnly(Map.entry(10L, 1L), Map.entry(20L, 1L));
+    }
+
+    @Test
+    void index_movesProductBetweenFacetValues_andRemoveDropsIt() {
+        facetIndex.index(new ProductFacetDocument(2L, 20L, false, new BigDecimal("75"), StockStatus.OUT_OF_STOCK,
+                Map.of("color", "red")));
+
+        ProductFacetsResponse facets = facetIndex.facets(noFilter(), null).orElseThrow();
+        assertThat(facets.categories()).containsOnly(Map.entry(10L, 1L), Map.entry(20L, 2L));
+        assertThat(facets.stockStatuses()).doesNotContainKey(StockStatus.LOW_STOCK);
+        assertThat(facets.attributes().get("color")).containsOnly(Map.entry("red", 3L));
+        assertThat(facets.attributes().get("ram")).containsOnly(Map.entry("16", 1L));
+
+        facetIndex.remove(1L);
+
+        assertThat(facetIndex.size()).isEqualTo(2);
+        assertThat(facetIndex.facets(noFilter(), null).orElseThrow().attributes())
+                .doesNotContainKey("ram");
+    }
+
+    private static ProductFilterRequest noFilter() {
+        return filter(null, null, null, null, null, null);
+    }
+
+    private static ProductFilterRequest filter(String keyword, Long categoryId, BigDecimal minPrice,
+                                               BigDecimal maxPrice, String stockStatus,
+                                               Map<String, String> attributes) {
+        return new ProductFilterRequest(keyword, categoryId, null, minPrice, maxPrice, stockStatus, attributes,
+                null, null);
+    }
+}
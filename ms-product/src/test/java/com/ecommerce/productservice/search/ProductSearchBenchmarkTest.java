@@ -0,0 +1,137 @@
+package com.ecommerce.productservice.search;
+
+import com.ecommerce.productservice.repositories.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares a keyword search page against a real PostgreSQL database, as the repository ran it before the
+ * index (a {@code lower(name) LIKE '%keyword%'} page query plus its count query), with the same page served
+ * by {@link ProductSearchIndex}. Both see the same synthetic catalog of PRODUCT_SEARCH_BENCHMARK_PRODUCTS
+ * products (default 1,000,000). Point PRODUCT_TEST_DB_URL (plus optional PRODUCT_TEST_DB_USERNAME /
+ * PRODUCT_TEST_DB_PASSWORD) at a scratch database to run it.
+ */
+@EnabledIfEnvironmentVariable(named = "PRODUCT_TEST_DB_URL", matches = ".+")
+class ProductSearchBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchBenchmarkTest.class);
+
+    private static final String[] ADJECTIVES = {"Wireless", "Compact", "Premium", "Rugged", "Portable", "Classic",
+            "Smart", "Ergonomic", "Vintage", "Professional", "Ultra", "Lightweight"};
+    private static final String[] MATERIALS = {"Steel", "Leather", "Bamboo", "Carbon", "Cotton", "Ceramic", "Glass"};
+    private static final String[] NOUNS = {"Keyboard", "Backpack", "Headphones", "Lamp", "Kettle", "Jacket",
+            "Monitor", "Chair", "Speaker", "Watch", "Blender", "Tent", "Camera"};
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Outdoor", "Fashion", "Kitchen"};
+    private static final String[] QUERIES = {"keyboard", "leather jacket", "portable speaker", "ceramic", "tent"};
+    private static final int PAGE_SIZE = 20;
+    private static final int ROUNDS = 20;
+
+    private final int products = Integer.parseInt(
+            System.getenv().getOrDefault("PRODUCT_SEARCH_BENCHMARK_PRODUCTS", "1000000"));
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                System.getenv("PRODUCT_TEST_DB_URL"),
+                System.getenv().getOrDefault("PRODUCT_TEST_DB_USERNAME", "postgres"),
+                System.getenv().getOrDefault("PRODUCT_TEST_DB_PASSWORD", "postgres")));
+        jdbc.execute("DROP TABLE IF EXISTS products_search_benchmark");
+        jdbc.execute("""
+                CREATE TABLE products_search_benchmark (
+                    id BIGINT PRIMARY KEY,
+                    name VARCHAR(255) NOT NULL,
+                    is_active BOOLEAN NOT NULL,
+                    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+                )
+                """);
+        // Same formula as name(id) below
+        jdbc.update("""
+                INSERT INTO products_search_benchmark (id, name, is_active, created_at)
+                SELECT g,
+                       (?::text[])[1 + g % ?] || ' ' || (?::text[])[1 + (g / 7) % ?] || ' '
+                           || (?::text[])[1 + (g / 11) % ?] || ' ' || g,
+                       true,
+                       now() - g * interval '1 second'
+                FROM generate_series(1, ?) AS g
+                """,
+                ADJECTIVES, ADJECTIVES.length, MATERIALS, MATERIALS.length, NOUNS, NOUNS.length, products);
+        jdbc.execute("ANALYZE products_search_benchmark");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("DROP TABLE IF EXISTS products_search_benchmark");
+    }
+
+    @Test
+    void indexOutperformsLikeQuery() {
+        long buildStart = System.nanoTime();
+        ProductSearchIndex index = new ProductSearchIndex(mock(ProductRepository.class), new SimpleMeterRegistry(),
+                50, 1000);
+        for (long id = 1; id <= products; id++) {
+            index.index(new ProductSearchDocument(id, name(id), null, "SKU-" + id,
+                    CATEGORIES[(int) (id % CATEGORIES.length)]));
+        }
+        double buildSeconds = seconds(buildStart);
+
+        for (String query : QUERIES) {
+            likePage(query);
+            index.search(query, 0, PAGE_SIZE);
+        }
+
+        long likeStart = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (String query : QUERIES) {
+                likePage(query);
+            }
+        }
+        double likeMillis = seconds(likeStart) * 1000 / (ROUNDS * QUERIES.length);
+
+        long indexStart = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (String query : QUERIES) {
+                index.search(query, 0, PAGE_SIZE);
+            }
+        }
+        double indexMillis = seconds(indexStart) * 1000 / (ROUNDS * QUERIES.length);
+
+        log.info(String.format("products=%d build=%.1fs like=%.2fms/query index=%.2fms/query (%.0fx)",
+                products, buildSeconds, likeMillis, indexMillis, likeMillis / indexMillis));
+        assertThat(indexMillis).isLessThan(likeMillis);
+    }
+
+    private void likePage(String keyword) {
+        String pattern = "%" + keyword.toLowerCase() + "%";
+        jdbc.queryForList("""
+                SELECT id FROM products_search_benchmark
+                WHERE lower(name) LIKE ? AND is_active
+                ORDER BY created_at DESC
+                LIMIT ?
+                """, Long.class, pattern, PAGE_SIZE);
+        jdbc.queryForObject("""
+                SELECT count(*) FROM products_search_benchmark
+                WHERE lower(name) LIKE ? AND is_active
+                """, Long.class, pattern);
+    }
+
+    private static String name(long id) {
+        return ADJECTIVES[(int) (id % ADJECTIVES.length)] + " "
+                + MATERIALS[(int) ((id / 7) % MATERIALS.length)] + " "
+                + NOUNS[(int) ((id / 11) % NOUNS.length)] + " " + id;
+    }
+
+    private static double seconds(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000_000.0;
+    }
+}
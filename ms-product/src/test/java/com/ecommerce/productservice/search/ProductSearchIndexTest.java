@@ -0,0 +1,133 @@
+package com.ecommerce.productservice.search;
+
+import com.ecommerce.productservice.repositories.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(productRepository, new SimpleMeterRegistry(), 50, 2);
+    }
+
+    @Test
+    void analyze_foldsCaseAccentsAndInflections() {
+        assertThat(TextAnalyzer.analyze("Running Shoes for the Café"))
+                .containsExactly("run", "shoe", "cafe");
+        assertThat(TextAnalyzer.analyze("Batteries, boxes & wireless")).containsExactly("battery", "box", "wireless");
+        assertThat(TextAnalyzer.analyze("SKU-X100s")).containsExactly("sku", "x100s");
+    }
+
+    @Test
+    void search_ranksNameMatchesAboveDescriptionMatches() {
+        index.index(new ProductSearchDocument(1L, "Desk Lamp", "Pairs well with a wireless keyboard", "LMP-1", "Lighting"));
+        index.index(new ProductSearchDocument(2L, "Wireless Keyboard", "Compact layout", "KBD-1", "Peripherals"));
+
+        ProductSearchIndex.Hits hits = index.search("keyboard", 0, 10);
+
+        assertThat(hits.productIds()).containsExactly(2L, 1L);
+        assertThat(hits.total()).isEqualTo(2);
+    }
+
+    @Test
+    void search_requiresEveryTerm_andMatchesStems() {
+        index.index(new ProductSearchDocument(1L, "Trail Running Shoes", null, "SH-1", "Footwear"));
+        index.index(new ProductSearchDocument(2L, "Running Socks", null, "SO-1", "Footwear"));
+
+        assertThat(index.search("shoe runner", 0, 10).productIds()).isEmpty();
+        assertThat(index.search("run shoe", 0, 10).productIds()).containsExactly(1L);
+    }
+
+    @Test
+    void search_expandsLastTokenAsPrefix() {
+        index.index(new ProductSearchDocument(1L, "Gaming Laptop", null, "LP-1", "Computers"));
+        index.index(new ProductSearchDocument(2L, "Laptop Sleeve", null, "SL-1", "Accessories"));
+        index.index(new ProductSearchDocument(3L, "Desk Lamp", null, "LM-1", "Lighting"));
+
+        assertThat(index.search("lapt", 0, 10).productIds()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("laptop sle", 0, 10).productIds()).containsExactly(2L);
+        // "an" is a stop word but may be the start of a longer word
+        index.index(new ProductSearchDocument(4L, "Android Tablet", null, "TB-1", "Tablets"));
+        assertThat(index.search("tablet an", 0, 10).productIds()).containsExactly(4L);
+    }
+
+    @Test
+    void search_matchesSkuParts() {
+        index.index(new ProductSearchDocument(1L, "Mouse", null, "MS-4410-BLK", "Peripherals"));
+
+        assertThat(index.search("4410 blk", 0, 10).productIds()).containsExactly(1L);
+    }
+
+    @Test
+    void index_replacesPreviousVersion_andRemoveDropsProduct() {
+        index.index(new ProductSearchDocument(1L, "Red Mug", null, "MG-1", "Kitchen"));
+        index.index(new ProductSearchDocument(1L, "Blue Mug", null, "MG-1", "Kitchen"));
+
+        assertThat(index.search("red", 0, 10).productIds()).isEmpty();
+        assertThat(index.search("blue mug", 0, 10).productIds()).containsExactly(1L);
+
+        index.remove(1L);
+
+        assertThat(index.search("mug", 0, 10).productIds()).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void search_pagesThroughRankedHits() {
+        for (long id = 1; id <= 5; id++) {
+            index.index(new ProductSearchDocument(id, "Cable " + id, null, "CB-" + id, "Cables"));
+        }
+
+        ProductSearchIndex.Hits page = index.search("cable", 2, 2);
+
+        assertThat(page.total()).isEqualTo(5);
+        assertThat(page.productIds()).hasSize(2).doesNotContainAnyElementsOf(index.search("cable", 0, 2).productIds());
+    }
+
+    @Test
+    void compaction_keepsLiveDocumentsSearchable() {
+        for (long id = 1; id <= 3000; id++) {
+            index.index(new ProductSearchDocument(id, "Widget " + id, null, "W-" + id, "Widgets"));
+        }
+        for (long id = 1; id <= 2000; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(1000);
+        assertThat(index.search("widget", 0, 5000).total()).isEqualTo(1000);
+        assertThat(index.search("widget 2500", 0, 10).productIds()).containsExactly(2500L);
+    }
+
+    @Test
+    void build_loadsAllPages_andBecomesReady() {
+        when(productRepository.findSearchDocuments(0L, Limit.of(2))).thenReturn(List.of(
+                new ProductSearchDocument(1L, "Oak Table", null, "T-1", "Furniture"),
+                new ProductSearchDocument(2L, "Oak Chair", null, "C-1", "Furniture")));
+        when(productRepository.findSearchDocuments(2L, Limit.of(2))).thenReturn(List.of(
+                new ProductSearchDocument(5L, "Pine Shelf", null, "S-1", "Furniture")));
+
+        assertThat(index.isReady()).isFalse();
+        index.build();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("furniture", 0, 10).total()).isEqualTo(3);
+        assertThat(index.matchingIdBitmap("oak")).hasValueSatisfying(ids -> assertThat(ids.toArray()).containsExactly(1, 2));
+    }
+}
@@ -0,0 +1,120 @@
+package com.ecommerce.productservice.service;
+
+import com.ecommerce.productservice.dto.request.ProductFilterRequest;
+import com.ecommerce.productservice.dto.response.CursorPagedResponse;
+import com.ecommerce.productservice.dto.response.ProductSummaryResponse;
+import com.ecommerce.productservice.entity.Category;
+import com.ecommerce.productservice.entity.Product;
+import com.ecommerce.productservice.entity.ProductImages;
+import com.ecommerce.productservice.entity.StockStatus;
+import com.ecommerce.productservice.mapper.CategoryMapperImpl;
+import com.ecommerce.productservice.mapper.ProductImagesMapperImpl;
+import com.ecommerce.productservice.mapper.ProductMapperImpl;
+import com.ecommerce.productservice.repositories.CategoryRepository;
+import com.ecommerce.productservice.repositories.ProductRepository;
+import com.ecommerce.productservice.search.ProductFacetIndex;
+import com.ecommerce.productservice.search.ProductSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks {@link ProductService#filterProductsAfter} against a real PostgreSQL database with the real mappers,
+ * outside any test transaction, so the summaries' lazy category and images have to load inside the service's
+ * own transaction. Point PRODUCT_TEST_DB_URL (plus optional PRODUCT_TEST_DB_USERNAME /
+ * PRODUCT_TEST_DB_PASSWORD) at a scratch database to run it.
+ */
+@DataJpaTest(properties = "spring.cloud.vault.enabled=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProductService.class, ProductMapperImpl.class, CategoryMapperImpl.class, ProductImagesMapperImpl.class})
+@EnabledIfEnvironmentVariable(named = "PRODUCT_TEST_DB_URL", matches = ".+")
+class ProductCursorPaginationIntegrationTest {
+
+    @MockitoBean
+    private KafkaProducerService kafkaProducerService;
+    @MockitoBean
+    private ProductSearchIndex productSearchIndex;
+    @MockitoBean
+    private ProductSuggestionService productSuggestionService;
+    @MockitoBean
+    private ProductFacetIndex productFacetIndex;
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private final String run = UUID.randomUUID().toString();
+    private Category category;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("PRODUCT_TEST_DB_URL"));
+        registry.add("spring.datasource.username",
+                () -> System.getenv().getOrDefault("PRODUCT_TEST_DB_USERNAME", "postgres"));
+        registry.add("spring.datasource.password",
+                () -> System.getenv().getOrDefault("PRODUCT_TEST_DB_PASSWORD", "postgres"));
+    }
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(Category.builder().name("Desks").slug("desks-" + run).build());
+        for (int i = 1; i <= 3; i++) {
+            Product product = Product.builder()
+                    .name("Desk " + i).slug("desk-" + i + "-" + run).sku("D-" + i + "-" + run)
+                    .price(new BigDecimal("100")).stockStatus(StockStatus.AVAILABLE)
+                    .isActive(true).isFeatured(false).category(category)
+                    .images(new ArrayList<>())
+                    .build();
+            product.getImages().add(ProductImages.builder()
+                    .product(product).imageUrl("https://img/desk-" + i).isPrimary(true).build());
+            productRepository.save(product);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll(productRepository.findAll().stream()
+                .filter(product -> product.getSlug().endsWith(run))
+                .toList());
+        categoryRepository.delete(category);
+    }
+
+    @Test
+    void filterProductsAfter_mapsLazyAssociations_acrossPages() {
+        ProductFilterRequest filter = new ProductFilterRequest(
+                null, category.getId(), null, null, null, null, null, null, null);
+
+        CursorPagedResponse<ProductSummaryResponse> first = productService.filterProductsAfter(filter, "", 2);
+        CursorPagedResponse<ProductSummaryResponse> second =
+                productService.filterProductsAfter(filter, first.nextCursor(), 2);
+
+        List<ProductSummaryResponse> walked = new ArrayList<>(first.content());
+        walked.addAll(second.content());
+        assertThat(walked).extracting(ProductSummaryResponse::name).containsExactly("Desk 3", "Desk 2", "Desk 1");
+        assertThat(walked).extracting(ProductSummaryResponse::categoryName).containsOnly("Desks");
+        assertThat(walked).extracting(ProductSummaryResponse::primaryImageUrl)
+                .containsExactly("https://img/desk-3", "https://img/desk-2", "https://img/desk-1");
+        assertThat(second.nextCursor()).isNull();
+    }
+}
@@ -3,29 +3,38 @@ package com.ecommerce.productservice.service;
 import com.ecommerce.productservice.dto.request.CreateProductRequest;
 import com.ecommerce.productservice.dto.request.ProductFilterRequest;
 import com.ecommerce.productservice.dto.request.UpdateProductRequest;
+import com.ecommerce.productservice.dto.response.CursorPagedResponse;
+import com.ecommerce.productservice.dto.response.FacetedPagedResponse;
 import com.ecommerce.productservice.dto.response.PagedResponse;
 import com.ecommerce.productservice.dto.response.ProductCreateResponse;
 import com.ecommerce.productservice.dto.response.ProductDetailResponse;
+import com.ecommerce.productservice.dto.response.ProductFacetsResponse;
 import com.ecommerce.productservice.dto.response.ProductSummaryResponse;
 import com.ecommerce.productservice.entity.Category;
 import com.ecommerce.productservice.entity.Product;
 import com.ecommerce.productservice.entity.StockStatus;
 import com.ecommerce.productservice.exception.DuplicateResourceException;
+import com.ecommerce.productservice.exception.InvalidRequestException;
 import com.ecommerce.productservice.exception.ResourceNotFoundException;
 import com.ecommerce.productservice.mapper.ProductMapper;
 import com.ecommerce.productservice.repositories.CategoryRepository;
 import com.ecommerce.productservice.repositories.ProductRepository;
+import com.ecommerce.productservice.search.ProductFacetIndex;
+import com.ecommerce.productservice.search.ProductSearchIndex;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,6 +54,12 @@ class ProductServiceTest {
     private CategoryRepository categoryRepository;
     @Mock
     private KafkaProducerService kafkaProducerService;
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+    @Mock
+    private ProductSuggestionService productSuggestionService;
+    @Mock
+    private ProductFacetIndex productFacetIndex;
 
     @InjectMocks
     private ProductService productService;
@@ -76,6 +91,7 @@ class ProductServiceTest {
 
         assertThat(result).isEqualTo(expected);
         verify(kafkaProducerService).publishProductCreatedEvent(product, 50);
+        verify(productSearchIndex).indexAfterCommit(product);
     }
 
     @Test
@@ -149,6 +165,7 @@ class ProductServiceTest {
 
         assertThat(product.getIsActive()).isFalse();
         verify(kafkaProducerService).publishProductDeletedEvent(1L, "test", "SKU-001");
+        verify(productSearchIndex).removeAfterCommit(1L);
     }
 
     @Test
@@ -165,10 +182,11 @@ class ProductServiceTest {
         ProductSummaryResponse summary = mock(ProductSummaryResponse.class);
         when(productMapper.toSummaryResponse(product)).thenReturn(summary);
 
-        PagedResponse<ProductSummaryResponse> result = productService.filterProducts(filter, 0, 10);
+        FacetedPagedResponse<ProductSummaryResponse> result = productService.filterProducts(filter, 0, 10, false);
 
         assertThat(result.content()).hasSize(1);
         verify(productRepository).findAll(any(Specification.class), any(Pageable.class));
+        verifyNoInteractions(productFacetIndex);
     }
 
     @Test
@@ -178,4 +196,111 @@ class ProductServiceTest {
         assertThatThrownBy(() -> productService.deleteProduct(999L))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
+
+    @Test
+    void searchProducts_indexReady_returnsProductsInRankOrder() {
+        Product first = Product.builder().id(7L).name("Wireless Mouse").build();
+        Product second = Product.builder().id(3L).name("Mouse Pad").build();
+        when(productSearchIndex.isReady()).thenReturn(true);
+        when(productSearchIndex.search("mouse", 0, 10)).thenReturn(new ProductSearchIndex.Hits(List.of(7L, 3L), 2));
+        when(productRepository.findAllById(List.of(7L, 3L))).thenReturn(List.of(second, first));
+
+        ProductSummaryResponse firstSummary = mock(ProductSummaryResponse.class);
+        ProductSummaryResponse secondSummary = mock(ProductSummaryResponse.class);
+        when(productMapper.toSummaryResponse(first)).thenReturn(firstSummary);
+        when(productMapper.toSummaryResponse(second)).thenReturn(secondSummary);
+
+        PagedResponse<ProductSummaryResponse> result = productService.searchProducts("mouse", PageRequest.of(0, 10));
+
+        assertThat(result.content()).containsExactly(firstSummary, secondSummary);
+        assertThat(result.totalElements()).isEqualTo(2);
+        verify(productRepository, never()).findByNameContainingIgnoreCaseAndIsActiveTrue(any(), any());
+    }
+
+    @Test
+    void searchProducts_indexNotReady_fallsBackToDatabase() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(productSearchIndex.isReady()).thenReturn(false);
+        when(productRepository.findByNameContainingIgnoreCaseAndIsActiveTrue("mouse", pageable))
+                .thenReturn(Page.empty(pageable));
+
+        PagedResponse<ProductSummaryResponse> result = productService.searchProducts("mouse", pageable);
+
+        assertThat(result.content()).isEmpty();
+        verify(productSearchIndex, never()).search(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void filterProducts_keywordWithoutIndexMatches_skipsDatabase() {
+        ProductFilterRequest filter = new ProductFilterRequest(
+                "phone", null, null, null, null, null, null, null, null);
+        when(productSearchIndex.matchingIdBitmap("phone")).thenReturn(Optional.of(new RoaringBitmap()));
+
+        FacetedPagedResponse<ProductSummaryResponse> result = productService.filterProducts(filter, 0, 10, false);
+
+        assertThat(result.content()).isEmpty();
+        verify(productRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void filterProducts_withFacets_countsTheKeywordMatchesThePageUses() {
+        ProductFilterRequest filter = new ProductFilterRequest(
+                "phone", null, null, null, null, null, null, null, null);
+        RoaringBitmap matches = RoaringBitmap.bitmapOf(1, 2);
+        ProductFacetsResponse facets = mock(ProductFacetsResponse.class);
+        when(productSearchIndex.matchingIdBitmap("phone")).thenReturn(Optional.of(matches));
+        when(productFacetIndex.facets(filter, matches)).thenReturn(Optional.of(facets));
+        when(productRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(Page.empty());
+
+        FacetedPagedResponse<ProductSummaryResponse> result = productService.filterProducts(filter, 0, 10, true);
+
+        assertThat(result.facets()).isSameAs(facets);
+        verify(productSearchIndex, times(1)).matchingIdBitmap("phone");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void filterProducts_withFacets_omitsThemWhileKeywordFallsBackToLike() {
+        ProductFilterRequest filter = new ProductFilterRequest(
+                "phone", null, null, null, null, null, null, null, null);
+        when(productSearchIndex.matchingIdBitmap("phone")).thenReturn(Optional.empty());
+        when(productRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(Page.empty());
+
+        FacetedPagedResponse<ProductSummaryResponse> result = productService.filterProducts(filter, 0, 10, true);
+
+        assertThat(result.facets()).isNull();
+        verifyNoInteractions(productFacetIndex);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void filterProductsAfter_returnsCursorOfLastRow_withoutCounting() {
+        ProductFilterRequest filter = new ProductFilterRequest(
+                null, null, null, null, null, null, null, null, null);
+        Instant now = Instant.parse("2026-01-01T10:00:00Z");
+        Product newest = Product.builder().id(3L).name("Desk").createdAt(now).build();
+        Product tied = Product.builder().id(2L).name("Chair").createdAt(now.minusSeconds(60)).build();
+        Product oldest = Product.builder().id(1L).name("Lamp").createdAt(now.minusSeconds(60)).build();
+
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(List.of(newest, tied, oldest));
+        when(productMapper.toSummaryResponse(any(Product.class))).thenReturn(mock(ProductSummaryResponse.class));
+
+        CursorPagedResponse<ProductSummaryResponse> result = productService.filterProductsAfter(filter, "", 2);
+
+        assertThat(result.content()).hasSize(2);
+        assertThat(CursorPagedResponse.Cursor.decode(result.nextCursor()))
+                .isEqualTo(new CursorPagedResponse.Cursor(now.minusSeconds(60), 2L));
+        verify(productRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void filterProductsAfter_malformedCursor_throwsInvalidRequestException() {
+        ProductFilterRequest filter = new ProductFilterRequest(
+                null, null, null, null, null, null, null, null, null);
+
+        assertThatThrownBy(() -> productService.filterProductsAfter(filter, "not-a-cursor", 10))
+                .isInstanceOf(InvalidRequestException.class);
+    }
 }
@@ -0,0 +1,87 @@
+package com.ecommerce.productservice.service;
+
+import com.ecommerce.productservice.dto.response.SuggestionResponse;
+import com.ecommerce.productservice.dto.response.SuggestionResponse.SuggestionType;
+import com.ecommerce.productservice.repositories.ProductRepository;
+import com.ecommerce.productservice.search.SuggestionSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSuggestionServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductSuggestionService suggestionService;
+
+    @BeforeEach
+    void setUp() {
+        suggestionService = new ProductSuggestionService(productRepository, new SimpleMeterRegistry(), 5, 2);
+    }
+
+    @Test
+    void suggest_ranksCategoriesThenFeaturedProducts_andMatchesLaterWords() {
+        when(productRepository.findCategorySuggestionSources()).thenReturn(List.of(
+                new SuggestionSource(10L, "Monitors", "monitors", false, 4L)));
+        when(productRepository.findProductSuggestionSources(0L, Limit.of(2))).thenReturn(List.of(
+                new SuggestionSource(1L, "Monitor Arm", "monitor-arm", false, null),
+                new SuggestionSource(2L, "Curved Monitor", "curved-monitor", true, null)));
+        when(productRepository.findProductSuggestionSources(2L, Limit.of(2))).thenReturn(List.of());
+
+        suggestionService.rebuildIfStale();
+
+        assertThat(suggestionService.suggest("Mon", 10))
+                .extracting(SuggestionResponse::type, SuggestionResponse::id)
+                .containsExactly(
+                        tuple(SuggestionType.CATEGORY, 10L),
+                        tuple(SuggestionType.PRODUCT, 2L),
+                        tuple(SuggestionType.PRODUCT, 1L));
+        assertThat(suggestionService.suggest("monitor ", 10))
+                .extracting(SuggestionResponse::id).containsExactly(1L);
+        assertThat(suggestionService.suggest("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void rebuildIfStale_skipsRebuildUntilMarkedStale() {
+        when(productRepository.findCategorySuggestionSources()).thenReturn(List.of());
+        when(productRepository.findProductSuggestionSources(anyLong(), any(Limit.class))).thenReturn(List.of());
+
+        suggestionService.rebuildIfStale();
+        suggestionService.rebuildIfStale();
+        verify(productRepository, times(1)).findCategorySuggestionSources();
+
+        suggestionService.markStaleAfterCommit();
+        suggestionService.rebuildIfStale();
+        verify(productRepository, times(2)).findCategorySuggestionSources();
+    }
+
+    @Test
+    void rebuildIfStale_keepsStaleFlagWhenRebuildFails() {
+        when(productRepository.findCategorySuggestionSources())
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(List.of());
+        when(productRepository.findProductSuggestionSources(anyLong(), any(Limit.class))).thenReturn(List.of());
+
+        suggestionService.rebuildIfStale();
+        suggestionService.rebuildIfStale();
+
+        verify(productRepository, times(2)).findCategorySuggestionSources();
+        verify(productRepository, times(1)).findProductSuggestionSources(0L, Limit.of(2));
+    }
+}